@@ -25,6 +25,7 @@ import org.apache.flink.api.connector.source.SourceReaderContext;
 import org.apache.flink.api.connector.source.SplitEnumerator;
 import org.apache.flink.api.connector.source.SplitEnumeratorContext;
 import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
+import org.apache.flink.configuration.ConfigurationUtils;
 import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
 import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
 import org.apache.flink.core.io.SimpleVersionedSerializer;
@@ -51,6 +52,7 @@ import com.ververica.cdc.connectors.base.source.metrics.SourceReaderMetrics;
 import com.ververica.cdc.connectors.base.source.reader.JdbcIncrementalSourceReader;
 import com.ververica.cdc.connectors.base.source.reader.JdbcSourceSplitReader;
 import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
+import com.ververica.cdc.debezium.DebeziumSourceFunction;
 import io.debezium.relational.TableId;
 import org.apache.kafka.connect.source.SourceRecord;
 
@@ -101,6 +103,15 @@ public class JdbcIncrementalSource<T>
     public SourceReader createReader(SourceReaderContext readerContext) {
         // create source config for the given subtask (e.g. unique server id)
         JdbcSourceConfig sourceConfig = configFactory.create(readerContext.getIndexOfSubtask());
+        // spill to the temporary directories of the task manager
+        sourceConfig
+                .getDbzProperties()
+                .setProperty(
+                        DebeziumSourceFunction.TMP_DIRS_KEY,
+                        String.join(
+                                ",",
+                                ConfigurationUtils.parseTempDirectories(
+                                        readerContext.getConfiguration())));
         FutureCompletingBlockingQueue<RecordsWithSplitIds<SourceRecord>> elementsQueue =
                 new FutureCompletingBlockingQueue<>();
         final SourceReaderMetrics sourceReaderMetrics =
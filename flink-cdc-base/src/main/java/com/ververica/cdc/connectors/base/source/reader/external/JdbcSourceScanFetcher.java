@@ -25,7 +25,6 @@ import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
 import com.ververica.cdc.connectors.base.utils.SourceRecordUtils;
 import io.debezium.connector.base.ChangeEventQueue;
 import io.debezium.pipeline.DataChangeEvent;
-import io.debezium.util.SchemaNameAdjuster;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -126,12 +125,7 @@ public class JdbcSourceScanFetcher implements Fetcher<SourceRecord, SourceSplitB
             return SourceRecordUtils.normalizedSplitRecords(
                             currentSnapshotSplit,
                             sourceRecords,
-                            new SchemaNameAdjuster() {
-                                @Override
-                                public String adjust(String proposedName) {
-                                    return null;
-                                }
-                            })
+                            taskContext.getSchemaNameAdjuster())
                     .iterator();
         }
         // the data has been polled, no more data
@@ -33,6 +33,7 @@ import org.apache.flink.runtime.state.FunctionInitializationContext;
 import org.apache.flink.runtime.state.FunctionSnapshotContext;
 import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
 import org.apache.flink.streaming.api.functions.source.RichSourceFunction;
+import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.FlinkRuntimeException;
 
@@ -128,6 +129,12 @@ public class DebeziumSourceFunction<T> extends RichSourceFunction<T>
     /** The configuration value represents legacy implementation. */
     public static final String LEGACY_IMPLEMENTATION_VALUE = "legacy";
 
+    /**
+     * The Debezium property which passes the comma separated temporary directories of the task
+     * manager to the connectors which spill data to disk.
+     */
+    public static final String TMP_DIRS_KEY = "flink.io.tmp.dirs";
+
     // ---------------------------------------------------------------------------------------
     // Properties
     // ---------------------------------------------------------------------------------------
@@ -375,6 +382,14 @@ public class DebeziumSourceFunction<T> extends RichSourceFunction<T>
         properties.setProperty("offset.flush.interval.ms", String.valueOf(Long.MAX_VALUE));
         // disable tombstones
         properties.setProperty("tombstones.on.delete", "false");
+        // spill to the temporary directories of the task manager
+        properties.setProperty(
+                TMP_DIRS_KEY,
+                String.join(
+                        ",",
+                        ((StreamingRuntimeContext) getRuntimeContext())
+                                .getTaskManagerRuntimeInfo()
+                                .getTmpDirectories()));
         if (engineInstanceName == null) {
             // not restore from recovery
             engineInstanceName = UUID.randomUUID().toString();
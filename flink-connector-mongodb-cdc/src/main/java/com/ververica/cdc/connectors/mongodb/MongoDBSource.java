@@ -17,7 +17,6 @@
 package com.ververica.cdc.connectors.mongodb;
 
 import org.apache.flink.annotation.PublicEvolving;
-import org.apache.flink.annotation.VisibleForTesting;
 
 import com.mongodb.ConnectionString;
 import com.mongodb.client.model.changestream.FullDocument;
@@ -25,6 +24,9 @@ import com.mongodb.kafka.connect.source.MongoSourceConfig;
 import com.mongodb.kafka.connect.source.MongoSourceConfig.ErrorTolerance;
 import com.mongodb.kafka.connect.source.MongoSourceConfig.OutputFormat;
 import com.ververica.cdc.connectors.mongodb.internal.MongoDBConnectorSourceConnector;
+import com.ververica.cdc.connectors.mongodb.source.MongoDBIncrementalSource;
+import com.ververica.cdc.connectors.mongodb.source.MongoDBSourceConfig;
+import com.ververica.cdc.connectors.mongodb.utils.MongoUtils;
 import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
 import com.ververica.cdc.debezium.DebeziumSourceFunction;
 import com.ververica.cdc.debezium.Validator;
@@ -59,26 +61,31 @@ public class MongoDBSource {
 
     public static final String FULL_DOCUMENT_UPDATE_LOOKUP = FullDocument.UPDATE_LOOKUP.getValue();
 
+    public static final String FULL_DOCUMENT_DELTA = "delta";
+
     public static final int BATCH_SIZE_DEFAULT = 0;
 
     public static final int POLL_MAX_BATCH_SIZE_DEFAULT = 1000;
 
     public static final int POLL_AWAIT_TIME_MILLIS_DEFAULT = 1500;
 
+    public static final int CHUNK_SIZE_MB_DEFAULT = 64;
+
     public static final String HEARTBEAT_TOPIC_NAME_DEFAULT = "__mongodb_heartbeats";
 
     public static final String OUTPUT_FORMAT_SCHEMA =
             OutputFormat.SCHEMA.name().toLowerCase(Locale.ROOT);
 
-    // Add "source" field to adapt to debezium SourceRecord
-    public static final String OUTPUT_SCHEMA_VALUE_DEFAULT =
+    // Add "source" field to adapt to debezium SourceRecord, the documents are formatted as the
+    // given type
+    private static final String OUTPUT_SCHEMA_VALUE_TEMPLATE =
             "{"
                     + "  \"name\": \"ChangeStream\","
                     + "  \"type\": \"record\","
                     + "  \"fields\": ["
                     + "    { \"name\": \"_id\", \"type\": \"string\" },"
                     + "    { \"name\": \"operationType\", \"type\": [\"string\", \"null\"] },"
-                    + "    { \"name\": \"fullDocument\", \"type\": [\"string\", \"null\"] },"
+                    + "    { \"name\": \"fullDocument\", \"type\": [\"%1$s\", \"null\"] },"
                     + "    { \"name\": \"source\","
                     + "      \"type\": [{\"name\": \"source\", \"type\": \"record\", \"fields\": ["
                     + "                {\"name\": \"ts_ms\", \"type\": \"long\"},"
@@ -94,13 +101,8 @@ public class MongoDBSource {
                     + "                {\"name\": \"db\", \"type\": \"string\"},"
                     + "                {\"name\": \"coll\", \"type\": [\"string\", \"null\"] } ]"
                     + "               }, \"null\" ] },"
-                    + "    { \"name\": \"documentKey\", \"type\": [\"string\", \"null\"] },"
-                    + "    { \"name\": \"updateDescription\","
-                    + "      \"type\": [{\"name\": \"updateDescription\",  \"type\": \"record\", \"fields\": ["
-                    + "                 {\"name\": \"updatedFields\", \"type\": [\"string\", \"null\"]},"
-                    + "                 {\"name\": \"removedFields\","
-                    + "                  \"type\": [{\"type\": \"array\", \"items\": \"string\"}, \"null\"]"
-                    + "                  }] }, \"null\"] },"
+                    + "    { \"name\": \"documentKey\", \"type\": [\"%1$s\", \"null\"] },"
+                    + "    { \"name\": \"updateDescription\", \"type\": [%2$s, \"null\"] },"
                     + "    { \"name\": \"clusterTime\", \"type\": [\"string\", \"null\"] },"
                     + "    { \"name\": \"txnNumber\", \"type\": [\"long\", \"null\"]},"
                     + "    { \"name\": \"lsid\", \"type\": [{\"name\": \"lsid\", \"type\": \"record\","
@@ -109,6 +111,21 @@ public class MongoDBSource {
                     + "  ]"
                     + "}";
 
+    private static final String UPDATE_DESCRIPTION_SCHEMA =
+            "{\"name\": \"updateDescription\",  \"type\": \"record\", \"fields\": ["
+                    + "    {\"name\": \"updatedFields\", \"type\": [\"string\", \"null\"]},"
+                    + "    {\"name\": \"removedFields\","
+                    + "     \"type\": [{\"type\": \"array\", \"items\": \"string\"}, \"null\"]"
+                    + "    }] }";
+
+    public static final String OUTPUT_SCHEMA_VALUE_DEFAULT =
+            String.format(OUTPUT_SCHEMA_VALUE_TEMPLATE, "string", UPDATE_DESCRIPTION_SCHEMA);
+
+    // The fullDocument, documentKey and updateDescription are carried as raw BSON bytes instead of
+    // JSON strings, the updateDescription keeps the truncatedArrays of the update
+    public static final String OUTPUT_SCHEMA_VALUE_RAW_BSON =
+            String.format(OUTPUT_SCHEMA_VALUE_TEMPLATE, "bytes", "\"bytes\"");
+
     public static <T> Builder<T> builder() {
         return new Builder<>();
     }
@@ -138,9 +155,12 @@ public class MongoDBSource {
         private Integer copyExistingMaxThreads;
         private Integer copyExistingQueueSize;
         private String copyExistingPipeline;
+        private String pipeline;
         private Boolean errorsLogEnable;
         private String errorsTolerance;
         private Integer heartbeatIntervalMillis;
+        private Boolean rawBsonDocument = false;
+        private Integer chunkSizeMB = CHUNK_SIZE_MB_DEFAULT;
         private DebeziumDeserializationSchema<T> deserializer;
 
         /** The comma-separated list of hostname and port pairs of mongodb servers. */
@@ -284,6 +304,18 @@ public class MongoDBSource {
             return this;
         }
 
+        /**
+         * pipeline eg. [ { "$project": { "fullDocument.closed": 1 } } ]
+         *
+         * <p>An array of JSON objects describing the pipeline operations to run on the change
+         * stream events. The stages must keep the fields of the change stream events read by the
+         * deserializer, e.g. the _id, operationType, ns and documentKey.
+         */
+        public Builder<T> pipeline(String pipeline) {
+            this.pipeline = pipeline;
+            return this;
+        }
+
         /**
          * errors.log.enable
          *
@@ -325,6 +357,28 @@ public class MongoDBSource {
             return this;
         }
 
+        /**
+         * Whether to carry the fullDocument and documentKey of the records as raw BSON bytes
+         * instead of JSON strings, which can be read by {@link org.bson.RawBsonDocument} without
+         * rendering and parsing the JSON. Default: false
+         */
+        public Builder<T> rawBsonDocument(boolean rawBsonDocument) {
+            this.rawBsonDocument = rawBsonDocument;
+            return this;
+        }
+
+        /**
+         * scan.incremental.snapshot.chunk.size.mb
+         *
+         * <p>The chunk size in MB of the collections read by the incremental snapshot, the
+         * collections are split into chunks by the ranges of _id. Default: 64
+         */
+        public Builder<T> chunkSizeMB(int chunkSizeMB) {
+            checkArgument(chunkSizeMB > 0);
+            this.chunkSizeMB = chunkSizeMB;
+            return this;
+        }
+
         /**
          * The deserializer used to convert from consumed {@link
          * org.apache.kafka.connect.source.SourceRecord}.
@@ -335,7 +389,6 @@ public class MongoDBSource {
         }
 
         /** Build connection uri. */
-        @VisibleForTesting
         public ConnectionString buildConnectionUri() {
             StringBuilder sb = new StringBuilder(MONGODB_SCHEME).append("://");
 
@@ -393,7 +446,8 @@ public class MongoDBSource {
                     MongoSourceConfig.OUTPUT_SCHEMA_INFER_VALUE_CONFIG,
                     String.valueOf(Boolean.FALSE));
             props.setProperty(
-                    MongoSourceConfig.OUTPUT_SCHEMA_VALUE_CONFIG, OUTPUT_SCHEMA_VALUE_DEFAULT);
+                    MongoSourceConfig.OUTPUT_SCHEMA_VALUE_CONFIG,
+                    rawBsonDocument ? OUTPUT_SCHEMA_VALUE_RAW_BSON : OUTPUT_SCHEMA_VALUE_DEFAULT);
 
             if (batchSize != null) {
                 props.setProperty(MongoSourceConfig.BATCH_SIZE_CONFIG, String.valueOf(batchSize));
@@ -443,6 +497,10 @@ public class MongoDBSource {
                         MongoSourceConfig.COPY_EXISTING_PIPELINE_CONFIG, copyExistingPipeline);
             }
 
+            if (pipeline != null) {
+                props.setProperty(MongoSourceConfig.PIPELINE_CONFIG, pipeline);
+            }
+
             if (heartbeatIntervalMillis != null) {
                 props.setProperty(
                         MongoSourceConfig.HEARTBEAT_INTERVAL_MS_CONFIG,
@@ -459,5 +517,30 @@ public class MongoDBSource {
             return new DebeziumSourceFunction<>(
                     deserializer, props, null, Validator.getDefaultValidator());
         }
+
+        /**
+         * Build the {@link MongoDBIncrementalSource} which reads the snapshot of the collections in
+         * parallel by the chunks of _id ranges. The errors tolerance, heartbeat and the thread and
+         * queue settings of copying existing data are not used by it.
+         */
+        public MongoDBIncrementalSource<T> buildIncremental() {
+            // only the $match stages of the pipeline are supported, validate it early
+            MongoUtils.getCopyExistingFilter(copyExistingPipeline);
+            return new MongoDBIncrementalSource<>(
+                    new MongoDBSourceConfig(
+                            String.valueOf(buildConnectionUri()),
+                            databaseList,
+                            collectionList,
+                            copyExisting,
+                            copyExistingPipeline,
+                            pipeline,
+                            batchSize,
+                            pollAwaitTimeMillis,
+                            pollMaxBatchSize,
+                            updateLookup,
+                            chunkSizeMB,
+                            rawBsonDocument),
+                    checkNotNull(deserializer));
+        }
     }
 }
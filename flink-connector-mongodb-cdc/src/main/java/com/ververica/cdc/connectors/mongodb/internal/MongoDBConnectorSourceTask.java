@@ -32,6 +32,8 @@ import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.apache.kafka.connect.source.SourceTask;
 import org.apache.kafka.connect.source.SourceTaskContext;
+import org.bson.BsonArray;
+import org.bson.BsonValue;
 import org.bson.conversions.Bson;
 import org.bson.json.JsonReader;
 
@@ -39,9 +41,11 @@ import java.lang.reflect.Field;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
@@ -86,6 +90,18 @@ public class MongoDBConnectorSourceTask extends SourceTask {
 
     private boolean isInSnapshotPhase = false;
 
+    /** The schema of the source field which the shared sources are created for. */
+    private Schema sourceSchema;
+
+    private Struct snapshotSource;
+
+    private Struct lastSnapshotSource;
+
+    /** The source of the last change stream record and its cluster time. */
+    private Struct lastSource;
+
+    private String lastClusterTime;
+
     public MongoDBConnectorSourceTask() throws NoSuchFieldException {
         this.target = new MongoSourceTask();
         this.isCopyingField = MongoSourceTask.class.getDeclaredField("isCopying");
@@ -128,52 +144,60 @@ public class MongoDBConnectorSourceTask extends SourceTask {
     @Override
     public List<SourceRecord> poll() throws InterruptedException {
         List<SourceRecord> sourceRecords = target.poll();
-        List<SourceRecord> outSourceRecords = new LinkedList<>();
-        if (isInSnapshotPhase) {
-            // Step1. Snapshot Phase
-            if (sourceRecords != null && !sourceRecords.isEmpty()) {
-                for (SourceRecord sourceRecord : sourceRecords) {
-                    SourceRecord current = markRecordTimestamp(sourceRecord);
+        if (!isInSnapshotPhase) {
+            // Step2. Change Streaming Phase, the records are marked in place.
+            if (sourceRecords == null) {
+                return Collections.emptyList();
+            }
+            // The records are polled into an ArrayList by the target task
+            for (ListIterator<SourceRecord> it = sourceRecords.listIterator(); it.hasNext(); ) {
+                SourceRecord current = it.next();
+                if (isHeartbeatRecord(current)) {
+                    it.set(markTimestampForHeartbeatRecord(current));
+                } else {
+                    markTimestampForDataRecord(current);
+                }
+            }
+            return sourceRecords;
+        }
 
-                    if (isSnapshotRecord(current)) {
-                        markSnapshotRecord(current);
-                        if (currentLastSnapshotRecord != null) {
-                            outSourceRecords.add(currentLastSnapshotRecord);
-                        }
-                        // Keep the current last snapshot record.
-                        // When exit snapshot phase, mark it as the last of all snapshot records.
-                        currentLastSnapshotRecord = current;
-                    } else {
-                        // Snapshot Phase Ended, Condition 1:
-                        // Received non-snapshot record, exit snapshot phase immediately.
-                        if (currentLastSnapshotRecord != null) {
-                            outSourceRecords.add(
-                                    markLastSnapshotRecordOfAll(currentLastSnapshotRecord));
-                            currentLastSnapshotRecord = null;
-                            isInSnapshotPhase = false;
-                        }
-                        outSourceRecords.add(current);
+        // Step1. Snapshot Phase
+        List<SourceRecord> outSourceRecords =
+                new ArrayList<>(sourceRecords == null ? 1 : sourceRecords.size() + 1);
+        if (sourceRecords != null && !sourceRecords.isEmpty()) {
+            for (SourceRecord sourceRecord : sourceRecords) {
+                if (isSnapshotRecord(sourceRecord)) {
+                    markSnapshotRecord(sourceRecord, false);
+                    if (currentLastSnapshotRecord != null) {
+                        outSourceRecords.add(currentLastSnapshotRecord);
                     }
-                }
-            } else {
-                // Snapshot Phase Ended, Condition 2:
-                // No changing stream event comes and source task is finished copying,
-                // then exit the snapshot phase.
-                if (!isCopying()) {
+                    // Keep the current last snapshot record.
+                    // When exit snapshot phase, mark it as the last of all snapshot records.
+                    currentLastSnapshotRecord = sourceRecord;
+                } else {
+                    SourceRecord current = markRecordTimestamp(sourceRecord);
+                    // Snapshot Phase Ended, Condition 1:
+                    // Received non-snapshot record, exit snapshot phase immediately.
                     if (currentLastSnapshotRecord != null) {
-                        outSourceRecords.add(
-                                markLastSnapshotRecordOfAll(currentLastSnapshotRecord));
+                        markSnapshotRecord(currentLastSnapshotRecord, true);
+                        outSourceRecords.add(currentLastSnapshotRecord);
                         currentLastSnapshotRecord = null;
+                        isInSnapshotPhase = false;
                     }
-                    isInSnapshotPhase = false;
+                    outSourceRecords.add(current);
                 }
             }
         } else {
-            // Step2. Change Streaming Phase
-            if (sourceRecords != null && !sourceRecords.isEmpty()) {
-                for (SourceRecord current : sourceRecords) {
-                    outSourceRecords.add(markRecordTimestamp(current));
+            // Snapshot Phase Ended, Condition 2:
+            // No changing stream event comes and source task is finished copying,
+            // then exit the snapshot phase.
+            if (!isCopying()) {
+                if (currentLastSnapshotRecord != null) {
+                    markSnapshotRecord(currentLastSnapshotRecord, true);
+                    outSourceRecords.add(currentLastSnapshotRecord);
+                    currentLastSnapshotRecord = null;
                 }
+                isInSnapshotPhase = false;
             }
         }
         return outSourceRecords;
@@ -188,24 +212,31 @@ public class MongoDBConnectorSourceTask extends SourceTask {
         if (isHeartbeatRecord(record)) {
             return markTimestampForHeartbeatRecord(record);
         }
-        return markTimestampForDataRecord(record);
+        markTimestampForDataRecord(record);
+        return record;
     }
 
-    private SourceRecord markTimestampForDataRecord(SourceRecord record) {
+    /**
+     * Puts the source of the change stream record in place. The records of the same cluster time,
+     * e.g. the changes of a transaction, share the same source.
+     */
+    private void markTimestampForDataRecord(SourceRecord record) {
         final Struct value = (Struct) record.value();
-        final Struct source = new Struct(value.schema().field(Envelope.FieldName.SOURCE).schema());
-        // It indicates the time that the change was made in the database. If the record is read
-        // from snapshot of the table instead of the change stream, the value is always 0.
-        long timestamp = 0L;
+        final Schema sourceSchema = getSourceSchema(value);
+        // It indicates the time that the change was made in the database.
+        String clusterTime = null;
         if (value.schema().field(MongoDBEnvelope.CLUSTER_TIME_FIELD) != null) {
-            String clusterTime = value.getString(MongoDBEnvelope.CLUSTER_TIME_FIELD);
-            if (clusterTime != null) {
-                timestamp = new JsonReader(clusterTime).readTimestamp().getTime() * 1000L;
-            }
+            clusterTime = value.getString(MongoDBEnvelope.CLUSTER_TIME_FIELD);
         }
-        source.put(AbstractSourceInfo.TIMESTAMP_KEY, timestamp);
-        value.put(Envelope.FieldName.SOURCE, source);
-        return record;
+        if (lastSource == null || !Objects.equals(clusterTime, lastClusterTime)) {
+            final Struct source = new Struct(sourceSchema);
+            source.put(
+                    AbstractSourceInfo.TIMESTAMP_KEY,
+                    clusterTime == null ? 0L : parseClusterTimeMillis(clusterTime));
+            lastSource = source;
+            lastClusterTime = clusterTime;
+        }
+        value.put(Envelope.FieldName.SOURCE, lastSource);
     }
 
     private SourceRecord markTimestampForHeartbeatRecord(SourceRecord record) {
@@ -222,20 +253,67 @@ public class MongoDBConnectorSourceTask extends SourceTask {
                 heartbeatValue);
     }
 
-    private void markSnapshotRecord(SourceRecord record) {
+    /**
+     * Puts the shared source of the snapshot records. If the record is read from snapshot of the
+     * table instead of the change stream, the timestamp is always 0.
+     */
+    private void markSnapshotRecord(SourceRecord record, boolean last) {
         final Struct value = (Struct) record.value();
-        final Struct source = value.getStruct(Envelope.FieldName.SOURCE);
-        SnapshotRecord.TRUE.toSource(source);
+        getSourceSchema(value);
+        value.put(Envelope.FieldName.SOURCE, last ? lastSnapshotSource : snapshotSource);
     }
 
-    private SourceRecord markLastSnapshotRecordOfAll(SourceRecord record) {
-        final Struct value = (Struct) record.value();
-        final Struct source = value.getStruct(Envelope.FieldName.SOURCE);
-        final SnapshotRecord snapshot = SnapshotRecord.fromSource(source);
-        if (snapshot == SnapshotRecord.TRUE) {
-            SnapshotRecord.LAST.toSource(source);
+    /** Returns the schema of the source field, the shared sources are created for the schema. */
+    private Schema getSourceSchema(Struct value) {
+        final Schema schema = value.schema().field(Envelope.FieldName.SOURCE).schema();
+        if (schema != sourceSchema) {
+            sourceSchema = schema;
+            snapshotSource = new Struct(schema);
+            snapshotSource.put(AbstractSourceInfo.TIMESTAMP_KEY, 0L);
+            SnapshotRecord.TRUE.toSource(snapshotSource);
+            lastSnapshotSource = new Struct(schema);
+            lastSnapshotSource.put(AbstractSourceInfo.TIMESTAMP_KEY, 0L);
+            SnapshotRecord.LAST.toSource(lastSnapshotSource);
+            lastSource = null;
         }
-        return record;
+        return schema;
+    }
+
+    /**
+     * Parses the milliseconds of the cluster time rendered as the extended JSON, e.g. {@code
+     * {"$timestamp": {"t": 1650000000, "i": 1}}}, it falls back to the {@link JsonReader} if the
+     * format is unexpected.
+     */
+    static long parseClusterTimeMillis(String clusterTime) {
+        int i = clusterTime.indexOf("\"t\"");
+        if (i >= 0) {
+            i += 3;
+            final int length = clusterTime.length();
+            while (i < length
+                    && (clusterTime.charAt(i) == ':'
+                            || Character.isWhitespace(clusterTime.charAt(i)))) {
+                i++;
+            }
+            long seconds = 0L;
+            int digits = 0;
+            while (i < length && digits < 10) {
+                final char c = clusterTime.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                seconds = seconds * 10 + (c - '0');
+                digits++;
+                i++;
+            }
+            if (digits > 0
+                    && i < length
+                    && (clusterTime.charAt(i) == ','
+                            || clusterTime.charAt(i) == '}'
+                            || Character.isWhitespace(clusterTime.charAt(i)))) {
+                return seconds * 1000L;
+            }
+        }
+        return new JsonReader(clusterTime).readTimestamp().getTime() * 1000L;
     }
 
     private boolean isSnapshotRecord(SourceRecord sourceRecord) {
@@ -314,7 +392,7 @@ public class MongoDBConnectorSourceTask extends SourceTask {
                 }
                 pipeline.add(match(nsFilter));
 
-                props.put(MongoSourceConfig.PIPELINE_CONFIG, bsonListToJson(pipeline));
+                putPipeline(props, pipeline);
 
                 String copyExistingNamespaceRegex =
                         discoveredCollections.stream()
@@ -342,7 +420,7 @@ public class MongoDBConnectorSourceTask extends SourceTask {
 
                 List<Bson> pipeline = new ArrayList<>();
                 pipeline.add(match(regex("ns.db", databaseRegex)));
-                props.put(MongoSourceConfig.PIPELINE_CONFIG, bsonListToJson(pipeline));
+                putPipeline(props, pipeline);
 
                 String copyExistingNamespaceRegex =
                         discoveredDatabases.stream()
@@ -357,4 +435,15 @@ public class MongoDBConnectorSourceTask extends SourceTask {
             // Watching all changes on the cluster by default, we do nothing here
         }
     }
+
+    /** Puts the namespace filter stages in front of the configured pipeline of change streams. */
+    private static void putPipeline(Map<String, String> props, List<Bson> pipeline) {
+        String configuredPipeline = props.get(MongoSourceConfig.PIPELINE_CONFIG);
+        if (configuredPipeline != null && !configuredPipeline.trim().isEmpty()) {
+            for (BsonValue stage : BsonArray.parse(configuredPipeline)) {
+                pipeline.add(stage.asDocument());
+            }
+        }
+        props.put(MongoSourceConfig.PIPELINE_CONFIG, bsonListToJson(pipeline));
+    }
 }
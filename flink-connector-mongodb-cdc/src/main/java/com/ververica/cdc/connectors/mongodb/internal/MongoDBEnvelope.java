@@ -30,6 +30,14 @@ public class MongoDBEnvelope {
 
     public static final String OPERATION_TYPE_FIELD = "operationType";
 
+    public static final String UPDATE_DESCRIPTION_FIELD = "updateDescription";
+
+    public static final String UPDATED_FIELDS_FIELD = "updatedFields";
+
+    public static final String REMOVED_FIELDS_FIELD = "removedFields";
+
+    public static final String TRUNCATED_ARRAYS_FIELD = "truncatedArrays";
+
     public static final String NAMESPACE_FIELD = "ns";
 
     public static final String NAMESPACE_DATABASE_FIELD = "db";
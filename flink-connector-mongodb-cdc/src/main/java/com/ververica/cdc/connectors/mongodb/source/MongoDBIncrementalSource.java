@@ -0,0 +1,142 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.connector.source.Boundedness;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.mongodb.client.MongoClient;
+import com.ververica.cdc.connectors.mongodb.source.enumerator.MongoDBSourceEnumState;
+import com.ververica.cdc.connectors.mongodb.source.enumerator.MongoDBSourceEnumStateSerializer;
+import com.ververica.cdc.connectors.mongodb.source.enumerator.MongoDBSourceEnumerator;
+import com.ververica.cdc.connectors.mongodb.source.reader.MongoDBRecordEmitter;
+import com.ververica.cdc.connectors.mongodb.source.reader.MongoDBSourceReader;
+import com.ververica.cdc.connectors.mongodb.source.reader.MongoDBSplitReader;
+import com.ververica.cdc.connectors.mongodb.source.split.ChangeStreamOffset;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSplit;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSplitSerializer;
+import com.ververica.cdc.connectors.mongodb.utils.MongoUtils;
+import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The MongoDB CDC source based on FLIP-27, which reads the snapshot of the collections in parallel
+ * by the chunks of {@code _id} ranges and then reads the change streams.
+ */
+@Internal
+public class MongoDBIncrementalSource<T>
+        implements Source<T, MongoDBSplit, MongoDBSourceEnumState>, ResultTypeQueryable<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoDBIncrementalSource.class);
+
+    private final MongoDBSourceConfig sourceConfig;
+    private final DebeziumDeserializationSchema<T> deserializer;
+
+    public MongoDBIncrementalSource(
+            MongoDBSourceConfig sourceConfig, DebeziumDeserializationSchema<T> deserializer) {
+        this.sourceConfig = checkNotNull(sourceConfig);
+        this.deserializer = checkNotNull(deserializer);
+    }
+
+    @Override
+    public Boundedness getBoundedness() {
+        return Boundedness.CONTINUOUS_UNBOUNDED;
+    }
+
+    @Override
+    public SourceReader<T, MongoDBSplit> createReader(SourceReaderContext readerContext) {
+        return new MongoDBSourceReader<>(
+                () ->
+                        new MongoDBSplitReader(
+                                sourceConfig,
+                                new MongoDBRecordConverter(sourceConfig.isRawBsonDocument())),
+                new MongoDBRecordEmitter<>(deserializer),
+                readerContext.getConfiguration(),
+                readerContext);
+    }
+
+    @Override
+    public SplitEnumerator<MongoDBSplit, MongoDBSourceEnumState> createEnumerator(
+            SplitEnumeratorContext<MongoDBSplit> enumContext) {
+        final List<String> capturedCollections;
+        final ChangeStreamOffset startOffset;
+        try (MongoClient client = MongoUtils.createClient(sourceConfig)) {
+            capturedCollections = MongoUtils.discoverCapturedCollections(client, sourceConfig);
+            // take the offset before reading the snapshot
+            startOffset =
+                    MongoUtils.getCurrentOffset(
+                            client,
+                            MongoUtils.getChangeStreamIterable(
+                                    client, sourceConfig, capturedCollections));
+        } catch (Exception e) {
+            throw new FlinkRuntimeException("Failed to create the splits for enumerator", e);
+        }
+        LOG.info("Capture collections {} from offset {}", capturedCollections, startOffset);
+        return new MongoDBSourceEnumerator(
+                enumContext,
+                sourceConfig,
+                new MongoDBSourceEnumState(
+                        capturedCollections,
+                        sourceConfig.isCopyExisting()
+                                ? capturedCollections
+                                : Collections.emptyList(),
+                        Collections.emptyList(),
+                        Collections.emptyList(),
+                        new LinkedHashMap<>(),
+                        false,
+                        startOffset));
+    }
+
+    @Override
+    public SplitEnumerator<MongoDBSplit, MongoDBSourceEnumState> restoreEnumerator(
+            SplitEnumeratorContext<MongoDBSplit> enumContext, MongoDBSourceEnumState checkpoint) {
+        return new MongoDBSourceEnumerator(enumContext, sourceConfig, checkpoint);
+    }
+
+    @Override
+    public SimpleVersionedSerializer<MongoDBSplit> getSplitSerializer() {
+        return MongoDBSplitSerializer.INSTANCE;
+    }
+
+    @Override
+    public SimpleVersionedSerializer<MongoDBSourceEnumState> getEnumeratorCheckpointSerializer() {
+        return new MongoDBSourceEnumStateSerializer();
+    }
+
+    @Override
+    public TypeInformation<T> getProducedType() {
+        return deserializer.getProducedType();
+    }
+}
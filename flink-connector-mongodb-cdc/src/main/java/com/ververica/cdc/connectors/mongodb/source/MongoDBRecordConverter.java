@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.kafka.connect.source.json.formatter.DefaultJson;
+import com.mongodb.kafka.connect.source.schema.AvroSchema;
+import com.mongodb.kafka.connect.source.schema.AvroSchemaDefaults;
+import com.mongodb.kafka.connect.source.schema.BsonValueToSchemaAndValue;
+import com.ververica.cdc.connectors.mongodb.MongoDBSource;
+import com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope;
+import io.debezium.connector.AbstractSourceInfo;
+import io.debezium.connector.SnapshotRecord;
+import io.debezium.data.Envelope;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static com.ververica.cdc.connectors.mongodb.utils.MongoUtils.ID_FIELD;
+
+/**
+ * Converts the snapshot documents and the change stream events to {@link SourceRecord}s in the same
+ * format as the legacy source, so the records can be deserialized by the same deserializers.
+ */
+public class MongoDBRecordConverter {
+
+    private static final String COPYING_DATA_FIELD = "copyingData";
+
+    private static final String INSERT_OPERATION = "insert";
+
+    private static final Map<String, String> SNAPSHOT_OFFSET =
+            Collections.singletonMap(MongoDBEnvelope.COPY_KEY_FIELD, "true");
+
+    private final Schema keySchema;
+    private final Schema valueSchema;
+    private final Schema sourceSchema;
+    private final Struct snapshotSource;
+    private final BsonValueToSchemaAndValue schemaAndValue;
+
+    public MongoDBRecordConverter(boolean rawBsonDocument) {
+        this.keySchema = AvroSchemaDefaults.DEFAULT_KEY_SCHEMA;
+        this.valueSchema =
+                AvroSchema.fromJson(
+                        rawBsonDocument
+                                ? MongoDBSource.OUTPUT_SCHEMA_VALUE_RAW_BSON
+                                : MongoDBSource.OUTPUT_SCHEMA_VALUE_DEFAULT);
+        this.sourceSchema = valueSchema.field(Envelope.FieldName.SOURCE).schema();
+        // the records read from the snapshot are not changed at a certain time
+        this.snapshotSource = new Struct(sourceSchema);
+        snapshotSource.put(AbstractSourceInfo.TIMESTAMP_KEY, 0L);
+        SnapshotRecord.TRUE.toSource(snapshotSource);
+        this.schemaAndValue =
+                new BsonValueToSchemaAndValue(new DefaultJson().getJsonWriterSettings());
+    }
+
+    /** Converts the document read from the collection to an insert record of the snapshot. */
+    public SourceRecord toSnapshotRecord(MongoNamespace namespace, BsonDocument fullDocument) {
+        final BsonValue id = fullDocument.get(ID_FIELD);
+        final BsonDocument event =
+                new BsonDocument(
+                                ID_FIELD,
+                                new BsonDocument(ID_FIELD, id)
+                                        .append(COPYING_DATA_FIELD, BsonBoolean.TRUE))
+                        .append(
+                                MongoDBEnvelope.OPERATION_TYPE_FIELD,
+                                new BsonString(INSERT_OPERATION))
+                        .append(
+                                MongoDBEnvelope.NAMESPACE_FIELD,
+                                new BsonDocument(
+                                                MongoDBEnvelope.NAMESPACE_DATABASE_FIELD,
+                                                new BsonString(namespace.getDatabaseName()))
+                                        .append(
+                                                MongoDBEnvelope.NAMESPACE_COLLECTION_FIELD,
+                                                new BsonString(namespace.getCollectionName())))
+                        .append(MongoDBEnvelope.DOCUMENT_KEY_FIELD, new BsonDocument(ID_FIELD, id))
+                        .append(MongoDBEnvelope.FULL_DOCUMENT_FIELD, fullDocument);
+
+        final Struct value = toValue(event);
+        value.put(Envelope.FieldName.SOURCE, snapshotSource);
+        return toSourceRecord(namespace.getFullName(), event, value, SNAPSHOT_OFFSET);
+    }
+
+    /** Converts the event of the change streams to a record. */
+    public SourceRecord toChangeRecord(BsonDocument event) {
+        final Struct value = toValue(event);
+        final Struct source = new Struct(sourceSchema);
+        final BsonValue clusterTime = event.get(MongoDBEnvelope.CLUSTER_TIME_FIELD);
+        source.put(
+                AbstractSourceInfo.TIMESTAMP_KEY,
+                clusterTime != null && clusterTime.isTimestamp()
+                        ? clusterTime.asTimestamp().getTime() * 1000L
+                        : 0L);
+        value.put(Envelope.FieldName.SOURCE, source);
+        // the resume token has been rendered to JSON as the _id field of the value
+        return toSourceRecord(
+                getTopic(event),
+                event,
+                value,
+                Collections.singletonMap(ID_FIELD, value.getString(ID_FIELD)));
+    }
+
+    private Struct toValue(BsonDocument event) {
+        return (Struct) schemaAndValue.toSchemaAndValue(valueSchema, event).value();
+    }
+
+    private SourceRecord toSourceRecord(
+            String topic, BsonDocument event, Struct value, Map<String, String> offset) {
+        final Object key =
+                schemaAndValue
+                        .toSchemaAndValue(
+                                keySchema, new BsonDocument(ID_FIELD, event.get(ID_FIELD)))
+                        .value();
+        return new SourceRecord(
+                Collections.singletonMap(MongoDBEnvelope.NAMESPACE_FIELD, topic),
+                offset,
+                topic,
+                keySchema,
+                key,
+                valueSchema,
+                value);
+    }
+
+    private static String getTopic(BsonDocument event) {
+        final BsonDocument ns = event.getDocument(MongoDBEnvelope.NAMESPACE_FIELD, null);
+        if (ns == null) {
+            return "";
+        }
+        final BsonValue coll = ns.get(MongoDBEnvelope.NAMESPACE_COLLECTION_FIELD);
+        final String db = ns.getString(MongoDBEnvelope.NAMESPACE_DATABASE_FIELD).getValue();
+        return coll == null ? db : db + "." + coll.asString().getValue();
+    }
+}
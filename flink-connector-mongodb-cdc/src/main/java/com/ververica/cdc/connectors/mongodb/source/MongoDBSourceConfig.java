@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/** The configuration of {@link MongoDBIncrementalSource}. */
+public class MongoDBSourceConfig implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String connectionString;
+    @Nullable private final List<String> databaseList;
+    @Nullable private final List<String> collectionList;
+    private final boolean copyExisting;
+    @Nullable private final String copyExistingPipeline;
+    @Nullable private final String pipeline;
+    private final int batchSize;
+    private final int pollAwaitTimeMillis;
+    private final int pollMaxBatchSize;
+    private final boolean updateLookup;
+    private final int chunkSizeMB;
+    private final boolean rawBsonDocument;
+
+    public MongoDBSourceConfig(
+            String connectionString,
+            @Nullable List<String> databaseList,
+            @Nullable List<String> collectionList,
+            boolean copyExisting,
+            @Nullable String copyExistingPipeline,
+            @Nullable String pipeline,
+            int batchSize,
+            int pollAwaitTimeMillis,
+            int pollMaxBatchSize,
+            boolean updateLookup,
+            int chunkSizeMB,
+            boolean rawBsonDocument) {
+        this.connectionString = checkNotNull(connectionString);
+        this.databaseList = databaseList;
+        this.collectionList = collectionList;
+        this.copyExisting = copyExisting;
+        this.copyExistingPipeline = copyExistingPipeline;
+        this.pipeline = pipeline;
+        this.batchSize = batchSize;
+        this.pollAwaitTimeMillis = pollAwaitTimeMillis;
+        this.pollMaxBatchSize = pollMaxBatchSize;
+        this.updateLookup = updateLookup;
+        this.chunkSizeMB = chunkSizeMB;
+        this.rawBsonDocument = rawBsonDocument;
+    }
+
+    public String getConnectionString() {
+        return connectionString;
+    }
+
+    @Nullable
+    public List<String> getDatabaseList() {
+        return databaseList;
+    }
+
+    @Nullable
+    public List<String> getCollectionList() {
+        return collectionList;
+    }
+
+    public boolean isCopyExisting() {
+        return copyExisting;
+    }
+
+    @Nullable
+    public String getCopyExistingPipeline() {
+        return copyExistingPipeline;
+    }
+
+    /** Returns the stages appended to the pipeline of the change streams. */
+    @Nullable
+    public String getPipeline() {
+        return pipeline;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getPollAwaitTimeMillis() {
+        return pollAwaitTimeMillis;
+    }
+
+    public int getPollMaxBatchSize() {
+        return pollMaxBatchSize;
+    }
+
+    public boolean isUpdateLookup() {
+        return updateLookup;
+    }
+
+    public int getChunkSizeMB() {
+        return chunkSizeMB;
+    }
+
+    public boolean isRawBsonDocument() {
+        return rawBsonDocument;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.enumerator;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSplit;
+import com.ververica.cdc.connectors.mongodb.utils.BsonUtils;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.ververica.cdc.connectors.mongodb.utils.MongoUtils.ID_FIELD;
+import static com.ververica.cdc.connectors.mongodb.utils.MongoUtils.ID_INDEX;
+
+/**
+ * The splitter to split a collection into chunks by the ranges of {@code _id}.
+ *
+ * <p>The split keys are taken from the {@code splitVector} command, which walks the {@code _id}
+ * index to find the keys between the chunks of the given size. The command is unavailable on the
+ * mongos and requires the privilege of it, the split keys are taken from the sorted samples of the
+ * {@code _id} values in this case.
+ */
+public class MongoDBChunkSplitter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoDBChunkSplitter.class);
+
+    /** The number of sampled documents of each chunk if the split vector is unavailable. */
+    private static final int SAMPLES_PER_CHUNK = 10;
+
+    private final MongoClient client;
+    private final long chunkSizeBytes;
+
+    public MongoDBChunkSplitter(MongoClient client, int chunkSizeMB) {
+        this.client = client;
+        this.chunkSizeBytes = chunkSizeMB * 1024L * 1024L;
+    }
+
+    public List<MongoDBSplit> splitChunks(String collectionId) {
+        final MongoNamespace namespace = new MongoNamespace(collectionId);
+        final MongoDatabase database = client.getDatabase(namespace.getDatabaseName());
+        final BsonDocument collStats =
+                database.runCommand(
+                        new BsonDocument(
+                                "collStats", new BsonString(namespace.getCollectionName())),
+                        BsonDocument.class);
+        final long size = collStats.getNumber("size", new BsonInt64(0)).longValue();
+        final long count = collStats.getNumber("count", new BsonInt64(0)).longValue();
+        if (size < chunkSizeBytes || count <= 1) {
+            LOG.info("Read the collection {} of {} bytes as a single split", collectionId, size);
+            return Collections.singletonList(
+                    MongoDBSplit.snapshotSplit(collectionId + ":0", collectionId, null, null));
+        }
+
+        List<BsonDocument> splitKeys;
+        try {
+            splitKeys = splitVector(database, namespace);
+        } catch (MongoCommandException e) {
+            LOG.info(
+                    "The splitVector command is unavailable for collection {} ({}), "
+                            + "split it by sampling instead",
+                    collectionId,
+                    e.getErrorMessage());
+            splitKeys = sampleSplitKeys(database, namespace, size);
+        }
+
+        final List<MongoDBSplit> splits = new ArrayList<>(splitKeys.size() + 1);
+        BsonDocument lowerBound = null;
+        for (BsonDocument splitKey : splitKeys) {
+            splits.add(
+                    MongoDBSplit.snapshotSplit(
+                            collectionId + ":" + splits.size(),
+                            collectionId,
+                            lowerBound,
+                            splitKey));
+            lowerBound = splitKey;
+        }
+        splits.add(
+                MongoDBSplit.snapshotSplit(
+                        collectionId + ":" + splits.size(), collectionId, lowerBound, null));
+        LOG.info(
+                "Split the collection {} of {} bytes into {} chunks",
+                collectionId,
+                size,
+                splits.size());
+        return splits;
+    }
+
+    private List<BsonDocument> splitVector(MongoDatabase database, MongoNamespace namespace) {
+        final BsonDocument command =
+                new BsonDocument("splitVector", new BsonString(namespace.getFullName()))
+                        .append("keyPattern", ID_INDEX)
+                        .append("maxChunkSizeBytes", new BsonInt64(chunkSizeBytes));
+        final BsonDocument result = database.runCommand(command, BsonDocument.class);
+        final List<BsonDocument> splitKeys = new ArrayList<>();
+        for (BsonValue splitKey : result.getArray("splitKeys")) {
+            splitKeys.add(splitKey.asDocument());
+        }
+        return splitKeys;
+    }
+
+    /** Takes every {@link #SAMPLES_PER_CHUNK}-th value of the sorted samples as the split keys. */
+    private List<BsonDocument> sampleSplitKeys(
+            MongoDatabase database, MongoNamespace namespace, long size) {
+        final long numChunks = (size + chunkSizeBytes - 1) / chunkSizeBytes;
+        final int sampleSize = (int) Math.min(Integer.MAX_VALUE, numChunks * SAMPLES_PER_CHUNK);
+        final List<BsonValue> samples = new ArrayList<>(sampleSize);
+        database.getCollection(namespace.getCollectionName(), BsonDocument.class)
+                .aggregate(
+                        Arrays.asList(
+                                new BsonDocument(
+                                        "$sample",
+                                        new BsonDocument("size", new BsonInt32(sampleSize))),
+                                new BsonDocument("$project", ID_INDEX)))
+                .allowDiskUse(true)
+                .forEach(document -> samples.add(document.get(ID_FIELD)));
+        samples.sort(BsonUtils::compareBsonValue);
+
+        final List<BsonDocument> splitKeys = new ArrayList<>();
+        BsonValue last = null;
+        for (int i = SAMPLES_PER_CHUNK; i < samples.size(); i += SAMPLES_PER_CHUNK) {
+            final BsonValue key = samples.get(i);
+            if (last == null || BsonUtils.compareBsonValue(last, key) < 0) {
+                splitKeys.add(new BsonDocument(ID_FIELD, key));
+                last = key;
+            }
+        }
+        return splitKeys;
+    }
+}
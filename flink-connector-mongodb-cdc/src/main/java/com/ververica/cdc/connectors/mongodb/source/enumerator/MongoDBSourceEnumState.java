@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.enumerator;
+
+import com.ververica.cdc.connectors.mongodb.source.split.ChangeStreamOffset;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSplit;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/** The state of {@link MongoDBSourceEnumerator}. */
+public class MongoDBSourceEnumState {
+
+    private final List<String> capturedCollections;
+    private final List<String> remainingCollections;
+    private final List<MongoDBSplit> remainingSplits;
+    private final List<MongoDBSplit> assignedSplits;
+    private final Map<String, ChangeStreamOffset> finishedSplits;
+    private final boolean streamSplitCreated;
+    private final ChangeStreamOffset startOffset;
+
+    public MongoDBSourceEnumState(
+            List<String> capturedCollections,
+            List<String> remainingCollections,
+            List<MongoDBSplit> remainingSplits,
+            List<MongoDBSplit> assignedSplits,
+            Map<String, ChangeStreamOffset> finishedSplits,
+            boolean streamSplitCreated,
+            ChangeStreamOffset startOffset) {
+        this.capturedCollections = capturedCollections;
+        this.remainingCollections = remainingCollections;
+        this.remainingSplits = remainingSplits;
+        this.assignedSplits = assignedSplits;
+        this.finishedSplits = finishedSplits;
+        this.streamSplitCreated = streamSplitCreated;
+        this.startOffset = startOffset;
+    }
+
+    public List<String> getCapturedCollections() {
+        return capturedCollections;
+    }
+
+    public List<String> getRemainingCollections() {
+        return remainingCollections;
+    }
+
+    public List<MongoDBSplit> getRemainingSplits() {
+        return remainingSplits;
+    }
+
+    public List<MongoDBSplit> getAssignedSplits() {
+        return assignedSplits;
+    }
+
+    /** Returns the high watermarks of the finished splits by the split ids. */
+    public Map<String, ChangeStreamOffset> getFinishedSplits() {
+        return finishedSplits;
+    }
+
+    public boolean isStreamSplitCreated() {
+        return streamSplitCreated;
+    }
+
+    public ChangeStreamOffset getStartOffset() {
+        return startOffset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MongoDBSourceEnumState that = (MongoDBSourceEnumState) o;
+        return streamSplitCreated == that.streamSplitCreated
+                && Objects.equals(capturedCollections, that.capturedCollections)
+                && Objects.equals(remainingCollections, that.remainingCollections)
+                && Objects.equals(remainingSplits, that.remainingSplits)
+                && Objects.equals(assignedSplits, that.assignedSplits)
+                && Objects.equals(finishedSplits, that.finishedSplits)
+                && Objects.equals(startOffset, that.startOffset);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                capturedCollections,
+                remainingCollections,
+                remainingSplits,
+                assignedSplits,
+                finishedSplits,
+                streamSplitCreated,
+                startOffset);
+    }
+
+    @Override
+    public String toString() {
+        return "MongoDBSourceEnumState{"
+                + "remainingCollections="
+                + remainingCollections
+                + ", remainingSplits="
+                + remainingSplits
+                + ", assignedSplits="
+                + assignedSplits
+                + ", finishedSplits="
+                + finishedSplits
+                + ", streamSplitCreated="
+                + streamSplitCreated
+                + ", startOffset="
+                + startOffset
+                + '}';
+    }
+}
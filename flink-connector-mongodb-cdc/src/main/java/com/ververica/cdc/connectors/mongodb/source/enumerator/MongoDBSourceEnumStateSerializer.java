@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.enumerator;
+
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+
+import com.ververica.cdc.connectors.mongodb.source.split.ChangeStreamOffset;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSplit;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSplitSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** The serializer for the {@link MongoDBSourceEnumState}. */
+public class MongoDBSourceEnumStateSerializer
+        implements SimpleVersionedSerializer<MongoDBSourceEnumState> {
+
+    private static final int VERSION = 2;
+
+    private static final ThreadLocal<DataOutputSerializer> SERIALIZER_CACHE =
+            ThreadLocal.withInitial(() -> new DataOutputSerializer(64));
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] serialize(MongoDBSourceEnumState state) throws IOException {
+        final DataOutputSerializer out = SERIALIZER_CACHE.get();
+        writeStrings(state.getCapturedCollections(), out);
+        writeStrings(state.getRemainingCollections(), out);
+        writeSplits(state.getRemainingSplits(), out);
+        writeSplits(state.getAssignedSplits(), out);
+        out.writeInt(state.getFinishedSplits().size());
+        for (Map.Entry<String, ChangeStreamOffset> entry : state.getFinishedSplits().entrySet()) {
+            out.writeUTF(entry.getKey());
+            MongoDBSplitSerializer.writeOffset(entry.getValue(), out);
+        }
+        out.writeBoolean(state.isStreamSplitCreated());
+        MongoDBSplitSerializer.writeOffset(state.getStartOffset(), out);
+        final byte[] result = out.getCopyOfBuffer();
+        out.clear();
+        return result;
+    }
+
+    @Override
+    public MongoDBSourceEnumState deserialize(int version, byte[] serialized) throws IOException {
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Unknown version: " + version);
+        }
+        final DataInputDeserializer in = new DataInputDeserializer(serialized);
+        final List<String> capturedCollections = readStrings(in);
+        final List<String> remainingCollections = readStrings(in);
+        // the splits are serialized in the same version as the state
+        final List<MongoDBSplit> remainingSplits = readSplits(in, version);
+        final List<MongoDBSplit> assignedSplits = readSplits(in, version);
+        final int size = in.readInt();
+        final Map<String, ChangeStreamOffset> finishedSplits = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            finishedSplits.put(in.readUTF(), MongoDBSplitSerializer.readOffset(in));
+        }
+        final boolean streamSplitCreated = in.readBoolean();
+        final ChangeStreamOffset startOffset = MongoDBSplitSerializer.readOffset(in);
+        return new MongoDBSourceEnumState(
+                capturedCollections,
+                remainingCollections,
+                remainingSplits,
+                assignedSplits,
+                finishedSplits,
+                streamSplitCreated,
+                startOffset);
+    }
+
+    private static void writeSplits(List<MongoDBSplit> splits, DataOutputView out)
+            throws IOException {
+        out.writeInt(splits.size());
+        for (MongoDBSplit split : splits) {
+            MongoDBSplitSerializer.writeSplit(split, out);
+        }
+    }
+
+    private static List<MongoDBSplit> readSplits(DataInputView in, int version)
+            throws IOException {
+        final int size = in.readInt();
+        final List<MongoDBSplit> splits = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            splits.add(MongoDBSplitSerializer.readSplit(in, version));
+        }
+        return splits;
+    }
+
+    private static void writeStrings(List<String> values, DataOutputView out) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputView in) throws IOException {
+        final int size = in.readInt();
+        final List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+}
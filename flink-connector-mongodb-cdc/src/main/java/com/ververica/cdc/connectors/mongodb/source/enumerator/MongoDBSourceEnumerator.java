@@ -0,0 +1,230 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.enumerator;
+
+import org.apache.flink.api.connector.source.SourceEvent;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+
+import com.mongodb.client.MongoClient;
+import com.ververica.cdc.connectors.mongodb.source.MongoDBSourceConfig;
+import com.ververica.cdc.connectors.mongodb.source.events.FinishedSnapshotSplitsEvent;
+import com.ververica.cdc.connectors.mongodb.source.split.ChangeStreamOffset;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSplit;
+import com.ververica.cdc.connectors.mongodb.utils.MongoUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The enumerator of {@link com.ververica.cdc.connectors.mongodb.source.MongoDBIncrementalSource}.
+ *
+ * <p>The collections are split into chunks lazily on the requests of the readers. The stream splits
+ * are assigned after all the snapshot splits are finished, and they carry the high watermarks of
+ * the snapshot splits to skip the change events which have been merged into the snapshot.
+ *
+ * <p>If the source runs in parallel, the change streams are partitioned by the hash of the
+ * namespaces into a stream split per subtask, up to the number of the captured collections.
+ */
+public class MongoDBSourceEnumerator
+        implements SplitEnumerator<MongoDBSplit, MongoDBSourceEnumState> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoDBSourceEnumerator.class);
+
+    private final SplitEnumeratorContext<MongoDBSplit> context;
+    private final MongoDBSourceConfig sourceConfig;
+
+    private final List<String> capturedCollections;
+    private final LinkedList<String> remainingCollections;
+    private final LinkedList<MongoDBSplit> remainingSplits;
+    private final Map<String, MongoDBSplit> assignedSplits;
+    private final Map<String, ChangeStreamOffset> finishedSplits;
+    private final ChangeStreamOffset startOffset;
+    private boolean streamSplitCreated;
+
+    /** The subtasks which requested a split while none was available. */
+    private final TreeSet<Integer> awaitingReaders = new TreeSet<>();
+
+    private MongoClient client;
+    private MongoDBChunkSplitter chunkSplitter;
+
+    public MongoDBSourceEnumerator(
+            SplitEnumeratorContext<MongoDBSplit> context,
+            MongoDBSourceConfig sourceConfig,
+            MongoDBSourceEnumState state) {
+        this.context = context;
+        this.sourceConfig = sourceConfig;
+        this.capturedCollections = new ArrayList<>(state.getCapturedCollections());
+        this.remainingCollections = new LinkedList<>(state.getRemainingCollections());
+        this.remainingSplits = new LinkedList<>(state.getRemainingSplits());
+        this.assignedSplits = new LinkedHashMap<>();
+        for (MongoDBSplit split : state.getAssignedSplits()) {
+            assignedSplits.put(split.splitId(), split);
+        }
+        this.finishedSplits = new LinkedHashMap<>(state.getFinishedSplits());
+        this.streamSplitCreated = state.isStreamSplitCreated();
+        this.startOffset = state.getStartOffset();
+    }
+
+    @Override
+    public void start() {
+        // the splits are assigned on the requests of the readers
+    }
+
+    @Override
+    public void handleSplitRequest(int subtaskId, @Nullable String requesterHostname) {
+        if (!context.registeredReaders().containsKey(subtaskId)) {
+            return;
+        }
+        awaitingReaders.add(subtaskId);
+        assignSplits();
+    }
+
+    private void assignSplits() {
+        final Iterator<Integer> awaitingReader = awaitingReaders.iterator();
+        while (awaitingReader.hasNext()) {
+            final int subtaskId = awaitingReader.next();
+            if (!context.registeredReaders().containsKey(subtaskId)) {
+                // the reader has failed, it requests the splits again after restarted
+                awaitingReader.remove();
+                continue;
+            }
+            final MongoDBSplit split = getNextSplit();
+            if (split == null) {
+                LOG.debug("No split is available for subtask {} currently", subtaskId);
+                return;
+            }
+            LOG.info("Assign split {} to subtask {}", split, subtaskId);
+            context.assignSplit(split, subtaskId);
+            awaitingReader.remove();
+        }
+    }
+
+    @Override
+    public void addSplitsBack(List<MongoDBSplit> splits, int subtaskId) {
+        LOG.debug("MongoDB Source Enumerator adds splits back: {}", splits);
+        for (MongoDBSplit split : splits) {
+            if (!split.isStreamSplit()) {
+                // the records of the split emitted after the last checkpoint are rolled back
+                assignedSplits.remove(split.splitId());
+                finishedSplits.remove(split.splitId());
+            }
+            remainingSplits.add(split);
+        }
+        assignSplits();
+    }
+
+    @Override
+    public void addReader(int subtaskId) {
+        // the reader requests the splits after it's started
+    }
+
+    @Override
+    public void handleSourceEvent(int subtaskId, SourceEvent sourceEvent) {
+        if (sourceEvent instanceof FinishedSnapshotSplitsEvent) {
+            final Map<String, ChangeStreamOffset> splits =
+                    ((FinishedSnapshotSplitsEvent) sourceEvent).getFinishedSplits();
+            LOG.info("Subtask {} finished the snapshot splits {}", subtaskId, splits);
+            finishedSplits.putAll(splits);
+            // the stream splits may be available for the awaiting readers
+            assignSplits();
+        }
+    }
+
+    @Override
+    public MongoDBSourceEnumState snapshotState(long checkpointId) {
+        return new MongoDBSourceEnumState(
+                new ArrayList<>(capturedCollections),
+                new ArrayList<>(remainingCollections),
+                new ArrayList<>(remainingSplits),
+                new ArrayList<>(assignedSplits.values()),
+                new LinkedHashMap<>(finishedSplits),
+                streamSplitCreated,
+                startOffset);
+    }
+
+    @Override
+    public void close() {
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    @Nullable
+    private MongoDBSplit getNextSplit() {
+        while (remainingSplits.isEmpty() && !remainingCollections.isEmpty()) {
+            final String collectionId = remainingCollections.removeFirst();
+            remainingSplits.addAll(getChunkSplitter().splitChunks(collectionId));
+        }
+        if (!remainingSplits.isEmpty()) {
+            final MongoDBSplit split = remainingSplits.removeFirst();
+            if (!split.isStreamSplit()) {
+                assignedSplits.put(split.splitId(), split);
+            }
+            return split;
+        }
+        if (!streamSplitCreated && finishedSplits.keySet().containsAll(assignedSplits.keySet())) {
+            streamSplitCreated = true;
+            final int streamPartitions =
+                    Math.max(1, Math.min(context.currentParallelism(), capturedCollections.size()));
+            LOG.info("Create {} stream splits from offset {}", streamPartitions, startOffset);
+            for (int i = 0; i < streamPartitions; i++) {
+                remainingSplits.add(
+                        MongoDBSplit.streamSplit(
+                                new ArrayList<>(capturedCollections),
+                                startOffset,
+                                getFinishedSplits(i, streamPartitions),
+                                i,
+                                streamPartitions));
+            }
+            return remainingSplits.removeFirst();
+        }
+        return null;
+    }
+
+    /** Returns the finished snapshot splits of the collections in the partition. */
+    private List<MongoDBSplit> getFinishedSplits(int streamPartition, int streamPartitions) {
+        final List<MongoDBSplit> splits = new ArrayList<>();
+        for (MongoDBSplit split : assignedSplits.values()) {
+            if (MongoUtils.getStreamPartition(split.getCollectionId(), streamPartitions)
+                    == streamPartition) {
+                splits.add(split.asFinished(finishedSplits.get(split.splitId())));
+            }
+        }
+        return splits;
+    }
+
+    private MongoDBChunkSplitter getChunkSplitter() {
+        if (chunkSplitter == null) {
+            client = MongoUtils.createClient(sourceConfig);
+            chunkSplitter = new MongoDBChunkSplitter(client, sourceConfig.getChunkSizeMB());
+        }
+        return chunkSplitter;
+    }
+}
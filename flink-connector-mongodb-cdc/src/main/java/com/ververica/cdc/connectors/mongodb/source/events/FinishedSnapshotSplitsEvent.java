@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.events;
+
+import org.apache.flink.api.connector.source.SourceEvent;
+
+import com.ververica.cdc.connectors.mongodb.source.enumerator.MongoDBSourceEnumerator;
+import com.ververica.cdc.connectors.mongodb.source.reader.MongoDBSourceReader;
+import com.ververica.cdc.connectors.mongodb.source.split.ChangeStreamOffset;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The {@link SourceEvent} that {@link MongoDBSourceReader} sends to {@link MongoDBSourceEnumerator}
+ * to notify the snapshot splits have been read, with the high watermarks of the splits.
+ */
+public class FinishedSnapshotSplitsEvent implements SourceEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, ChangeStreamOffset> finishedSplits;
+
+    public FinishedSnapshotSplitsEvent(Map<String, ChangeStreamOffset> finishedSplits) {
+        this.finishedSplits = new LinkedHashMap<>(finishedSplits);
+    }
+
+    /** Returns the high watermarks of the finished splits by the split ids. */
+    public Map<String, ChangeStreamOffset> getFinishedSplits() {
+        return finishedSplits;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FinishedSnapshotSplitsEvent that = (FinishedSnapshotSplitsEvent) o;
+        return Objects.equals(finishedSplits, that.finishedSplits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(finishedSplits);
+    }
+
+    @Override
+    public String toString() {
+        return "FinishedSnapshotSplitsEvent{" + "finishedSplits=" + finishedSplits + '}';
+    }
+}
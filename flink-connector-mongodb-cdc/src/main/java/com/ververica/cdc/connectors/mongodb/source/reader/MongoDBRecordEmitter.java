@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.reader;
+
+import org.apache.flink.api.connector.source.SourceOutput;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.util.Collector;
+
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSplitState;
+import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
+
+/**
+ * The {@link RecordEmitter} implementation for {@link MongoDBSourceReader}, which deserializes the
+ * records and updates the offsets of the split states.
+ */
+public class MongoDBRecordEmitter<T>
+        implements RecordEmitter<MongoDBSourceRecord, T, MongoDBSplitState> {
+
+    private final DebeziumDeserializationSchema<T> deserializer;
+    private final OutputCollector<T> outputCollector;
+
+    public MongoDBRecordEmitter(DebeziumDeserializationSchema<T> deserializer) {
+        this.deserializer = deserializer;
+        this.outputCollector = new OutputCollector<>();
+    }
+
+    @Override
+    public void emitRecord(
+            MongoDBSourceRecord element, SourceOutput<T> output, MongoDBSplitState splitState)
+            throws Exception {
+        switch (element.getKind()) {
+            case RECORD:
+                outputCollector.output = output;
+                deserializer.deserialize(element.getRecord(), outputCollector);
+                if (element.getResumeToken() != null) {
+                    splitState.setOffset(element.getResumeToken(), element.getTimestamp());
+                }
+                break;
+            case OFFSET:
+                splitState.setOffset(element.getResumeToken(), element.getTimestamp());
+                break;
+            case HIGH_WATERMARK:
+                splitState.setHighWatermark(element.getHighWatermark());
+                break;
+            default:
+                throw new IllegalStateException("Unknown record kind: " + element.getKind());
+        }
+    }
+
+    private static class OutputCollector<T> implements Collector<T> {
+        private SourceOutput<T> output;
+
+        @Override
+        public void collect(T record) {
+            output.collect(record);
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.reader;
+
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.connector.base.source.reader.SingleThreadMultiplexSourceReaderBase;
+
+import com.ververica.cdc.connectors.mongodb.source.events.FinishedSnapshotSplitsEvent;
+import com.ververica.cdc.connectors.mongodb.source.split.ChangeStreamOffset;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSplit;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSplitState;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The source reader of {@link
+ * com.ververica.cdc.connectors.mongodb.source.MongoDBIncrementalSource}, which reports the finished
+ * snapshot splits with their high watermarks to the enumerator.
+ */
+public class MongoDBSourceReader<T>
+        extends SingleThreadMultiplexSourceReaderBase<
+                MongoDBSourceRecord, T, MongoDBSplit, MongoDBSplitState> {
+
+    private final SourceReaderContext context;
+
+    /** The finished snapshot splits which are not acknowledged by the enumerator yet. */
+    private final Map<String, MongoDBSplit> finishedSnapshotSplits = new LinkedHashMap<>();
+
+    public MongoDBSourceReader(
+            Supplier<MongoDBSplitReader> splitReaderSupplier,
+            RecordEmitter<MongoDBSourceRecord, T, MongoDBSplitState> recordEmitter,
+            Configuration config,
+            SourceReaderContext context) {
+        super(splitReaderSupplier::get, recordEmitter, config, context);
+        this.context = context;
+    }
+
+    @Override
+    public void start() {
+        context.sendSplitRequest();
+    }
+
+    @Override
+    public void addSplits(List<MongoDBSplit> splits) {
+        final List<MongoDBSplit> unfinishedSplits = new ArrayList<>();
+        final Map<String, ChangeStreamOffset> finishedSplits = new LinkedHashMap<>();
+        for (MongoDBSplit split : splits) {
+            if (split.isFinished()) {
+                finishedSnapshotSplits.put(split.splitId(), split);
+                finishedSplits.put(split.splitId(), split.getHighWatermark());
+            } else {
+                if (split.isStreamSplit()) {
+                    // all the snapshot splits are known finished by the enumerator
+                    finishedSnapshotSplits.clear();
+                }
+                unfinishedSplits.add(split);
+            }
+        }
+        if (!finishedSplits.isEmpty()) {
+            context.sendSourceEventToCoordinator(new FinishedSnapshotSplitsEvent(finishedSplits));
+        }
+        super.addSplits(unfinishedSplits);
+    }
+
+    @Override
+    public List<MongoDBSplit> snapshotState(long checkpointId) {
+        final List<MongoDBSplit> splits = new ArrayList<>(super.snapshotState(checkpointId));
+        splits.addAll(finishedSnapshotSplits.values());
+        return splits;
+    }
+
+    @Override
+    protected void onSplitFinished(Map<String, MongoDBSplitState> finishedSplitIds) {
+        final Map<String, ChangeStreamOffset> finishedSplits = new LinkedHashMap<>();
+        for (MongoDBSplitState splitState : finishedSplitIds.values()) {
+            final MongoDBSplit split = splitState.toSourceSplit();
+            finishedSnapshotSplits.put(split.splitId(), split.asFinished(split.getHighWatermark()));
+            finishedSplits.put(split.splitId(), split.getHighWatermark());
+        }
+        context.sendSourceEventToCoordinator(new FinishedSnapshotSplitsEvent(finishedSplits));
+        context.sendSplitRequest();
+    }
+
+    @Override
+    protected MongoDBSplitState initializedState(MongoDBSplit split) {
+        return new MongoDBSplitState(split);
+    }
+
+    @Override
+    protected MongoDBSplit toSplitType(String splitId, MongoDBSplitState splitState) {
+        return splitState.toSourceSplit();
+    }
+}
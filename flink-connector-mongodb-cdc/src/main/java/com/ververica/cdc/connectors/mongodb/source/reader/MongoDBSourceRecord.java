@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.reader;
+
+import com.ververica.cdc.connectors.mongodb.source.split.ChangeStreamOffset;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.bson.BsonDocument;
+
+/** The element read by {@link MongoDBSplitReader}, which is a record or a change of the offset. */
+public final class MongoDBSourceRecord {
+
+    /** The kind of the record. */
+    public enum Kind {
+        /** A snapshot record, or a change event with the resume token of it. */
+        RECORD,
+        /** Signals the stream split has read until the resume token. */
+        OFFSET,
+        /** Signals the snapshot split has been read at the high watermark. */
+        HIGH_WATERMARK
+    }
+
+    private final Kind kind;
+    private final SourceRecord record;
+    private final BsonDocument resumeToken;
+    private final long timestamp;
+    private final ChangeStreamOffset highWatermark;
+
+    private MongoDBSourceRecord(
+            Kind kind,
+            SourceRecord record,
+            BsonDocument resumeToken,
+            long timestamp,
+            ChangeStreamOffset highWatermark) {
+        this.kind = kind;
+        this.record = record;
+        this.resumeToken = resumeToken;
+        this.timestamp = timestamp;
+        this.highWatermark = highWatermark;
+    }
+
+    public static MongoDBSourceRecord snapshotRecord(SourceRecord record) {
+        return new MongoDBSourceRecord(Kind.RECORD, record, null, -1, null);
+    }
+
+    public static MongoDBSourceRecord changeRecord(
+            SourceRecord record, BsonDocument resumeToken, long timestamp) {
+        return new MongoDBSourceRecord(Kind.RECORD, record, resumeToken, timestamp, null);
+    }
+
+    public static MongoDBSourceRecord offset(BsonDocument resumeToken, long timestamp) {
+        return new MongoDBSourceRecord(Kind.OFFSET, null, resumeToken, timestamp, null);
+    }
+
+    public static MongoDBSourceRecord highWatermark(ChangeStreamOffset highWatermark) {
+        return new MongoDBSourceRecord(Kind.HIGH_WATERMARK, null, null, -1, highWatermark);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public SourceRecord getRecord() {
+        return record;
+    }
+
+    /** Returns the resume token of the change event or the offset, null for snapshot records. */
+    public BsonDocument getResumeToken() {
+        return resumeToken;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public ChangeStreamOffset getHighWatermark() {
+        return highWatermark;
+    }
+}
@@ -0,0 +1,470 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.reader;
+
+import org.apache.flink.connector.base.source.reader.RecordsBySplits;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope;
+import com.ververica.cdc.connectors.mongodb.source.MongoDBRecordConverter;
+import com.ververica.cdc.connectors.mongodb.source.MongoDBSourceConfig;
+import com.ververica.cdc.connectors.mongodb.source.split.ChangeStreamOffset;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSplit;
+import com.ververica.cdc.connectors.mongodb.utils.BsonUtils;
+import com.ververica.cdc.connectors.mongodb.utils.MongoUtils;
+import com.ververica.cdc.connectors.mongodb.utils.ResumeTokenUtils;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.in;
+import static com.ververica.cdc.connectors.mongodb.utils.MongoUtils.ID_FIELD;
+import static com.ververica.cdc.connectors.mongodb.utils.MongoUtils.ID_INDEX;
+
+/**
+ * The {@link SplitReader} of the MongoDB incremental source.
+ *
+ * <p>A snapshot split is read between a low and a high watermark of the change stream of the
+ * collection. The changes of the documents in the range of the split between the watermarks are
+ * merged by reading the changed documents again after the high watermark, so the split is
+ * consistent with the high watermark. The stream split skips the change events of the snapshot
+ * splits until their high watermarks.
+ */
+public class MongoDBSplitReader implements SplitReader<MongoDBSourceRecord, MongoDBSplit> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoDBSplitReader.class);
+
+    /** The max number of the changed documents to read again in a query. */
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+
+    private static final String INVALIDATE_OPERATION = "invalidate";
+
+    private static final Comparator<MongoDBSplit> LOWER_BOUND_ORDER =
+            (s1, s2) -> {
+                if (s1.getLowerBound() == null || s2.getLowerBound() == null) {
+                    return Boolean.compare(s2.getLowerBound() == null, s1.getLowerBound() == null);
+                }
+                return BsonUtils.compareBsonValue(
+                        s1.getLowerBound().get(ID_FIELD), s2.getLowerBound().get(ID_FIELD));
+            };
+
+    private final MongoDBSourceConfig sourceConfig;
+    private final MongoDBRecordConverter recordConverter;
+    @Nullable private final BsonDocument copyExistingFilter;
+    @Nullable private final BsonDocument copyExistingProjection;
+
+    private final LinkedList<MongoDBSplit> snapshotSplits = new LinkedList<>();
+
+    /**
+     * The readers of the stream splits, which are read in turn. A reader usually has one stream
+     * split, but it may have several after the parallelism of the source is decreased.
+     */
+    private final LinkedList<StreamSplitReader> streamSplitReaders = new LinkedList<>();
+
+    private MongoClient client;
+
+    public MongoDBSplitReader(
+            MongoDBSourceConfig sourceConfig, MongoDBRecordConverter recordConverter) {
+        this.sourceConfig = sourceConfig;
+        this.recordConverter = recordConverter;
+        this.copyExistingFilter =
+                MongoUtils.getCopyExistingFilter(sourceConfig.getCopyExistingPipeline());
+        this.copyExistingProjection =
+                MongoUtils.getCopyExistingProjection(sourceConfig.getCopyExistingPipeline());
+    }
+
+    @Override
+    public RecordsWithSplitIds<MongoDBSourceRecord> fetch() throws IOException {
+        final RecordsBySplits.Builder<MongoDBSourceRecord> builder =
+                new RecordsBySplits.Builder<>();
+        try {
+            if (!snapshotSplits.isEmpty()) {
+                final MongoDBSplit split = snapshotSplits.removeFirst();
+                readSnapshotSplit(split, builder);
+                builder.addFinishedSplit(split.splitId());
+            } else if (!streamSplitReaders.isEmpty()) {
+                final StreamSplitReader streamSplitReader = streamSplitReaders.removeFirst();
+                streamSplitReaders.addLast(streamSplitReader);
+                streamSplitReader.readChangeEvents(builder);
+            }
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+        return builder.build();
+    }
+
+    private void readSnapshotSplit(
+            MongoDBSplit split, RecordsBySplits.Builder<MongoDBSourceRecord> builder) {
+        LOG.info("Start to read snapshot split {}", split);
+        final MongoNamespace namespace = new MongoNamespace(split.getCollectionId());
+        final MongoCollection<RawBsonDocument> collection =
+                MongoUtils.getCollection(getClient(), split.getCollectionId());
+
+        final ChangeStreamOffset lowWatermark =
+                MongoUtils.getCurrentOffset(getClient(), watch(collection));
+
+        final Map<BsonValue, RawBsonDocument> documents = new LinkedHashMap<>();
+        final FindIterable<RawBsonDocument> find =
+                copyExistingFilter == null
+                        ? collection.find()
+                        : collection.find(copyExistingFilter);
+        find.hint(ID_INDEX);
+        if (copyExistingProjection != null) {
+            find.projection(copyExistingProjection);
+        }
+        if (split.getLowerBound() != null) {
+            find.min(split.getLowerBound());
+        }
+        if (split.getUpperBound() != null) {
+            find.max(split.getUpperBound());
+        }
+        if (sourceConfig.getBatchSize() > 0) {
+            find.batchSize(sourceConfig.getBatchSize());
+        }
+        for (RawBsonDocument document : find) {
+            documents.put(document.get(ID_FIELD), document);
+        }
+
+        final ChangeStreamOffset highWatermark =
+                MongoUtils.getCurrentOffset(getClient(), watch(collection));
+
+        final Set<BsonValue> changedIds =
+                readChangedIds(collection, split, lowWatermark, highWatermark);
+        if (!changedIds.isEmpty()) {
+            // the changed documents are read again, they may have been changed after the high
+            // watermark, which are emitted again by the stream split
+            documents.keySet().removeAll(changedIds);
+            lookupDocuments(collection, new ArrayList<>(changedIds), documents);
+        }
+
+        for (RawBsonDocument document : documents.values()) {
+            builder.add(
+                    split.splitId(),
+                    MongoDBSourceRecord.snapshotRecord(
+                            recordConverter.toSnapshotRecord(namespace, document)));
+        }
+        builder.add(split.splitId(), MongoDBSourceRecord.highWatermark(highWatermark));
+        LOG.info(
+                "Read snapshot split {} finished with {} documents, {} changed during the read",
+                split.splitId(),
+                documents.size(),
+                changedIds.size());
+    }
+
+    /** Returns the ids of the documents in the split which are changed between the watermarks. */
+    private Set<BsonValue> readChangedIds(
+            MongoCollection<RawBsonDocument> collection,
+            MongoDBSplit split,
+            ChangeStreamOffset lowWatermark,
+            ChangeStreamOffset highWatermark) {
+        final Set<BsonValue> changedIds = new LinkedHashSet<>();
+        try (MongoChangeStreamCursor<RawBsonDocument> cursor =
+                MongoUtils.openCursor(
+                        watch(collection).startAtOperationTime(lowWatermark.getClusterTime()))) {
+            while (true) {
+                final RawBsonDocument event = cursor.tryNext();
+                if (event == null) {
+                    final BsonDocument resumeToken = cursor.getResumeToken();
+                    if (resumeToken == null
+                            || ResumeTokenUtils.decodeTimestamp(resumeToken)
+                                            .compareTo(highWatermark.getClusterTime())
+                                    >= 0) {
+                        break;
+                    }
+                    continue;
+                }
+                if (event.getTimestamp(MongoDBEnvelope.CLUSTER_TIME_FIELD)
+                                        .compareTo(highWatermark.getClusterTime())
+                                > 0
+                        || INVALIDATE_OPERATION.equals(getOperationType(event))) {
+                    break;
+                }
+                final BsonDocument documentKey =
+                        event.getDocument(MongoDBEnvelope.DOCUMENT_KEY_FIELD, null);
+                if (documentKey != null) {
+                    final BsonValue id = documentKey.get(ID_FIELD);
+                    if (BsonUtils.isInRange(id, split.getLowerBound(), split.getUpperBound())) {
+                        changedIds.add(id);
+                    }
+                }
+            }
+        }
+        return changedIds;
+    }
+
+    private void lookupDocuments(
+            MongoCollection<RawBsonDocument> collection,
+            List<BsonValue> ids,
+            Map<BsonValue, RawBsonDocument> documents) {
+        for (int i = 0; i < ids.size(); i += LOOKUP_BATCH_SIZE) {
+            Bson filter = in(ID_FIELD, ids.subList(i, Math.min(ids.size(), i + LOOKUP_BATCH_SIZE)));
+            if (copyExistingFilter != null) {
+                filter = and(copyExistingFilter, filter);
+            }
+            final FindIterable<RawBsonDocument> find = collection.find(filter);
+            if (copyExistingProjection != null) {
+                find.projection(copyExistingProjection);
+            }
+            for (RawBsonDocument document : find) {
+                documents.put(document.get(ID_FIELD), document);
+            }
+        }
+    }
+
+    /** Finds the split containing the id by binary search, the splits are sorted and disjoint. */
+    @Nullable
+    private static MongoDBSplit findSplit(List<MongoDBSplit> splits, BsonValue id) {
+        int low = 0;
+        int high = splits.size() - 1;
+        MongoDBSplit found = null;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final BsonDocument lowerBound = splits.get(mid).getLowerBound();
+            if (lowerBound == null
+                    || BsonUtils.compareBsonValue(id, lowerBound.get(ID_FIELD)) >= 0) {
+                found = splits.get(mid);
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (found == null
+                || !BsonUtils.isInRange(id, found.getLowerBound(), found.getUpperBound())) {
+            return null;
+        }
+        return found;
+    }
+
+    private ChangeStreamIterable<RawBsonDocument> watch(
+            MongoCollection<RawBsonDocument> collection) {
+        return collection
+                .watch()
+                .maxAwaitTime(sourceConfig.getPollAwaitTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static String getOperationType(RawBsonDocument event) {
+        return event.getString(MongoDBEnvelope.OPERATION_TYPE_FIELD).getValue();
+    }
+
+    @Override
+    public void handleSplitsChanges(SplitsChange<MongoDBSplit> splitsChanges) {
+        if (!(splitsChanges instanceof SplitsAddition)) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "The SplitChange type of %s is not supported.",
+                            splitsChanges.getClass()));
+        }
+        for (MongoDBSplit split : splitsChanges.splits()) {
+            LOG.info("Handling split change {}", split);
+            if (split.isStreamSplit()) {
+                streamSplitReaders.add(new StreamSplitReader(split));
+            } else {
+                snapshotSplits.add(split);
+            }
+        }
+    }
+
+    private MongoClient getClient() {
+        if (client == null) {
+            client = MongoUtils.createClient(sourceConfig);
+        }
+        return client;
+    }
+
+    @Override
+    public void wakeUp() {
+        // the fetch only blocks until the await time of the change stream
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (StreamSplitReader streamSplitReader : streamSplitReaders) {
+            streamSplitReader.close();
+        }
+        streamSplitReaders.clear();
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+    }
+
+    /** Reads the change events of a stream split. */
+    private class StreamSplitReader {
+
+        private final MongoDBSplit streamSplit;
+
+        /** The finished snapshot splits of the collections, sorted by the lower bounds. */
+        private final Map<String, List<MongoDBSplit>> finishedSnapshotSplits = new HashMap<>();
+
+        private BsonTimestamp maxHighWatermark;
+
+        private MongoChangeStreamCursor<RawBsonDocument> streamCursor;
+        private BsonDocument lastResumeToken;
+
+        private StreamSplitReader(MongoDBSplit split) {
+            this.streamSplit = split;
+            for (MongoDBSplit finishedSplit : split.getFinishedSnapshotSplits()) {
+                finishedSnapshotSplits
+                        .computeIfAbsent(finishedSplit.getCollectionId(), k -> new ArrayList<>())
+                        .add(finishedSplit);
+                final BsonTimestamp high = finishedSplit.getHighWatermark().getClusterTime();
+                if (maxHighWatermark == null || high.compareTo(maxHighWatermark) > 0) {
+                    maxHighWatermark = high;
+                }
+            }
+            finishedSnapshotSplits.values().forEach(splits -> splits.sort(LOWER_BOUND_ORDER));
+        }
+
+        private void readChangeEvents(RecordsBySplits.Builder<MongoDBSourceRecord> builder) {
+            if (streamCursor == null) {
+                streamCursor = openStreamCursor(streamSplit.getStartOffset(), null);
+            }
+            int count = 0;
+            while (count < sourceConfig.getPollMaxBatchSize()) {
+                final RawBsonDocument event = streamCursor.tryNext();
+                if (event == null) {
+                    break;
+                }
+                count++;
+                final BsonDocument resumeToken = event.getDocument(ID_FIELD);
+                if (INVALIDATE_OPERATION.equals(getOperationType(event))) {
+                    // the watched collection or database is dropped or renamed
+                    LOG.info("The change stream is invalidated, restart it after {}", resumeToken);
+                    streamCursor.close();
+                    streamCursor = openStreamCursor(null, resumeToken);
+                    continue;
+                }
+                final long timestamp =
+                        event.getTimestamp(MongoDBEnvelope.CLUSTER_TIME_FIELD).getValue();
+                if (isMergedIntoSnapshot(event, timestamp)) {
+                    builder.add(
+                            streamSplit.splitId(),
+                            MongoDBSourceRecord.offset(resumeToken, timestamp));
+                } else {
+                    builder.add(
+                            streamSplit.splitId(),
+                            MongoDBSourceRecord.changeRecord(
+                                    recordConverter.toChangeRecord(event), resumeToken, timestamp));
+                }
+                lastResumeToken = resumeToken;
+            }
+            if (count < sourceConfig.getPollMaxBatchSize()) {
+                // advance the offset by the post batch resume token if there are no more events
+                final BsonDocument resumeToken = streamCursor.getResumeToken();
+                if (resumeToken != null && !resumeToken.equals(lastResumeToken)) {
+                    builder.add(
+                            streamSplit.splitId(),
+                            MongoDBSourceRecord.offset(
+                                    resumeToken,
+                                    ResumeTokenUtils.decodeTimestamp(resumeToken).getValue()));
+                    lastResumeToken = resumeToken;
+                }
+            }
+        }
+
+        /**
+         * Returns true if the change event has been merged into a finished snapshot split, which is
+         * before the high watermark of the split containing the document.
+         */
+        private boolean isMergedIntoSnapshot(RawBsonDocument event, long timestamp) {
+            if (finishedSnapshotSplits.isEmpty()) {
+                return false;
+            }
+            if (maxHighWatermark.compareTo(new BsonTimestamp(timestamp)) < 0) {
+                // all the later change events are after the high watermarks
+                finishedSnapshotSplits.clear();
+                return false;
+            }
+            final BsonDocument ns = event.getDocument(MongoDBEnvelope.NAMESPACE_FIELD, null);
+            final BsonDocument documentKey =
+                    event.getDocument(MongoDBEnvelope.DOCUMENT_KEY_FIELD, null);
+            if (ns == null
+                    || documentKey == null
+                    || !ns.isString(MongoDBEnvelope.NAMESPACE_COLLECTION_FIELD)) {
+                return false;
+            }
+            final List<MongoDBSplit> splits =
+                    finishedSnapshotSplits.get(
+                            ns.getString(MongoDBEnvelope.NAMESPACE_DATABASE_FIELD).getValue()
+                                    + "."
+                                    + ns.getString(MongoDBEnvelope.NAMESPACE_COLLECTION_FIELD)
+                                            .getValue());
+            if (splits == null) {
+                return false;
+            }
+            final MongoDBSplit split = findSplit(splits, documentKey.get(ID_FIELD));
+            return split != null && split.getHighWatermark().compareTimestamp(timestamp) >= 0;
+        }
+
+        private MongoChangeStreamCursor<RawBsonDocument> openStreamCursor(
+                @Nullable ChangeStreamOffset offset, @Nullable BsonDocument startAfter) {
+            final ChangeStreamIterable<Document> changeStream =
+                    MongoUtils.getChangeStreamIterable(
+                            getClient(),
+                            sourceConfig,
+                            streamSplit.getCapturedCollections(),
+                            streamSplit.getStreamPartition(),
+                            streamSplit.getStreamPartitions());
+            if (startAfter != null) {
+                changeStream.startAfter(startAfter);
+            } else if (offset.getResumeToken() != null) {
+                LOG.info("Read change events after resume token {}", offset.getResumeToken());
+                changeStream.resumeAfter(offset.getResumeTokenDocument());
+            } else {
+                LOG.info("Read change events from cluster time {}", offset.getClusterTime());
+                changeStream.startAtOperationTime(offset.getClusterTime());
+            }
+            return MongoUtils.openCursor(changeStream);
+        }
+
+        private void close() {
+            if (streamCursor != null) {
+                streamCursor.close();
+                streamCursor = null;
+            }
+        }
+    }
+}
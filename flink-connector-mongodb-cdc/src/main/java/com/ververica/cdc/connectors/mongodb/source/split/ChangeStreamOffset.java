@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.split;
+
+import com.ververica.cdc.connectors.mongodb.utils.ResumeTokenUtils;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A position of the change streams, the resume token of an event or the high water mark, and the
+ * cluster time decoded from it. The offsets are ordered by the cluster time.
+ *
+ * <p>The resume token is absent if the position is only known by the cluster time, the change
+ * stream is started at the operation time in this case.
+ */
+public class ChangeStreamOffset implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The resume token in JSON, or null. */
+    @Nullable private final String resumeToken;
+
+    /** The value of the cluster time. */
+    private final long timestamp;
+
+    public ChangeStreamOffset(@Nullable String resumeToken, long timestamp) {
+        this.resumeToken = resumeToken;
+        this.timestamp = timestamp;
+    }
+
+    public static ChangeStreamOffset of(BsonDocument resumeToken) {
+        return new ChangeStreamOffset(
+                resumeToken.toJson(), ResumeTokenUtils.decodeTimestamp(resumeToken).getValue());
+    }
+
+    public static ChangeStreamOffset of(BsonTimestamp timestamp) {
+        return new ChangeStreamOffset(null, timestamp.getValue());
+    }
+
+    @Nullable
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    @Nullable
+    public BsonDocument getResumeTokenDocument() {
+        return resumeToken == null ? null : BsonDocument.parse(resumeToken);
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public BsonTimestamp getClusterTime() {
+        return new BsonTimestamp(timestamp);
+    }
+
+    /** Compares the cluster time of the offset with the given one. */
+    public int compareTimestamp(long thatTimestamp) {
+        return getClusterTime().compareTo(new BsonTimestamp(thatTimestamp));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ChangeStreamOffset that = (ChangeStreamOffset) o;
+        return timestamp == that.timestamp && Objects.equals(resumeToken, that.resumeToken);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(resumeToken, timestamp);
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeStreamOffset{"
+                + "resumeToken="
+                + resumeToken
+                + ", clusterTime="
+                + getClusterTime()
+                + '}';
+    }
+}
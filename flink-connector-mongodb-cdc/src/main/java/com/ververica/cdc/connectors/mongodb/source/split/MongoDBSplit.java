@@ -0,0 +1,291 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.split;
+
+import org.apache.flink.api.connector.source.SourceSplit;
+
+import org.bson.BsonDocument;
+
+import javax.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The split of {@link com.ververica.cdc.connectors.mongodb.source.MongoDBIncrementalSource}, which
+ * is either a snapshot split reading a range of {@code _id} of a collection, or a stream split
+ * reading the change streams of the captured collections.
+ *
+ * <p>The change streams may be partitioned by the hash of the namespaces into several stream
+ * splits, each of them reads the change events of its own partition of the collections.
+ */
+public class MongoDBSplit implements SourceSplit {
+
+    public static final String STREAM_SPLIT_ID = "stream-split";
+
+    private final String splitId;
+
+    /** The full name of the collection in format "database.coll", null for the stream split. */
+    @Nullable private final String collectionId;
+
+    /** The inclusive lower bound in format {@code {_id: value}}, null if it's unbounded. */
+    @Nullable private final BsonDocument lowerBound;
+
+    /** The exclusive upper bound in format {@code {_id: value}}, null if it's unbounded. */
+    @Nullable private final BsonDocument upperBound;
+
+    /**
+     * The offset of the change streams which the snapshot split is consistent with, all the change
+     * events of the split until it have been merged into the snapshot. Null if it's not finished.
+     */
+    @Nullable private final ChangeStreamOffset highWatermark;
+
+    /** The offset which the stream split reads the change events from, null for snapshot splits. */
+    @Nullable private final ChangeStreamOffset startOffset;
+
+    /** The captured collections in format "database.coll", empty for the snapshot splits. */
+    private final List<String> capturedCollections;
+
+    /**
+     * The finished snapshot splits whose change events until the high watermarks are skipped by the
+     * stream split, empty once the stream split has read past all the high watermarks.
+     */
+    private final List<MongoDBSplit> finishedSnapshotSplits;
+
+    /** Whether the snapshot split is finished, only kept by the reader until it's acknowledged. */
+    private final boolean finished;
+
+    /** The partition of the namespaces read by the stream split, 0 for the snapshot splits. */
+    private final int streamPartition;
+
+    /** The number of the partitions of the change streams, 1 if they're not partitioned. */
+    private final int streamPartitions;
+
+    public MongoDBSplit(
+            String splitId,
+            @Nullable String collectionId,
+            @Nullable BsonDocument lowerBound,
+            @Nullable BsonDocument upperBound,
+            @Nullable ChangeStreamOffset highWatermark,
+            @Nullable ChangeStreamOffset startOffset,
+            List<String> capturedCollections,
+            List<MongoDBSplit> finishedSnapshotSplits,
+            boolean finished,
+            int streamPartition,
+            int streamPartitions) {
+        this.splitId = splitId;
+        this.collectionId = collectionId;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.highWatermark = highWatermark;
+        this.startOffset = startOffset;
+        this.capturedCollections = capturedCollections;
+        this.finishedSnapshotSplits = finishedSnapshotSplits;
+        this.finished = finished;
+        this.streamPartition = streamPartition;
+        this.streamPartitions = streamPartitions;
+    }
+
+    /** Creates a split which reads a range of {@code _id} of the collection. */
+    public static MongoDBSplit snapshotSplit(
+            String splitId,
+            String collectionId,
+            @Nullable BsonDocument lowerBound,
+            @Nullable BsonDocument upperBound) {
+        return new MongoDBSplit(
+                splitId,
+                collectionId,
+                lowerBound,
+                upperBound,
+                null,
+                null,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                false,
+                0,
+                1);
+    }
+
+    /** Creates the split which reads the change events of the collections from the offset. */
+    public static MongoDBSplit streamSplit(
+            List<String> capturedCollections,
+            ChangeStreamOffset startOffset,
+            List<MongoDBSplit> finishedSnapshotSplits) {
+        return streamSplit(capturedCollections, startOffset, finishedSnapshotSplits, 0, 1);
+    }
+
+    /**
+     * Creates the split which reads the change events of a partition of the collections from the
+     * offset, the captured collections are all the collections of the partitions.
+     */
+    public static MongoDBSplit streamSplit(
+            List<String> capturedCollections,
+            ChangeStreamOffset startOffset,
+            List<MongoDBSplit> finishedSnapshotSplits,
+            int streamPartition,
+            int streamPartitions) {
+        return new MongoDBSplit(
+                streamPartitions > 1 ? STREAM_SPLIT_ID + "-" + streamPartition : STREAM_SPLIT_ID,
+                null,
+                null,
+                null,
+                null,
+                startOffset,
+                capturedCollections,
+                finishedSnapshotSplits,
+                false,
+                streamPartition,
+                streamPartitions);
+    }
+
+    @Override
+    public String splitId() {
+        return splitId;
+    }
+
+    public boolean isStreamSplit() {
+        return collectionId == null;
+    }
+
+    @Nullable
+    public String getCollectionId() {
+        return collectionId;
+    }
+
+    @Nullable
+    public BsonDocument getLowerBound() {
+        return lowerBound;
+    }
+
+    @Nullable
+    public BsonDocument getUpperBound() {
+        return upperBound;
+    }
+
+    @Nullable
+    public ChangeStreamOffset getHighWatermark() {
+        return highWatermark;
+    }
+
+    @Nullable
+    public ChangeStreamOffset getStartOffset() {
+        return startOffset;
+    }
+
+    public List<String> getCapturedCollections() {
+        return capturedCollections;
+    }
+
+    public List<MongoDBSplit> getFinishedSnapshotSplits() {
+        return finishedSnapshotSplits;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public int getStreamPartition() {
+        return streamPartition;
+    }
+
+    public int getStreamPartitions() {
+        return streamPartitions;
+    }
+
+    /** Returns a copy of the snapshot split which is finished at the high watermark. */
+    public MongoDBSplit asFinished(ChangeStreamOffset highWatermark) {
+        return new MongoDBSplit(
+                splitId,
+                collectionId,
+                lowerBound,
+                upperBound,
+                highWatermark,
+                startOffset,
+                capturedCollections,
+                finishedSnapshotSplits,
+                true,
+                streamPartition,
+                streamPartitions);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MongoDBSplit that = (MongoDBSplit) o;
+        return finished == that.finished
+                && streamPartition == that.streamPartition
+                && streamPartitions == that.streamPartitions
+                && Objects.equals(splitId, that.splitId)
+                && Objects.equals(collectionId, that.collectionId)
+                && Objects.equals(lowerBound, that.lowerBound)
+                && Objects.equals(upperBound, that.upperBound)
+                && Objects.equals(highWatermark, that.highWatermark)
+                && Objects.equals(startOffset, that.startOffset)
+                && Objects.equals(capturedCollections, that.capturedCollections)
+                && Objects.equals(finishedSnapshotSplits, that.finishedSnapshotSplits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                splitId,
+                collectionId,
+                lowerBound,
+                upperBound,
+                highWatermark,
+                startOffset,
+                capturedCollections,
+                finishedSnapshotSplits,
+                finished,
+                streamPartition,
+                streamPartitions);
+    }
+
+    @Override
+    public String toString() {
+        return "MongoDBSplit{"
+                + "splitId='"
+                + splitId
+                + '\''
+                + ", collectionId='"
+                + collectionId
+                + '\''
+                + ", lowerBound="
+                + lowerBound
+                + ", upperBound="
+                + upperBound
+                + ", highWatermark="
+                + highWatermark
+                + ", startOffset="
+                + startOffset
+                + ", finishedSnapshotSplits="
+                + finishedSnapshotSplits.size()
+                + ", finished="
+                + finished
+                + ", streamPartition="
+                + streamPartition
+                + ", streamPartitions="
+                + streamPartitions
+                + '}';
+    }
+}
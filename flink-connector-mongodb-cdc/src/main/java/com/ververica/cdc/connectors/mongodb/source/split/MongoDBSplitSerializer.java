@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.split;
+
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+
+import org.bson.BsonDocument;
+import org.bson.ByteBuf;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** A serializer for the {@link MongoDBSplit}. */
+public final class MongoDBSplitSerializer implements SimpleVersionedSerializer<MongoDBSplit> {
+
+    public static final MongoDBSplitSerializer INSTANCE = new MongoDBSplitSerializer();
+
+    private static final int VERSION = 2;
+
+    private static final ThreadLocal<DataOutputSerializer> SERIALIZER_CACHE =
+            ThreadLocal.withInitial(() -> new DataOutputSerializer(64));
+
+    private static final BsonDocumentCodec DOCUMENT_CODEC = new BsonDocumentCodec();
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] serialize(MongoDBSplit split) throws IOException {
+        final DataOutputSerializer out = SERIALIZER_CACHE.get();
+        writeSplit(split, out);
+        final byte[] result = out.getCopyOfBuffer();
+        out.clear();
+        return result;
+    }
+
+    @Override
+    public MongoDBSplit deserialize(int version, byte[] serialized) throws IOException {
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Unknown version: " + version);
+        }
+        return readSplit(new DataInputDeserializer(serialized), version);
+    }
+
+    public static void writeSplit(MongoDBSplit split, DataOutputView out) throws IOException {
+        out.writeUTF(split.splitId());
+        writeNullableString(split.getCollectionId(), out);
+        writeBound(split.getLowerBound(), out);
+        writeBound(split.getUpperBound(), out);
+        writeOffset(split.getHighWatermark(), out);
+        writeOffset(split.getStartOffset(), out);
+        out.writeInt(split.getCapturedCollections().size());
+        for (String collection : split.getCapturedCollections()) {
+            out.writeUTF(collection);
+        }
+        out.writeInt(split.getFinishedSnapshotSplits().size());
+        for (MongoDBSplit finishedSplit : split.getFinishedSnapshotSplits()) {
+            writeSplit(finishedSplit, out);
+        }
+        out.writeBoolean(split.isFinished());
+        out.writeInt(split.getStreamPartition());
+        out.writeInt(split.getStreamPartitions());
+    }
+
+    public static MongoDBSplit readSplit(DataInputView in, int version) throws IOException {
+        final String splitId = in.readUTF();
+        final String collectionId = readNullableString(in);
+        final BsonDocument lowerBound = readBound(in);
+        final BsonDocument upperBound = readBound(in);
+        final ChangeStreamOffset highWatermark = readOffset(in);
+        final ChangeStreamOffset startOffset = readOffset(in);
+        final int collectionNum = in.readInt();
+        final List<String> capturedCollections = new ArrayList<>(collectionNum);
+        for (int i = 0; i < collectionNum; i++) {
+            capturedCollections.add(in.readUTF());
+        }
+        final int splitNum = in.readInt();
+        final List<MongoDBSplit> finishedSnapshotSplits = new ArrayList<>(splitNum);
+        for (int i = 0; i < splitNum; i++) {
+            finishedSnapshotSplits.add(readSplit(in, version));
+        }
+        final boolean finished = in.readBoolean();
+        // the change streams are not partitioned by the splits of version 1
+        final int streamPartition = version >= 2 ? in.readInt() : 0;
+        final int streamPartitions = version >= 2 ? in.readInt() : 1;
+        return new MongoDBSplit(
+                splitId,
+                collectionId,
+                lowerBound,
+                upperBound,
+                highWatermark,
+                startOffset,
+                capturedCollections,
+                finishedSnapshotSplits,
+                finished,
+                streamPartition,
+                streamPartitions);
+    }
+
+    public static void writeOffset(ChangeStreamOffset offset, DataOutputView out)
+            throws IOException {
+        out.writeBoolean(offset != null);
+        if (offset != null) {
+            writeNullableString(offset.getResumeToken(), out);
+            out.writeLong(offset.getTimestamp());
+        }
+    }
+
+    public static ChangeStreamOffset readOffset(DataInputView in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        final String resumeToken = readNullableString(in);
+        return new ChangeStreamOffset(resumeToken, in.readLong());
+    }
+
+    private static void writeNullableString(String value, DataOutputView out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputView in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /** Writes the bound as BSON bytes, which keeps the types of the {@code _id} values. */
+    private static void writeBound(BsonDocument bound, DataOutputView out) throws IOException {
+        out.writeBoolean(bound != null);
+        if (bound != null) {
+            final ByteBuf buffer = new RawBsonDocument(bound, DOCUMENT_CODEC).getByteBuffer();
+            out.writeInt(buffer.remaining());
+            out.write(buffer.array(), buffer.position(), buffer.remaining());
+        }
+    }
+
+    private static BsonDocument readBound(DataInputView in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new RawBsonDocument(bytes).decode(DOCUMENT_CODEC);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.split;
+
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The mutable state of the {@link MongoDBSplit}, which tracks the high watermark of the snapshot
+ * split and the offset of the stream split.
+ */
+public class MongoDBSplitState {
+
+    private final MongoDBSplit split;
+
+    /** The max high watermark of the finished snapshot splits, or null if there are none. */
+    private final BsonTimestamp maxHighWatermark;
+
+    private ChangeStreamOffset highWatermark;
+
+    private ChangeStreamOffset offset;
+
+    /** The resume token of the last emitted change event, converted to the offset lazily. */
+    private BsonDocument resumeToken;
+
+    private long timestamp;
+
+    public MongoDBSplitState(MongoDBSplit split) {
+        this.split = split;
+        this.highWatermark = split.getHighWatermark();
+        this.offset = split.getStartOffset();
+        BsonTimestamp max = null;
+        for (MongoDBSplit finishedSplit : split.getFinishedSnapshotSplits()) {
+            BsonTimestamp high = finishedSplit.getHighWatermark().getClusterTime();
+            if (max == null || high.compareTo(max) > 0) {
+                max = high;
+            }
+        }
+        this.maxHighWatermark = max;
+    }
+
+    public MongoDBSplit getSplit() {
+        return split;
+    }
+
+    public void setHighWatermark(ChangeStreamOffset highWatermark) {
+        this.highWatermark = highWatermark;
+    }
+
+    public void setOffset(BsonDocument resumeToken, long timestamp) {
+        this.resumeToken = resumeToken;
+        this.timestamp = timestamp;
+        this.offset = null;
+    }
+
+    public ChangeStreamOffset getOffset() {
+        if (offset == null && resumeToken != null) {
+            offset = new ChangeStreamOffset(resumeToken.toJson(), timestamp);
+        }
+        return offset;
+    }
+
+    /** Use the current split state to create a new MongoDBSplit. */
+    public MongoDBSplit toSourceSplit() {
+        final ChangeStreamOffset currentOffset = getOffset();
+        List<MongoDBSplit> finishedSnapshotSplits = split.getFinishedSnapshotSplits();
+        if (maxHighWatermark != null
+                && currentOffset != null
+                && currentOffset.getClusterTime().compareTo(maxHighWatermark) > 0) {
+            // the change events of the snapshot splits are all behind the offset
+            finishedSnapshotSplits = Collections.emptyList();
+        }
+        return new MongoDBSplit(
+                split.splitId(),
+                split.getCollectionId(),
+                split.getLowerBound(),
+                split.getUpperBound(),
+                highWatermark,
+                currentOffset,
+                split.getCapturedCollections(),
+                finishedSnapshotSplits,
+                split.isFinished(),
+                split.getStreamPartition(),
+                split.getStreamPartitions());
+    }
+
+    @Override
+    public String toString() {
+        return "MongoDBSplitState{"
+                + "split="
+                + split
+                + ", highWatermark="
+                + highWatermark
+                + ", offset="
+                + getOffset()
+                + '}';
+    }
+}
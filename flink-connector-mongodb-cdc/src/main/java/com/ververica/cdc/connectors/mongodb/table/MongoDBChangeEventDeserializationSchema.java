@@ -0,0 +1,146 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.table;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarBinaryType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+
+import com.mongodb.client.model.changestream.OperationType;
+import com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope;
+import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
+import com.ververica.cdc.debezium.table.MetadataConverter;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Deserialization schema which keeps the change stream events as raw BSON in the rows, the rows are
+ * merged into the full documents by {@link MongoDBDeltaMergeFunction} over the keyed state.
+ *
+ * <p>The row kind of the event row is INSERT for inserts, UPDATE_AFTER for replaces and updates and
+ * DELETE for deletes, the update events without full document carry the update description only.
+ * The fields of the event row are the database, the collection, the document key, the full document
+ * and the update description, followed by a row of the metadata columns if there are any.
+ */
+public class MongoDBChangeEventDeserializationSchema
+        implements DebeziumDeserializationSchema<RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int DATABASE_POS = 0;
+    static final int COLLECTION_POS = 1;
+    static final int DOCUMENT_KEY_POS = 2;
+    static final int FULL_DOCUMENT_POS = 3;
+    static final int UPDATE_DESCRIPTION_POS = 4;
+    static final int METADATA_POS = 5;
+
+    private final MetadataConverter[] metadataConverters;
+
+    private final TypeInformation<RowData> resultTypeInfo;
+
+    public MongoDBChangeEventDeserializationSchema(
+            MetadataConverter[] metadataConverters, TypeInformation<RowData> resultTypeInfo) {
+        this.metadataConverters = checkNotNull(metadataConverters);
+        this.resultTypeInfo = checkNotNull(resultTypeInfo);
+    }
+
+    /** Creates the type of the event rows with the given types of the metadata columns. */
+    static RowType createEventRowType(List<LogicalType> metadataTypes) {
+        final List<RowType.RowField> fields = new ArrayList<>();
+        fields.add(new RowType.RowField("database", new VarCharType(VarCharType.MAX_LENGTH)));
+        fields.add(new RowType.RowField("collection", new VarCharType(VarCharType.MAX_LENGTH)));
+        fields.add(
+                new RowType.RowField("document_key", new VarBinaryType(VarBinaryType.MAX_LENGTH)));
+        fields.add(
+                new RowType.RowField("full_document", new VarBinaryType(VarBinaryType.MAX_LENGTH)));
+        fields.add(
+                new RowType.RowField(
+                        "update_description", new VarBinaryType(VarBinaryType.MAX_LENGTH)));
+        if (!metadataTypes.isEmpty()) {
+            fields.add(
+                    new RowType.RowField(
+                            "metadata", RowType.of(metadataTypes.toArray(new LogicalType[0]))));
+        }
+        return new RowType(fields);
+    }
+
+    @Override
+    public void deserialize(SourceRecord record, Collector<RowData> out) throws Exception {
+        final Struct value = (Struct) record.value();
+        final RowKind kind;
+        switch (OperationType.fromString(value.getString(MongoDBEnvelope.OPERATION_TYPE_FIELD))) {
+            case INSERT:
+                kind = RowKind.INSERT;
+                break;
+            case UPDATE:
+            case REPLACE:
+                kind = RowKind.UPDATE_AFTER;
+                break;
+            case DELETE:
+                kind = RowKind.DELETE;
+                break;
+            default:
+                return;
+        }
+        final Struct ns = value.getStruct(MongoDBEnvelope.NAMESPACE_FIELD);
+        final GenericRowData row = new GenericRowData(kind, metadataConverters.length > 0 ? 6 : 5);
+        row.setField(
+                DATABASE_POS,
+                StringData.fromString(ns.getString(MongoDBEnvelope.NAMESPACE_DATABASE_FIELD)));
+        row.setField(
+                COLLECTION_POS,
+                StringData.fromString(ns.getString(MongoDBEnvelope.NAMESPACE_COLLECTION_FIELD)));
+        row.setField(
+                DOCUMENT_KEY_POS,
+                checkNotNull(getBytes(value, MongoDBEnvelope.DOCUMENT_KEY_FIELD)));
+        row.setField(FULL_DOCUMENT_POS, getBytes(value, MongoDBEnvelope.FULL_DOCUMENT_FIELD));
+        row.setField(
+                UPDATE_DESCRIPTION_POS, getBytes(value, MongoDBEnvelope.UPDATE_DESCRIPTION_FIELD));
+        if (metadataConverters.length > 0) {
+            final GenericRowData metadata = new GenericRowData(metadataConverters.length);
+            for (int i = 0; i < metadataConverters.length; i++) {
+                metadata.setField(i, metadataConverters[i].read(record));
+            }
+            row.setField(METADATA_POS, metadata);
+        }
+        out.collect(row);
+    }
+
+    /** The documents are carried as raw BSON bytes by the source built with raw bson document. */
+    private static byte[] getBytes(Struct value, String fieldName) {
+        final Field field = value.schema().field(fieldName);
+        return field == null ? null : value.getBytes(fieldName);
+    }
+
+    @Override
+    public TypeInformation<RowData> getProducedType() {
+        return resultTypeInfo;
+    }
+}
@@ -39,10 +39,13 @@ import com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope;
 import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
 import com.ververica.cdc.debezium.table.AppendMetadataCollector;
 import com.ververica.cdc.debezium.table.MetadataConverter;
+import org.apache.kafka.connect.data.Field;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
+import org.bson.BsonArray;
 import org.bson.BsonBinary;
+import org.bson.BsonBinaryReader;
 import org.bson.BsonBinarySubType;
 import org.bson.BsonDateTime;
 import org.bson.BsonDocument;
@@ -50,10 +53,17 @@ import org.bson.BsonMaxKey;
 import org.bson.BsonMinKey;
 import org.bson.BsonRegularExpression;
 import org.bson.BsonTimestamp;
+import org.bson.BsonType;
 import org.bson.BsonUndefined;
 import org.bson.BsonValue;
+import org.bson.ByteBuf;
+import org.bson.RawBsonArray;
+import org.bson.RawBsonDocument;
 import org.bson.codecs.BsonArrayCodec;
+import org.bson.codecs.BsonValueCodec;
+import org.bson.codecs.DecoderContext;
 import org.bson.codecs.EncoderContext;
+import org.bson.io.ByteBufferBsonInput;
 import org.bson.json.JsonWriter;
 import org.bson.types.Decimal128;
 
@@ -69,7 +79,6 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import static java.time.format.DateTimeFormatter.ISO_OFFSET_DATE_TIME;
@@ -85,6 +94,10 @@ public class MongoDBConnectorDeserializationSchema
 
     private static final long serialVersionUID = 1750787080613035184L;
 
+    private static final BsonValueCodec BSON_VALUE_CODEC = new BsonValueCodec();
+
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
     /** TypeInformation of the produced {@link RowData}. */
     private final TypeInformation<RowData> resultTypeInfo;
 
@@ -167,19 +180,24 @@ public class MongoDBConnectorDeserializationSchema
         }
     }
 
-    private GenericRowData extractRowData(BsonDocument document) throws Exception {
+    GenericRowData extractRowData(BsonDocument document) throws Exception {
         checkNotNull(document);
         return (GenericRowData) physicalConverter.convert(document);
     }
 
     private BsonDocument extractBsonDocument(Struct value, Schema valueSchema, String fieldName) {
-        if (valueSchema.field(fieldName) != null) {
-            String docString = value.getString(fieldName);
-            if (docString != null) {
-                return BsonDocument.parse(value.getString(fieldName));
-            }
+        Field field = valueSchema.field(fieldName);
+        if (field == null) {
+            return null;
+        }
+        // The documents are carried as raw BSON bytes if the source is built with raw bson
+        // document, which are read lazily without parsing the whole document.
+        if (field.schema().type() == Schema.Type.BYTES) {
+            byte[] docBytes = value.getBytes(fieldName);
+            return docBytes == null ? null : new RawBsonDocument(docBytes);
         }
-        return null;
+        String docString = value.getString(fieldName);
+        return docString == null ? null : BsonDocument.parse(docString);
     }
 
     @Override
@@ -694,6 +712,10 @@ public class MongoDBConnectorDeserializationSchema
                         .map(this::createConverter)
                         .toArray(DeserializationRuntimeConverter[]::new);
         final String[] fieldNames = rowType.getFieldNames().toArray(new String[0]);
+        final Map<String, Integer> fieldPositions = new HashMap<>();
+        for (int i = 0; i < fieldNames.length; i++) {
+            fieldPositions.put(fieldNames[i], i);
+        }
 
         return (docObj) -> {
             if (!docObj.isDocument()) {
@@ -707,6 +729,14 @@ public class MongoDBConnectorDeserializationSchema
             BsonDocument document = docObj.asDocument();
             int arity = fieldNames.length;
             GenericRowData row = new GenericRowData(arity);
+            if (document instanceof RawBsonDocument) {
+                BsonValue[] fieldValues =
+                        readRawFields((RawBsonDocument) document, fieldPositions, arity);
+                for (int i = 0; i < arity; i++) {
+                    row.setField(i, convertField(fieldConverters[i], fieldValues[i]));
+                }
+                return row;
+            }
             for (int i = 0; i < arity; i++) {
                 String fieldName = fieldNames[i];
                 BsonValue fieldValue = document.get(fieldName);
@@ -717,6 +747,48 @@ public class MongoDBConnectorDeserializationSchema
         };
     }
 
+    /**
+     * Reads the values of the wanted fields from the raw document in one pass, the other fields are
+     * skipped without being decoded. The nested documents and arrays are returned as the raw slices
+     * of the document bytes, which are read lazily by their own converters.
+     */
+    private static BsonValue[] readRawFields(
+            RawBsonDocument document, Map<String, Integer> fieldPositions, int arity) {
+        BsonValue[] fieldValues = new BsonValue[arity];
+        ByteBuf buffer = document.getByteBuffer();
+        int remaining = arity;
+        try (BsonBinaryReader reader = new BsonBinaryReader(new ByteBufferBsonInput(buffer))) {
+            reader.readStartDocument();
+            while (remaining > 0 && reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                Integer pos = fieldPositions.get(reader.readName());
+                // Keep the first one of the duplicated names as RawBsonDocument#get does
+                if (pos == null || fieldValues[pos] != null) {
+                    reader.skipValue();
+                    continue;
+                }
+                fieldValues[pos] = readRawValue(reader, buffer);
+                remaining--;
+            }
+        }
+        return fieldValues;
+    }
+
+    private static BsonValue readRawValue(BsonBinaryReader reader, ByteBuf buffer) {
+        BsonType bsonType = reader.getCurrentBsonType();
+        if (bsonType != BsonType.DOCUMENT && bsonType != BsonType.ARRAY) {
+            return BSON_VALUE_CODEC.decode(reader, DECODER_CONTEXT);
+        }
+        // The value starts with its size in bytes, including the size itself
+        int position = reader.getBsonInput().getPosition();
+        int size = buffer.getInt(position);
+        reader.skipValue();
+        // The buffer of a nested document is a slice of the bytes of its parent
+        int offset = buffer.asNIO().arrayOffset() + position;
+        return bsonType == BsonType.DOCUMENT
+                ? new RawBsonDocument(buffer.array(), offset, size)
+                : new RawBsonArray(buffer.array(), offset, size);
+    }
+
     private DeserializationRuntimeConverter createArrayConverter(ArrayType arrayType) {
         final Class<?> elementClass =
                 LogicalTypeUtils.toInternalConversionClass(arrayType.getElementType());
@@ -732,10 +804,12 @@ public class MongoDBConnectorDeserializationSchema
                                 + docObj.getBsonType());
             }
 
-            List<BsonValue> in = docObj.asArray();
+            // Iterate the elements, as the raw array is scanned from the start on every get(i)
+            BsonArray in = docObj.asArray();
             final Object[] elementArray = (Object[]) Array.newInstance(elementClass, in.size());
-            for (int i = 0; i < in.size(); i++) {
-                elementArray[i] = elementConverter.convert(in.get(i));
+            int i = 0;
+            for (BsonValue element : in) {
+                elementArray[i++] = elementConverter.convert(element);
             }
             return new GenericArrayData(elementArray);
         };
@@ -759,10 +833,10 @@ public class MongoDBConnectorDeserializationSchema
 
             BsonDocument document = docObj.asDocument();
             Map<StringData, Object> map = new HashMap<>();
-            for (String key : document.keySet()) {
+            for (Map.Entry<String, BsonValue> entry : document.entrySet()) {
                 map.put(
-                        StringData.fromString(key),
-                        convertField(valueConverter, document.get(key)));
+                        StringData.fromString(entry.getKey()),
+                        convertField(valueConverter, entry.getValue()));
             }
             return new GenericMapData(map);
         };
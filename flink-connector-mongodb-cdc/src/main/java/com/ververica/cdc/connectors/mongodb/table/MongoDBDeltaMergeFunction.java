@@ -0,0 +1,343 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.table;
+
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.common.typeinfo.PrimitiveArrayTypeInfo;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.functions.KeyedProcessFunction;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.utils.JoinedRowData;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonNull;
+import org.bson.BsonValue;
+import org.bson.ByteBuf;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+import javax.annotation.Nullable;
+
+import java.util.Base64;
+import java.util.Map;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.ververica.cdc.connectors.mongodb.table.MongoDBChangeEventDeserializationSchema.COLLECTION_POS;
+import static com.ververica.cdc.connectors.mongodb.table.MongoDBChangeEventDeserializationSchema.DATABASE_POS;
+import static com.ververica.cdc.connectors.mongodb.table.MongoDBChangeEventDeserializationSchema.DOCUMENT_KEY_POS;
+import static com.ververica.cdc.connectors.mongodb.table.MongoDBChangeEventDeserializationSchema.FULL_DOCUMENT_POS;
+import static com.ververica.cdc.connectors.mongodb.table.MongoDBChangeEventDeserializationSchema.METADATA_POS;
+import static com.ververica.cdc.connectors.mongodb.table.MongoDBChangeEventDeserializationSchema.UPDATE_DESCRIPTION_POS;
+import static com.ververica.cdc.connectors.mongodb.utils.MongoUtils.ID_FIELD;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Merges the update descriptions of the change stream events over the last full documents kept in
+ * the keyed state, so the update rows are built without looking up the full documents for every
+ * update event.
+ *
+ * <p>The full documents are kept by the inserts of the snapshot and the change streams. A document
+ * which is updated before it is seen, e.g. the snapshot is skipped, is looked up once from the
+ * collection, and the later updates of it are merged over the state.
+ */
+public class MongoDBDeltaMergeFunction extends KeyedProcessFunction<String, RowData, RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final BsonDocumentCodec DOCUMENT_CODEC = new BsonDocumentCodec();
+
+    private final MongoDBConnectorDeserializationSchema physicalConverter;
+    private final int metadataArity;
+    private final String connectionString;
+
+    private transient ValueState<byte[]> documentState;
+    private transient MongoClient client;
+
+    public MongoDBDeltaMergeFunction(
+            MongoDBConnectorDeserializationSchema physicalConverter,
+            int metadataArity,
+            String connectionString) {
+        this.physicalConverter = checkNotNull(physicalConverter);
+        this.metadataArity = metadataArity;
+        this.connectionString = checkNotNull(connectionString);
+    }
+
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        super.open(parameters);
+        documentState =
+                getRuntimeContext()
+                        .getState(
+                                new ValueStateDescriptor<>(
+                                        "document",
+                                        PrimitiveArrayTypeInfo.BYTE_PRIMITIVE_ARRAY_TYPE_INFO));
+    }
+
+    @Override
+    public void processElement(RowData event, Context ctx, Collector<RowData> out)
+            throws Exception {
+        final byte[] fullDocument =
+                event.isNullAt(FULL_DOCUMENT_POS) ? null : event.getBinary(FULL_DOCUMENT_POS);
+        switch (event.getRowKind()) {
+            case INSERT:
+                documentState.update(fullDocument);
+                emit(event, RowKind.INSERT, new RawBsonDocument(fullDocument), out);
+                break;
+            case UPDATE_AFTER:
+                if (fullDocument != null) {
+                    documentState.update(fullDocument);
+                    emit(event, RowKind.UPDATE_AFTER, new RawBsonDocument(fullDocument), out);
+                    break;
+                }
+                final BsonDocument document = mergeUpdate(event);
+                // the document has been deleted before it is looked up, ignore it as the
+                // update events without the looked up document
+                if (document != null) {
+                    documentState.update(toBytes(document));
+                    emit(event, RowKind.UPDATE_AFTER, document, out);
+                }
+                break;
+            case DELETE:
+                documentState.clear();
+                emit(
+                        event,
+                        RowKind.DELETE,
+                        new RawBsonDocument(event.getBinary(DOCUMENT_KEY_POS)),
+                        out);
+                break;
+            default:
+                throw new IllegalArgumentException(
+                        "Unsupported row kind of the change event " + event.getRowKind());
+        }
+    }
+
+    @Nullable
+    private BsonDocument mergeUpdate(RowData event) throws Exception {
+        final byte[] previous = documentState.value();
+        if (previous == null) {
+            // the looked up document contains this update already
+            return lookupDocument(
+                    event.getString(DATABASE_POS).toString(),
+                    event.getString(COLLECTION_POS).toString(),
+                    new RawBsonDocument(event.getBinary(DOCUMENT_KEY_POS)));
+        }
+        final BsonDocument document = new RawBsonDocument(previous).decode(DOCUMENT_CODEC);
+        applyUpdateDescription(
+                document, new RawBsonDocument(event.getBinary(UPDATE_DESCRIPTION_POS)));
+        return document;
+    }
+
+    /** Looks up the current version of the document which is not kept in the state. */
+    @Nullable
+    protected BsonDocument lookupDocument(
+            String database, String collection, BsonDocument documentKey) {
+        if (client == null) {
+            client = MongoClients.create(connectionString);
+        }
+        return client.getDatabase(database)
+                .getCollection(collection, RawBsonDocument.class)
+                .find(eq(ID_FIELD, documentKey.get(ID_FIELD)))
+                .first();
+    }
+
+    private void emit(RowData event, RowKind kind, BsonDocument document, Collector<RowData> out)
+            throws Exception {
+        final GenericRowData physicalRow = physicalConverter.extractRowData(document);
+        physicalRow.setRowKind(kind);
+        if (metadataArity == 0) {
+            out.collect(physicalRow);
+        } else {
+            out.collect(
+                    new JoinedRowData(
+                            kind, physicalRow, event.getRow(METADATA_POS, metadataArity)));
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+        super.close();
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Update description
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * Applies the update description of an update event to the previous version of the document.
+     * The arrays are truncated first, then the removed fields are removed and the updated fields
+     * are set, the updated fields are the new values of the paths so that applying the update to a
+     * later version of the document again doesn't change it.
+     */
+    static void applyUpdateDescription(BsonDocument document, BsonDocument updateDescription) {
+        final BsonArray truncatedArrays =
+                updateDescription.getArray(MongoDBEnvelope.TRUNCATED_ARRAYS_FIELD, null);
+        if (truncatedArrays != null) {
+            for (BsonValue value : truncatedArrays) {
+                final BsonDocument truncatedArray = value.asDocument();
+                final BsonValue array =
+                        getPath(document, truncatedArray.getString("field").getValue());
+                final int newSize = truncatedArray.getNumber("newSize").intValue();
+                if (array != null && array.isArray()) {
+                    final BsonArray values = array.asArray();
+                    while (values.size() > newSize) {
+                        values.remove(values.size() - 1);
+                    }
+                }
+            }
+        }
+        final BsonArray removedFields =
+                updateDescription.getArray(MongoDBEnvelope.REMOVED_FIELDS_FIELD, null);
+        if (removedFields != null) {
+            for (BsonValue path : removedFields) {
+                removePath(document, path.asString().getValue());
+            }
+        }
+        final BsonDocument updatedFields =
+                updateDescription.getDocument(MongoDBEnvelope.UPDATED_FIELDS_FIELD, null);
+        if (updatedFields != null) {
+            for (Map.Entry<String, BsonValue> field : updatedFields.entrySet()) {
+                setPath(document, field.getKey(), field.getValue());
+            }
+        }
+    }
+
+    @Nullable
+    private static BsonValue getPath(BsonDocument document, String path) {
+        BsonValue current = document;
+        for (String name : path.split("\\.")) {
+            current = getChild(current, name);
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    private static void removePath(BsonDocument document, String path) {
+        final int lastDot = path.lastIndexOf('.');
+        final BsonValue parent =
+                lastDot < 0 ? document : getPath(document, path.substring(0, lastDot));
+        final String name = path.substring(lastDot + 1);
+        if (parent == null) {
+            return;
+        }
+        if (parent.isDocument()) {
+            parent.asDocument().remove(name);
+        } else if (parent.isArray()) {
+            // the removed elements of the arrays are set to null
+            final int index = toIndex(name);
+            if (index >= 0 && index < parent.asArray().size()) {
+                parent.asArray().set(index, BsonNull.VALUE);
+            }
+        }
+    }
+
+    private static void setPath(BsonDocument document, String path, BsonValue value) {
+        final String[] names = path.split("\\.");
+        BsonValue current = document;
+        for (int i = 0; i < names.length - 1; i++) {
+            BsonValue child = getChild(current, names[i]);
+            if (child == null || !(child.isDocument() || child.isArray())) {
+                child = new BsonDocument();
+                setChild(current, names[i], child);
+            }
+            current = child;
+        }
+        setChild(current, names[names.length - 1], value);
+    }
+
+    @Nullable
+    private static BsonValue getChild(BsonValue parent, String name) {
+        if (parent.isDocument()) {
+            return parent.asDocument().get(name);
+        }
+        if (parent.isArray()) {
+            final int index = toIndex(name);
+            return index >= 0 && index < parent.asArray().size()
+                    ? parent.asArray().get(index)
+                    : null;
+        }
+        return null;
+    }
+
+    private static void setChild(BsonValue parent, String name, BsonValue value) {
+        if (parent.isDocument()) {
+            parent.asDocument().put(name, value);
+            return;
+        }
+        final BsonArray array = parent.asArray();
+        final int index = toIndex(name);
+        if (index < 0) {
+            throw new IllegalArgumentException(
+                    "Unable to set the field " + name + " of an array " + array);
+        }
+        // the array is padded with nulls when setting the element after the end
+        while (array.size() < index) {
+            array.add(BsonNull.VALUE);
+        }
+        if (index < array.size()) {
+            array.set(index, value);
+        } else {
+            array.add(value);
+        }
+    }
+
+    private static int toIndex(String name) {
+        try {
+            return Integer.parseInt(name);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static byte[] toBytes(BsonDocument document) {
+        final ByteBuf buffer = new RawBsonDocument(document, DOCUMENT_CODEC).getByteBuffer();
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /** Selects the namespace and the {@code _id} of the change event as the key of the state. */
+    public static class DocumentKeySelector implements KeySelector<RowData, String> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String getKey(RowData event) {
+            final BsonValue id =
+                    new RawBsonDocument(event.getBinary(DOCUMENT_KEY_POS)).get(ID_FIELD);
+            return event.getString(DATABASE_POS)
+                    + "."
+                    + event.getString(COLLECTION_POS)
+                    + ":"
+                    + Base64.getEncoder().encodeToString(toBytes(new BsonDocument(ID_FIELD, id)));
+        }
+    }
+}
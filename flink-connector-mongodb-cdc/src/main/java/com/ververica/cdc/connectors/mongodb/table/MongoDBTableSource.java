@@ -16,27 +16,44 @@
 
 package com.ververica.cdc.connectors.mongodb.table;
 
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.table.catalog.Column;
 import org.apache.flink.table.catalog.ResolvedSchema;
 import org.apache.flink.table.connector.ChangelogMode;
+import org.apache.flink.table.connector.source.DataStreamScanProvider;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.ScanTableSource;
 import org.apache.flink.table.connector.source.SourceFunctionProvider;
+import org.apache.flink.table.connector.source.SourceProvider;
+import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
+import org.apache.flink.table.connector.source.abilities.SupportsProjectionPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsReadingMetadata;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.expressions.ResolvedExpression;
 import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.utils.TypeConversions;
 import org.apache.flink.types.RowKind;
 
 import com.ververica.cdc.connectors.mongodb.MongoDBSource;
+import com.ververica.cdc.connectors.mongodb.utils.MongoDBExpressionUtils;
 import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
-import com.ververica.cdc.debezium.DebeziumSourceFunction;
 import com.ververica.cdc.debezium.table.MetadataConverter;
 import org.apache.commons.lang3.StringUtils;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonValue;
+import org.bson.conversions.Bson;
 
 import javax.annotation.Nullable;
 
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -47,16 +64,49 @@ import java.util.stream.Stream;
 
 import static com.mongodb.MongoNamespace.checkCollectionNameValidity;
 import static com.mongodb.MongoNamespace.checkDatabaseNameValidity;
+import static com.ververica.cdc.connectors.mongodb.MongoDBSource.FULL_DOCUMENT_DELTA;
+import static com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope.CLUSTER_TIME_FIELD;
+import static com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope.DOCUMENT_KEY_FIELD;
+import static com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope.FULL_DOCUMENT_FIELD;
+import static com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope.NAMESPACE_FIELD;
+import static com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope.OPERATION_TYPE_FIELD;
+import static com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope.UPDATE_DESCRIPTION_FIELD;
+import static com.ververica.cdc.connectors.mongodb.utils.CollectionDiscoveryUtils.bsonListToJson;
 import static com.ververica.cdc.connectors.mongodb.utils.CollectionDiscoveryUtils.containsRegexMetaCharacters;
+import static com.ververica.cdc.connectors.mongodb.utils.MongoUtils.ID_FIELD;
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
 /**
  * A {@link DynamicTableSource} that describes how to create a MongoDB change stream events source
  * from a logical description.
+ *
+ * <p>The projection is pushed down to both the copy existing pipeline and the change streams. The
+ * filters are only pushed down to the copy existing pipeline and are still evaluated by Flink, as
+ * the change events of the documents updated out of the filters must not be dropped.
  */
-public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetadata {
+public class MongoDBTableSource
+        implements ScanTableSource,
+                SupportsReadingMetadata,
+                SupportsProjectionPushDown,
+                SupportsFilterPushDown {
+
+    /** The fields of the change stream events read by the deserializers. */
+    private static final String[] CHANGE_EVENT_FIELDS = {
+        ID_FIELD,
+        OPERATION_TYPE_FIELD,
+        NAMESPACE_FIELD,
+        "to",
+        DOCUMENT_KEY_FIELD,
+        UPDATE_DESCRIPTION_FIELD,
+        CLUSTER_TIME_FIELD,
+        "txnNumber",
+        "lsid"
+    };
 
-    private final ResolvedSchema physicalSchema;
+    private static final String MATCH_STAGE = "$match";
+    private static final String PROJECT_STAGE = "$project";
+
+    private final String hosts;
     private final String hosts;
     private final String connectionOptions;
     private final String username;
@@ -74,11 +124,22 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
     private final Integer pollAwaitTimeMillis;
     private final Integer heartbeatIntervalMillis;
     private final ZoneId localTimeZone;
+    private final boolean enableParallelRead;
+    private final int chunkSizeMB;
+    private final String fullDocument;
 
     // --------------------------------------------------------------------------------------------
     // Mutable attributes
     // --------------------------------------------------------------------------------------------
 
+    private ResolvedSchema physicalSchema;
+
+    /** Whether the fields not selected by the projection are dropped by the pipelines. */
+    private boolean projectionPushedDown;
+
+    /** The filters pushed down to the {@code $match} stage of the copy existing pipeline. */
+    private List<BsonDocument> snapshotFilters;
+
     /** Data type that describes the final output of the source. */
     protected DataType producedDataType;
 
@@ -103,7 +164,10 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
             @Nullable Integer pollMaxBatchSize,
             @Nullable Integer pollAwaitTimeMillis,
             @Nullable Integer heartbeatIntervalMillis,
-            ZoneId localTimeZone) {
+            ZoneId localTimeZone,
+            boolean enableParallelRead,
+            int chunkSizeMB,
+            String fullDocument) {
         this.physicalSchema = physicalSchema;
         this.hosts = checkNotNull(hosts);
         this.username = username;
@@ -122,8 +186,13 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
         this.pollAwaitTimeMillis = pollAwaitTimeMillis;
         this.heartbeatIntervalMillis = heartbeatIntervalMillis;
         this.localTimeZone = localTimeZone;
+        this.enableParallelRead = enableParallelRead;
+        this.chunkSizeMB = chunkSizeMB;
+        this.fullDocument = checkNotNull(fullDocument);
         this.producedDataType = physicalSchema.toPhysicalRowDataType();
         this.metadataKeys = Collections.emptyList();
+        this.projectionPushedDown = false;
+        this.snapshotFilters = Collections.emptyList();
     }
 
     @Override
@@ -142,12 +211,8 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
         MetadataConverter[] metadataConverters = getMetadataConverters();
         TypeInformation<RowData> typeInfo = scanContext.createTypeInformation(producedDataType);
 
-        DebeziumDeserializationSchema<RowData> deserializer =
-                new MongoDBConnectorDeserializationSchema(
-                        physicalDataType, metadataConverters, typeInfo, localTimeZone);
-
         MongoDBSource.Builder<RowData> builder =
-                MongoDBSource.<RowData>builder().hosts(hosts).deserializer(deserializer);
+                MongoDBSource.<RowData>builder().hosts(hosts).rawBsonDocument(true);
 
         if (StringUtils.isNotEmpty(database) && StringUtils.isNotEmpty(collection)) {
             // explicitly specified database and collection.
@@ -175,7 +240,9 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
         Optional.ofNullable(errorsLogEnable).ifPresent(builder::errorsLogEnable);
         Optional.ofNullable(errorsTolerance).ifPresent(builder::errorsTolerance);
         Optional.ofNullable(copyExisting).ifPresent(builder::copyExisting);
-        Optional.ofNullable(copyExistingPipeline).ifPresent(builder::copyExistingPipeline);
+        Optional.ofNullable(getPushedDownCopyExistingPipeline())
+                .ifPresent(builder::copyExistingPipeline);
+        Optional.ofNullable(getPushedDownPipeline()).ifPresent(builder::pipeline);
         Optional.ofNullable(copyExistingMaxThreads).ifPresent(builder::copyExistingMaxThreads);
         Optional.ofNullable(copyExistingQueueSize).ifPresent(builder::copyExistingQueueSize);
         Optional.ofNullable(batchSize).ifPresent(builder::batchSize);
@@ -183,9 +250,145 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
         Optional.ofNullable(pollAwaitTimeMillis).ifPresent(builder::pollAwaitTimeMillis);
         Optional.ofNullable(heartbeatIntervalMillis).ifPresent(builder::heartbeatIntervalMillis);
 
-        DebeziumSourceFunction<RowData> sourceFunction = builder.build();
+        builder.chunkSizeMB(chunkSizeMB);
+
+        if (FULL_DOCUMENT_DELTA.equals(fullDocument)) {
+            return createDeltaMergeProvider(
+                    scanContext, builder, physicalDataType, metadataConverters, typeInfo);
+        }
+
+        DebeziumDeserializationSchema<RowData> deserializer =
+                new MongoDBConnectorDeserializationSchema(
+                        physicalDataType, metadataConverters, typeInfo, localTimeZone);
+        builder.deserializer(deserializer);
+
+        if (enableParallelRead) {
+            return SourceProvider.of(builder.buildIncremental());
+        }
+        return SourceFunctionProvider.of(builder.build(), false);
+    }
+
+    /**
+     * Creates the provider which reads the update events without looking up the full documents, the
+     * update descriptions are merged over the last full documents kept in the keyed state.
+     */
+    private ScanRuntimeProvider createDeltaMergeProvider(
+            ScanContext scanContext,
+            MongoDBSource.Builder<RowData> builder,
+            RowType physicalDataType,
+            MetadataConverter[] metadataConverters,
+            TypeInformation<RowData> typeInfo) {
+        List<LogicalType> producedTypes = producedDataType.getLogicalType().getChildren();
+        List<LogicalType> metadataTypes =
+                new ArrayList<>(
+                        producedTypes.subList(
+                                physicalDataType.getFieldCount(), producedTypes.size()));
+        TypeInformation<RowData> eventTypeInfo =
+                scanContext.createTypeInformation(
+                        TypeConversions.fromLogicalToDataType(
+                                MongoDBChangeEventDeserializationSchema.createEventRowType(
+                                        metadataTypes)));
+        builder.updateLookup(false)
+                .deserializer(
+                        new MongoDBChangeEventDeserializationSchema(
+                                metadataConverters, eventTypeInfo));
+
+        MongoDBDeltaMergeFunction mergeFunction =
+                new MongoDBDeltaMergeFunction(
+                        new MongoDBConnectorDeserializationSchema(
+                                physicalDataType,
+                                new MetadataConverter[0],
+                                typeInfo,
+                                localTimeZone),
+                        metadataConverters.length,
+                        String.valueOf(builder.buildConnectionUri()));
+
+        return new DataStreamScanProvider() {
+            @Override
+            public DataStream<RowData> produceDataStream(StreamExecutionEnvironment execEnv) {
+                DataStream<RowData> events =
+                        enableParallelRead
+                                ? execEnv.fromSource(
+                                        builder.buildIncremental(),
+                                        WatermarkStrategy.noWatermarks(),
+                                        "MongoDB-CDC Source")
+                                : execEnv.addSource(builder.build(), "MongoDB-CDC Source");
+                return events.keyBy(new MongoDBDeltaMergeFunction.DocumentKeySelector())
+                        .process(mergeFunction, typeInfo)
+                        .name("MongoDB-CDC Delta Merge");
+            }
+
+            @Override
+            public boolean isBounded() {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the copy existing pipeline with the pushed down filters and projection appended, they
+     * are not appended if the configured pipeline contains other stages than {@code $match}.
+     */
+    @Nullable
+    private String getPushedDownCopyExistingPipeline() {
+        if (!projectionPushedDown && snapshotFilters.isEmpty()) {
+            return copyExistingPipeline;
+        }
+        final List<Bson> stages = new ArrayList<>();
+        if (StringUtils.isNotBlank(copyExistingPipeline)) {
+            for (BsonValue stage : BsonArray.parse(copyExistingPipeline)) {
+                if (stage.asDocument().size() != 1
+                        || !stage.asDocument().isDocument(MATCH_STAGE)) {
+                    return copyExistingPipeline;
+                }
+                stages.add(stage.asDocument());
+            }
+        }
+        if (!snapshotFilters.isEmpty()) {
+            final BsonDocument filter =
+                    snapshotFilters.size() == 1
+                            ? snapshotFilters.get(0)
+                            : new BsonDocument("$and", new BsonArray(snapshotFilters));
+            stages.add(new BsonDocument(MATCH_STAGE, filter));
+        }
+        final BsonDocument projection = getProjection(null);
+        if (projection != null) {
+            stages.add(new BsonDocument(PROJECT_STAGE, projection));
+        }
+        return bsonListToJson(stages);
+    }
+
+    /** Returns the change stream pipeline dropping the fields of the full documents not read. */
+    @Nullable
+    private String getPushedDownPipeline() {
+        final BsonDocument projection = getProjection(FULL_DOCUMENT_FIELD + ".");
+        if (projection == null) {
+            return null;
+        }
+        for (String field : CHANGE_EVENT_FIELDS) {
+            projection.put(field, new BsonInt32(1));
+        }
+        return bsonListToJson(
+                Collections.singletonList(new BsonDocument(PROJECT_STAGE, projection)));
+    }
 
-        return SourceFunctionProvider.of(sourceFunction, false);
+    /**
+     * Returns the projection of the physical fields with the given prefix, or null if the
+     * projection isn't pushed down or any field name isn't a top level field of the documents.
+     */
+    @Nullable
+    private BsonDocument getProjection(@Nullable String prefix) {
+        if (!projectionPushedDown) {
+            return null;
+        }
+        final BsonDocument projection = new BsonDocument();
+        for (String fieldName : physicalSchema.getColumnNames()) {
+            if (!MongoDBExpressionUtils.isFieldName(fieldName)) {
+                return null;
+            }
+            projection.put(prefix == null ? fieldName : prefix + fieldName, new BsonInt32(1));
+        }
+        return projection;
     }
 
     protected MetadataConverter[] getMetadataConverters() {
@@ -240,9 +443,14 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
                         pollMaxBatchSize,
                         pollAwaitTimeMillis,
                         heartbeatIntervalMillis,
-                        localTimeZone);
+                        localTimeZone,
+                        enableParallelRead,
+                        chunkSizeMB,
+                        fullDocument);
         source.metadataKeys = metadataKeys;
         source.producedDataType = producedDataType;
+        source.projectionPushedDown = projectionPushedDown;
+        source.snapshotFilters = snapshotFilters;
         return source;
     }
 
@@ -273,8 +481,13 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
                 && Objects.equals(pollAwaitTimeMillis, that.pollAwaitTimeMillis)
                 && Objects.equals(heartbeatIntervalMillis, that.heartbeatIntervalMillis)
                 && Objects.equals(localTimeZone, that.localTimeZone)
+                && Objects.equals(enableParallelRead, that.enableParallelRead)
+                && Objects.equals(chunkSizeMB, that.chunkSizeMB)
+                && Objects.equals(fullDocument, that.fullDocument)
                 && Objects.equals(producedDataType, that.producedDataType)
-                && Objects.equals(metadataKeys, that.metadataKeys);
+                && Objects.equals(metadataKeys, that.metadataKeys)
+                && projectionPushedDown == that.projectionPushedDown
+                && Objects.equals(snapshotFilters, that.snapshotFilters);
     }
 
     @Override
@@ -298,12 +511,49 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
                 pollAwaitTimeMillis,
                 heartbeatIntervalMillis,
                 localTimeZone,
+                enableParallelRead,
+                chunkSizeMB,
+                fullDocument,
                 producedDataType,
-                metadataKeys);
+                metadataKeys,
+                projectionPushedDown,
+                snapshotFilters);
     }
 
     @Override
     public String asSummaryString() {
         return "MongoDB-CDC";
     }
+
+    @Override
+    public boolean supportsNestedProjection() {
+        return false;
+    }
+
+    @Override
+    public void applyProjection(int[][] projectedFields) {
+        final List<Column> columns = new ArrayList<>();
+        for (int[] projectedField : projectedFields) {
+            columns.add(physicalSchema.getColumns().get(projectedField[0]));
+        }
+        this.projectionPushedDown |= columns.size() < physicalSchema.getColumnCount();
+        this.physicalSchema = ResolvedSchema.of(columns);
+        this.producedDataType = physicalSchema.toPhysicalRowDataType();
+    }
+
+    @Override
+    public Result applyFilters(List<ResolvedExpression> filters) {
+        final List<ResolvedExpression> acceptedFilters = new ArrayList<>();
+        final List<BsonDocument> snapshotFilters = new ArrayList<>(this.snapshotFilters);
+        for (ResolvedExpression filter : filters) {
+            final Optional<BsonDocument> document = MongoDBExpressionUtils.toMongoFilter(filter);
+            if (document.isPresent()) {
+                acceptedFilters.add(filter);
+                snapshotFilters.add(document.get());
+            }
+        }
+        this.snapshotFilters = snapshotFilters;
+        // the change events are not filtered by the source, so all the filters remain
+        return Result.of(acceptedFilters, filters);
+    }
 }
@@ -31,7 +31,10 @@ import java.util.HashSet;
 import java.util.Set;
 
 import static com.ververica.cdc.connectors.mongodb.MongoDBSource.BATCH_SIZE_DEFAULT;
+import static com.ververica.cdc.connectors.mongodb.MongoDBSource.CHUNK_SIZE_MB_DEFAULT;
 import static com.ververica.cdc.connectors.mongodb.MongoDBSource.ERROR_TOLERANCE_NONE;
+import static com.ververica.cdc.connectors.mongodb.MongoDBSource.FULL_DOCUMENT_DELTA;
+import static com.ververica.cdc.connectors.mongodb.MongoDBSource.FULL_DOCUMENT_UPDATE_LOOKUP;
 import static com.ververica.cdc.connectors.mongodb.MongoDBSource.POLL_AWAIT_TIME_MILLIS_DEFAULT;
 import static com.ververica.cdc.connectors.mongodb.MongoDBSource.POLL_MAX_BATCH_SIZE_DEFAULT;
 import static com.ververica.cdc.debezium.utils.ResolvedSchemaUtils.getPhysicalSchema;
@@ -187,6 +190,31 @@ public class MongoDBTableSourceFactory implements DynamicTableSourceFactory {
                                     + "have been published in the specified interval. This improves the resumability of the connector "
                                     + "for low volume namespaces. Use 0 to disable. Defaults to 0.");
 
+    private static final ConfigOption<Boolean> SCAN_INCREMENTAL_SNAPSHOT_ENABLED =
+            ConfigOptions.key("scan.incremental.snapshot.enabled")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription(
+                            "Incremental snapshot is a new mechanism to read snapshot of a collection. Compared to the old snapshot mechanism, the incremental snapshot has many advantages, including: (1) source can be parallel during snapshot reading, (2) source can perform checkpoints in the chunk granularity during snapshot reading.");
+
+    private static final ConfigOption<Integer> SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE_MB =
+            ConfigOptions.key("scan.incremental.snapshot.chunk.size.mb")
+                    .intType()
+                    .defaultValue(CHUNK_SIZE_MB_DEFAULT)
+                    .withDescription(
+                            "The chunk size (in MB) of collection snapshot, captured collections are split into multiple chunks by the _id field when read the snapshot of collection.");
+
+    private static final ConfigOption<String> CHANGE_STREAM_FULL_DOCUMENT =
+            ConfigOptions.key("change.stream.full.document")
+                    .stringType()
+                    .defaultValue(FULL_DOCUMENT_UPDATE_LOOKUP)
+                    .withDescription(
+                            "Determines how to build the full documents of the update events. "
+                                    + "When set to updateLookup, the change streams look up the current full document for every update event. "
+                                    + "When set to delta, the update events carry the changed fields only, and the changed fields are merged "
+                                    + "over the last full documents kept in the Flink state, which saves the lookup of every update event. "
+                                    + "Defaults to updateLookup.");
+
     @Override
     public DynamicTableSource createDynamicTableSource(Context context) {
         final FactoryUtil.TableFactoryHelper helper =
@@ -219,6 +247,18 @@ public class MongoDBTableSourceFactory implements DynamicTableSourceFactory {
         Integer copyExistingMaxThreads = config.getOptional(COPY_EXISTING_MAX_THREADS).orElse(null);
         Integer copyExistingQueueSize = config.getOptional(COPY_EXISTING_QUEUE_SIZE).orElse(null);
 
+        boolean enableParallelRead = config.get(SCAN_INCREMENTAL_SNAPSHOT_ENABLED);
+        int chunkSizeMB = config.get(SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE_MB);
+
+        String fullDocument = config.get(CHANGE_STREAM_FULL_DOCUMENT);
+        checkArgument(
+                FULL_DOCUMENT_UPDATE_LOOKUP.equals(fullDocument)
+                        || FULL_DOCUMENT_DELTA.equals(fullDocument),
+                "The value of option 'change.stream.full.document' must be '%s' or '%s', but is '%s'",
+                FULL_DOCUMENT_UPDATE_LOOKUP,
+                FULL_DOCUMENT_DELTA,
+                fullDocument);
+
         String zoneId = context.getConfiguration().get(TableConfigOptions.LOCAL_TIME_ZONE);
         ZoneId localTimeZone =
                 TableConfigOptions.LOCAL_TIME_ZONE.defaultValue().equals(zoneId)
@@ -248,7 +288,10 @@ public class MongoDBTableSourceFactory implements DynamicTableSourceFactory {
                 pollMaxBatchSize,
                 pollAwaitTimeMillis,
                 heartbeatIntervalMillis,
-                localTimeZone);
+                localTimeZone,
+                enableParallelRead,
+                chunkSizeMB,
+                fullDocument);
     }
 
     private void checkPrimaryKey(UniqueConstraint pk, String message) {
@@ -287,6 +330,9 @@ public class MongoDBTableSourceFactory implements DynamicTableSourceFactory {
         options.add(POLL_MAX_BATCH_SIZE);
         options.add(POLL_AWAIT_TIME_MILLIS);
         options.add(HEARTBEAT_INTERVAL_MILLIS);
+        options.add(SCAN_INCREMENTAL_SNAPSHOT_ENABLED);
+        options.add(SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE_MB);
+        options.add(CHANGE_STREAM_FULL_DOCUMENT);
         return options;
     }
 }
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.utils;
+
+import org.bson.BsonArray;
+import org.bson.BsonBinary;
+import org.bson.BsonDocument;
+import org.bson.BsonRegularExpression;
+import org.bson.BsonValue;
+import org.bson.types.Decimal128;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Utilities of the {@link BsonValue}s.
+ *
+ * <p>{@link #compareBsonValue(BsonValue, BsonValue)} compares the values in the <a
+ * href="https://www.mongodb.com/docs/manual/reference/bson-type-comparison-order/">BSON comparison
+ * order</a> of MongoDB, which is the order of the values in the {@code _id} index. The values of
+ * different types are ordered by their types, so the {@code _id} ranges of the snapshot splits
+ * cover the documents of all the types.
+ */
+public class BsonUtils {
+
+    private BsonUtils() {}
+
+    /**
+     * Returns true if the {@code _id} is in the range [lowerBound, upperBound), the bounds are the
+     * documents of {@code _id} field and a null bound means the range is unbounded on that side.
+     */
+    public static boolean isInRange(
+            BsonValue id, BsonDocument lowerBound, BsonDocument upperBound) {
+        return (lowerBound == null || compareBsonValue(id, lowerBound.get("_id")) >= 0)
+                && (upperBound == null || compareBsonValue(id, upperBound.get("_id")) < 0);
+    }
+
+    public static int compareBsonValue(BsonValue o1, BsonValue o2) {
+        int result = Integer.compare(typeOrder(o1), typeOrder(o2));
+        if (result != 0) {
+            return result;
+        }
+        switch (o1.getBsonType()) {
+            case INT32:
+            case INT64:
+            case DOUBLE:
+            case DECIMAL128:
+                return compareNumber(o1, o2);
+            case STRING:
+            case SYMBOL:
+                return compareString(stringValue(o1), stringValue(o2));
+            case DOCUMENT:
+                return compareDocument(o1.asDocument(), o2.asDocument());
+            case ARRAY:
+                return compareArray(o1.asArray(), o2.asArray());
+            case BINARY:
+                return compareBinary(o1.asBinary(), o2.asBinary());
+            case OBJECT_ID:
+                return o1.asObjectId().compareTo(o2.asObjectId());
+            case BOOLEAN:
+                return o1.asBoolean().compareTo(o2.asBoolean());
+            case DATE_TIME:
+                return o1.asDateTime().compareTo(o2.asDateTime());
+            case TIMESTAMP:
+                return o1.asTimestamp().compareTo(o2.asTimestamp());
+            case REGULAR_EXPRESSION:
+                return compareRegularExpression(o1.asRegularExpression(), o2.asRegularExpression());
+            case JAVASCRIPT:
+                return compareString(o1.asJavaScript().getCode(), o2.asJavaScript().getCode());
+            case DB_POINTER:
+                result =
+                        compareString(
+                                o1.asDBPointer().getNamespace(), o2.asDBPointer().getNamespace());
+                return result != 0
+                        ? result
+                        : o1.asDBPointer().getId().compareTo(o2.asDBPointer().getId());
+            default:
+                // MinKey, MaxKey, Null and Undefined are equal to the values of the same type
+                return 0;
+        }
+    }
+
+    /** The canonical order of the types, the numbers of different types are compared together. */
+    private static int typeOrder(BsonValue value) {
+        switch (value.getBsonType()) {
+            case MIN_KEY:
+                return -1;
+            case UNDEFINED:
+            case NULL:
+                return 0;
+            case INT32:
+            case INT64:
+            case DOUBLE:
+            case DECIMAL128:
+                return 10;
+            case STRING:
+            case SYMBOL:
+                return 15;
+            case DOCUMENT:
+                return 20;
+            case ARRAY:
+                return 25;
+            case BINARY:
+                return 30;
+            case OBJECT_ID:
+                return 35;
+            case BOOLEAN:
+                return 40;
+            case DATE_TIME:
+                return 45;
+            case TIMESTAMP:
+                return 47;
+            case REGULAR_EXPRESSION:
+                return 50;
+            case DB_POINTER:
+                return 55;
+            case JAVASCRIPT:
+                return 60;
+            case JAVASCRIPT_WITH_SCOPE:
+                return 65;
+            case MAX_KEY:
+                return 127;
+            default:
+                throw new IllegalArgumentException("Unknown bson type " + value.getBsonType());
+        }
+    }
+
+    private static int compareNumber(BsonValue o1, BsonValue o2) {
+        if (isIntegral(o1) && isIntegral(o2)) {
+            return Long.compare(o1.asNumber().longValue(), o2.asNumber().longValue());
+        }
+        // NaN is smaller than all the other numbers
+        boolean nan1 = isNaN(o1);
+        boolean nan2 = isNaN(o2);
+        if (nan1 || nan2) {
+            return Boolean.compare(nan2, nan1);
+        }
+        if (isInfinite(o1) || isInfinite(o2)) {
+            return Double.compare(infiniteOrZero(o1), infiniteOrZero(o2));
+        }
+        return decimalValue(o1).compareTo(decimalValue(o2));
+    }
+
+    private static boolean isIntegral(BsonValue value) {
+        return value.isInt32() || value.isInt64();
+    }
+
+    private static boolean isNaN(BsonValue value) {
+        if (value.isDouble()) {
+            return Double.isNaN(value.asDouble().getValue());
+        }
+        return value.isDecimal128() && value.asDecimal128().getValue().isNaN();
+    }
+
+    private static boolean isInfinite(BsonValue value) {
+        if (value.isDouble()) {
+            return Double.isInfinite(value.asDouble().getValue());
+        }
+        return value.isDecimal128() && value.asDecimal128().getValue().isInfinite();
+    }
+
+    /** Returns the infinity of the infinite number, or zero for the finite number. */
+    private static double infiniteOrZero(BsonValue value) {
+        if (!isInfinite(value)) {
+            return 0d;
+        }
+        boolean negative =
+                value.isDouble()
+                        ? value.asDouble().getValue() < 0
+                        : value.asDecimal128().getValue().isNegative();
+        return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+    }
+
+    private static BigDecimal decimalValue(BsonValue value) {
+        if (value.isDecimal128()) {
+            Decimal128 decimal = value.asDecimal128().getValue();
+            // negative zero can't be converted to BigDecimal
+            return decimal.isNegative() && decimal.compareTo(Decimal128.NEGATIVE_ZERO) == 0
+                    ? BigDecimal.ZERO
+                    : decimal.bigDecimalValue();
+        }
+        if (value.isDouble()) {
+            return new BigDecimal(value.asDouble().getValue());
+        }
+        return BigDecimal.valueOf(value.asNumber().longValue());
+    }
+
+    private static String stringValue(BsonValue value) {
+        return value.isSymbol() ? value.asSymbol().getSymbol() : value.asString().getValue();
+    }
+
+    /** Compares the strings by code points, which is the binary order of the UTF-8 bytes. */
+    private static int compareString(String s1, String s2) {
+        int i1 = 0;
+        int i2 = 0;
+        while (i1 < s1.length() && i2 < s2.length()) {
+            int c1 = s1.codePointAt(i1);
+            int c2 = s2.codePointAt(i2);
+            if (c1 != c2) {
+                return Integer.compare(c1, c2);
+            }
+            i1 += Character.charCount(c1);
+            i2 += Character.charCount(c2);
+        }
+        return Boolean.compare(i1 < s1.length(), i2 < s2.length());
+    }
+
+    /** Compares the fields one by one, by the types and names and then values of the fields. */
+    private static int compareDocument(BsonDocument d1, BsonDocument d2) {
+        Iterator<Map.Entry<String, BsonValue>> it1 = d1.entrySet().iterator();
+        Iterator<Map.Entry<String, BsonValue>> it2 = d2.entrySet().iterator();
+        while (it1.hasNext() && it2.hasNext()) {
+            Map.Entry<String, BsonValue> e1 = it1.next();
+            Map.Entry<String, BsonValue> e2 = it2.next();
+            int result = Integer.compare(typeOrder(e1.getValue()), typeOrder(e2.getValue()));
+            if (result == 0) {
+                result = compareString(e1.getKey(), e2.getKey());
+            }
+            if (result == 0) {
+                result = compareBsonValue(e1.getValue(), e2.getValue());
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Boolean.compare(it1.hasNext(), it2.hasNext());
+    }
+
+    private static int compareArray(BsonArray a1, BsonArray a2) {
+        Iterator<BsonValue> it1 = a1.iterator();
+        Iterator<BsonValue> it2 = a2.iterator();
+        while (it1.hasNext() && it2.hasNext()) {
+            int result = compareBsonValue(it1.next(), it2.next());
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Boolean.compare(it1.hasNext(), it2.hasNext());
+    }
+
+    /** Compares the length first, then the subtype and the bytes. */
+    private static int compareBinary(BsonBinary b1, BsonBinary b2) {
+        byte[] data1 = b1.getData();
+        byte[] data2 = b2.getData();
+        int result = Integer.compare(data1.length, data2.length);
+        if (result == 0) {
+            result = Integer.compare(b1.getType() & 0xff, b2.getType() & 0xff);
+        }
+        for (int i = 0; result == 0 && i < data1.length; i++) {
+            result = Integer.compare(data1[i] & 0xff, data2[i] & 0xff);
+        }
+        return result;
+    }
+
+    private static int compareRegularExpression(
+            BsonRegularExpression r1, BsonRegularExpression r2) {
+        int result = compareString(r1.getPattern(), r2.getPattern());
+        return result != 0 ? result : compareString(r1.getOptions(), r2.getOptions());
+    }
+}
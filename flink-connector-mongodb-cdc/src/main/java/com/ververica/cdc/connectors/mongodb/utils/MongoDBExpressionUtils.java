@@ -0,0 +1,295 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.utils;
+
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
+
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDecimal128;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.types.Decimal128;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Utils to convert the Flink filters into the MongoDB query filters which are pushed down to the
+ * {@code $match} stage of the snapshot reading.
+ *
+ * <p>The converted filter must not filter out any document which matches the Flink filter, as the
+ * filters are still evaluated by Flink. The deserializer converts the values of other BSON types,
+ * e.g. a numeric string of an INT column, which are compared differently by MongoDB, so a
+ * comparison only applies to the values of the BSON types converted without loss and the documents
+ * of the other types are always kept. The string comparisons except the equality depend on the
+ * collation of the collection, which may differ from the one of Flink.
+ */
+public class MongoDBExpressionUtils {
+
+    private static final String OR = "$or";
+    private static final String AND = "$and";
+    private static final String NOT = "$not";
+    private static final String TYPE = "$type";
+    private static final String NOT_EQUALS = "$ne";
+
+    private MongoDBExpressionUtils() {}
+
+    /** Converts the Flink filter, returns empty if the filter can't be pushed down. */
+    public static Optional<BsonDocument> toMongoFilter(ResolvedExpression filter) {
+        if (!(filter instanceof CallExpression)) {
+            return Optional.empty();
+        }
+        final CallExpression call = (CallExpression) filter;
+        final FunctionDefinition function = call.getFunctionDefinition();
+        final List<ResolvedExpression> args = call.getResolvedChildren();
+
+        if (function == BuiltInFunctionDefinitions.AND) {
+            final Optional<BsonDocument> left = toMongoFilter(args.get(0));
+            final Optional<BsonDocument> right = toMongoFilter(args.get(1));
+            if (left.isPresent() && right.isPresent()) {
+                return Optional.of(
+                        new BsonDocument(AND, new BsonArray(listOf(left.get(), right.get()))));
+            }
+            // either side of the conjunction is a weaker filter
+            return left.isPresent() ? left : right;
+        }
+        if (function == BuiltInFunctionDefinitions.OR) {
+            final Optional<BsonDocument> left = toMongoFilter(args.get(0));
+            final Optional<BsonDocument> right = toMongoFilter(args.get(1));
+            if (left.isPresent() && right.isPresent()) {
+                return Optional.of(
+                        new BsonDocument(OR, new BsonArray(listOf(left.get(), right.get()))));
+            }
+            return Optional.empty();
+        }
+        if (function == BuiltInFunctionDefinitions.IS_NULL
+                || function == BuiltInFunctionDefinitions.IS_NOT_NULL) {
+            if (!(args.get(0) instanceof FieldReferenceExpression)) {
+                return Optional.empty();
+            }
+            final FieldReferenceExpression field = (FieldReferenceExpression) args.get(0);
+            if (!isFieldName(field.getName())) {
+                return Optional.empty();
+            }
+            if (function == BuiltInFunctionDefinitions.IS_NULL) {
+                // matches the missing fields too
+                return Optional.of(new BsonDocument(field.getName(), BsonNull.VALUE));
+            }
+            if (!isScalar(field)) {
+                // the arrays containing a null element don't match $ne null
+                return Optional.empty();
+            }
+            return Optional.of(
+                    new BsonDocument(
+                            field.getName(), new BsonDocument(NOT_EQUALS, BsonNull.VALUE)));
+        }
+        if (args.size() == 2) {
+            if (args.get(0) instanceof FieldReferenceExpression
+                    && args.get(1) instanceof ValueLiteralExpression) {
+                return toComparison(
+                        function,
+                        (FieldReferenceExpression) args.get(0),
+                        (ValueLiteralExpression) args.get(1));
+            }
+            if (args.get(0) instanceof ValueLiteralExpression
+                    && args.get(1) instanceof FieldReferenceExpression) {
+                return toComparison(
+                        reverse(function),
+                        (FieldReferenceExpression) args.get(1),
+                        (ValueLiteralExpression) args.get(0));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns true if the column name is a top level field of the documents, which isn't a path of
+     * a nested field or an operator.
+     */
+    public static boolean isFieldName(String name) {
+        return !name.isEmpty() && !name.startsWith("$") && !name.contains(".");
+    }
+
+    private static Optional<BsonDocument> toComparison(
+            FunctionDefinition function,
+            FieldReferenceExpression field,
+            ValueLiteralExpression literal) {
+        final String operator = toOperator(function);
+        if (operator == null || literal.isNull() || !isFieldName(field.getName())) {
+            return Optional.empty();
+        }
+        final LogicalTypeRoot fieldType = field.getOutputDataType().getLogicalType().getTypeRoot();
+        final List<String> bsonTypes = new ArrayList<>();
+        final Optional<BsonValue> value;
+        switch (fieldType) {
+            case INTEGER:
+                bsonTypes.add("int");
+                value = toExactNumber(literal);
+                break;
+            case BIGINT:
+                bsonTypes.add("int");
+                bsonTypes.add("long");
+                value = toExactNumber(literal);
+                break;
+            case DOUBLE:
+                // compared as doubles by Flink
+                bsonTypes.add("double");
+                bsonTypes.add("int");
+                value = toDouble(literal);
+                break;
+            case CHAR:
+            case VARCHAR:
+                bsonTypes.add("string");
+                value =
+                        function == BuiltInFunctionDefinitions.EQUALS
+                                ? literal.getValueAs(String.class).map(BsonString::new)
+                                : Optional.empty();
+                break;
+            case BOOLEAN:
+                bsonTypes.add("bool");
+                value =
+                        function == BuiltInFunctionDefinitions.EQUALS
+                                        || function == BuiltInFunctionDefinitions.NOT_EQUALS
+                                ? literal.getValueAs(Boolean.class).map(BsonBoolean::valueOf)
+                                : Optional.empty();
+                break;
+            default:
+                value = Optional.empty();
+        }
+        if (!value.isPresent()) {
+            return Optional.empty();
+        }
+
+        final BsonArray types = new BsonArray();
+        bsonTypes.forEach(type -> types.add(new BsonString(type)));
+        final BsonDocument comparison =
+                new BsonDocument(field.getName(), new BsonDocument(operator, value.get()));
+        // the values of other types are converted by the deserializer, they're kept for Flink
+        final BsonDocument otherTypes =
+                new BsonDocument(
+                        field.getName(),
+                        new BsonDocument(NOT, new BsonDocument(TYPE, types)));
+        return Optional.of(new BsonDocument(OR, new BsonArray(listOf(comparison, otherTypes))));
+    }
+
+    private static String toOperator(FunctionDefinition function) {
+        if (function == BuiltInFunctionDefinitions.EQUALS) {
+            return "$eq";
+        } else if (function == BuiltInFunctionDefinitions.NOT_EQUALS) {
+            return NOT_EQUALS;
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN) {
+            return "$gt";
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL) {
+            return "$gte";
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN) {
+            return "$lt";
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL) {
+            return "$lte";
+        }
+        return null;
+    }
+
+    /** Returns the comparison with swapped operands, or null if it's not a comparison. */
+    private static FunctionDefinition reverse(FunctionDefinition function) {
+        if (function == BuiltInFunctionDefinitions.EQUALS
+                || function == BuiltInFunctionDefinitions.NOT_EQUALS) {
+            return function;
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN) {
+            return BuiltInFunctionDefinitions.LESS_THAN;
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL) {
+            return BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL;
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN) {
+            return BuiltInFunctionDefinitions.GREATER_THAN;
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL) {
+            return BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL;
+        }
+        return null;
+    }
+
+    /** Converts the integral and decimal literals, which are compared exactly by both sides. */
+    private static Optional<BsonValue> toExactNumber(ValueLiteralExpression literal) {
+        switch (literal.getOutputDataType().getLogicalType().getTypeRoot()) {
+            case TINYINT:
+                return literal.getValueAs(Byte.class).map(v -> new BsonInt32(v));
+            case SMALLINT:
+                return literal.getValueAs(Short.class).map(v -> new BsonInt32(v));
+            case INTEGER:
+                return literal.getValueAs(Integer.class).map(BsonInt32::new);
+            case BIGINT:
+                return literal.getValueAs(Long.class).map(BsonInt64::new);
+            case DECIMAL:
+                return literal.getValueAs(BigDecimal.class)
+                        .map(v -> new BsonDecimal128(new Decimal128(v)));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static Optional<BsonValue> toDouble(ValueLiteralExpression literal) {
+        switch (literal.getOutputDataType().getLogicalType().getTypeRoot()) {
+            case TINYINT:
+                return literal.getValueAs(Byte.class).map(v -> new BsonDouble(v));
+            case SMALLINT:
+                return literal.getValueAs(Short.class).map(v -> new BsonDouble(v));
+            case INTEGER:
+                return literal.getValueAs(Integer.class).map(v -> new BsonDouble(v));
+            case BIGINT:
+                return literal.getValueAs(Long.class).map(v -> new BsonDouble(v));
+            case DOUBLE:
+                return literal.getValueAs(Double.class).map(BsonDouble::new);
+            case DECIMAL:
+                return literal.getValueAs(BigDecimal.class)
+                        .map(v -> new BsonDouble(v.doubleValue()));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static boolean isScalar(FieldReferenceExpression field) {
+        switch (field.getOutputDataType().getLogicalType().getTypeRoot()) {
+            case ARRAY:
+            case MAP:
+            case MULTISET:
+            case ROW:
+            case RAW:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private static List<BsonValue> listOf(BsonValue left, BsonValue right) {
+        final List<BsonValue> values = new ArrayList<>(2);
+        values.add(left);
+        values.add(right);
+        return values;
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.utils;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.ververica.cdc.connectors.mongodb.source.MongoDBSourceConfig;
+import com.ververica.cdc.connectors.mongodb.source.split.ChangeStreamOffset;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static com.mongodb.client.model.Aggregates.match;
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.nin;
+import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Filters.regex;
+import static com.ververica.cdc.connectors.mongodb.utils.CollectionDiscoveryUtils.ADD_NS_FIELD;
+import static com.ververica.cdc.connectors.mongodb.utils.CollectionDiscoveryUtils.ADD_NS_FIELD_NAME;
+import static com.ververica.cdc.connectors.mongodb.utils.CollectionDiscoveryUtils.collectionNames;
+import static com.ververica.cdc.connectors.mongodb.utils.CollectionDiscoveryUtils.collectionsFilter;
+import static com.ververica.cdc.connectors.mongodb.utils.CollectionDiscoveryUtils.databaseFilter;
+import static com.ververica.cdc.connectors.mongodb.utils.CollectionDiscoveryUtils.databaseNames;
+import static com.ververica.cdc.connectors.mongodb.utils.CollectionDiscoveryUtils.includeListAsPatterns;
+import static com.ververica.cdc.connectors.mongodb.utils.CollectionDiscoveryUtils.isIncludeListExplicitlySpecified;
+
+/** Utilities of the MongoDB clients and change streams for the incremental source. */
+public class MongoUtils {
+
+    public static final String ID_FIELD = "_id";
+
+    public static final BsonDocument ID_INDEX = new BsonDocument(ID_FIELD, new BsonInt32(1));
+
+    private static final String MATCH_STAGE = "$match";
+
+    private static final String PROJECT_STAGE = "$project";
+
+    private MongoUtils() {}
+
+    public static MongoClient createClient(MongoDBSourceConfig config) {
+        return MongoClients.create(new ConnectionString(config.getConnectionString()));
+    }
+
+    public static MongoCollection<RawBsonDocument> getCollection(
+            MongoClient client, String collectionId) {
+        MongoNamespace namespace = new MongoNamespace(collectionId);
+        return client.getDatabase(namespace.getDatabaseName())
+                .getCollection(namespace.getCollectionName(), RawBsonDocument.class);
+    }
+
+    /** Returns the sorted full names of the captured collections in format "database.coll". */
+    public static List<String> discoverCapturedCollections(
+            MongoClient client, MongoDBSourceConfig config) {
+        List<String> databases = databaseNames(client, databaseFilter(config.getDatabaseList()));
+        return new ArrayList<>(
+                new TreeSet<>(
+                        collectionNames(
+                                client, databases, collectionsFilter(config.getCollectionList()))));
+    }
+
+    /**
+     * Returns the change stream of the captured collections, which watches the collection or the
+     * database if it's explicitly specified and filters the namespaces by the include lists
+     * otherwise, the same as the legacy source.
+     */
+    public static ChangeStreamIterable<Document> getChangeStreamIterable(
+            MongoClient client, MongoDBSourceConfig config, List<String> capturedCollections) {
+        return getChangeStreamIterable(client, config, capturedCollections, 0, 1);
+    }
+
+    /**
+     * Returns the change stream of a partition of the captured collections, the change events of
+     * the other partitions are filtered out by a {@code $match} stage on the namespaces.
+     */
+    public static ChangeStreamIterable<Document> getChangeStreamIterable(
+            MongoClient client,
+            MongoDBSourceConfig config,
+            List<String> capturedCollections,
+            int streamPartition,
+            int streamPartitions) {
+        List<String> databaseList = config.getDatabaseList();
+        List<String> collectionList = config.getCollectionList();
+        List<String> capturedDatabases =
+                capturedCollections.stream()
+                        .map(collectionId -> new MongoNamespace(collectionId).getDatabaseName())
+                        .distinct()
+                        .collect(Collectors.toList());
+
+        List<Bson> pipeline = new ArrayList<>();
+        MongoNamespace watchedCollection = null;
+        String watchedDatabase = null;
+        if (collectionList != null) {
+            if (isIncludeListExplicitlySpecified(collectionList, capturedCollections)) {
+                watchedCollection = new MongoNamespace(capturedCollections.get(0));
+            } else {
+                pipeline.add(ADD_NS_FIELD);
+                Bson nsFilter = regex(ADD_NS_FIELD_NAME, joinPatterns(collectionList));
+                if (databaseList != null) {
+                    if (isIncludeListExplicitlySpecified(databaseList, capturedDatabases)) {
+                        watchedDatabase = capturedDatabases.get(0);
+                    } else {
+                        nsFilter = and(regex("ns.db", joinPatterns(databaseList)), nsFilter);
+                    }
+                }
+                pipeline.add(match(nsFilter));
+            }
+        } else if (databaseList != null) {
+            if (isIncludeListExplicitlySpecified(databaseList, capturedDatabases)) {
+                watchedDatabase = capturedDatabases.get(0);
+            } else {
+                pipeline.add(match(regex("ns.db", joinPatterns(databaseList))));
+            }
+        }
+        if (streamPartitions > 1) {
+            pipeline.add(
+                    match(
+                            getPartitionFilter(
+                                    capturedCollections, streamPartition, streamPartitions)));
+        }
+        if (config.getPipeline() != null && !config.getPipeline().trim().isEmpty()) {
+            for (BsonValue stage : BsonArray.parse(config.getPipeline())) {
+                pipeline.add(stage.asDocument());
+            }
+        }
+
+        final ChangeStreamIterable<Document> changeStream;
+        if (watchedCollection != null) {
+            changeStream =
+                    client.getDatabase(watchedCollection.getDatabaseName())
+                            .getCollection(watchedCollection.getCollectionName())
+                            .watch(pipeline);
+        } else if (watchedDatabase != null) {
+            changeStream = client.getDatabase(watchedDatabase).watch(pipeline);
+        } else {
+            changeStream = client.watch(pipeline);
+        }
+
+        if (config.isUpdateLookup()) {
+            changeStream.fullDocument(FullDocument.UPDATE_LOOKUP);
+        }
+        if (config.getBatchSize() > 0) {
+            changeStream.batchSize(config.getBatchSize());
+        }
+        return changeStream.maxAwaitTime(config.getPollAwaitTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** Returns the partition of the change streams which reads the events of the collection. */
+    public static int getStreamPartition(String collectionId, int streamPartitions) {
+        // the hash code of strings is stable, the collections stay in the same partitions after
+        // restoring from a checkpoint
+        return Math.floorMod(collectionId.hashCode(), streamPartitions);
+    }
+
+    /**
+     * Returns the filter of the namespaces in the partition. The collections which are not captured
+     * yet, e.g. created after the source is started, are read by the partition 0.
+     */
+    public static Bson getPartitionFilter(
+            List<String> capturedCollections, int streamPartition, int streamPartitions) {
+        List<BsonDocument> namespaces = new ArrayList<>();
+        List<BsonDocument> allNamespaces = new ArrayList<>(capturedCollections.size());
+        for (String collectionId : capturedCollections) {
+            MongoNamespace namespace = new MongoNamespace(collectionId);
+            BsonDocument ns =
+                    new BsonDocument("db", new BsonString(namespace.getDatabaseName()))
+                            .append("coll", new BsonString(namespace.getCollectionName()));
+            allNamespaces.add(ns);
+            if (getStreamPartition(collectionId, streamPartitions) == streamPartition) {
+                namespaces.add(ns);
+            }
+        }
+        Bson filter = in("ns", namespaces);
+        return streamPartition == 0 ? or(filter, nin("ns", allNamespaces)) : filter;
+    }
+
+    /** Opens the cursor of the change stream which returns the events as raw BSON documents. */
+    @SuppressWarnings("unchecked")
+    public static MongoChangeStreamCursor<RawBsonDocument> openCursor(
+            ChangeStreamIterable<?> changeStream) {
+        return (MongoChangeStreamCursor<RawBsonDocument>)
+                changeStream.withDocumentClass(RawBsonDocument.class).cursor();
+    }
+
+    /**
+     * Returns the current offset of the change stream, which is the post batch resume token of a
+     * newly opened cursor, or the operation time of the cluster if the token is not supported.
+     */
+    public static ChangeStreamOffset getCurrentOffset(
+            MongoClient client, ChangeStreamIterable<?> changeStream) {
+        BsonDocument resumeToken;
+        try (MongoChangeStreamCursor<RawBsonDocument> cursor = openCursor(changeStream)) {
+            resumeToken = cursor.getResumeToken();
+            if (resumeToken == null && cursor.tryNext() != null) {
+                resumeToken = cursor.getResumeToken();
+            }
+        }
+        if (resumeToken != null) {
+            return ChangeStreamOffset.of(resumeToken);
+        }
+        return ChangeStreamOffset.of(getOperationTime(client));
+    }
+
+    private static BsonTimestamp getOperationTime(MongoClient client) {
+        BsonDocument result =
+                client.getDatabase("admin")
+                        .runCommand(
+                                new BsonDocument("isMaster", new BsonInt32(1)), BsonDocument.class);
+        if (!result.isTimestamp("operationTime")) {
+            throw new IllegalStateException(
+                    "The operation time is unavailable, the incremental snapshot requires "
+                            + "MongoDB 4.0 or later deployed as replica set or sharded cluster.");
+        }
+        return result.getTimestamp("operationTime");
+    }
+
+    /**
+     * Returns the filter of the copy existing pipeline, or null if the pipeline is empty. Only the
+     * {@code $match} stages followed by at most one {@code $project} stage are supported, as the
+     * documents are read by ranges of {@code _id}.
+     */
+    @Nullable
+    public static BsonDocument getCopyExistingFilter(@Nullable String copyExistingPipeline) {
+        if (copyExistingPipeline == null || copyExistingPipeline.trim().isEmpty()) {
+            return null;
+        }
+        List<Bson> filters = new ArrayList<>();
+        BsonArray stages = BsonArray.parse(copyExistingPipeline);
+        for (int i = 0; i < stages.size(); i++) {
+            BsonDocument document = stages.get(i).asDocument();
+            if (document.size() == 1
+                    && document.isDocument(PROJECT_STAGE)
+                    && i == stages.size() - 1) {
+                break;
+            }
+            if (document.size() != 1 || !document.isDocument(MATCH_STAGE)) {
+                throw new IllegalArgumentException(
+                        "Only $match stages followed by a $project stage of "
+                                + "copy.existing.pipeline are supported by the incremental "
+                                + "snapshot, but found: "
+                                + document.toJson());
+            }
+            filters.add(document.getDocument(MATCH_STAGE));
+        }
+        if (filters.isEmpty()) {
+            return null;
+        }
+        return filters.size() == 1
+                ? filters.get(0).toBsonDocument()
+                : and(filters).toBsonDocument();
+    }
+
+    /**
+     * Returns the projection of the last {@code $project} stage of the copy existing pipeline, or
+     * null if there isn't one.
+     */
+    @Nullable
+    public static BsonDocument getCopyExistingProjection(@Nullable String copyExistingPipeline) {
+        if (copyExistingPipeline == null || copyExistingPipeline.trim().isEmpty()) {
+            return null;
+        }
+        BsonArray stages = BsonArray.parse(copyExistingPipeline);
+        if (stages.isEmpty()) {
+            return null;
+        }
+        BsonDocument lastStage = stages.get(stages.size() - 1).asDocument();
+        return lastStage.getDocument(PROJECT_STAGE, null);
+    }
+
+    private static String joinPatterns(List<String> includeList) {
+        return includeListAsPatterns(includeList).stream()
+                .map(Pattern::pattern)
+                .collect(Collectors.joining("|"));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.utils;
+
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Utilities to decode the resume tokens of the change streams.
+ *
+ * <p>The resume token of MongoDB 4.0 and later is a document whose {@code _data} field is the
+ * hex-encoded (or binary in 3.6) KeyString of the event, which starts with the cluster time of the
+ * event, so the resume tokens can be ordered by the decoded cluster time.
+ */
+public class ResumeTokenUtils {
+
+    private static final String DATA_FIELD = "_data";
+
+    /** The KeyString type of the timestamp. */
+    private static final int K_TIMESTAMP = 130;
+
+    private ResumeTokenUtils() {}
+
+    /** Decodes the cluster time of the event or the high water mark from the resume token. */
+    public static BsonTimestamp decodeTimestamp(BsonDocument resumeToken) {
+        BsonValue data = resumeToken.get(DATA_FIELD);
+        final byte[] keyString;
+        if (data != null && data.isString()) {
+            keyString = hexToBytes(data.asString().getValue());
+        } else if (data != null && data.isBinary()) {
+            keyString = data.asBinary().getData();
+        } else {
+            throw new IllegalArgumentException("Unknown format of resume token: " + resumeToken);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(keyString);
+        int type = buffer.get() & 0xff;
+        if (type != K_TIMESTAMP) {
+            throw new IllegalArgumentException(
+                    "Unknown type " + type + " of the cluster time in resume token " + resumeToken);
+        }
+        // big endian, the seconds are followed by the increment
+        return new BsonTimestamp(buffer.getLong());
+    }
+
+    private static byte[] hexToBytes(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] =
+                    (byte)
+                            ((Character.digit(hex.charAt(2 * i), 16) << 4)
+                                    | Character.digit(hex.charAt(2 * i + 1), 16));
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.internal;
+
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/** Tests for {@link MongoDBConnectorSourceTask}. */
+public class MongoDBConnectorSourceTaskTest {
+
+    @Test
+    public void testParseClusterTime() {
+        final BsonTimestamp timestamp = new BsonTimestamp(1650000000, 7);
+        // the shell mode falls back to the JsonReader
+        for (JsonMode mode : JsonMode.values()) {
+            final String json =
+                    new BsonDocument("t", timestamp)
+                            .toJson(JsonWriterSettings.builder().outputMode(mode).build());
+            final String clusterTime = json.substring(json.indexOf(':') + 1, json.length() - 1);
+            assertEquals(
+                    clusterTime,
+                    1650000000000L,
+                    MongoDBConnectorSourceTask.parseClusterTimeMillis(clusterTime.trim()));
+        }
+        assertEquals(
+                1650000000000L,
+                MongoDBConnectorSourceTask.parseClusterTimeMillis(
+                        "{\"$timestamp\": {\"i\": 7, \"t\": 1650000000}}"));
+        assertEquals(
+                4294967295000L,
+                MongoDBConnectorSourceTask.parseClusterTimeMillis(
+                        "{\"$timestamp\":{\"t\":4294967295,\"i\":1}}"));
+    }
+}
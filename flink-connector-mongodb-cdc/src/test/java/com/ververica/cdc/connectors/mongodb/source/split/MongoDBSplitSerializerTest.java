@@ -0,0 +1,146 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.split;
+
+import com.ververica.cdc.connectors.mongodb.source.enumerator.MongoDBSourceEnumState;
+import com.ververica.cdc.connectors.mongodb.source.enumerator.MongoDBSourceEnumStateSerializer;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonMaxKey;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/** Tests for {@link MongoDBSplitSerializer}. */
+public class MongoDBSplitSerializerTest {
+
+    private static final ChangeStreamOffset START_OFFSET =
+            ChangeStreamOffset.of(new BsonTimestamp(1660000000, 1));
+
+    private static final ChangeStreamOffset HIGH_WATERMARK =
+            ChangeStreamOffset.of(
+                    new BsonDocument("_data", new BsonString("8262F0A1B2000000012B0229296E04")));
+
+    @Test
+    public void testSnapshotSplit() throws Exception {
+        final MongoDBSplit split =
+                MongoDBSplit.snapshotSplit("db.users:1", "db.users", idBound(1), idBound("a"));
+        assertEquals(split, serializeAndDeserializeSplit(split));
+        assertEquals(
+                split.asFinished(HIGH_WATERMARK),
+                serializeAndDeserializeSplit(split.asFinished(HIGH_WATERMARK)));
+
+        final MongoDBSplit unbounded =
+                MongoDBSplit.snapshotSplit(
+                        "db.users:2",
+                        "db.users",
+                        idBound(new BsonObjectId(new ObjectId("62f0a1b2c3d4e5f601020304"))),
+                        null);
+        assertEquals(unbounded, serializeAndDeserializeSplit(unbounded));
+
+        final MongoDBSplit whole =
+                MongoDBSplit.snapshotSplit("db.logs:0", "db.logs", null, idBound(new BsonMaxKey()));
+        assertEquals(whole, serializeAndDeserializeSplit(whole));
+    }
+
+    @Test
+    public void testStreamSplit() throws Exception {
+        final MongoDBSplit split =
+                MongoDBSplit.streamSplit(
+                        Arrays.asList("db.orders", "db.users"),
+                        START_OFFSET,
+                        Collections.singletonList(
+                                MongoDBSplit.snapshotSplit(
+                                                "db.users:0", "db.users", null, idBound(1))
+                                        .asFinished(HIGH_WATERMARK)));
+        assertEquals(split, serializeAndDeserializeSplit(split));
+
+        final MongoDBSplit resumed =
+                MongoDBSplit.streamSplit(
+                        Collections.singletonList("db.orders"),
+                        HIGH_WATERMARK,
+                        Collections.emptyList());
+        assertEquals(resumed, serializeAndDeserializeSplit(resumed));
+
+        final MongoDBSplit partitioned =
+                MongoDBSplit.streamSplit(
+                        Arrays.asList("db.orders", "db.users"),
+                        HIGH_WATERMARK,
+                        Collections.emptyList(),
+                        1,
+                        2);
+        assertEquals("stream-split-1", partitioned.splitId());
+        assertEquals(partitioned, serializeAndDeserializeSplit(partitioned));
+    }
+
+    @Test
+    public void testOffset() {
+        assertEquals(1660000000, START_OFFSET.getClusterTime().getTime());
+        assertEquals(new BsonTimestamp(1659937202, 1), HIGH_WATERMARK.getClusterTime());
+    }
+
+    @Test
+    public void testEnumState() throws Exception {
+        final MongoDBSourceEnumStateSerializer serializer = new MongoDBSourceEnumStateSerializer();
+        final Map<String, ChangeStreamOffset> finishedSplits = new LinkedHashMap<>();
+        finishedSplits.put("db.orders:0", HIGH_WATERMARK);
+        final MongoDBSourceEnumState state =
+                new MongoDBSourceEnumState(
+                        Arrays.asList("db.orders", "db.users"),
+                        Collections.singletonList("db.users"),
+                        Collections.singletonList(
+                                MongoDBSplit.snapshotSplit(
+                                        "db.orders:1", "db.orders", idBound(100), null)),
+                        Collections.singletonList(
+                                MongoDBSplit.snapshotSplit(
+                                        "db.orders:0", "db.orders", null, idBound(100))),
+                        finishedSplits,
+                        false,
+                        START_OFFSET);
+        assertEquals(
+                state,
+                serializer.deserialize(serializer.getVersion(), serializer.serialize(state)));
+    }
+
+    private static BsonDocument idBound(int id) {
+        return idBound(new BsonInt32(id));
+    }
+
+    private static BsonDocument idBound(String id) {
+        return idBound(new BsonString(id));
+    }
+
+    private static BsonDocument idBound(BsonValue id) {
+        return new BsonDocument("_id", id);
+    }
+
+    private MongoDBSplit serializeAndDeserializeSplit(MongoDBSplit split) throws Exception {
+        final MongoDBSplitSerializer serializer = MongoDBSplitSerializer.INSTANCE;
+        byte[] serialized = serializer.serialize(split);
+        return serializer.deserialize(serializer.getVersion(), serialized);
+    }
+}
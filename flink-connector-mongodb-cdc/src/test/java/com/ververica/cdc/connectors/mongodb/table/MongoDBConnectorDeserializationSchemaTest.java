@@ -0,0 +1,231 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.table;
+
+import org.apache.flink.api.common.functions.util.ListCollector;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.GenericArrayData;
+import org.apache.flink.table.data.GenericMapData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.types.RowKind;
+
+import com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope;
+import com.ververica.cdc.debezium.table.MetadataConverter;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.bson.ByteBuf;
+import org.bson.RawBsonDocument;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link MongoDBConnectorDeserializationSchema} reading the documents in JSON strings
+ * and raw BSON bytes.
+ */
+public class MongoDBConnectorDeserializationSchemaTest {
+
+    private static final RowType ROW_TYPE =
+            (RowType)
+                    DataTypes.ROW(
+                                    DataTypes.FIELD("_id", DataTypes.STRING()),
+                                    DataTypes.FIELD("name", DataTypes.STRING()),
+                                    DataTypes.FIELD(
+                                            "address",
+                                            DataTypes.ROW(
+                                                    DataTypes.FIELD("city", DataTypes.STRING()),
+                                                    DataTypes.FIELD("zip", DataTypes.INT()))),
+                                    DataTypes.FIELD("tags", DataTypes.ARRAY(DataTypes.STRING())),
+                                    DataTypes.FIELD(
+                                            "scores",
+                                            DataTypes.MAP(DataTypes.STRING(), DataTypes.INT())),
+                                    DataTypes.FIELD("weight", DataTypes.DOUBLE()),
+                                    DataTypes.FIELD("missing", DataTypes.STRING()))
+                            .getLogicalType();
+
+    private static final String FULL_DOCUMENT =
+            "{\"_id\": \"0001\", \"skipped\": {\"a\": [1, 2, {\"b\": 3}]}, \"name\": \"Alice\","
+                    + " \"address\": {\"zip\": 12345, \"street\": \"Main\","
+                    + " \"city\": \"Hangzhou\"},"
+                    + " \"tags\": [\"a\", null, \"c\"], \"scores\": {\"math\": 90, \"art\": 85},"
+                    + " \"weight\": 52.5}";
+
+    private static final RowType NESTED_ROW_TYPE =
+            (RowType)
+                    DataTypes.ROW(
+                                    DataTypes.FIELD("_id", DataTypes.STRING()),
+                                    DataTypes.FIELD(
+                                            "outer",
+                                            DataTypes.ROW(
+                                                    DataTypes.FIELD(
+                                                            "inner",
+                                                            DataTypes.ROW(
+                                                                    DataTypes.FIELD(
+                                                                            "x", DataTypes.INT()))),
+                                                    DataTypes.FIELD(
+                                                            "values",
+                                                            DataTypes.ARRAY(DataTypes.INT())))))
+                            .getLogicalType();
+
+    private static final String NESTED_DOCUMENT =
+            "{\"_id\": \"0002\", \"skipped\": \"abc\","
+                    + " \"outer\": {\"padding\": [1, 2, 3], \"inner\": {\"y\": 1, \"x\": 7},"
+                    + " \"values\": [4, 5]}}";
+
+    private static final String DOCUMENT_KEY = "{\"_id\": \"0001\"}";
+
+    @Test
+    public void testDeserializeRawBsonDocument() throws Exception {
+        RowData expected = expectedRow();
+        expected.setRowKind(RowKind.INSERT);
+
+        assertEquals(
+                Collections.singletonList(expected),
+                deserialize(createRecord("insert", Schema.OPTIONAL_BYTES_SCHEMA)));
+        // the JSON documents are converted to the same rows
+        assertEquals(
+                Collections.singletonList(expected),
+                deserialize(createRecord("insert", Schema.OPTIONAL_STRING_SCHEMA)));
+    }
+
+    @Test
+    public void testDeserializeRawBsonDocumentKey() throws Exception {
+        GenericRowData expected = new GenericRowData(RowKind.DELETE, 7);
+        expected.setField(0, StringData.fromString("0001"));
+
+        assertEquals(
+                Collections.singletonList(expected),
+                deserialize(createRecord("delete", Schema.OPTIONAL_BYTES_SCHEMA)));
+        assertEquals(
+                Collections.singletonList(expected),
+                deserialize(createRecord("delete", Schema.OPTIONAL_STRING_SCHEMA)));
+    }
+
+    @Test
+    public void testDeserializeNestedRawBsonDocument() throws Exception {
+        // the document and array nested in a nested document are read at their own offsets
+        GenericRowData expected = new GenericRowData(RowKind.INSERT, 2);
+        expected.setField(0, StringData.fromString("0002"));
+        expected.setField(
+                1,
+                GenericRowData.of(
+                        GenericRowData.of(7), new GenericArrayData(new Integer[] {4, 5})));
+
+        assertEquals(
+                Collections.singletonList(expected),
+                deserialize(
+                        NESTED_ROW_TYPE,
+                        createRecord(
+                                "insert",
+                                Schema.OPTIONAL_BYTES_SCHEMA,
+                                NESTED_DOCUMENT,
+                                "{\"_id\": \"0002\"}")));
+        assertEquals(
+                Collections.singletonList(expected),
+                deserialize(
+                        NESTED_ROW_TYPE,
+                        createRecord(
+                                "insert",
+                                Schema.OPTIONAL_STRING_SCHEMA,
+                                NESTED_DOCUMENT,
+                                "{\"_id\": \"0002\"}")));
+    }
+
+    private static GenericRowData expectedRow() {
+        Map<StringData, Object> scores = new HashMap<>();
+        scores.put(StringData.fromString("math"), 90);
+        scores.put(StringData.fromString("art"), 85);
+        GenericRowData row = new GenericRowData(7);
+        row.setField(0, StringData.fromString("0001"));
+        row.setField(1, StringData.fromString("Alice"));
+        row.setField(2, GenericRowData.of(StringData.fromString("Hangzhou"), 12345));
+        StringData[] tags = {StringData.fromString("a"), null, StringData.fromString("c")};
+        row.setField(3, new GenericArrayData(tags));
+        row.setField(4, new GenericMapData(scores));
+        row.setField(5, 52.5d);
+        row.setField(6, null);
+        return row;
+    }
+
+    private static List<RowData> deserialize(SourceRecord record) throws Exception {
+        return deserialize(ROW_TYPE, record);
+    }
+
+    private static List<RowData> deserialize(RowType rowType, SourceRecord record)
+            throws Exception {
+        MongoDBConnectorDeserializationSchema deserializer =
+                new MongoDBConnectorDeserializationSchema(
+                        rowType,
+                        new MetadataConverter[0],
+                        InternalTypeInfo.of(rowType),
+                        ZoneId.of("UTC"));
+        List<RowData> rows = new ArrayList<>();
+        deserializer.deserialize(record, new ListCollector<>(rows));
+        return rows;
+    }
+
+    private static SourceRecord createRecord(String operationType, Schema documentSchema) {
+        return createRecord(operationType, documentSchema, FULL_DOCUMENT, DOCUMENT_KEY);
+    }
+
+    private static SourceRecord createRecord(
+            String operationType, Schema documentSchema, String fullDocument, String documentKey) {
+        Schema valueSchema =
+                SchemaBuilder.struct()
+                        .field(MongoDBEnvelope.OPERATION_TYPE_FIELD, Schema.OPTIONAL_STRING_SCHEMA)
+                        .field(MongoDBEnvelope.FULL_DOCUMENT_FIELD, documentSchema)
+                        .field(MongoDBEnvelope.DOCUMENT_KEY_FIELD, documentSchema)
+                        .build();
+        boolean isRaw = documentSchema.type() == Schema.Type.BYTES;
+        Struct value = new Struct(valueSchema);
+        value.put(MongoDBEnvelope.OPERATION_TYPE_FIELD, operationType);
+        if (!"delete".equals(operationType)) {
+            value.put(
+                    MongoDBEnvelope.FULL_DOCUMENT_FIELD,
+                    isRaw ? toBytes(fullDocument) : fullDocument);
+        }
+        value.put(MongoDBEnvelope.DOCUMENT_KEY_FIELD, isRaw ? toBytes(documentKey) : documentKey);
+        return new SourceRecord(
+                Collections.emptyMap(),
+                Collections.emptyMap(),
+                "test",
+                null,
+                null,
+                valueSchema,
+                value);
+    }
+
+    private static byte[] toBytes(String json) {
+        ByteBuf buffer = RawBsonDocument.parse(json).getByteBuffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.table;
+
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.streaming.api.operators.KeyedProcessOperator;
+import org.apache.flink.streaming.util.KeyedOneInputStreamOperatorTestHarness;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.GenericArrayData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.types.RowKind;
+
+import com.ververica.cdc.debezium.table.MetadataConverter;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.ByteBuf;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/** Tests for {@link MongoDBDeltaMergeFunction}. */
+public class MongoDBDeltaMergeFunctionTest {
+
+    private static final RowType ROW_TYPE =
+            (RowType)
+                    DataTypes.ROW(
+                                    DataTypes.FIELD("_id", DataTypes.STRING()),
+                                    DataTypes.FIELD("count", DataTypes.INT()),
+                                    DataTypes.FIELD(
+                                            "stats",
+                                            DataTypes.ROW(
+                                                    DataTypes.FIELD("last", DataTypes.INT()),
+                                                    DataTypes.FIELD(
+                                                            "history",
+                                                            DataTypes.ARRAY(DataTypes.INT())))),
+                                    DataTypes.FIELD("tag", DataTypes.STRING()))
+                            .getLogicalType();
+
+    private static final String DATABASE = "inventory";
+
+    private static final String COLLECTION = "products";
+
+    @Test
+    public void testApplyUpdateDescription() {
+        BsonDocument document =
+                BsonDocument.parse(
+                        "{\"_id\": \"a\", \"count\": 1, \"tag\": \"x\","
+                                + " \"stats\": {\"last\": 1, \"history\": [1, 2, 3, 4]}}");
+        MongoDBDeltaMergeFunction.applyUpdateDescription(
+                document,
+                BsonDocument.parse(
+                        "{\"updatedFields\": {\"count\": 2, \"stats.history.1\": 20,"
+                                + " \"stats.history.3\": 40, \"stats.history.5\": 60,"
+                                + " \"info.color\": \"red\"},"
+                                + " \"removedFields\": [\"tag\"],"
+                                + " \"truncatedArrays\": [{\"field\": \"stats.history\","
+                                + " \"newSize\": 2}]}"));
+        assertEquals(
+                BsonDocument.parse(
+                        "{\"_id\": \"a\", \"count\": 2,"
+                                + " \"stats\": {\"last\": 1, \"history\": [1, 20, null, 40, null, 60]},"
+                                + " \"info\": {\"color\": \"red\"}}"),
+                document);
+
+        // the update is applied to a later version of the document without changing it
+        BsonDocument later = document.clone();
+        MongoDBDeltaMergeFunction.applyUpdateDescription(
+                later, BsonDocument.parse("{\"updatedFields\": {\"count\": 2}}"));
+        assertEquals(document, later);
+    }
+
+    @Test
+    public void testMergeUpdates() throws Exception {
+        InMemoryCollection collection = new InMemoryCollection();
+        List<RowData> output = new ArrayList<>();
+        try (KeyedOneInputStreamOperatorTestHarness<String, RowData, RowData> harness =
+                createHarness(collection, 0)) {
+            harness.processElement(collection.insert("a"), 0L);
+            harness.processElement(collection.update("a", 1, false), 0L);
+            harness.processElement(collection.update("a", 2, false), 0L);
+            harness.processElement(collection.delete("a"), 0L);
+            // the update of a deleted document is ignored
+            harness.processElement(collection.update("b", 1, false), 0L);
+            output.addAll(harness.extractOutputValues());
+        }
+
+        assertEquals(4, output.size());
+        assertEquals(expectedRow(RowKind.INSERT, "a", 0), output.get(0));
+        assertEquals(expectedRow(RowKind.UPDATE_AFTER, "a", 1), output.get(1));
+        assertEquals(expectedRow(RowKind.UPDATE_AFTER, "a", 2), output.get(2));
+        GenericRowData delete = new GenericRowData(RowKind.DELETE, 4);
+        delete.setField(0, StringData.fromString("a"));
+        assertEquals(delete, output.get(3));
+        assertEquals(1, collection.roundTrips);
+    }
+
+    @Test
+    public void testMetadataColumns() throws Exception {
+        InMemoryCollection collection = new InMemoryCollection();
+        try (KeyedOneInputStreamOperatorTestHarness<String, RowData, RowData> harness =
+                createHarness(collection, 1)) {
+            GenericRowData insert = collection.insert("a");
+            harness.processElement(withMetadata(insert, 1000L), 0L);
+            harness.processElement(withMetadata(collection.update("a", 1, false), 2000L), 0L);
+
+            List<RowData> output = harness.extractOutputValues();
+            assertEquals(2, output.size());
+            assertEquals(RowKind.UPDATE_AFTER, output.get(1).getRowKind());
+            assertEquals(1, output.get(1).getInt(1));
+            assertEquals(TimestampData.fromEpochMillis(2000L), output.get(1).getTimestamp(4, 3));
+        }
+    }
+
+    /**
+     * Counts the reads of the full documents of 100k updates on 1000 documents. The change streams
+     * read the document for every update event with updateLookup, while the delta merge reads the
+     * documents only if they are not kept in the state.
+     */
+    @Test
+    public void testRoundTripsOf100kUpdates() throws Exception {
+        assertEquals(100_000, countRoundTrips(true, true));
+        assertEquals(0, countRoundTrips(false, true));
+        assertEquals(1000, countRoundTrips(false, false));
+    }
+
+    private long countRoundTrips(boolean updateLookup, boolean snapshot) throws Exception {
+        final int documents = 1000;
+        final int updates = 100_000;
+        InMemoryCollection collection = new InMemoryCollection();
+        for (int i = 0; i < documents; i++) {
+            collection.insert(String.valueOf(i));
+        }
+        Map<String, RowData> latestRows = new HashMap<>();
+        try (KeyedOneInputStreamOperatorTestHarness<String, RowData, RowData> harness =
+                createHarness(collection, 0)) {
+            if (snapshot) {
+                for (int i = 0; i < documents; i++) {
+                    harness.processElement(collection.snapshot(String.valueOf(i)), 0L);
+                }
+            }
+            for (int i = 0; i < updates; i++) {
+                harness.processElement(
+                        collection.update(String.valueOf(i % documents), i, updateLookup), 0L);
+                if (i % 10_000 == 0) {
+                    collectLatestRows(harness.extractOutputValues(), latestRows);
+                    harness.getOutput().clear();
+                }
+            }
+            collectLatestRows(harness.extractOutputValues(), latestRows);
+        }
+
+        // the merged rows are the same as the documents in the collection
+        assertEquals(documents, latestRows.size());
+        for (Map.Entry<String, BsonDocument> document : collection.documents.entrySet()) {
+            GenericRowData expected = newConverter().extractRowData(document.getValue());
+            expected.setRowKind(latestRows.get(document.getKey()).getRowKind());
+            assertEquals(expected, latestRows.get(document.getKey()));
+        }
+        return collection.roundTrips;
+    }
+
+    private static void collectLatestRows(List<RowData> rows, Map<String, RowData> latestRows) {
+        for (RowData row : rows) {
+            latestRows.put(row.getString(0).toString(), row);
+        }
+    }
+
+    private static GenericRowData expectedRow(RowKind kind, String id, int count) {
+        List<Integer> history = new ArrayList<>();
+        for (int i = 0; i <= count; i++) {
+            history.add(i);
+        }
+        GenericRowData row = new GenericRowData(kind, 4);
+        row.setField(0, StringData.fromString(id));
+        row.setField(1, count);
+        row.setField(2, GenericRowData.of(count, new GenericArrayData(history.toArray())));
+        row.setField(3, count == 0 ? StringData.fromString("new") : null);
+        return row;
+    }
+
+    private static GenericRowData withMetadata(GenericRowData event, long timestamp) {
+        GenericRowData row = new GenericRowData(event.getRowKind(), event.getArity() + 1);
+        for (int i = 0; i < event.getArity(); i++) {
+            row.setField(i, event.getField(i));
+        }
+        row.setField(
+                MongoDBChangeEventDeserializationSchema.METADATA_POS,
+                GenericRowData.of(TimestampData.fromEpochMillis(timestamp)));
+        return row;
+    }
+
+    private static MongoDBConnectorDeserializationSchema newConverter() {
+        return new MongoDBConnectorDeserializationSchema(
+                ROW_TYPE,
+                new MetadataConverter[0],
+                InternalTypeInfo.of(ROW_TYPE),
+                ZoneId.of("UTC"));
+    }
+
+    private static KeyedOneInputStreamOperatorTestHarness<String, RowData, RowData> createHarness(
+            InMemoryCollection collection, int metadataArity) throws Exception {
+        MongoDBDeltaMergeFunction function =
+                new MongoDBDeltaMergeFunction(
+                        newConverter(), metadataArity, "mongodb://localhost") {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected BsonDocument lookupDocument(
+                            String database, String collectionName, BsonDocument documentKey) {
+                        return collection.find(documentKey.getString("_id").getValue());
+                    }
+                };
+        KeyedOneInputStreamOperatorTestHarness<String, RowData, RowData> harness =
+                new KeyedOneInputStreamOperatorTestHarness<>(
+                        new KeyedProcessOperator<>(function),
+                        new MongoDBDeltaMergeFunction.DocumentKeySelector(),
+                        Types.STRING);
+        harness.open();
+        return harness;
+    }
+
+    /**
+     * A stand-in of a MongoDB collection, which generates the change events of the updates and
+     * counts the round trips reading the full documents.
+     */
+    private static class InMemoryCollection {
+
+        private final Map<String, BsonDocument> documents = new HashMap<>();
+
+        private long roundTrips;
+
+        GenericRowData insert(String id) {
+            BsonDocument document =
+                    new BsonDocument("_id", new BsonString(id))
+                            .append("count", new BsonInt32(0))
+                            .append(
+                                    "stats",
+                                    new BsonDocument("last", new BsonInt32(0))
+                                            .append(
+                                                    "history",
+                                                    new BsonArray(listOf(new BsonInt32(0)))))
+                            .append("tag", new BsonString("new"));
+            documents.put(id, document);
+            return event(RowKind.INSERT, id, document, null);
+        }
+
+        GenericRowData snapshot(String id) {
+            return event(RowKind.INSERT, id, documents.get(id), null);
+        }
+
+        /** Sets the count, appends it to the history and removes the tag of the document. */
+        GenericRowData update(String id, int count, boolean updateLookup) {
+            BsonDocument document = documents.get(id);
+            if (document == null) {
+                return event(
+                        RowKind.UPDATE_AFTER,
+                        id,
+                        null,
+                        BsonDocument.parse("{\"updatedFields\": {\"count\": " + count + "}}"));
+            }
+            BsonDocument stats = document.getDocument("stats");
+            int index = stats.getArray("history").size();
+            document.put("count", new BsonInt32(count));
+            stats.put("last", new BsonInt32(count));
+            stats.getArray("history").add(new BsonInt32(count));
+            document.remove("tag");
+            if (updateLookup) {
+                // the change streams read the current document for the update event
+                return event(RowKind.UPDATE_AFTER, id, find(id), null);
+            }
+            BsonDocument updatedFields =
+                    new BsonDocument("count", new BsonInt32(count))
+                            .append("stats.last", new BsonInt32(count))
+                            .append("stats.history." + index, new BsonInt32(count));
+            return event(
+                    RowKind.UPDATE_AFTER,
+                    id,
+                    null,
+                    new BsonDocument("updatedFields", updatedFields)
+                            .append("removedFields", new BsonArray(listOf(new BsonString("tag")))));
+        }
+
+        GenericRowData delete(String id) {
+            documents.remove(id);
+            return event(RowKind.DELETE, id, null, null);
+        }
+
+        BsonDocument find(String id) {
+            roundTrips++;
+            BsonDocument document = documents.get(id);
+            return document == null ? null : document.clone();
+        }
+
+        private static GenericRowData event(
+                RowKind kind,
+                String id,
+                BsonDocument fullDocument,
+                BsonDocument updateDescription) {
+            GenericRowData event = new GenericRowData(kind, 5);
+            event.setField(
+                    MongoDBChangeEventDeserializationSchema.DATABASE_POS,
+                    StringData.fromString(DATABASE));
+            event.setField(
+                    MongoDBChangeEventDeserializationSchema.COLLECTION_POS,
+                    StringData.fromString(COLLECTION));
+            event.setField(
+                    MongoDBChangeEventDeserializationSchema.DOCUMENT_KEY_POS,
+                    toBytes(new BsonDocument("_id", new BsonString(id))));
+            event.setField(
+                    MongoDBChangeEventDeserializationSchema.FULL_DOCUMENT_POS,
+                    fullDocument == null ? null : toBytes(fullDocument));
+            event.setField(
+                    MongoDBChangeEventDeserializationSchema.UPDATE_DESCRIPTION_POS,
+                    updateDescription == null ? null : toBytes(updateDescription));
+            return event;
+        }
+
+        private static List<BsonValue> listOf(BsonValue value) {
+            List<BsonValue> values = new ArrayList<>();
+            values.add(value);
+            return values;
+        }
+    }
+
+    private static byte[] toBytes(BsonDocument document) {
+        ByteBuf buffer = new RawBsonDocument(document, new BsonDocumentCodec()).getByteBuffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
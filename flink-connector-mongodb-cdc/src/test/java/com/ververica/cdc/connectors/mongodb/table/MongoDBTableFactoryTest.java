@@ -45,7 +45,10 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static com.ververica.cdc.connectors.mongodb.MongoDBSource.BATCH_SIZE_DEFAULT;
+import static com.ververica.cdc.connectors.mongodb.MongoDBSource.CHUNK_SIZE_MB_DEFAULT;
 import static com.ververica.cdc.connectors.mongodb.MongoDBSource.ERROR_TOLERANCE_ALL;
+import static com.ververica.cdc.connectors.mongodb.MongoDBSource.FULL_DOCUMENT_DELTA;
+import static com.ververica.cdc.connectors.mongodb.MongoDBSource.FULL_DOCUMENT_UPDATE_LOOKUP;
 import static com.ververica.cdc.connectors.mongodb.MongoDBSource.POLL_AWAIT_TIME_MILLIS_DEFAULT;
 import static com.ververica.cdc.connectors.mongodb.MongoDBSource.POLL_MAX_BATCH_SIZE_DEFAULT;
 import static com.ververica.cdc.connectors.utils.AssertUtils.assertProducedTypeOfSourceFunction;
@@ -115,7 +118,10 @@ public class MongoDBTableFactoryTest {
                         POLL_MAX_BATCH_SIZE_DEFAULT,
                         POLL_AWAIT_TIME_MILLIS_DEFAULT,
                         null,
-                        LOCAL_TIME_ZONE);
+                        LOCAL_TIME_ZONE,
+                        true,
+                        CHUNK_SIZE_MB_DEFAULT,
+                        FULL_DOCUMENT_UPDATE_LOOKUP);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -133,6 +139,9 @@ public class MongoDBTableFactoryTest {
         options.put("poll.max.batch.size", "102");
         options.put("poll.await.time.ms", "103");
         options.put("heartbeat.interval.ms", "104");
+        options.put("scan.incremental.snapshot.enabled", "false");
+        options.put("scan.incremental.snapshot.chunk.size.mb", "16");
+        options.put("change.stream.full.document", "delta");
         DynamicTableSource actualSource = createTableSource(SCHEMA, options);
 
         MongoDBTableSource expectedSource =
@@ -154,13 +163,17 @@ public class MongoDBTableFactoryTest {
                         102,
                         103,
                         104,
-                        LOCAL_TIME_ZONE);
+                        LOCAL_TIME_ZONE,
+                        false,
+                        16,
+                        FULL_DOCUMENT_DELTA);
         assertEquals(expectedSource, actualSource);
     }
 
     @Test
     public void testMetadataColumns() {
         Map<String, String> properties = getAllOptions();
+        properties.put("scan.incremental.snapshot.enabled", "false");
 
         // validation for source
         DynamicTableSource actualSource = createTableSource(SCHEMA_WITH_METADATA, properties);
@@ -189,7 +202,10 @@ public class MongoDBTableFactoryTest {
                         POLL_MAX_BATCH_SIZE_DEFAULT,
                         POLL_AWAIT_TIME_MILLIS_DEFAULT,
                         null,
-                        LOCAL_TIME_ZONE);
+                        LOCAL_TIME_ZONE,
+                        false,
+                        CHUNK_SIZE_MB_DEFAULT,
+                        FULL_DOCUMENT_UPDATE_LOOKUP);
 
         expectedSource.producedDataType = SCHEMA_WITH_METADATA.toSourceRowDataType();
         expectedSource.metadataKeys = Arrays.asList("op_ts", "database_name");
@@ -218,6 +234,21 @@ public class MongoDBTableFactoryTest {
                     ExceptionUtils.findThrowableWithMessage(t, "Unsupported options:\n\nunknown")
                             .isPresent());
         }
+
+        // validate unsupported full document mode
+        try {
+            Map<String, String> properties = getAllOptions();
+            properties.put("change.stream.full.document", "required");
+
+            createTableSource(SCHEMA, properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The value of option 'change.stream.full.document' must be 'updateLookup' or 'delta', but is 'required'")
+                            .isPresent());
+        }
     }
 
     private Map<String, String> getAllOptions() {
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.utils;
+
+import org.bson.BsonBinary;
+import org.bson.BsonBoolean;
+import org.bson.BsonDecimal128;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonMaxKey;
+import org.bson.BsonMinKey;
+import org.bson.BsonNull;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link BsonUtils} and {@link ResumeTokenUtils}. */
+public class BsonUtilsTest {
+
+    @Test
+    public void testCompareTypes() {
+        final List<BsonValue> expected =
+                Arrays.asList(
+                        new BsonMinKey(),
+                        BsonNull.VALUE,
+                        new BsonInt32(-1),
+                        new BsonString("a"),
+                        new BsonDocument("a", new BsonInt32(1)),
+                        new BsonBinary(new byte[] {1}),
+                        new BsonObjectId(new ObjectId("62f0a1b2c3d4e5f601020304")),
+                        BsonBoolean.FALSE,
+                        new BsonTimestamp(1, 0),
+                        new BsonMaxKey());
+        final List<BsonValue> values = new ArrayList<>(expected);
+        Collections.reverse(values);
+        values.sort(BsonUtils::compareBsonValue);
+        assertEquals(expected, values);
+    }
+
+    @Test
+    public void testCompareNumbers() {
+        assertEquals(0, BsonUtils.compareBsonValue(new BsonInt32(1), new BsonInt64(1L)));
+        assertEquals(0, BsonUtils.compareBsonValue(new BsonDouble(2.0), new BsonInt32(2)));
+        assertTrue(BsonUtils.compareBsonValue(new BsonDouble(1.5), new BsonInt64(2L)) < 0);
+        assertTrue(
+                BsonUtils.compareBsonValue(
+                                new BsonDecimal128(new Decimal128(new BigDecimal("10.25"))),
+                                new BsonInt32(10))
+                        > 0);
+        assertTrue(
+                BsonUtils.compareBsonValue(new BsonInt64(Long.MAX_VALUE), new BsonDouble(1e18))
+                        > 0);
+    }
+
+    @Test
+    public void testCompareStrings() {
+        assertTrue(BsonUtils.compareBsonValue(new BsonString("a"), new BsonString("b")) < 0);
+        assertTrue(BsonUtils.compareBsonValue(new BsonString("ab"), new BsonString("a")) > 0);
+        assertEquals(0, BsonUtils.compareBsonValue(new BsonString("a"), new BsonString("a")));
+    }
+
+    @Test
+    public void testIsInRange() {
+        final BsonDocument lower = new BsonDocument("_id", new BsonInt32(10));
+        final BsonDocument upper = new BsonDocument("_id", new BsonString("m"));
+        assertTrue(BsonUtils.isInRange(new BsonInt64(10L), lower, upper));
+        assertTrue(BsonUtils.isInRange(new BsonString("a"), lower, upper));
+        assertFalse(BsonUtils.isInRange(new BsonString("m"), lower, upper));
+        assertFalse(BsonUtils.isInRange(new BsonInt32(9), lower, upper));
+        assertTrue(BsonUtils.isInRange(new BsonInt32(9), null, upper));
+        assertTrue(
+                BsonUtils.isInRange(
+                        new BsonObjectId(new ObjectId("62f0a1b2c3d4e5f601020304")), lower, null));
+    }
+
+    @Test
+    public void testDecodeResumeToken() {
+        final BsonDocument token =
+                new BsonDocument("_data", new BsonString("8262F0A1B2000000012B0229296E04"));
+        assertEquals(new BsonTimestamp(1659937202, 1), ResumeTokenUtils.decodeTimestamp(token));
+        final BsonDocument binaryToken =
+                new BsonDocument(
+                        "_data",
+                        new BsonBinary(
+                                new byte[] {(byte) 0x82, 0, 0, 0, 5, 0, 0, 0, 7, 0x2B, 0x02}));
+        assertEquals(new BsonTimestamp(5, 7), ResumeTokenUtils.decodeTimestamp(binaryToken));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.utils;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+
+import org.bson.BsonDocument;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/** Tests for {@link MongoDBExpressionUtils}. */
+public class MongoDBExpressionUtilsTest {
+
+    private static final FieldReferenceExpression AGE =
+            new FieldReferenceExpression("age", DataTypes.INT(), 0, 0);
+    private static final FieldReferenceExpression NAME =
+            new FieldReferenceExpression("name", DataTypes.STRING(), 0, 1);
+    private static final FieldReferenceExpression TAGS =
+            new FieldReferenceExpression("tags", DataTypes.ARRAY(DataTypes.STRING()), 0, 2);
+
+    private static final String AGE_OTHER_TYPES = "{'age': {'$not': {'$type': ['int']}}}";
+
+    @Test
+    public void testComparison() {
+        assertEquals(
+                Optional.of(
+                        BsonDocument.parse(
+                                "{'$or': [{'age': {'$gt': 18}}, " + AGE_OTHER_TYPES + "]}")),
+                convert(call(BuiltInFunctionDefinitions.GREATER_THAN, AGE, literal(18))));
+        // the literal on the left side
+        assertEquals(
+                Optional.of(
+                        BsonDocument.parse(
+                                "{'$or': [{'age': {'$lte': 18}}, " + AGE_OTHER_TYPES + "]}")),
+                convert(call(BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL, literal(18), AGE)));
+        assertEquals(
+                Optional.of(
+                        BsonDocument.parse(
+                                "{'$or': [{'name': {'$eq': 'Alice'}}, "
+                                        + "{'name': {'$not': {'$type': ['string']}}}]}")),
+                convert(call(BuiltInFunctionDefinitions.EQUALS, NAME, literal("Alice"))));
+    }
+
+    @Test
+    public void testNullCheck() {
+        assertEquals(
+                Optional.of(BsonDocument.parse("{'name': null}")),
+                convert(call(BuiltInFunctionDefinitions.IS_NULL, NAME)));
+        assertEquals(
+                Optional.of(BsonDocument.parse("{'name': {'$ne': null}}")),
+                convert(call(BuiltInFunctionDefinitions.IS_NOT_NULL, NAME)));
+        // the arrays containing a null element are not null
+        assertFalse(convert(call(BuiltInFunctionDefinitions.IS_NOT_NULL, TAGS)).isPresent());
+    }
+
+    @Test
+    public void testLogicalExpression() {
+        final BsonDocument ageFilter =
+                BsonDocument.parse("{'$or': [{'age': {'$lt': 60}}, " + AGE_OTHER_TYPES + "]}");
+        final ResolvedExpression ageCall =
+                call(BuiltInFunctionDefinitions.LESS_THAN, AGE, literal(60));
+        final ResolvedExpression unsupported =
+                call(BuiltInFunctionDefinitions.LIKE, NAME, literal("A%"));
+
+        // the convertible side of a conjunction is still pushed down
+        assertEquals(
+                Optional.of(ageFilter),
+                convert(call(BuiltInFunctionDefinitions.AND, ageCall, unsupported)));
+        assertFalse(convert(call(BuiltInFunctionDefinitions.OR, ageCall, unsupported)).isPresent());
+        assertEquals(
+                Optional.of(
+                        BsonDocument.parse(
+                                "{'$or': ["
+                                        + ageFilter.toJson()
+                                        + ", "
+                                        + ageFilter.toJson()
+                                        + "]}")),
+                convert(call(BuiltInFunctionDefinitions.OR, ageCall, ageCall)));
+    }
+
+    @Test
+    public void testUnsupportedFilter() {
+        // the string order depends on the collation of the collection
+        assertFalse(
+                convert(call(BuiltInFunctionDefinitions.GREATER_THAN, NAME, literal("A")))
+                        .isPresent());
+        assertFalse(convert(call(BuiltInFunctionDefinitions.EQUALS, AGE, AGE)).isPresent());
+        assertFalse(
+                convert(call(BuiltInFunctionDefinitions.EQUALS, literal(true), literal(true)))
+                        .isPresent());
+        // the nested fields are not pushed down
+        assertFalse(
+                convert(
+                                call(
+                                        BuiltInFunctionDefinitions.EQUALS,
+                                        new FieldReferenceExpression(
+                                                "a.b", DataTypes.INT(), 0, 3),
+                                        literal(1)))
+                        .isPresent());
+    }
+
+    private static Optional<BsonDocument> convert(ResolvedExpression filter) {
+        return MongoDBExpressionUtils.toMongoFilter(filter);
+    }
+
+    private static CallExpression call(FunctionDefinition function, ResolvedExpression... args) {
+        return new CallExpression(function, Arrays.asList(args), DataTypes.BOOLEAN());
+    }
+
+    private static ValueLiteralExpression literal(Object value) {
+        return new ValueLiteralExpression(value);
+    }
+}
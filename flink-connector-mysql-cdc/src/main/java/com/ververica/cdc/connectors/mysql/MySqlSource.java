@@ -215,8 +215,15 @@ public class MySqlSource {
                     specificOffset.setSourcePartition(sourcePartition);
 
                     Map<String, Object> sourceOffset = new HashMap<>();
-                    sourceOffset.put("file", startupOptions.specificOffsetFile);
-                    sourceOffset.put("pos", startupOptions.specificOffsetPos);
+                    if (startupOptions.specificOffsetGtidSet != null) {
+                        // the binlog file and position are ignored when reading with GTIDs
+                        sourceOffset.put("file", "");
+                        sourceOffset.put("pos", 0L);
+                        sourceOffset.put("gtids", startupOptions.specificOffsetGtidSet);
+                    } else {
+                        sourceOffset.put("file", startupOptions.specificOffsetFile);
+                        sourceOffset.put("pos", startupOptions.specificOffsetPos);
+                    }
                     specificOffset.setSourceOffset(sourceOffset);
                     break;
 
@@ -133,6 +133,32 @@ public class DebeziumUtils {
         }
     }
 
+    /** Fetch the offset of the earliest binlog file which is still available in MySql Server. */
+    public static BinlogOffset earliestBinlogOffset(JdbcConnection jdbc) {
+        final String showBinaryLogsStmt = "SHOW BINARY LOGS";
+        try {
+            return jdbc.queryAndMap(
+                    showBinaryLogsStmt,
+                    rs -> {
+                        if (rs.next()) {
+                            // the first event of binlog file starts after the 4 bytes magic number
+                            return new BinlogOffset(rs.getString(1), 4L);
+                        } else {
+                            throw new FlinkRuntimeException(
+                                    "Cannot read the earliest binlog filename via '"
+                                            + showBinaryLogsStmt
+                                            + "'. Make sure your server is correctly configured");
+                        }
+                    });
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException(
+                    "Cannot read the earliest binlog filename via '"
+                            + showBinaryLogsStmt
+                            + "'. Make sure your server is correctly configured",
+                    e);
+        }
+    }
+
     // --------------------------------------------------------------------------------------------
 
     private static MySqlValueConverters getValueConverters(MySqlConnectorConfig dbzMySqlConfig) {
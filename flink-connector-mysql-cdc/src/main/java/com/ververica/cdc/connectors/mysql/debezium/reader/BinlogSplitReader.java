@@ -32,6 +32,8 @@ import com.ververica.cdc.connectors.mysql.source.split.MySqlSplit;
 import com.ververica.cdc.connectors.mysql.source.split.SourceRecords;
 import com.ververica.cdc.connectors.mysql.source.utils.ChunkUtils;
 import com.ververica.cdc.connectors.mysql.source.utils.RecordUtils;
+import com.ververica.cdc.connectors.mysql.table.StartupMode;
+import com.ververica.cdc.connectors.mysql.table.StartupOptions;
 import io.debezium.connector.base.ChangeEventQueue;
 import io.debezium.connector.mysql.MySqlStreamingChangeEventSourceMetrics;
 import io.debezium.pipeline.DataChangeEvent;
@@ -57,9 +59,11 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.getBinlogPosition;
+import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.getMessageTimestamp;
 import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.getSplitKey;
 import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.getTableId;
 import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.isDataChangeRecord;
+import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.isEndWatermarkEvent;
 
 /**
  * A Debezium binlog reader implementation that also support reads binlog and filter overlapping
@@ -82,6 +86,9 @@ public class BinlogSplitReader implements DebeziumReader<SourceRecords, MySqlSpl
     private Map<TableId, BinlogOffset> maxSplitHighWatermarkMap;
     private final Set<TableId> pureBinlogPhaseTables;
     private Tables.TableFilter capturedTableFilter;
+    // the change events before the timestamp are skipped in timestamp startup mode
+    private long startupTimestampMillis;
+    private boolean skipSnapshotBackfill;
 
     private static final long READER_CLOSE_TIMEOUT = 30L;
 
@@ -101,6 +108,13 @@ public class BinlogSplitReader implements DebeziumReader<SourceRecords, MySqlSpl
         this.capturedTableFilter =
                 statefulTaskContext.getConnectorConfig().getTableFilters().dataCollectionFilter();
         this.queue = statefulTaskContext.getQueue();
+        final MySqlSourceConfig sourceConfig = statefulTaskContext.getSourceConfig();
+        final StartupOptions startupOptions = sourceConfig.getStartupOptions();
+        this.startupTimestampMillis =
+                startupOptions.startupMode == StartupMode.TIMESTAMP
+                        ? startupOptions.startupTimestampMillis
+                        : Long.MIN_VALUE;
+        this.skipSnapshotBackfill = sourceConfig.isSkipSnapshotBackfill();
         this.binlogSplitReadTask =
                 new MySqlBinlogSplitReadTask(
                         statefulTaskContext.getConnectorConfig(),
@@ -112,7 +126,8 @@ public class BinlogSplitReader implements DebeziumReader<SourceRecords, MySqlSpl
                         statefulTaskContext.getTaskContext(),
                         (MySqlStreamingChangeEventSourceMetrics)
                                 statefulTaskContext.getStreamingChangeEventSourceMetrics(),
-                        currentBinlogSplit);
+                        currentBinlogSplit,
+                        sourceConfig.getStoppingOptions().getStoppingTimestampMillis());
 
         executorService.submit(
                 () -> {
@@ -153,6 +168,13 @@ public class BinlogSplitReader implements DebeziumReader<SourceRecords, MySqlSpl
         if (currentTaskRunning) {
             List<DataChangeEvent> batch = queue.poll();
             for (DataChangeEvent event : batch) {
+                if (isEndWatermarkEvent(event.getRecord())) {
+                    // the bounded binlog split reaches its stopping point, the events after the
+                    // binlog end event are not emitted
+                    LOG.info("Binlog split {} reaches its stopping point.", currentBinlogSplit);
+                    stopBinlogReadTask();
+                    break;
+                }
                 if (shouldEmit(event.getRecord())) {
                     sourceRecords.add(event.getRecord());
                 }
@@ -217,6 +239,9 @@ public class BinlogSplitReader implements DebeziumReader<SourceRecords, MySqlSpl
      */
     private boolean shouldEmit(SourceRecord sourceRecord) {
         if (isDataChangeRecord(sourceRecord)) {
+            if (isBeforeStartupTimestamp(sourceRecord)) {
+                return false;
+            }
             TableId tableId = getTableId(sourceRecord);
             BinlogOffset position = getBinlogPosition(sourceRecord);
             if (hasEnterPureBinlogPhase(tableId, position)) {
@@ -234,9 +259,13 @@ public class BinlogSplitReader implements DebeziumReader<SourceRecords, MySqlSpl
                                 sourceRecord,
                                 statefulTaskContext.getSchemaNameAdjuster());
                 for (FinishedSnapshotSplitInfo splitInfo : finishedSplitsInfo.get(tableId)) {
+                    // the snapshot splits are not normalized when the backfill is skipped, emit
+                    // the change events of the split before its high watermark as well which
+                    // provides at-least-once semantics
                     if (RecordUtils.splitKeyRangeContains(
                                     key, splitInfo.getSplitStart(), splitInfo.getSplitEnd())
-                            && position.isAfter(splitInfo.getHighWatermark())) {
+                            && (skipSnapshotBackfill
+                                    || position.isAfter(splitInfo.getHighWatermark()))) {
                         return true;
                     }
                 }
@@ -249,6 +278,14 @@ public class BinlogSplitReader implements DebeziumReader<SourceRecords, MySqlSpl
         return true;
     }
 
+    private boolean isBeforeStartupTimestamp(SourceRecord sourceRecord) {
+        if (startupTimestampMillis == Long.MIN_VALUE) {
+            return false;
+        }
+        final Long messageTimestamp = getMessageTimestamp(sourceRecord);
+        return messageTimestamp != null && messageTimestamp < startupTimestampMillis;
+    }
+
     private boolean hasEnterPureBinlogPhase(TableId tableId, BinlogOffset position) {
         if (pureBinlogPhaseTables.contains(tableId)) {
             return true;
@@ -0,0 +1,430 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mysql.debezium.reader;
+
+import org.apache.flink.util.FlinkRuntimeException;
+
+import org.apache.flink.shaded.guava30.com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import com.github.shyiko.mysql.binlog.BinaryLogClient;
+import com.ververica.cdc.connectors.mysql.debezium.task.MySqlSharedBackfillReadTask;
+import com.ververica.cdc.connectors.mysql.debezium.task.context.StatefulTaskContext;
+import com.ververica.cdc.connectors.mysql.source.config.MySqlSourceConfig;
+import com.ververica.cdc.connectors.mysql.source.offset.BinlogOffset;
+import com.ververica.cdc.connectors.mysql.source.split.MySqlBinlogSplit;
+import com.ververica.cdc.connectors.mysql.source.split.MySqlSnapshotSplit;
+import io.debezium.config.Configuration;
+import io.debezium.connector.base.ChangeEventQueue;
+import io.debezium.connector.mysql.MySqlConnection;
+import io.debezium.connector.mysql.MySqlConnectorConfig;
+import io.debezium.connector.mysql.MySqlStreamingChangeEventSourceMetrics;
+import io.debezium.heartbeat.Heartbeat;
+import io.debezium.pipeline.DataChangeEvent;
+import io.debezium.pipeline.source.spi.ChangeEventSource;
+import io.debezium.relational.TableId;
+import io.debezium.relational.history.TableChanges;
+import io.debezium.util.SchemaNameAdjuster;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.ververica.cdc.connectors.mysql.debezium.DebeziumUtils.createBinaryClient;
+import static com.ververica.cdc.connectors.mysql.debezium.DebeziumUtils.createMySqlConnection;
+import static com.ververica.cdc.connectors.mysql.debezium.DebeziumUtils.currentBinlogOffset;
+import static com.ververica.cdc.connectors.mysql.source.offset.BinlogOffset.NO_STOPPING_OFFSET;
+import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.getBinlogPosition;
+import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.getSplitKey;
+import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.getTableId;
+import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.isDataChangeRecord;
+import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.splitKeyRangeContains;
+import static com.ververica.cdc.connectors.mysql.source.utils.TableDiscoveryUtils.discoverCapturedTableSchemas;
+
+/**
+ * A per-TaskManager service that reads one binlog stream for each MySQL server and fans the change
+ * events out to the snapshot splits which are in their backfill phase, instead of starting a
+ * bounded binlog read for every snapshot split.
+ *
+ * <p>A {@link SnapshotSplitReader} subscribes its split before querying the low watermark, hands
+ * over the low and high watermark once the snapshot of the split is read and then waits for the
+ * change events of its table and key range between the two watermarks. The stream runs with its
+ * own server id reserved from the server id range, so it doesn't clash with the binlog reads of
+ * the subtasks, e.g. the dedicated backfill read a reader falls back to if a subscription fails.
+ *
+ * <p>The stream stops once no split subscribed to it for {@link #SERVICE_IDLE_TIMEOUT_MS}, e.g.
+ * when the snapshot splits of the TaskManager are finished, or once all the readers released the
+ * service, e.g. when they switch to read the binlog split. The next subscription starts a new
+ * stream.
+ */
+public class SharedBackfillBinlogService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SharedBackfillBinlogService.class);
+    private static final String SHARED_BACKFILL_SPLIT_ID = "shared-backfill-binlog-split";
+    private static final long SERVICE_CLOSE_TIMEOUT = 30L;
+    private static final long SERVICE_IDLE_TIMEOUT_MS = 10_000L;
+
+    private static final Map<String, SharedBackfillBinlogService> SERVICES =
+            new ConcurrentHashMap<>();
+
+    private final String serviceKey;
+    private final MySqlSourceConfig sourceConfig;
+    private final ExecutorService executorService;
+    private final SchemaNameAdjuster nameAdjuster = SchemaNameAdjuster.create();
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    private int refCount;
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private volatile BinlogOffset processedOffset;
+
+    private Set<TableId> capturedTables;
+    private StatefulTaskContext statefulTaskContext;
+    private ChangeEventQueue<DataChangeEvent> queue;
+
+    private SharedBackfillBinlogService(String serviceKey, MySqlSourceConfig sourceConfig) {
+        this.serviceKey = serviceKey;
+        this.sourceConfig = sourceConfig;
+        this.executorService =
+                Executors.newFixedThreadPool(
+                        2,
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("shared-backfill-binlog-reader-%d")
+                                .build());
+    }
+
+    /**
+     * Returns the shared service for the MySQL server of the given config, the service is created
+     * with the given config if it doesn't exist yet.
+     */
+    public static synchronized SharedBackfillBinlogService acquire(MySqlSourceConfig sourceConfig) {
+        SharedBackfillBinlogService service =
+                SERVICES.computeIfAbsent(
+                        serviceKey(sourceConfig),
+                        key -> new SharedBackfillBinlogService(key, sourceConfig));
+        service.refCount++;
+        return service;
+    }
+
+    /** Releases the service acquired with the given config. */
+    public static synchronized void release(
+            SharedBackfillBinlogService service, MySqlSourceConfig sourceConfig) {
+        service.refCount--;
+        if (service.refCount <= 0) {
+            SERVICES.remove(service.serviceKey, service);
+            service.stop();
+        }
+    }
+
+    private static String serviceKey(MySqlSourceConfig sourceConfig) {
+        return sourceConfig.getHostname()
+                + ":"
+                + sourceConfig.getPort()
+                + "/"
+                + sourceConfig.getDatabaseList()
+                + "/"
+                + sourceConfig.getTableList();
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Subscribes the change events of the given snapshot split, this must be called before the low
+     * watermark of the split is queried. Returns null if the split can't be served by the shared
+     * stream.
+     */
+    @Nullable
+    public synchronized Subscription subscribe(MySqlSnapshotSplit split) {
+        if (stopped) {
+            return null;
+        }
+        if (!running) {
+            try {
+                start();
+            } catch (Exception e) {
+                fail(e);
+                shutdown();
+                return null;
+            }
+        }
+        if (!capturedTables.contains(split.getTableId())) {
+            return null;
+        }
+        Subscription subscription = new Subscription(split);
+        subscriptions.put(split.splitId(), subscription);
+        return subscription;
+    }
+
+    private void start() throws Exception {
+        final MySqlConnection connection = createMySqlConnection(sourceConfig);
+        final BinlogOffset startingOffset = currentBinlogOffset(connection);
+        final Map<TableId, TableChanges.TableChange> tableSchemas =
+                discoverCapturedTableSchemas(sourceConfig, connection);
+        final BinaryLogClient binaryLogClient =
+                createBinaryClient(sourceConfig.getDbzConfiguration());
+        this.statefulTaskContext =
+                new StatefulTaskContext(sourceConfig, binaryLogClient, connection);
+        statefulTaskContext.configure(
+                new MySqlBinlogSplit(
+                        SHARED_BACKFILL_SPLIT_ID,
+                        startingOffset,
+                        NO_STOPPING_OFFSET,
+                        new ArrayList<>(),
+                        tableSchemas,
+                        0));
+        this.capturedTables = tableSchemas.keySet();
+        this.queue = statefulTaskContext.getQueue();
+
+        Configuration dezConf =
+                sourceConfig
+                        .getDbzConfiguration()
+                        .edit()
+                        // Disable heartbeat event in shared backfill reader
+                        .with(Heartbeat.HEARTBEAT_INTERVAL, 0)
+                        .build();
+        final MySqlSharedBackfillReadTask readTask =
+                new MySqlSharedBackfillReadTask(
+                        new MySqlConnectorConfig(dezConf),
+                        connection,
+                        statefulTaskContext.getDispatcher(),
+                        statefulTaskContext.getErrorHandler(),
+                        StatefulTaskContext.getClock(),
+                        statefulTaskContext.getTaskContext(),
+                        (MySqlStreamingChangeEventSourceMetrics)
+                                statefulTaskContext.getStreamingChangeEventSourceMetrics(),
+                        offset -> processedOffset = offset);
+        running = true;
+        LOG.info("Start the shared backfill binlog stream from {}.", startingOffset);
+        executorService.submit(
+                () -> {
+                    try {
+                        readTask.execute(
+                                new SharedBackfillChangeEventSourceContextImpl(),
+                                statefulTaskContext.getOffsetContext());
+                    } catch (Throwable t) {
+                        fail(t);
+                    }
+                });
+        executorService.submit(this::dispatchRecords);
+    }
+
+    private void dispatchRecords() {
+        try {
+            long idleSince = System.currentTimeMillis();
+            while (running) {
+                // the records of all the events up to the processed offset are in the queue or
+                // have been dispatched, read the offset first and then drain the queue
+                final BinlogOffset position = processedOffset;
+                dispatch(queue.poll());
+                while (queue.remainingCapacity() < queue.totalCapacity()) {
+                    dispatch(queue.poll());
+                }
+                if (position != null) {
+                    for (Subscription subscription : subscriptions.values()) {
+                        subscription.completeIfReached(position);
+                    }
+                }
+                final long now = System.currentTimeMillis();
+                if (!subscriptions.isEmpty()) {
+                    idleSince = now;
+                } else if (now - idleSince >= SERVICE_IDLE_TIMEOUT_MS && stopIfIdle()) {
+                    return;
+                }
+            }
+        } catch (Throwable t) {
+            fail(t);
+        }
+    }
+
+    private void dispatch(List<DataChangeEvent> events) {
+        for (DataChangeEvent event : events) {
+            final SourceRecord record = event.getRecord();
+            if (!isDataChangeRecord(record)) {
+                continue;
+            }
+            final TableId tableId = getTableId(record);
+            for (Subscription subscription : subscriptions.values()) {
+                MySqlSnapshotSplit split = subscription.split;
+                if (split.getTableId().equals(tableId)
+                        && splitKeyRangeContains(
+                                getSplitKey(split.getSplitKeyType(), record, nameAdjuster),
+                                split.getSplitStart(),
+                                split.getSplitEnd())) {
+                    subscription.records.add(record);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the stream if still no split subscribed to it, the readers which hold the service
+     * acquire a new one for their next split. This runs under the same lock as {@link
+     * #subscribe(MySqlSnapshotSplit)}, so a split either subscribes before the check or sees the
+     * stopped flag and its reader acquires a new service.
+     */
+    private synchronized boolean stopIfIdle() {
+        if (!subscriptions.isEmpty()) {
+            return false;
+        }
+        LOG.info(
+                "No snapshot split subscribed to the shared backfill binlog stream for {} ms, "
+                        + "stop it.",
+                SERVICE_IDLE_TIMEOUT_MS);
+        SERVICES.remove(serviceKey, this);
+        shutdown();
+        return true;
+    }
+
+    private void fail(Throwable t) {
+        LOG.error("The shared backfill binlog stream failed.", t);
+        // the following readers start a new shared stream
+        SERVICES.remove(serviceKey, this);
+        stopped = true;
+        running = false;
+        for (Subscription subscription : subscriptions.values()) {
+            subscription.future.completeExceptionally(t);
+        }
+        subscriptions.clear();
+    }
+
+    private void stop() {
+        synchronized (this) {
+            if (executorService.isShutdown()) {
+                return;
+            }
+            shutdown();
+        }
+        // wait outside of the lock, the dispatching thread may be stopping the idle stream
+        try {
+            if (!executorService.awaitTermination(SERVICE_CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
+                LOG.warn(
+                        "Failed to close the shared backfill binlog stream in {} seconds.",
+                        SERVICE_CLOSE_TIMEOUT);
+            }
+        } catch (Exception e) {
+            LOG.error("Close shared backfill binlog stream error", e);
+        }
+    }
+
+    private void shutdown() {
+        stopped = true;
+        running = false;
+        for (Subscription subscription : subscriptions.values()) {
+            subscription.future.completeExceptionally(
+                    new FlinkRuntimeException("The shared backfill binlog stream is stopped."));
+        }
+        subscriptions.clear();
+        closeStream();
+        executorService.shutdown();
+    }
+
+    private void closeStream() {
+        if (statefulTaskContext == null) {
+            return;
+        }
+        try {
+            if (statefulTaskContext.getBinaryLogClient() != null) {
+                statefulTaskContext.getBinaryLogClient().disconnect();
+            }
+            if (statefulTaskContext.getConnection() != null) {
+                statefulTaskContext.getConnection().close();
+            }
+        } catch (Exception e) {
+            LOG.error("Close shared backfill binlog stream error", e);
+        }
+    }
+
+    /** The change events of a snapshot split read from the shared binlog stream. */
+    public class Subscription {
+
+        private final MySqlSnapshotSplit split;
+        private final List<SourceRecord> records = new ArrayList<>();
+        private final CompletableFuture<List<SourceRecord>> future = new CompletableFuture<>();
+
+        private volatile BinlogOffset lowWatermark;
+        private volatile BinlogOffset highWatermark;
+
+        private Subscription(MySqlSnapshotSplit split) {
+            this.split = split;
+        }
+
+        /**
+         * Waits until the shared stream reaches the high watermark and returns the change events
+         * of the split between the low watermark and high watermark.
+         */
+        public List<SourceRecord> awaitRecords(
+                BinlogOffset lowWatermark, BinlogOffset highWatermark)
+                throws InterruptedException, ExecutionException {
+            this.lowWatermark = lowWatermark;
+            this.highWatermark = highWatermark;
+            if (stopped) {
+                future.completeExceptionally(
+                        new FlinkRuntimeException(
+                                "The shared backfill binlog stream is stopped."));
+            }
+            return future.get();
+        }
+
+        /** Cancels the subscription, e.g. the split doesn't need backfill. */
+        public void cancel() {
+            subscriptions.remove(split.splitId(), this);
+            future.cancel(false);
+        }
+
+        private void completeIfReached(BinlogOffset position) {
+            if (highWatermark == null || !position.isAtOrAfter(highWatermark)) {
+                return;
+            }
+            subscriptions.remove(split.splitId(), this);
+            final List<SourceRecord> backfillRecords = new ArrayList<>();
+            for (SourceRecord record : records) {
+                BinlogOffset recordOffset = getBinlogPosition(record);
+                if (recordOffset.isAtOrAfter(lowWatermark)
+                        && recordOffset.isBefore(highWatermark)) {
+                    backfillRecords.add(record);
+                }
+            }
+            future.complete(backfillRecords);
+        }
+    }
+
+    /**
+     * The {@link ChangeEventSource.ChangeEventSourceContext} implementation for the shared binlog
+     * stream.
+     */
+    private class SharedBackfillChangeEventSourceContextImpl
+            implements ChangeEventSource.ChangeEventSourceContext {
+
+        @Override
+        public boolean isRunning() {
+            return running && statefulTaskContext.getErrorHandler().getProducerThrowable() == null;
+        }
+    }
+}
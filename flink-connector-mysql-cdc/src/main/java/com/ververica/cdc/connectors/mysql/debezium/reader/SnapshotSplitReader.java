@@ -50,6 +50,7 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -93,7 +94,19 @@ public class SnapshotSplitReader implements DebeziumReader<SourceRecords, MySqlS
 
     private MySqlSourceConfig sourceConfig;
 
+    // config to read the shared backfill binlog stream, null if the shared backfill is disabled
+    @Nullable private final MySqlSourceConfig backfillConfig;
+    @Nullable private SharedBackfillBinlogService sharedBackfillService;
+
     public SnapshotSplitReader(StatefulTaskContext statefulTaskContext, int subtaskId, MySqlSourceConfig sourceConfig) {
+        this(statefulTaskContext, subtaskId, sourceConfig, null);
+    }
+
+    public SnapshotSplitReader(
+            StatefulTaskContext statefulTaskContext,
+            int subtaskId,
+            MySqlSourceConfig sourceConfig,
+            @Nullable MySqlSourceConfig backfillConfig) {
         this.statefulTaskContext = statefulTaskContext;
         ThreadFactory threadFactory =
                 new ThreadFactoryBuilder().setNameFormat("debezium-reader-" + subtaskId).build();
@@ -102,6 +115,7 @@ public class SnapshotSplitReader implements DebeziumReader<SourceRecords, MySqlS
         this.hasNextElement = new AtomicBoolean(false);
         this.reachEnd = new AtomicBoolean(false);
         this.sourceConfig = sourceConfig;
+        this.backfillConfig = backfillConfig;
     }
 
 
@@ -113,7 +127,7 @@ public class SnapshotSplitReader implements DebeziumReader<SourceRecords, MySqlS
         this.currentTaskRunning = false;
         this.hasNextElement = new AtomicBoolean(false);
         this.reachEnd = new AtomicBoolean(false);
-
+        this.backfillConfig = null;
     }
 
     public void submitSplit(MySqlSplit mySqlSplit) {
@@ -129,15 +143,21 @@ public class SnapshotSplitReader implements DebeziumReader<SourceRecords, MySqlS
                         statefulTaskContext.getSnapshotChangeEventSourceMetrics(),
                         statefulTaskContext.getDatabaseSchema(),
                         statefulTaskContext.getConnection(),
+                        statefulTaskContext.getConsistentSnapshotTransaction(),
                         statefulTaskContext.getDispatcher(),
                         statefulTaskContext.getTopicSelector(),
                         statefulTaskContext.getSnapshotReceiver(),
                         StatefulTaskContext.getClock(),
-                        currentSnapshotSplit);
+                        currentSnapshotSplit,
+                        isSnapshotOnly(),
+                        statefulTaskContext.getSourceConfig().isSkipSnapshotBackfill());
         executorService.submit(
                 () -> {
                     try {
                         currentTaskRunning = true;
+                        // subscribe the shared binlog stream before the low watermark is queried
+                        final SharedBackfillBinlogService.Subscription subscription =
+                                subscribeSharedBackfill();
                         // execute snapshot read task
                         final SnapshotSplitChangeEventSourceContextImpl sourceContext =
                                 new SnapshotSplitChangeEventSourceContextImpl();
@@ -154,6 +174,9 @@ public class SnapshotSplitReader implements DebeziumReader<SourceRecords, MySqlS
                                         .getEndingOffset()
                                         .isAfter(backfillBinlogSplit.getStartingOffset());
                         if (!binlogBackfillRequired) {
+                            if (subscription != null) {
+                                subscription.cancel();
+                            }
                             dispatchBinlogEndEvent(backfillBinlogSplit);
                             currentTaskRunning = false;
                             return;
@@ -161,6 +184,10 @@ public class SnapshotSplitReader implements DebeziumReader<SourceRecords, MySqlS
 
                         // execute binlog read task
                         if (snapshotResult.isCompletedOrSkipped()) {
+                            if (subscription != null
+                                    && backfillFromSharedStream(subscription, backfillBinlogSplit)) {
+                                return;
+                            }
                             final MySqlBinlogSplitReadTask backfillBinlogReadTask =
                                     createBackfillBinlogReadTask(backfillBinlogSplit);
                             final MySqlOffsetContext.Loader loader =
@@ -174,6 +201,9 @@ public class SnapshotSplitReader implements DebeziumReader<SourceRecords, MySqlS
                                     new SnapshotBinlogSplitChangeEventSourceContextImpl(),
                                     mySqlOffsetContext);
                         } else {
+                            if (subscription != null) {
+                                subscription.cancel();
+                            }
                             readException =
                                     new IllegalStateException(
                                             String.format(
@@ -192,6 +222,57 @@ public class SnapshotSplitReader implements DebeziumReader<SourceRecords, MySqlS
                 });
     }
 
+    private boolean isSnapshotOnly() {
+        return statefulTaskContext.getSourceConfig().getStartupOptions().isSnapshotOnly();
+    }
+
+    @Nullable
+    private SharedBackfillBinlogService.Subscription subscribeSharedBackfill() {
+        // no backfill happens in snapshot only mode or when the backfill is skipped
+        if (backfillConfig == null
+                || isSnapshotOnly()
+                || statefulTaskContext.getSourceConfig().isSkipSnapshotBackfill()) {
+            return null;
+        }
+        if (sharedBackfillService != null && sharedBackfillService.isStopped()) {
+            SharedBackfillBinlogService.release(sharedBackfillService, backfillConfig);
+            sharedBackfillService = null;
+        }
+        if (sharedBackfillService == null) {
+            sharedBackfillService = SharedBackfillBinlogService.acquire(backfillConfig);
+        }
+        return sharedBackfillService.subscribe(currentSnapshotSplit);
+    }
+
+    /**
+     * Backfills the current split with the change events read from the shared binlog stream,
+     * returns false if the shared stream can't serve the split.
+     */
+    private boolean backfillFromSharedStream(
+            SharedBackfillBinlogService.Subscription subscription,
+            MySqlBinlogSplit backfillBinlogSplit)
+            throws InterruptedException {
+        final List<SourceRecord> binlogRecords;
+        try {
+            binlogRecords =
+                    subscription.awaitRecords(
+                            backfillBinlogSplit.getStartingOffset(),
+                            backfillBinlogSplit.getEndingOffset());
+        } catch (ExecutionException e) {
+            LOG.warn(
+                    "Failed to backfill split {} from the shared binlog stream, fall back to read the binlog for the split.",
+                    currentSnapshotSplit.splitId(),
+                    e);
+            return false;
+        }
+        for (SourceRecord binlogRecord : binlogRecords) {
+            queue.enqueue(new DataChangeEvent(binlogRecord));
+        }
+        dispatchBinlogEndEvent(backfillBinlogSplit);
+        currentTaskRunning = false;
+        return true;
+    }
+
     private MySqlBinlogSplit createBackfillBinlogSplit(
             SnapshotSplitChangeEventSourceContextImpl sourceContext) {
         return new MySqlBinlogSplit(
@@ -377,6 +458,10 @@ public class SnapshotSplitReader implements DebeziumReader<SourceRecords, MySqlS
             if (statefulTaskContext.getBinaryLogClient() != null) {
                 statefulTaskContext.getBinaryLogClient().disconnect();
             }
+            if (sharedBackfillService != null) {
+                SharedBackfillBinlogService.release(sharedBackfillService, backfillConfig);
+                sharedBackfillService = null;
+            }
             if (executorService != null) {
                 executorService.shutdown();
                 if (executorService.awaitTermination(READER_CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
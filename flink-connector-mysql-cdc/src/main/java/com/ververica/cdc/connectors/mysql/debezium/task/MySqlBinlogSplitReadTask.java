@@ -32,6 +32,7 @@ import io.debezium.connector.mysql.MySqlTaskContext;
 import io.debezium.pipeline.ErrorHandler;
 import io.debezium.relational.TableId;
 import io.debezium.util.Clock;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,7 +50,9 @@ public class MySqlBinlogSplitReadTask extends MySqlStreamingChangeEventSource {
     private final EventDispatcherImpl<TableId> eventDispatcher;
     private final SignalEventDispatcher signalEventDispatcher;
     private final ErrorHandler errorHandler;
+    private final long stoppingTimestampMillis;
     private ChangeEventSourceContext context;
+    private boolean reachedEnd;
 
     public MySqlBinlogSplitReadTask(
             MySqlConnectorConfig connectorConfig,
@@ -61,8 +64,33 @@ public class MySqlBinlogSplitReadTask extends MySqlStreamingChangeEventSource {
             MySqlTaskContext taskContext,
             MySqlStreamingChangeEventSourceMetrics metrics,
             MySqlBinlogSplit binlogSplit) {
+        this(
+                connectorConfig,
+                connection,
+                dispatcher,
+                signalEventDispatcher,
+                errorHandler,
+                clock,
+                taskContext,
+                metrics,
+                binlogSplit,
+                Long.MAX_VALUE);
+    }
+
+    public MySqlBinlogSplitReadTask(
+            MySqlConnectorConfig connectorConfig,
+            MySqlConnection connection,
+            EventDispatcherImpl<TableId> dispatcher,
+            SignalEventDispatcher signalEventDispatcher,
+            ErrorHandler errorHandler,
+            Clock clock,
+            MySqlTaskContext taskContext,
+            MySqlStreamingChangeEventSourceMetrics metrics,
+            MySqlBinlogSplit binlogSplit,
+            long stoppingTimestampMillis) {
         super(connectorConfig, connection, dispatcher, errorHandler, clock, taskContext, metrics);
         this.binlogSplit = binlogSplit;
+        this.stoppingTimestampMillis = stoppingTimestampMillis;
         this.eventDispatcher = dispatcher;
         this.errorHandler = errorHandler;
         this.signalEventDispatcher = signalEventDispatcher;
@@ -77,29 +105,68 @@ public class MySqlBinlogSplitReadTask extends MySqlStreamingChangeEventSource {
 
     @Override
     protected void handleEvent(MySqlOffsetContext offsetContext, Event event) {
+        if (reachedEnd) {
+            // the binlog end event has been sent, skip the events until the reader stops the task
+            return;
+        }
+        // the events at or after the stopping timestamp are not read
+        final long eventTimestamp = event.getHeader().getTimestamp();
+        if (eventTimestamp > 0 && eventTimestamp >= stoppingTimestampMillis) {
+            LOG.info(
+                    "The binlog event timestamp {} reaches the stopping timestamp {}, finish reading split {}",
+                    eventTimestamp,
+                    stoppingTimestampMillis,
+                    binlogSplit.splitId());
+            finishReading(getBinlogPosition(offsetContext.getOffset()));
+            return;
+        }
         super.handleEvent(offsetContext, event);
         // check do we need to stop for read binlog for snapshot split.
         if (isBoundedRead()) {
             final BinlogOffset currentBinlogOffset = getBinlogPosition(offsetContext.getOffset());
             // reach the high watermark, the binlog reader should finished
-            if (currentBinlogOffset.isAtOrAfter(binlogSplit.getEndingOffset())) {
-                // send binlog end event
-                try {
-                    signalEventDispatcher.dispatchWatermarkEvent(
-                            binlogSplit,
-                            currentBinlogOffset,
-                            SignalEventDispatcher.WatermarkKind.BINLOG_END);
-                } catch (InterruptedException e) {
-                    LOG.error("Send signal event error.", e);
-                    errorHandler.setProducerThrowable(
-                            new DebeziumException("Error processing binlog signal event", e));
-                }
-                // tell reader the binlog task finished
-                ((SnapshotBinlogSplitChangeEventSourceContextImpl) context).finished();
+            if (reachedEndingOffset(currentBinlogOffset)) {
+                finishReading(currentBinlogOffset);
             }
         }
     }
 
+    private void finishReading(BinlogOffset currentBinlogOffset) {
+        reachedEnd = true;
+        // send binlog end event
+        try {
+            signalEventDispatcher.dispatchWatermarkEvent(
+                    binlogSplit, currentBinlogOffset, SignalEventDispatcher.WatermarkKind.BINLOG_END);
+        } catch (InterruptedException e) {
+            LOG.error("Send signal event error.", e);
+            errorHandler.setProducerThrowable(
+                    new DebeziumException("Error processing binlog signal event", e));
+        }
+        // tell reader the binlog task finished, the reader of binlog split stops the task once it
+        // has drained the events before the binlog end event
+        if (context instanceof SnapshotBinlogSplitChangeEventSourceContextImpl) {
+            ((SnapshotBinlogSplitChangeEventSourceContextImpl) context).finished();
+        }
+    }
+
+    private boolean reachedEndingOffset(BinlogOffset currentBinlogOffset) {
+        final BinlogOffset endingOffset = binlogSplit.getEndingOffset();
+        if (StringUtils.isEmpty(endingOffset.getGtidSet())) {
+            // the ending offset only has binlog file and position, compare the offsets without
+            // GTIDs, otherwise the GTID comparison always treats the current offset as after it
+            return new BinlogOffset(
+                            currentBinlogOffset.getFilename(),
+                            currentBinlogOffset.getPosition(),
+                            currentBinlogOffset.getRestartSkipEvents(),
+                            currentBinlogOffset.getRestartSkipRows(),
+                            0L,
+                            null,
+                            null)
+                    .isAtOrAfter(endingOffset);
+        }
+        return currentBinlogOffset.isAtOrAfter(endingOffset);
+    }
+
     private boolean isBoundedRead() {
         return !NO_STOPPING_OFFSET.equals(binlogSplit.getEndingOffset());
     }
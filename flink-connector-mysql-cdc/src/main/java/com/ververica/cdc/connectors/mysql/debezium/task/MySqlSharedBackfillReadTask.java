@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mysql.debezium.task;
+
+import com.github.shyiko.mysql.binlog.event.Event;
+import com.ververica.cdc.connectors.mysql.debezium.dispatcher.EventDispatcherImpl;
+import com.ververica.cdc.connectors.mysql.source.offset.BinlogOffset;
+import io.debezium.connector.mysql.MySqlConnection;
+import io.debezium.connector.mysql.MySqlConnectorConfig;
+import io.debezium.connector.mysql.MySqlOffsetContext;
+import io.debezium.connector.mysql.MySqlStreamingChangeEventSource;
+import io.debezium.connector.mysql.MySqlStreamingChangeEventSourceMetrics;
+import io.debezium.connector.mysql.MySqlTaskContext;
+import io.debezium.pipeline.ErrorHandler;
+import io.debezium.relational.TableId;
+import io.debezium.util.Clock;
+
+import java.util.function.Consumer;
+
+import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.getBinlogPosition;
+
+/**
+ * Task to read an unbounded binlog stream which is shared by the backfill phase of multiple
+ * snapshot splits, the binlog position is reported to the listener after every handled event.
+ */
+public class MySqlSharedBackfillReadTask extends MySqlStreamingChangeEventSource {
+
+    private final Consumer<BinlogOffset> positionListener;
+
+    public MySqlSharedBackfillReadTask(
+            MySqlConnectorConfig connectorConfig,
+            MySqlConnection connection,
+            EventDispatcherImpl<TableId> dispatcher,
+            ErrorHandler errorHandler,
+            Clock clock,
+            MySqlTaskContext taskContext,
+            MySqlStreamingChangeEventSourceMetrics metrics,
+            Consumer<BinlogOffset> positionListener) {
+        super(connectorConfig, connection, dispatcher, errorHandler, clock, taskContext, metrics);
+        this.positionListener = positionListener;
+    }
+
+    @Override
+    protected void handleEvent(MySqlOffsetContext offsetContext, Event event) {
+        super.handleEvent(offsetContext, event);
+        positionListener.accept(getBinlogPosition(offsetContext.getOffset()));
+    }
+}
@@ -19,6 +19,7 @@ package com.ververica.cdc.connectors.mysql.debezium.task;
 import com.ververica.cdc.connectors.mysql.debezium.dispatcher.EventDispatcherImpl;
 import com.ververica.cdc.connectors.mysql.debezium.dispatcher.SignalEventDispatcher;
 import com.ververica.cdc.connectors.mysql.debezium.reader.SnapshotSplitReader;
+import com.ververica.cdc.connectors.mysql.debezium.task.context.ConsistentSnapshotTransaction;
 import com.ververica.cdc.connectors.mysql.source.offset.BinlogOffset;
 import com.ververica.cdc.connectors.mysql.source.split.MySqlSnapshotSplit;
 import com.ververica.cdc.connectors.mysql.source.utils.StatementUtils;
@@ -70,33 +71,42 @@ public class MySqlSnapshotSplitReadTask
     private final MySqlConnectorConfig connectorConfig;
     private final MySqlDatabaseSchema databaseSchema;
     private final MySqlConnection jdbcConnection;
+    private final ConsistentSnapshotTransaction consistentSnapshotTransaction;
     private final EventDispatcherImpl<TableId> dispatcher;
     private final Clock clock;
     private final MySqlSnapshotSplit snapshotSplit;
     private final TopicSelector<TableId> topicSelector;
     private final EventDispatcher.SnapshotReceiver snapshotReceiver;
     private final SnapshotChangeEventSourceMetrics snapshotChangeEventSourceMetrics;
+    private final boolean isSnapshotOnly;
+    private final boolean skipBackfill;
 
     public MySqlSnapshotSplitReadTask(
             MySqlConnectorConfig connectorConfig,
             SnapshotChangeEventSourceMetrics snapshotChangeEventSourceMetrics,
             MySqlDatabaseSchema databaseSchema,
             MySqlConnection jdbcConnection,
+            ConsistentSnapshotTransaction consistentSnapshotTransaction,
             EventDispatcherImpl<TableId> dispatcher,
             TopicSelector<TableId> topicSelector,
             EventDispatcher.SnapshotReceiver snapshotReceiver,
             Clock clock,
-            MySqlSnapshotSplit snapshotSplit) {
+            MySqlSnapshotSplit snapshotSplit,
+            boolean isSnapshotOnly,
+            boolean skipBackfill) {
         super(connectorConfig, snapshotChangeEventSourceMetrics);
         this.connectorConfig = connectorConfig;
         this.databaseSchema = databaseSchema;
         this.jdbcConnection = jdbcConnection;
+        this.consistentSnapshotTransaction = consistentSnapshotTransaction;
         this.dispatcher = dispatcher;
         this.clock = clock;
         this.snapshotSplit = snapshotSplit;
         this.topicSelector = topicSelector;
         this.snapshotReceiver = snapshotReceiver;
         this.snapshotChangeEventSourceMetrics = snapshotChangeEventSourceMetrics;
+        this.isSnapshotOnly = isSnapshotOnly;
+        this.skipBackfill = skipBackfill;
     }
 
     @Override
@@ -140,6 +150,30 @@ public class MySqlSnapshotSplitReadTask
                         topicSelector.topicNameFor(snapshotSplit.getTableId()),
                         dispatcher.getQueue());
 
+        if (isSnapshotOnly) {
+            // the binlog is never read in snapshot only mode, use a placeholder offset
+            readWithoutBackfill(
+                    context, ctx, signalEventDispatcher, BinlogOffset.INITIAL_OFFSET);
+            return SnapshotResult.completed(ctx.offset);
+        }
+
+        if (skipBackfill) {
+            // the binlog split starts from the earliest watermark and emits all change events
+            final BinlogOffset watermark =
+                    snapshotSplit.getConsistentSnapshotOffset() != null
+                            ? snapshotSplit.getConsistentSnapshotOffset()
+                            : currentBinlogOffset(jdbcConnection);
+            readWithoutBackfill(context, ctx, signalEventDispatcher, watermark);
+            return SnapshotResult.completed(ctx.offset);
+        }
+
+        if (snapshotSplit.getConsistentSnapshotOffset() != null
+                && readConsistentSnapshot(context, ctx, signalEventDispatcher)) {
+            return SnapshotResult.completed(ctx.offset);
+        }
+        // the watermark based reading must see the latest data
+        consistentSnapshotTransaction.end();
+
         final BinlogOffset lowWatermark = currentBinlogOffset(jdbcConnection);
         LOG.info(
                 "Snapshot step 1 - Determining low watermark {} for split {}",
@@ -166,6 +200,70 @@ public class MySqlSnapshotSplitReadTask
         return SnapshotResult.completed(ctx.offset);
     }
 
+    /**
+     * Reads the split without querying the binlog position per split, the given offset is used as
+     * both low and high watermark thus no binlog backfill happens.
+     */
+    private void readWithoutBackfill(
+            ChangeEventSourceContext context,
+            RelationalSnapshotChangeEventSource.RelationalSnapshotContext<MySqlOffsetContext> ctx,
+            SignalEventDispatcher signalEventDispatcher,
+            BinlogOffset watermark)
+            throws Exception {
+        LOG.info(
+                "Snapshot step 1 - Reading split {} without backfill at watermark {}",
+                snapshotSplit,
+                watermark);
+        ((SnapshotSplitReader.SnapshotSplitChangeEventSourceContextImpl) (context))
+                .setLowWatermark(watermark);
+        signalEventDispatcher.dispatchWatermarkEvent(
+                snapshotSplit, watermark, SignalEventDispatcher.WatermarkKind.LOW);
+
+        LOG.info("Snapshot step 2 - Snapshotting data");
+        createDataEvents(ctx, snapshotSplit.getTableId());
+
+        signalEventDispatcher.dispatchWatermarkEvent(
+                snapshotSplit, watermark, SignalEventDispatcher.WatermarkKind.HIGH);
+        ((SnapshotSplitReader.SnapshotSplitChangeEventSourceContextImpl) (context))
+                .setHighWatermark(watermark);
+    }
+
+    /**
+     * Reads the split in the consistent snapshot transaction at the global binlog position recorded
+     * by the enumerator, the global position is used as both low and high watermark so that no
+     * binlog backfill is needed. The transaction is kept open for the following splits. Returns
+     * false if the binlog position had moved on since the global position was recorded, the caller
+     * should read the split with watermarks in that case.
+     */
+    private boolean readConsistentSnapshot(
+            ChangeEventSourceContext context,
+            RelationalSnapshotChangeEventSource.RelationalSnapshotContext<MySqlOffsetContext> ctx,
+            SignalEventDispatcher signalEventDispatcher)
+            throws Exception {
+        final BinlogOffset consistentSnapshotOffset = snapshotSplit.getConsistentSnapshotOffset();
+        if (!consistentSnapshotTransaction.begin(consistentSnapshotOffset)) {
+            return false;
+        }
+
+        LOG.info(
+                "Snapshot step 1 - Reading split {} in consistent snapshot at {}",
+                snapshotSplit,
+                consistentSnapshotOffset);
+        ((SnapshotSplitReader.SnapshotSplitChangeEventSourceContextImpl) (context))
+                .setLowWatermark(consistentSnapshotOffset);
+        signalEventDispatcher.dispatchWatermarkEvent(
+                snapshotSplit, consistentSnapshotOffset, SignalEventDispatcher.WatermarkKind.LOW);
+
+        LOG.info("Snapshot step 2 - Snapshotting data");
+        createDataEvents(ctx, snapshotSplit.getTableId());
+
+        signalEventDispatcher.dispatchWatermarkEvent(
+                snapshotSplit, consistentSnapshotOffset, SignalEventDispatcher.WatermarkKind.HIGH);
+        ((SnapshotSplitReader.SnapshotSplitChangeEventSourceContextImpl) (context))
+                .setHighWatermark(consistentSnapshotOffset);
+        return true;
+    }
+
     @Override
     protected SnapshottingTask getSnapshottingTask(MySqlOffsetContext offsetContext) {
         return new SnapshottingTask(false, true);
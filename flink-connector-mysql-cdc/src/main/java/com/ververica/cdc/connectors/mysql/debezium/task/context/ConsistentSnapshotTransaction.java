@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mysql.debezium.task.context;
+
+import com.ververica.cdc.connectors.mysql.source.offset.BinlogOffset;
+import io.debezium.connector.mysql.MySqlConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static com.ververica.cdc.connectors.mysql.debezium.DebeziumUtils.currentBinlogOffset;
+
+/**
+ * The 'START TRANSACTION WITH CONSISTENT SNAPSHOT' transaction held by the connection of a
+ * snapshot split reader across its splits.
+ *
+ * <p>The transaction is opened for the first split which carries the global binlog position
+ * recorded by the enumerator, and is kept open for the following splits if the binlog position
+ * still equalled the global position when it was opened, so the splits are all read at the global
+ * position however the binlog moves on meanwhile. Otherwise the transaction is closed and no new
+ * one is opened for the same global position, the splits are read with watermarks instead.
+ */
+public class ConsistentSnapshotTransaction {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConsistentSnapshotTransaction.class);
+
+    private final MySqlConnection jdbcConnection;
+
+    /** The global binlog position of the open transaction, null if no transaction is open. */
+    @Nullable private BinlogOffset openedOffset;
+
+    /** The global binlog position which the binlog has already moved past. */
+    @Nullable private BinlogOffset unavailableOffset;
+
+    private boolean autoCommit;
+    private int isolation;
+
+    public ConsistentSnapshotTransaction(MySqlConnection jdbcConnection) {
+        this.jdbcConnection = jdbcConnection;
+    }
+
+    /**
+     * Makes sure the connection is in a consistent snapshot transaction at the given global binlog
+     * position. Returns false if the data at the position can't be read any more, the caller
+     * should read the split with watermarks in that case.
+     */
+    public boolean begin(BinlogOffset consistentSnapshotOffset) throws SQLException {
+        if (consistentSnapshotOffset.equals(openedOffset)) {
+            return true;
+        }
+        end();
+        if (consistentSnapshotOffset.equals(unavailableOffset)) {
+            return false;
+        }
+
+        final Connection connection = jdbcConnection.connection();
+        autoCommit = connection.getAutoCommit();
+        isolation = connection.getTransactionIsolation();
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        connection.setAutoCommit(false);
+        openedOffset = consistentSnapshotOffset;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT");
+        }
+        // the snapshot was taken after the global position was recorded, it reads the data at the
+        // global position if no binlog event has been written since then
+        final BinlogOffset currentOffset = currentBinlogOffset(jdbcConnection);
+        if (currentOffset.isAfter(consistentSnapshotOffset)) {
+            LOG.info(
+                    "The binlog position {} is after the consistent snapshot position {}, "
+                            + "read the following splits with watermarks.",
+                    currentOffset,
+                    consistentSnapshotOffset);
+            unavailableOffset = consistentSnapshotOffset;
+            end();
+            return false;
+        }
+        LOG.info("Opened the consistent snapshot transaction at {}.", consistentSnapshotOffset);
+        return true;
+    }
+
+    /** Closes the open transaction, the splits read afterwards see the latest data. */
+    public void end() throws SQLException {
+        if (openedOffset == null) {
+            return;
+        }
+        openedOffset = null;
+        final Connection connection = jdbcConnection.connection();
+        connection.commit();
+        connection.setAutoCommit(autoCommit);
+        connection.setTransactionIsolation(isolation);
+    }
+}
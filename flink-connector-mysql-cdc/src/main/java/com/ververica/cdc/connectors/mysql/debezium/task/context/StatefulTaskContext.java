@@ -76,6 +76,7 @@ public class StatefulTaskContext {
     private final SchemaNameAdjuster schemaNameAdjuster;
     private final MySqlConnection connection;
     private final BinaryLogClient binaryLogClient;
+    private final ConsistentSnapshotTransaction consistentSnapshotTransaction;
 
     private MySqlDatabaseSchema databaseSchema;
     private MySqlTaskContextImpl taskContext;
@@ -99,6 +100,7 @@ public class StatefulTaskContext {
         this.metadataProvider = new MySqlEventMetadataProvider();
         this.binaryLogClient = binaryLogClient;
         this.connection = connection;
+        this.consistentSnapshotTransaction = new ConsistentSnapshotTransaction(connection);
     }
 
     public void configure(MySqlSplit mySqlSplit) {
@@ -339,6 +341,10 @@ public class StatefulTaskContext {
         return connection;
     }
 
+    public ConsistentSnapshotTransaction getConsistentSnapshotTransaction() {
+        return consistentSnapshotTransaction;
+    }
+
     public BinaryLogClient getBinaryLogClient() {
         return binaryLogClient;
     }
@@ -43,6 +43,7 @@ import com.ververica.cdc.connectors.mysql.source.assigners.state.PendingSplitsSt
 import com.ververica.cdc.connectors.mysql.source.assigners.state.PendingSplitsStateSerializer;
 import com.ververica.cdc.connectors.mysql.source.config.MySqlSourceConfig;
 import com.ververica.cdc.connectors.mysql.source.config.MySqlSourceConfigFactory;
+import com.ververica.cdc.connectors.mysql.source.config.ServerIdRange;
 import com.ververica.cdc.connectors.mysql.source.enumerator.MySqlSourceEnumerator;
 import com.ververica.cdc.connectors.mysql.source.metrics.MySqlSourceReaderMetrics;
 import com.ververica.cdc.connectors.mysql.source.reader.MySqlRecordEmitter;
@@ -63,6 +64,7 @@ import java.util.function.Supplier;
 
 import static com.ververica.cdc.connectors.mysql.debezium.DebeziumUtils.discoverCapturedTables;
 import static com.ververica.cdc.connectors.mysql.debezium.DebeziumUtils.openJdbcConnection;
+import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED;
 
 /**
  * The MySQL CDC Source based on FLIP-27 and Watermark Signal Algorithm which supports parallel
@@ -124,7 +126,13 @@ public class MySqlSource<T>
 
     @Override
     public Boundedness getBoundedness() {
-        return Boundedness.CONTINUOUS_UNBOUNDED;
+        final MySqlSourceConfig sourceConfig = configFactory.createConfig(0);
+        if (sourceConfig.getStartupOptions().isSnapshotOnly()
+                || sourceConfig.getStoppingOptions().isBounded()) {
+            return Boundedness.BOUNDED;
+        } else {
+            return Boundedness.CONTINUOUS_UNBOUNDED;
+        }
     }
 
     @Override
@@ -133,6 +141,13 @@ public class MySqlSource<T>
         // create source config for the given subtask (e.g. unique server id)
         MySqlSourceConfig sourceConfig =
                 configFactory.createConfig(readerContext.getIndexOfSubtask());
+        // the shared backfill stream keeps its own schema history and server id, use a separate
+        // config for it
+        MySqlSourceConfig backfillConfig =
+                sourceConfig.isSharedBackfillEnabled()
+                        ? configFactory.createSharedBackfillConfig(
+                                readerContext.getIndexOfSubtask())
+                        : null;
         FutureCompletingBlockingQueue<RecordsWithSplitIds<SourceRecords>> elementsQueue =
                 new FutureCompletingBlockingQueue<>();
 
@@ -150,7 +165,8 @@ public class MySqlSource<T>
                         new MySqlSplitReader(
                                 sourceConfig,
                                 readerContext.getIndexOfSubtask(),
-                                mySqlSourceReaderContext);
+                                mySqlSourceReaderContext,
+                                backfillConfig);
         return new MySqlSourceReader<>(
                 elementsQueue,
                 splitReaderSupplier,
@@ -170,9 +186,11 @@ public class MySqlSource<T>
 
         final MySqlValidator validator = new MySqlValidator(sourceConfig);
         validator.validate();
+        validateSharedBackfillServerIds(sourceConfig, enumContext.currentParallelism());
 
         final MySqlSplitAssigner splitAssigner;
-        if (sourceConfig.getStartupOptions().startupMode == StartupMode.INITIAL) {
+        if (sourceConfig.getStartupOptions().startupMode == StartupMode.INITIAL
+                || sourceConfig.getStartupOptions().isSnapshotOnly()) {
             try (JdbcConnection jdbc = openJdbcConnection(sourceConfig)) {
                 final List<TableId> remainingTables = discoverCapturedTables(jdbc, sourceConfig);
                 boolean isTableIdCaseSensitive = DebeziumUtils.isTableIdCaseSensitive(jdbc);
@@ -197,6 +215,7 @@ public class MySqlSource<T>
     public SplitEnumerator<MySqlSplit, PendingSplitsState> restoreEnumerator(
             SplitEnumeratorContext<MySqlSplit> enumContext, PendingSplitsState checkpoint) {
         MySqlSourceConfig sourceConfig = configFactory.createConfig(0);
+        validateSharedBackfillServerIds(sourceConfig, enumContext.currentParallelism());
 
         final MySqlSplitAssigner splitAssigner;
         if (checkpoint instanceof HybridPendingSplitsState) {
@@ -230,4 +249,26 @@ public class MySqlSource<T>
     public TypeInformation<T> getProducedType() {
         return deserializationSchema.getProducedType();
     }
+
+    /**
+     * The shared backfill binlog stream started by a subtask runs with a server id reserved from
+     * the end of the server id range, which must not clash with the server ids of the subtasks.
+     */
+    private static void validateSharedBackfillServerIds(
+            MySqlSourceConfig sourceConfig, int parallelism) {
+        final ServerIdRange serverIdRange = sourceConfig.getServerIdRange();
+        if (sourceConfig.isSharedBackfillEnabled()
+                && serverIdRange != null
+                && serverIdRange.getNumberOfServerIds() < 2 * parallelism) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The server id range %s is too small for the shared backfill of %s "
+                                    + "subtasks, please adjust the server id range to make the "
+                                    + "number of server id at least twice the source parallelism "
+                                    + "or disable the option '%s'.",
+                            serverIdRange,
+                            parallelism,
+                            SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.key()));
+        }
+    }
 }
@@ -20,6 +20,7 @@ import org.apache.flink.annotation.PublicEvolving;
 
 import com.ververica.cdc.connectors.mysql.source.config.MySqlSourceConfigFactory;
 import com.ververica.cdc.connectors.mysql.table.StartupOptions;
+import com.ververica.cdc.connectors.mysql.table.StoppingOptions;
 import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
 
 import java.time.Duration;
@@ -177,6 +178,37 @@ public class MySqlSourceBuilder<T> {
         return this;
     }
 
+    /**
+     * Whether the snapshot splits read in the same TaskManager share one binlog stream for the
+     * backfill phase instead of starting a bounded binlog read per split.
+     */
+    public MySqlSourceBuilder<T> sharedBackfillEnabled(boolean sharedBackfillEnabled) {
+        this.configFactory.sharedBackfillEnabled(sharedBackfillEnabled);
+        return this;
+    }
+
+    /**
+     * Whether the enumerator records one global binlog position for all snapshot splits and every
+     * reader reads its splits in one consistent snapshot transaction at that position, which skips
+     * the watermark queries and binlog backfill. Only meant for quiescent sources, the readers fall
+     * back to the watermarks if the position has changed when they open the transaction.
+     */
+    public MySqlSourceBuilder<T> consistentSnapshotEnabled(boolean consistentSnapshotEnabled) {
+        this.configFactory.consistentSnapshotEnabled(consistentSnapshotEnabled);
+        return this;
+    }
+
+    /**
+     * Whether to skip the watermark queries and the binlog backfill of snapshot splits, the binlog
+     * split starts from the binlog position recorded before the snapshot and emits the change
+     * events of the snapshot splits regardless of their high watermarks, which only provides
+     * at-least-once semantics.
+     */
+    public MySqlSourceBuilder<T> skipSnapshotBackfill(boolean skipSnapshotBackfill) {
+        this.configFactory.skipSnapshotBackfill(skipSnapshotBackfill);
+        return this;
+    }
+
     /** The maximum fetch size for per poll when read table snapshot. */
     public MySqlSourceBuilder<T> fetchSize(int fetchSize) {
         this.configFactory.fetchSize(fetchSize);
@@ -222,6 +254,15 @@ public class MySqlSourceBuilder<T> {
         return this;
     }
 
+    /**
+     * Specifies the stopping options, the source finishes once the binlog reading reaches the
+     * stopping offset or timestamp, the source is bounded in this case.
+     */
+    public MySqlSourceBuilder<T> stoppingOptions(StoppingOptions stoppingOptions) {
+        this.configFactory.stoppingOptions(stoppingOptions);
+        return this;
+    }
+
     /** Custom properties that will overwrite the default JDBC connection URL. */
     public MySqlSourceBuilder<T> jdbcProperties(Properties jdbcProperties) {
         this.configFactory.jdbcProperties(jdbcProperties);
@@ -25,6 +25,7 @@ import org.apache.flink.util.FlinkRuntimeException;
 import com.ververica.cdc.connectors.mysql.schema.MySqlSchema;
 import com.ververica.cdc.connectors.mysql.schema.MySqlTypeUtils;
 import com.ververica.cdc.connectors.mysql.source.config.MySqlSourceConfig;
+import com.ververica.cdc.connectors.mysql.source.offset.BinlogOffset;
 import com.ververica.cdc.connectors.mysql.source.split.MySqlSnapshotSplit;
 import com.ververica.cdc.connectors.mysql.source.utils.ChunkUtils;
 import com.ververica.cdc.connectors.mysql.source.utils.ObjectUtils;
@@ -36,6 +37,8 @@ import io.debezium.relational.history.TableChanges.TableChange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -64,10 +67,19 @@ class ChunkSplitter {
 
     private final MySqlSourceConfig sourceConfig;
     private final MySqlSchema mySqlSchema;
+    @Nullable private final BinlogOffset consistentSnapshotOffset;
 
     public ChunkSplitter(MySqlSchema mySqlSchema, MySqlSourceConfig sourceConfig) {
+        this(mySqlSchema, sourceConfig, null);
+    }
+
+    public ChunkSplitter(
+            MySqlSchema mySqlSchema,
+            MySqlSourceConfig sourceConfig,
+            @Nullable BinlogOffset consistentSnapshotOffset) {
         this.mySqlSchema = mySqlSchema;
         this.sourceConfig = sourceConfig;
+        this.consistentSnapshotOffset = consistentSnapshotOffset;
     }
 
     /** Generates all snapshot splits (chunks) for the give table path. */
@@ -274,7 +286,8 @@ class ChunkSplitter {
                 splitStart,
                 splitEnd,
                 null,
-                schema);
+                schema,
+                consistentSnapshotOffset);
     }
 
     // ------------------------------------------------------------------------------------------
@@ -26,6 +26,7 @@ import com.ververica.cdc.connectors.mysql.source.offset.BinlogOffset;
 import com.ververica.cdc.connectors.mysql.source.split.FinishedSnapshotSplitInfo;
 import com.ververica.cdc.connectors.mysql.source.split.MySqlBinlogSplit;
 import com.ververica.cdc.connectors.mysql.source.split.MySqlSplit;
+import com.ververica.cdc.connectors.mysql.table.StartupOptions;
 import io.debezium.jdbc.JdbcConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,8 +40,12 @@ import java.util.Map;
 import java.util.Optional;
 
 import static com.ververica.cdc.connectors.mysql.debezium.DebeziumUtils.currentBinlogOffset;
+import static com.ververica.cdc.connectors.mysql.debezium.DebeziumUtils.earliestBinlogOffset;
 
-/** A {@link MySqlSplitAssigner} which only read binlog from current binlog position. */
+/**
+ * A {@link MySqlSplitAssigner} which only read binlog from the binlog position specified by the
+ * startup options, the binlog reading finishes at the stopping point of the stopping options.
+ */
 public class MySqlBinlogSplitAssigner implements MySqlSplitAssigner {
 
     private static final Logger LOG = LoggerFactory.getLogger(MySqlBinlogSplitAssigner.class);
@@ -78,6 +83,12 @@ public class MySqlBinlogSplitAssigner implements MySqlSplitAssigner {
         }
     }
 
+    @Override
+    public boolean noMoreSplits() {
+        // the bounded binlog split finishes at its stopping point
+        return isBinlogSplitAssigned && sourceConfig.getStoppingOptions().isBounded();
+    }
+
     @Override
     public boolean waitingForFinishedSplits() {
         return false;
@@ -129,8 +140,8 @@ public class MySqlBinlogSplitAssigner implements MySqlSplitAssigner {
         try (JdbcConnection jdbc = DebeziumUtils.openJdbcConnection(sourceConfig)) {
             return new MySqlBinlogSplit(
                     BINLOG_SPLIT_ID,
-                    currentBinlogOffset(jdbc),
-                    BinlogOffset.NO_STOPPING_OFFSET,
+                    getStartingOffset(jdbc),
+                    sourceConfig.getStoppingOptions().getStoppingOffset(),
                     new ArrayList<>(),
                     new HashMap<>(),
                     0);
@@ -138,4 +149,22 @@ public class MySqlBinlogSplitAssigner implements MySqlSplitAssigner {
             throw new FlinkRuntimeException("Read the binlog offset error", e);
         }
     }
+
+    private BinlogOffset getStartingOffset(JdbcConnection jdbc) {
+        final StartupOptions startupOptions = sourceConfig.getStartupOptions();
+        switch (startupOptions.startupMode) {
+            case SPECIFIC_OFFSETS:
+                if (startupOptions.specificOffsetGtidSet != null) {
+                    return new BinlogOffset(
+                            "", 0L, 0L, 0L, 0L, startupOptions.specificOffsetGtidSet, null);
+                }
+                return new BinlogOffset(
+                        startupOptions.specificOffsetFile, startupOptions.specificOffsetPos);
+            case TIMESTAMP:
+                // the binlog reader skips the change events before the startup timestamp
+                return earliestBinlogOffset(jdbc);
+            default:
+                return currentBinlogOffset(jdbc);
+        }
+    }
 }
@@ -24,6 +24,7 @@ import com.ververica.cdc.connectors.mysql.source.split.FinishedSnapshotSplitInfo
 import com.ververica.cdc.connectors.mysql.source.split.MySqlBinlogSplit;
 import com.ververica.cdc.connectors.mysql.source.split.MySqlSnapshotSplit;
 import com.ververica.cdc.connectors.mysql.source.split.MySqlSplit;
+import com.ververica.cdc.connectors.mysql.table.StoppingOptions;
 import io.debezium.relational.TableId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,6 +52,8 @@ public class MySqlHybridSplitAssigner implements MySqlSplitAssigner {
     private static final String BINLOG_SPLIT_ID = "binlog-split";
 
     private final int splitMetaGroupSize;
+    private final boolean isSnapshotOnly;
+    private final StoppingOptions stoppingOptions;
 
     private boolean isBinlogSplitAssigned;
 
@@ -65,7 +68,9 @@ public class MySqlHybridSplitAssigner implements MySqlSplitAssigner {
                 new MySqlSnapshotSplitAssigner(
                         sourceConfig, currentParallelism, remainingTables, isTableIdCaseSensitive),
                 false,
-                sourceConfig.getSplitMetaGroupSize());
+                sourceConfig.getSplitMetaGroupSize(),
+                sourceConfig.getStartupOptions().isSnapshotOnly(),
+                sourceConfig.getStoppingOptions());
     }
 
     public MySqlHybridSplitAssigner(
@@ -76,16 +81,22 @@ public class MySqlHybridSplitAssigner implements MySqlSplitAssigner {
                 new MySqlSnapshotSplitAssigner(
                         sourceConfig, currentParallelism, checkpoint.getSnapshotPendingSplits()),
                 checkpoint.isBinlogSplitAssigned(),
-                sourceConfig.getSplitMetaGroupSize());
+                sourceConfig.getSplitMetaGroupSize(),
+                sourceConfig.getStartupOptions().isSnapshotOnly(),
+                sourceConfig.getStoppingOptions());
     }
 
     private MySqlHybridSplitAssigner(
             MySqlSnapshotSplitAssigner snapshotSplitAssigner,
             boolean isBinlogSplitAssigned,
-            int splitMetaGroupSize) {
+            int splitMetaGroupSize,
+            boolean isSnapshotOnly,
+            StoppingOptions stoppingOptions) {
         this.snapshotSplitAssigner = snapshotSplitAssigner;
         this.isBinlogSplitAssigned = isBinlogSplitAssigned;
         this.splitMetaGroupSize = splitMetaGroupSize;
+        this.isSnapshotOnly = isSnapshotOnly;
+        this.stoppingOptions = stoppingOptions;
     }
 
     @Override
@@ -101,7 +112,7 @@ public class MySqlHybridSplitAssigner implements MySqlSplitAssigner {
         }
         if (snapshotSplitAssigner.noMoreSplits()) {
             // binlog split assigning
-            if (isBinlogSplitAssigned) {
+            if (isSnapshotOnly || isBinlogSplitAssigned) {
                 // no more splits for the assigner
                 return Optional.empty();
             } else if (isInitialAssigningFinished(snapshotSplitAssigner.getAssignerStatus())) {
@@ -124,6 +135,14 @@ public class MySqlHybridSplitAssigner implements MySqlSplitAssigner {
         }
     }
 
+    @Override
+    public boolean noMoreSplits() {
+        // the snapshot only mode never reads binlog split, the bounded binlog split finishes at its
+        // stopping point
+        return snapshotSplitAssigner.noMoreSplits()
+                && (isSnapshotOnly || (isBinlogSplitAssigned && stoppingOptions.isBounded()));
+    }
+
     @Override
     public boolean waitingForFinishedSplits() {
         return snapshotSplitAssigner.waitingForFinishedSplits();
@@ -219,7 +238,7 @@ public class MySqlHybridSplitAssigner implements MySqlSplitAssigner {
         return new MySqlBinlogSplit(
                 BINLOG_SPLIT_ID,
                 minBinlogOffset == null ? BinlogOffset.INITIAL_OFFSET : minBinlogOffset,
-                BinlogOffset.NO_STOPPING_OFFSET,
+                stoppingOptions.getStoppingOffset(),
                 divideMetaToGroups ? new ArrayList<>() : finishedSnapshotSplitInfos,
                 new HashMap<>(),
                 finishedSnapshotSplitInfos.size());
@@ -51,6 +51,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.stream.Collectors;
 
+import static com.ververica.cdc.connectors.mysql.debezium.DebeziumUtils.currentBinlogOffset;
 import static com.ververica.cdc.connectors.mysql.debezium.DebeziumUtils.discoverCapturedTables;
 import static com.ververica.cdc.connectors.mysql.debezium.DebeziumUtils.openJdbcConnection;
 import static com.ververica.cdc.connectors.mysql.source.assigners.AssignerStatus.isAssigningFinished;
@@ -143,7 +144,9 @@ public class MySqlSnapshotSplitAssigner implements MySqlSplitAssigner {
 
     @Override
     public void open() {
-        chunkSplitter = createChunkSplitter(sourceConfig, isTableIdCaseSensitive);
+        chunkSplitter =
+                createChunkSplitter(
+                        sourceConfig, isTableIdCaseSensitive, discoverConsistentSnapshotOffset());
 
         // the legacy state didn't snapshot remaining tables, discovery remaining table here
         if (!isRemainingTablesCheckpointed && !isAssigningFinished(assignerStatus)) {
@@ -162,6 +165,28 @@ public class MySqlSnapshotSplitAssigner implements MySqlSplitAssigner {
         startAsynchronouslySplit();
     }
 
+    /**
+     * Returns the global binlog position which the remaining snapshot splits are read at when the
+     * consistent snapshot mode is enabled or the snapshot backfill is skipped, null otherwise.
+     */
+    @Nullable
+    private BinlogOffset discoverConsistentSnapshotOffset() {
+        if (!(sourceConfig.isConsistentSnapshotEnabled() || sourceConfig.isSkipSnapshotBackfill())
+                || isAssigningFinished(assignerStatus)) {
+            return null;
+        }
+        try (JdbcConnection jdbc = openJdbcConnection(sourceConfig)) {
+            final BinlogOffset consistentSnapshotOffset = currentBinlogOffset(jdbc);
+            LOG.info(
+                    "Use the global binlog position {} as the watermark of remaining splits.",
+                    consistentSnapshotOffset);
+            return consistentSnapshotOffset;
+        } catch (Exception e) {
+            throw new FlinkRuntimeException(
+                    "Failed to read the global binlog position for the consistent snapshot", e);
+        }
+    }
+
     private void captureNewlyAddedTables() {
         if (sourceConfig.isScanNewlyAddedTableEnabled()) {
             // check whether we got newly added tables
@@ -360,6 +385,7 @@ public class MySqlSnapshotSplitAssigner implements MySqlSplitAssigner {
     }
 
     /** Indicates there is no more splits available in this assigner. */
+    @Override
     public boolean noMoreSplits() {
         return remainingTables.isEmpty() && remainingSplits.isEmpty();
     }
@@ -414,8 +440,10 @@ public class MySqlSnapshotSplitAssigner implements MySqlSplitAssigner {
     }
 
     private static ChunkSplitter createChunkSplitter(
-            MySqlSourceConfig sourceConfig, boolean isTableIdCaseSensitive) {
+            MySqlSourceConfig sourceConfig,
+            boolean isTableIdCaseSensitive,
+            @Nullable BinlogOffset consistentSnapshotOffset) {
         MySqlSchema mySqlSchema = new MySqlSchema(sourceConfig, isTableIdCaseSensitive);
-        return new ChunkSplitter(mySqlSchema, sourceConfig);
+        return new ChunkSplitter(mySqlSchema, sourceConfig, consistentSnapshotOffset);
     }
 }
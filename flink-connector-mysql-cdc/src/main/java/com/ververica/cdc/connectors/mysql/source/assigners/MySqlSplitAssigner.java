@@ -47,6 +47,12 @@ public interface MySqlSplitAssigner {
      */
     Optional<MySqlSplit> getNext();
 
+    /**
+     * Whether the assigner won't assign any split anymore, the readers which request splits are
+     * signalled that there are no more splits in this case.
+     */
+    boolean noMoreSplits();
+
     /**
      * Whether the split assigner is still waiting for callback of finished splits, i.e. {@link
      * #onFinishedSplits(Map)}.
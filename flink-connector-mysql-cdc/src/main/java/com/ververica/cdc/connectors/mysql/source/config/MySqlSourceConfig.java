@@ -18,6 +18,7 @@ package com.ververica.cdc.connectors.mysql.source.config;
 
 import com.ververica.cdc.connectors.mysql.source.MySqlSource;
 import com.ververica.cdc.connectors.mysql.table.StartupOptions;
+import com.ververica.cdc.connectors.mysql.table.StoppingOptions;
 import io.debezium.config.Configuration;
 import io.debezium.connector.mysql.MySqlConnectorConfig;
 import io.debezium.relational.RelationalTableFilters;
@@ -43,6 +44,7 @@ public class MySqlSourceConfig implements Serializable {
     private final List<String> tableList;
     @Nullable private final ServerIdRange serverIdRange;
     private final StartupOptions startupOptions;
+    private final StoppingOptions stoppingOptions;
     private final int splitSize;
     private final int splitMetaGroupSize;
     private final int fetchSize;
@@ -56,6 +58,9 @@ public class MySqlSourceConfig implements Serializable {
     private final boolean scanNewlyAddedTableEnabled;
     private final Properties jdbcProperties;
     @Nullable private final String chunkKeyColumn;
+    private final boolean sharedBackfillEnabled;
+    private final boolean consistentSnapshotEnabled;
+    private final boolean skipSnapshotBackfill;
 
     // --------------------------------------------------------------------------------------------
     // Debezium Configurations
@@ -75,6 +80,7 @@ public class MySqlSourceConfig implements Serializable {
             List<String> tableList,
             @Nullable ServerIdRange serverIdRange,
             StartupOptions startupOptions,
+            StoppingOptions stoppingOptions,
             int splitSize,
             int splitMetaGroupSize,
             int fetchSize,
@@ -89,6 +95,9 @@ public class MySqlSourceConfig implements Serializable {
             Properties dbzProperties,
             Properties jdbcProperties,
             @Nullable String chunkKeyColumn,
+            boolean sharedBackfillEnabled,
+            boolean consistentSnapshotEnabled,
+            boolean skipSnapshotBackfill,
             Boolean supportMysqlPrimaryKey) {
 
         this.hostname = checkNotNull(hostname);
@@ -99,6 +108,7 @@ public class MySqlSourceConfig implements Serializable {
         this.tableList = checkNotNull(tableList);
         this.serverIdRange = serverIdRange;
         this.startupOptions = checkNotNull(startupOptions);
+        this.stoppingOptions = checkNotNull(stoppingOptions);
         this.splitSize = splitSize;
         this.splitMetaGroupSize = splitMetaGroupSize;
         this.fetchSize = fetchSize;
@@ -115,6 +125,9 @@ public class MySqlSourceConfig implements Serializable {
         this.dbzMySqlConfig = new MySqlConnectorConfig(dbzConfiguration);
         this.jdbcProperties = jdbcProperties;
         this.chunkKeyColumn = chunkKeyColumn;
+        this.sharedBackfillEnabled = sharedBackfillEnabled;
+        this.consistentSnapshotEnabled = consistentSnapshotEnabled;
+        this.skipSnapshotBackfill = skipSnapshotBackfill;
         this.supportMysqlPrimaryKey = supportMysqlPrimaryKey;
     }
 
@@ -151,6 +164,10 @@ public class MySqlSourceConfig implements Serializable {
         return startupOptions;
     }
 
+    public StoppingOptions getStoppingOptions() {
+        return stoppingOptions;
+    }
+
     public int getSplitSize() {
         return splitSize;
     }
@@ -220,6 +237,18 @@ public class MySqlSourceConfig implements Serializable {
         return chunkKeyColumn;
     }
 
+    public boolean isSharedBackfillEnabled() {
+        return sharedBackfillEnabled;
+    }
+
+    public boolean isConsistentSnapshotEnabled() {
+        return consistentSnapshotEnabled;
+    }
+
+    public boolean isSkipSnapshotBackfill() {
+        return skipSnapshotBackfill;
+    }
+
     public Boolean getSupportMysqlPrimaryKey() {
         return supportMysqlPrimaryKey;
     }
@@ -21,6 +21,9 @@ import org.apache.flink.annotation.Internal;
 import com.ververica.cdc.connectors.mysql.debezium.EmbeddedFlinkDatabaseHistory;
 import com.ververica.cdc.connectors.mysql.source.MySqlSource;
 import com.ververica.cdc.connectors.mysql.table.StartupOptions;
+import com.ververica.cdc.connectors.mysql.table.StoppingOptions;
+
+import javax.annotation.Nullable;
 
 import java.io.Serializable;
 import java.time.Duration;
@@ -56,6 +59,7 @@ public class MySqlSourceConfigFactory implements Serializable {
     private List<String> tableList;
     private String serverTimeZone = ZoneId.systemDefault().getId();
     private StartupOptions startupOptions = StartupOptions.initial();
+    private StoppingOptions stoppingOptions = StoppingOptions.never();
     private int splitSize = SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE.defaultValue();
     private int splitMetaGroupSize = CHUNK_META_GROUP_SIZE.defaultValue();
     private int fetchSize = SCAN_SNAPSHOT_FETCH_SIZE.defaultValue();
@@ -72,6 +76,9 @@ public class MySqlSourceConfigFactory implements Serializable {
     private Duration heartbeatInterval = HEARTBEAT_INTERVAL.defaultValue();
     private Properties dbzProperties;
     private String chunkKeyColumn;
+    private boolean sharedBackfillEnabled = false;
+    private boolean consistentSnapshotEnabled = false;
+    private boolean skipSnapshotBackfill = false;
 
     private Boolean supportMysqlPrimaryKey=false;
 
@@ -195,6 +202,37 @@ public class MySqlSourceConfigFactory implements Serializable {
         return this;
     }
 
+    /**
+     * Whether the snapshot splits read in the same TaskManager share one binlog stream for the
+     * backfill phase instead of starting a bounded binlog read per split.
+     */
+    public MySqlSourceConfigFactory sharedBackfillEnabled(boolean sharedBackfillEnabled) {
+        this.sharedBackfillEnabled = sharedBackfillEnabled;
+        return this;
+    }
+
+    /**
+     * Whether the enumerator records one global binlog position for all snapshot splits and every
+     * reader reads its splits in one consistent snapshot transaction at that position, which skips
+     * the watermark queries and binlog backfill. Only meant for quiescent sources, the readers fall
+     * back to the watermarks if the position has changed when they open the transaction.
+     */
+    public MySqlSourceConfigFactory consistentSnapshotEnabled(boolean consistentSnapshotEnabled) {
+        this.consistentSnapshotEnabled = consistentSnapshotEnabled;
+        return this;
+    }
+
+    /**
+     * Whether to skip the watermark queries and the binlog backfill of snapshot splits, the binlog
+     * split starts from the binlog position recorded before the snapshot and emits the change
+     * events of the snapshot splits regardless of their high watermarks, which only provides
+     * at-least-once semantics.
+     */
+    public MySqlSourceConfigFactory skipSnapshotBackfill(boolean skipSnapshotBackfill) {
+        this.skipSnapshotBackfill = skipSnapshotBackfill;
+        return this;
+    }
+
     /** The maximum fetch size for per poll when read table snapshot. */
     public MySqlSourceConfigFactory fetchSize(int fetchSize) {
         this.fetchSize = fetchSize;
@@ -245,6 +283,9 @@ public class MySqlSourceConfigFactory implements Serializable {
         switch (startupOptions.startupMode) {
             case INITIAL:
             case LATEST_OFFSET:
+            case SPECIFIC_OFFSETS:
+            case TIMESTAMP:
+            case SNAPSHOT:
                 break;
             default:
                 throw new UnsupportedOperationException(
@@ -254,6 +295,12 @@ public class MySqlSourceConfigFactory implements Serializable {
         return this;
     }
 
+    /** Specifies the stopping options, the binlog reading finishes at the stopping point. */
+    public MySqlSourceConfigFactory stoppingOptions(StoppingOptions stoppingOptions) {
+        this.stoppingOptions = stoppingOptions;
+        return this;
+    }
+
     public MySqlSourceConfigFactory heartbeatInterval(Duration heartbeatInterval) {
         this.heartbeatInterval = heartbeatInterval;
         return this;
@@ -267,6 +314,21 @@ public class MySqlSourceConfigFactory implements Serializable {
 
     /** Creates a new {@link MySqlSourceConfig} for the given subtask {@code subtaskId}. */
     public MySqlSourceConfig createConfig(int subtaskId) {
+        return createConfig(
+                subtaskId, serverIdRange == null ? null : serverIdRange.getServerId(subtaskId));
+    }
+
+    /**
+     * Creates a new {@link MySqlSourceConfig} for the shared backfill binlog stream started by the
+     * given subtask {@code subtaskId}, which runs with its own server id.
+     */
+    public MySqlSourceConfig createSharedBackfillConfig(int subtaskId) {
+        return createConfig(
+                subtaskId,
+                serverIdRange == null ? null : serverIdRange.getSharedBackfillServerId(subtaskId));
+    }
+
+    private MySqlSourceConfig createConfig(int subtaskId, @Nullable Integer serverId) {
         Properties props = new Properties();
         // hard code server name, because we don't need to distinguish it, docs:
         // Logical name that identifies and provides a namespace for the particular
@@ -304,8 +366,7 @@ public class MySqlSourceConfigFactory implements Serializable {
         // so use "precise" mode to avoid it.
         props.put("bigint.unsigned.handling.mode", "precise");
 
-        if (serverIdRange != null) {
-            int serverId = serverIdRange.getServerId(subtaskId);
+        if (serverId != null) {
             props.setProperty("database.server.id", String.valueOf(serverId));
         }
         if (databaseList != null) {
@@ -336,6 +397,7 @@ public class MySqlSourceConfigFactory implements Serializable {
                 tableList,
                 serverIdRange,
                 startupOptions,
+                stoppingOptions,
                 splitSize,
                 splitMetaGroupSize,
                 fetchSize,
@@ -349,6 +411,10 @@ public class MySqlSourceConfigFactory implements Serializable {
                 scanNewlyAddedTableEnabled,
                 props,
                 jdbcProperties,
-                chunkKeyColumn,supportMysqlPrimaryKey);
+                chunkKeyColumn,
+                sharedBackfillEnabled,
+                consistentSnapshotEnabled,
+                skipSnapshotBackfill,
+                supportMysqlPrimaryKey);
     }
 }
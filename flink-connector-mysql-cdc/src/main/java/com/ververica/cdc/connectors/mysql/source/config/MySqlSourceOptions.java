@@ -140,8 +140,8 @@ public class MySqlSourceOptions {
                     .defaultValue("initial")
                     .withDescription(
                             "Optional startup mode for MySQL CDC consumer, valid enumerations are "
-                                    + "\"initial\", \"earliest-offset\", \"latest-offset\", \"timestamp\"\n"
-                                    + "or \"specific-offset\"");
+                                    + "\"initial\", \"earliest-offset\", \"latest-offset\", \"timestamp\",\n"
+                                    + "\"specific-offset\" or \"snapshot\"");
 
     public static final ConfigOption<String> SCAN_STARTUP_SPECIFIC_OFFSET_FILE =
             ConfigOptions.key("scan.startup.specific-offset.file")
@@ -164,6 +164,50 @@ public class MySqlSourceOptions {
                     .withDescription(
                             "Optional timestamp used in case of \"timestamp\" startup mode");
 
+    public static final ConfigOption<String> SCAN_STARTUP_SPECIFIC_OFFSET_GTID_SET =
+            ConfigOptions.key("scan.startup.specific-offset.gtid-set")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Optional GTID set used in case of \"specific-offset\" startup mode, the binlog is read after the GTID set");
+
+    public static final ConfigOption<String> SCAN_STOP_MODE =
+            ConfigOptions.key("scan.stop.mode")
+                    .stringType()
+                    .defaultValue("never")
+                    .withDescription(
+                            "Optional stopping mode for MySQL CDC consumer, valid enumerations are "
+                                    + "\"never\", \"specific-offset\" or \"timestamp\". The source is bounded and "
+                                    + "finishes when the binlog reading reaches the stopping point unless the mode is \"never\"");
+
+    public static final ConfigOption<String> SCAN_STOP_SPECIFIC_OFFSET_FILE =
+            ConfigOptions.key("scan.stop.specific-offset.file")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Optional binlog file name used in case of \"specific-offset\" stopping mode");
+
+    public static final ConfigOption<Long> SCAN_STOP_SPECIFIC_OFFSET_POS =
+            ConfigOptions.key("scan.stop.specific-offset.pos")
+                    .longType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Optional binlog position used in case of \"specific-offset\" stopping mode");
+
+    public static final ConfigOption<String> SCAN_STOP_SPECIFIC_OFFSET_GTID_SET =
+            ConfigOptions.key("scan.stop.specific-offset.gtid-set")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Optional GTID set used in case of \"specific-offset\" stopping mode, the reading stops once the GTID set has been read");
+
+    public static final ConfigOption<Long> SCAN_STOP_TIMESTAMP_MILLIS =
+            ConfigOptions.key("scan.stop.timestamp-millis")
+                    .longType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Optional timestamp used in case of \"timestamp\" stopping mode, the changes at or after the timestamp are not read");
+
     public static final ConfigOption<Duration> HEARTBEAT_INTERVAL =
             ConfigOptions.key("heartbeat.interval")
                     .durationType()
@@ -216,6 +260,44 @@ public class MySqlSourceOptions {
                     .withDescription(
                             "Whether capture the scan the newly added tables or not, by default is false.");
 
+    @Experimental
+    public static final ConfigOption<Boolean> SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED =
+            ConfigOptions.key("scan.incremental.snapshot.shared-backfill.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the snapshot splits read by the same TaskManager share one binlog stream per MySQL server"
+                                    + " for backfilling the changes happened between their low and high watermarks, by default is false."
+                                    + " When disabled, every snapshot split whose watermarks differ starts its own bounded binlog read."
+                                    + " The shared stream runs with a server id reserved from the end of the 'server-id' range,"
+                                    + " so when enabled the range must hold at least twice as many server ids as the source parallelism,"
+                                    + " e.g. '5400-5407' for a parallelism of 4, otherwise the job fails on start.");
+
+    @Experimental
+    public static final ConfigOption<Boolean> SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED =
+            ConfigOptions.key("scan.incremental.snapshot.consistent-snapshot.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the enumerator records one global binlog position for all snapshot splits, by default is false."
+                                    + " When enabled, every reader opens one 'START TRANSACTION WITH CONSISTENT SNAPSHOT' transaction"
+                                    + " and keeps it open for all its splits, which skip the watermark queries and binlog backfill,"
+                                    + " if the binlog position still equals the global position when the transaction is opened."
+                                    + " This is only meant for quiescent sources, e.g. a quiesced server or a replica stopped at a known GTID."
+                                    + " If the binlog has moved on, the reader reads all its splits with watermarks.");
+
+    @Experimental
+    public static final ConfigOption<Boolean> SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP =
+            ConfigOptions.key("scan.incremental.snapshot.backfill.skip")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to skip the low/high watermark queries and the binlog backfill of snapshot splits, by default is false."
+                                    + " When enabled, the snapshot splits are emitted as they are read and the binlog split starts from the binlog position"
+                                    + " recorded before the snapshot, emitting the change events of the snapshot splits regardless of their high watermarks,"
+                                    + " which only provides at-least-once semantics. The downstream should be idempotent on the primary key, e.g. an upsert sink."
+                                    + " This option is only supported when 'scan.incremental.snapshot.enabled' is enabled.");
+
     @Experimental
     public static final ConfigOption<String> SCAN_INCREMENTAL_SNAPSHOT_CHUNK_KEY_COLUMN =
             ConfigOptions.key("scan.incremental.snapshot.chunk.key-column")
@@ -63,6 +63,25 @@ public class ServerIdRange implements Serializable {
         return startServerId + subTaskId;
     }
 
+    /**
+     * Returns the server id of the shared backfill binlog stream started by the given subtask. The
+     * ids are reserved from the end of the range, so they don't clash with the server ids of the
+     * subtasks as long as the range holds two server ids per subtask.
+     */
+    public int getSharedBackfillServerId(int subTaskId) {
+        checkArgument(subTaskId >= 0, "Subtask ID %s shouldn't be a negative number.", subTaskId);
+        if (2 * (subTaskId + 1) > getNumberOfServerIds()) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Subtask ID %s is out of the shared backfill server ids of range %s, "
+                                    + "please adjust the server id range to "
+                                    + "make the number of server id at least twice "
+                                    + "the source parallelism.",
+                            subTaskId, this.toString()));
+        }
+        return endServerId - subTaskId;
+    }
+
     public int getNumberOfServerIds() {
         return endServerId - startServerId + 1;
     }
@@ -204,6 +204,11 @@ public class MySqlSourceEnumerator implements SplitEnumerator<MySqlSplit, Pendin
                 context.assignSplit(mySqlSplit, nextAwaiting);
                 awaitingReader.remove();
                 LOG.info("Assign split {} to subtask {}", mySqlSplit, nextAwaiting);
+            } else if (splitAssigner.noMoreSplits()) {
+                // the bounded read is finished, let the reader finish once its splits are done
+                context.signalNoMoreSplits(nextAwaiting);
+                awaitingReader.remove();
+                LOG.info("No more splits available for subtask {}", nextAwaiting);
             } else {
                 // there is no available splits by now, skip assigning
                 wakeupBinlogReaderIfNeed();
@@ -146,7 +146,13 @@ public class MySqlSourceReader<T>
     protected void onSplitFinished(Map<String, MySqlSplitState> finishedSplitIds) {
         for (MySqlSplitState mySqlSplitState : finishedSplitIds.values()) {
             MySqlSplit mySqlSplit = mySqlSplitState.toMySqlSplit();
-            if (mySqlSplit.isBinlogSplit()) {
+            if (mySqlSplit.isBinlogSplit()
+                    && !mySqlSourceReaderContext.needStopBinlogSplitReader()) {
+                // the bounded binlog split reaches its stopping point, no more records to read
+                LOG.info(
+                        "binlog split reader finished at the stopping point, offset {}",
+                        mySqlSplitState.asBinlogSplitState().getStartingOffset());
+            } else if (mySqlSplit.isBinlogSplit()) {
                 LOG.info(
                         "binlog split reader suspended due to newly added table, offset {}",
                         mySqlSplitState.asBinlogSplitState().getStartingOffset());
@@ -53,16 +53,26 @@ public class MySqlSplitReader implements SplitReader<SourceRecords, MySqlSplit>
     private final MySqlSourceConfig sourceConfig;
     private final int subtaskId;
     private final MySqlSourceReaderContext context;
+    @Nullable private final MySqlSourceConfig backfillConfig;
 
     @Nullable private DebeziumReader<SourceRecords, MySqlSplit> currentReader;
     @Nullable private String currentSplitId;
 
     public MySqlSplitReader(
             MySqlSourceConfig sourceConfig, int subtaskId, MySqlSourceReaderContext context) {
+        this(sourceConfig, subtaskId, context, null);
+    }
+
+    public MySqlSplitReader(
+            MySqlSourceConfig sourceConfig,
+            int subtaskId,
+            MySqlSourceReaderContext context,
+            @Nullable MySqlSourceConfig backfillConfig) {
         this.sourceConfig = sourceConfig;
         this.subtaskId = subtaskId;
         this.splits = new ArrayDeque<>();
         this.context = context;
+        this.backfillConfig = backfillConfig;
     }
 
     @Override
@@ -140,7 +150,9 @@ public class MySqlSplitReader implements SplitReader<SourceRecords, MySqlSplit>
                             createBinaryClient(sourceConfig.getDbzConfiguration());
                     final StatefulTaskContext statefulTaskContext =
                             new StatefulTaskContext(sourceConfig, binaryLogClient, jdbcConnection);
-                    currentReader = new SnapshotSplitReader(statefulTaskContext, subtaskId,sourceConfig);
+                    currentReader =
+                            new SnapshotSplitReader(
+                                    statefulTaskContext, subtaskId, sourceConfig, backfillConfig);
                 }
             } else {
                 // point from snapshot split to binlog split
@@ -40,6 +40,11 @@ public class MySqlSnapshotSplit extends MySqlSplit {
     @Nullable private final Object[] splitEnd;
     /** The high watermark is not null when the split read finished. */
     @Nullable private final BinlogOffset highWatermark;
+    /**
+     * The global binlog position recorded by the enumerator before reading the split when the
+     * consistent snapshot mode is enabled or the snapshot backfill is skipped, null otherwise.
+     */
+    @Nullable private final BinlogOffset consistentSnapshotOffset;
 
     @Nullable transient byte[] serializedFormCache;
 
@@ -51,6 +56,26 @@ public class MySqlSnapshotSplit extends MySqlSplit {
             Object[] splitEnd,
             BinlogOffset highWatermark,
             Map<TableId, TableChange> tableSchemas) {
+        this(
+                tableId,
+                splitId,
+                splitKeyType,
+                splitStart,
+                splitEnd,
+                highWatermark,
+                tableSchemas,
+                null);
+    }
+
+    public MySqlSnapshotSplit(
+            TableId tableId,
+            String splitId,
+            RowType splitKeyType,
+            Object[] splitStart,
+            Object[] splitEnd,
+            BinlogOffset highWatermark,
+            Map<TableId, TableChange> tableSchemas,
+            @Nullable BinlogOffset consistentSnapshotOffset) {
         super(splitId);
         this.tableId = tableId;
         this.splitKeyType = splitKeyType;
@@ -58,6 +83,7 @@ public class MySqlSnapshotSplit extends MySqlSplit {
         this.splitEnd = splitEnd;
         this.highWatermark = highWatermark;
         this.tableSchemas = tableSchemas;
+        this.consistentSnapshotOffset = consistentSnapshotOffset;
     }
 
     public TableId getTableId() {
@@ -79,6 +105,11 @@ public class MySqlSnapshotSplit extends MySqlSplit {
         return highWatermark;
     }
 
+    @Nullable
+    public BinlogOffset getConsistentSnapshotOffset() {
+        return consistentSnapshotOffset;
+    }
+
     public boolean isSnapshotReadFinished() {
         return highWatermark != null;
     }
@@ -104,7 +135,8 @@ public class MySqlSnapshotSplit extends MySqlSplit {
                 && Objects.equals(splitKeyType, that.splitKeyType)
                 && Arrays.equals(splitStart, that.splitStart)
                 && Arrays.equals(splitEnd, that.splitEnd)
-                && Objects.equals(highWatermark, that.highWatermark);
+                && Objects.equals(highWatermark, that.highWatermark)
+                && Objects.equals(consistentSnapshotOffset, that.consistentSnapshotOffset);
     }
 
     public RowType getSplitKeyType() {
@@ -113,7 +145,13 @@ public class MySqlSnapshotSplit extends MySqlSplit {
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(super.hashCode(), tableId, splitKeyType, highWatermark);
+        int result =
+                Objects.hash(
+                        super.hashCode(),
+                        tableId,
+                        splitKeyType,
+                        highWatermark,
+                        consistentSnapshotOffset);
         result = 31 * result + Arrays.hashCode(splitStart);
         result = 31 * result + Arrays.hashCode(splitEnd);
         result = 31 * result + Arrays.hashCode(serializedFormCache);
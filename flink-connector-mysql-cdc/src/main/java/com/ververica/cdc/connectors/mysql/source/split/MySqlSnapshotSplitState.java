@@ -48,7 +48,8 @@ public class MySqlSnapshotSplitState extends MySqlSplitState {
                 snapshotSplit.getSplitStart(),
                 snapshotSplit.getSplitEnd(),
                 getHighWatermark(),
-                snapshotSplit.getTableSchemas());
+                snapshotSplit.getTableSchemas(),
+                snapshotSplit.getConsistentSnapshotOffset());
     }
 
     @Override
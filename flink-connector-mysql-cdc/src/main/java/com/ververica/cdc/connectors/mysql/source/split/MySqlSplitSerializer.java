@@ -47,7 +47,7 @@ public final class MySqlSplitSerializer implements SimpleVersionedSerializer<MyS
 
     public static final MySqlSplitSerializer INSTANCE = new MySqlSplitSerializer();
 
-    private static final int VERSION = 4;
+    private static final int VERSION = 5;
     private static final ThreadLocal<DataOutputSerializer> SERIALIZER_CACHE =
             ThreadLocal.withInitial(() -> new DataOutputSerializer(64));
 
@@ -81,6 +81,7 @@ public final class MySqlSplitSerializer implements SimpleVersionedSerializer<MyS
             out.writeUTF(rowToSerializedString(splitEnd));
             writeBinlogPosition(snapshotSplit.getHighWatermark(), out);
             writeTableSchemas(snapshotSplit.getTableSchemas(), out);
+            writeBinlogPosition(snapshotSplit.getConsistentSnapshotOffset(), out);
             final byte[] result = out.getCopyOfBuffer();
             out.clear();
             // optimization: cache the serialized from, so we avoid the byte work during repeated
@@ -119,6 +120,7 @@ public final class MySqlSplitSerializer implements SimpleVersionedSerializer<MyS
             case 2:
             case 3:
             case 4:
+            case 5:
                 return deserializeSplit(version, serialized);
             default:
                 throw new IOException("Unknown version: " + version);
@@ -137,6 +139,10 @@ public final class MySqlSplitSerializer implements SimpleVersionedSerializer<MyS
             Object[] splitBoundaryEnd = serializedStringToRow(in.readUTF());
             BinlogOffset highWatermark = readBinlogPosition(version, in);
             Map<TableId, TableChange> tableSchemas = readTableSchemas(version, in);
+            BinlogOffset consistentSnapshotOffset = null;
+            if (version >= 5) {
+                consistentSnapshotOffset = readBinlogPosition(version, in);
+            }
 
             return new MySqlSnapshotSplit(
                     tableId,
@@ -145,7 +151,8 @@ public final class MySqlSplitSerializer implements SimpleVersionedSerializer<MyS
                     splitBoundaryStart,
                     splitBoundaryEnd,
                     highWatermark,
-                    tableSchemas);
+                    tableSchemas,
+                    consistentSnapshotOffset);
         } else if (splitKind == BINLOG_SPLIT_FLAG) {
             String splitId = in.readUTF();
             // skip split Key Type
@@ -208,6 +215,7 @@ public final class MySqlSplitSerializer implements SimpleVersionedSerializer<MyS
                 case 2:
                 case 3:
                 case 4:
+                case 5:
                     final int len = in.readInt();
                     final byte[] bytes = new byte[len];
                     in.read(bytes);
@@ -53,6 +53,7 @@ public class SerializerUtils {
             case 2:
             case 3:
             case 4:
+            case 5:
                 return readBinlogPosition(in);
             default:
                 throw new IOException("Unknown version: " + offsetVersion);
@@ -80,6 +80,10 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
     private final Properties jdbcProperties;
     private final Duration heartbeatInterval;
     private final String chunkKeyColumn;
+    private final boolean sharedBackfillEnabled;
+    private final boolean consistentSnapshotEnabled;
+    private final StoppingOptions stoppingOptions;
+    private final boolean skipSnapshotBackfill;
 
     // --------------------------------------------------------------------------------------------
     // Mutable attributes
@@ -137,7 +141,11 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                 false,
                 new Properties(),
                 heartbeatInterval,
-                null);
+                null,
+                false,
+                false,
+                StoppingOptions.never(),
+                false);
     }
 
     public MySqlTableSource(
@@ -164,7 +172,11 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
             boolean scanNewlyAddedTableEnabled,
             Properties jdbcProperties,
             Duration heartbeatInterval,
-            @Nullable String chunkKeyColumn) {
+            @Nullable String chunkKeyColumn,
+            boolean sharedBackfillEnabled,
+            boolean consistentSnapshotEnabled,
+            StoppingOptions stoppingOptions,
+            boolean skipSnapshotBackfill) {
         this.physicalSchema = physicalSchema;
         this.port = port;
         this.hostname = checkNotNull(hostname);
@@ -192,10 +204,18 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
         this.metadataKeys = Collections.emptyList();
         this.heartbeatInterval = heartbeatInterval;
         this.chunkKeyColumn = chunkKeyColumn;
+        this.sharedBackfillEnabled = sharedBackfillEnabled;
+        this.consistentSnapshotEnabled = consistentSnapshotEnabled;
+        this.stoppingOptions = stoppingOptions;
+        this.skipSnapshotBackfill = skipSnapshotBackfill;
     }
 
     @Override
     public ChangelogMode getChangelogMode() {
+        if (startupOptions.isSnapshotOnly()) {
+            // the snapshot only mode never reads the changes from binlog
+            return ChangelogMode.insertOnly();
+        }
         return ChangelogMode.newBuilder()
                 .addContainedKind(RowKind.INSERT)
                 .addContainedKind(RowKind.UPDATE_BEFORE)
@@ -247,6 +267,10 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                             .jdbcProperties(jdbcProperties)
                             .heartbeatInterval(heartbeatInterval)
                             .chunkKeyColumn(chunkKeyColumn)
+                            .sharedBackfillEnabled(sharedBackfillEnabled)
+                            .consistentSnapshotEnabled(consistentSnapshotEnabled)
+                            .stoppingOptions(stoppingOptions)
+                            .skipSnapshotBackfill(skipSnapshotBackfill)
                             .build();
             return SourceProvider.of(parallelSource);
         } else {
@@ -326,7 +350,11 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                         scanNewlyAddedTableEnabled,
                         jdbcProperties,
                         heartbeatInterval,
-                        chunkKeyColumn);
+                        chunkKeyColumn,
+                        sharedBackfillEnabled,
+                        consistentSnapshotEnabled,
+                        stoppingOptions,
+                        skipSnapshotBackfill);
         source.metadataKeys = metadataKeys;
         source.producedDataType = producedDataType;
         return source;
@@ -349,6 +377,9 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                 && distributionFactorUpper == that.distributionFactorUpper
                 && distributionFactorLower == that.distributionFactorLower
                 && scanNewlyAddedTableEnabled == that.scanNewlyAddedTableEnabled
+                && sharedBackfillEnabled == that.sharedBackfillEnabled
+                && consistentSnapshotEnabled == that.consistentSnapshotEnabled
+                && skipSnapshotBackfill == that.skipSnapshotBackfill
                 && Objects.equals(physicalSchema, that.physicalSchema)
                 && Objects.equals(hostname, that.hostname)
                 && Objects.equals(database, that.database)
@@ -366,7 +397,8 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                 && Objects.equals(metadataKeys, that.metadataKeys)
                 && Objects.equals(jdbcProperties, that.jdbcProperties)
                 && Objects.equals(heartbeatInterval, that.heartbeatInterval)
-                && Objects.equals(chunkKeyColumn, that.chunkKeyColumn);
+                && Objects.equals(chunkKeyColumn, that.chunkKeyColumn)
+                && Objects.equals(stoppingOptions, that.stoppingOptions);
     }
 
     @Override
@@ -397,7 +429,11 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                 scanNewlyAddedTableEnabled,
                 jdbcProperties,
                 heartbeatInterval,
-                chunkKeyColumn);
+                chunkKeyColumn,
+                sharedBackfillEnabled,
+                consistentSnapshotEnabled,
+                stoppingOptions,
+                skipSnapshotBackfill);
     }
 
     @Override
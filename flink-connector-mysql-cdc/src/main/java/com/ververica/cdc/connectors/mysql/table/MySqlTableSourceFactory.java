@@ -49,15 +49,24 @@ import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOption
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.HOSTNAME;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.PASSWORD;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.PORT;
+import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_CHUNK_KEY_COLUMN;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE;
+import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_ENABLED;
+import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_NEWLY_ADDED_TABLE_ENABLED;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_SNAPSHOT_FETCH_SIZE;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_STARTUP_MODE;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_STARTUP_SPECIFIC_OFFSET_FILE;
+import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_STARTUP_SPECIFIC_OFFSET_GTID_SET;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_STARTUP_SPECIFIC_OFFSET_POS;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_STARTUP_TIMESTAMP_MILLIS;
+import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_STOP_MODE;
+import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_STOP_SPECIFIC_OFFSET_FILE;
+import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_STOP_SPECIFIC_OFFSET_GTID_SET;
+import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_STOP_SPECIFIC_OFFSET_POS;
+import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_STOP_TIMESTAMP_MILLIS;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SERVER_ID;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SERVER_TIME_ZONE;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.TABLE_NAME;
@@ -98,6 +107,7 @@ public class MySqlTableSourceFactory implements DynamicTableSourceFactory {
                 getPhysicalSchema(context.getCatalogTable().getResolvedSchema());
         String serverId = validateAndGetServerId(config);
         StartupOptions startupOptions = getStartupOptions(config);
+        StoppingOptions stoppingOptions = getStoppingOptions(config);
         Duration connectTimeout = config.get(CONNECT_TIMEOUT);
         int connectMaxRetries = config.get(CONNECT_MAX_RETRIES);
         int connectionPoolSize = config.get(CONNECTION_POOL_SIZE);
@@ -117,6 +127,23 @@ public class MySqlTableSourceFactory implements DynamicTableSourceFactory {
             validateIntegerOption(CONNECT_MAX_RETRIES, connectMaxRetries, 0);
             validateDistributionFactorUpper(distributionFactorUpper);
             validateDistributionFactorLower(distributionFactorLower);
+        } else if (startupOptions.isSnapshotOnly()) {
+            throw new ValidationException(
+                    String.format(
+                            "The startup mode '%s' is only supported when '%s' is enabled",
+                            SCAN_STARTUP_MODE_VALUE_SNAPSHOT,
+                            SCAN_INCREMENTAL_SNAPSHOT_ENABLED.key()));
+        } else if (stoppingOptions.isBounded()) {
+            throw new ValidationException(
+                    String.format(
+                            "The option '%s' is only supported when '%s' is enabled",
+                            SCAN_STOP_MODE.key(), SCAN_INCREMENTAL_SNAPSHOT_ENABLED.key()));
+        } else if (config.get(SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP)) {
+            throw new ValidationException(
+                    String.format(
+                            "The option '%s' is only supported when '%s' is enabled",
+                            SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.key(),
+                            SCAN_INCREMENTAL_SNAPSHOT_ENABLED.key()));
         }
 
         return new MySqlTableSource(
@@ -143,7 +170,11 @@ public class MySqlTableSourceFactory implements DynamicTableSourceFactory {
                 scanNewlyAddedTableEnabled,
                 JdbcUrlUtils.getJdbcProperties(context.getCatalogTable().getOptions()),
                 heartbeatInterval,
-                config.getOptional(SCAN_INCREMENTAL_SNAPSHOT_CHUNK_KEY_COLUMN).orElse(null));
+                config.getOptional(SCAN_INCREMENTAL_SNAPSHOT_CHUNK_KEY_COLUMN).orElse(null),
+                config.get(SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED),
+                config.get(SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED),
+                stoppingOptions,
+                config.get(SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP));
     }
 
     @Override
@@ -172,6 +203,12 @@ public class MySqlTableSourceFactory implements DynamicTableSourceFactory {
         options.add(SCAN_STARTUP_SPECIFIC_OFFSET_FILE);
         options.add(SCAN_STARTUP_SPECIFIC_OFFSET_POS);
         options.add(SCAN_STARTUP_TIMESTAMP_MILLIS);
+        options.add(SCAN_STARTUP_SPECIFIC_OFFSET_GTID_SET);
+        options.add(SCAN_STOP_MODE);
+        options.add(SCAN_STOP_SPECIFIC_OFFSET_FILE);
+        options.add(SCAN_STOP_SPECIFIC_OFFSET_POS);
+        options.add(SCAN_STOP_SPECIFIC_OFFSET_GTID_SET);
+        options.add(SCAN_STOP_TIMESTAMP_MILLIS);
         options.add(SCAN_INCREMENTAL_SNAPSHOT_ENABLED);
         options.add(SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE);
         options.add(CHUNK_META_GROUP_SIZE);
@@ -184,6 +221,9 @@ public class MySqlTableSourceFactory implements DynamicTableSourceFactory {
         options.add(SCAN_NEWLY_ADDED_TABLE_ENABLED);
         options.add(HEARTBEAT_INTERVAL);
         options.add(SCAN_INCREMENTAL_SNAPSHOT_CHUNK_KEY_COLUMN);
+        options.add(SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED);
+        options.add(SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED);
+        options.add(SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP);
         return options;
     }
 
@@ -192,6 +232,7 @@ public class MySqlTableSourceFactory implements DynamicTableSourceFactory {
     private static final String SCAN_STARTUP_MODE_VALUE_LATEST = "latest-offset";
     private static final String SCAN_STARTUP_MODE_VALUE_SPECIFIC_OFFSET = "specific-offset";
     private static final String SCAN_STARTUP_MODE_VALUE_TIMESTAMP = "timestamp";
+    private static final String SCAN_STARTUP_MODE_VALUE_SNAPSHOT = "snapshot";
 
     private static StartupOptions getStartupOptions(ReadableConfig config) {
         String modeString = config.get(SCAN_STARTUP_MODE);
@@ -203,28 +244,105 @@ public class MySqlTableSourceFactory implements DynamicTableSourceFactory {
             case SCAN_STARTUP_MODE_VALUE_LATEST:
                 return StartupOptions.latest();
 
-            case SCAN_STARTUP_MODE_VALUE_EARLIEST:
+            case SCAN_STARTUP_MODE_VALUE_SNAPSHOT:
+                return StartupOptions.snapshot();
+
             case SCAN_STARTUP_MODE_VALUE_SPECIFIC_OFFSET:
+                final String gtidSet =
+                        config.getOptional(SCAN_STARTUP_SPECIFIC_OFFSET_GTID_SET).orElse(null);
+                if (gtidSet != null) {
+                    return StartupOptions.specificOffset(gtidSet);
+                }
+                validateRequiredOptions(
+                        SCAN_STARTUP_MODE_VALUE_SPECIFIC_OFFSET,
+                        config,
+                        SCAN_STARTUP_SPECIFIC_OFFSET_FILE,
+                        SCAN_STARTUP_SPECIFIC_OFFSET_POS);
+                return StartupOptions.specificOffset(
+                        config.get(SCAN_STARTUP_SPECIFIC_OFFSET_FILE),
+                        config.get(SCAN_STARTUP_SPECIFIC_OFFSET_POS));
+
             case SCAN_STARTUP_MODE_VALUE_TIMESTAMP:
+                validateRequiredOptions(
+                        SCAN_STARTUP_MODE_VALUE_TIMESTAMP, config, SCAN_STARTUP_TIMESTAMP_MILLIS);
+                return StartupOptions.timestamp(config.get(SCAN_STARTUP_TIMESTAMP_MILLIS));
+
+            case SCAN_STARTUP_MODE_VALUE_EARLIEST:
                 throw new ValidationException(
                         String.format(
-                                "Unsupported option value '%s', the options [%s, %s, %s] are not supported correctly, please do not use them until they're correctly supported",
+                                "Unsupported option value '%s', the options [%s] are not supported correctly, please do not use them until they're correctly supported",
                                 modeString,
-                                SCAN_STARTUP_MODE_VALUE_EARLIEST,
-                                SCAN_STARTUP_MODE_VALUE_SPECIFIC_OFFSET,
-                                SCAN_STARTUP_MODE_VALUE_TIMESTAMP));
+                                SCAN_STARTUP_MODE_VALUE_EARLIEST));
 
             default:
                 throw new ValidationException(
                         String.format(
-                                "Invalid value for option '%s'. Supported values are [%s, %s], but was: %s",
+                                "Invalid value for option '%s'. Supported values are [%s, %s, %s, %s, %s], but was: %s",
                                 SCAN_STARTUP_MODE.key(),
                                 SCAN_STARTUP_MODE_VALUE_INITIAL,
                                 SCAN_STARTUP_MODE_VALUE_LATEST,
+                                SCAN_STARTUP_MODE_VALUE_SPECIFIC_OFFSET,
+                                SCAN_STARTUP_MODE_VALUE_TIMESTAMP,
+                                SCAN_STARTUP_MODE_VALUE_SNAPSHOT,
+                                modeString));
+        }
+    }
+
+    private static final String SCAN_STOP_MODE_VALUE_NEVER = "never";
+    private static final String SCAN_STOP_MODE_VALUE_SPECIFIC_OFFSET = "specific-offset";
+    private static final String SCAN_STOP_MODE_VALUE_TIMESTAMP = "timestamp";
+
+    private static StoppingOptions getStoppingOptions(ReadableConfig config) {
+        String modeString = config.get(SCAN_STOP_MODE);
+
+        switch (modeString.toLowerCase()) {
+            case SCAN_STOP_MODE_VALUE_NEVER:
+                return StoppingOptions.never();
+
+            case SCAN_STOP_MODE_VALUE_SPECIFIC_OFFSET:
+                final String gtidSet =
+                        config.getOptional(SCAN_STOP_SPECIFIC_OFFSET_GTID_SET).orElse(null);
+                if (gtidSet != null) {
+                    return StoppingOptions.specificOffset(gtidSet);
+                }
+                validateRequiredOptions(
+                        SCAN_STOP_MODE_VALUE_SPECIFIC_OFFSET,
+                        config,
+                        SCAN_STOP_SPECIFIC_OFFSET_FILE,
+                        SCAN_STOP_SPECIFIC_OFFSET_POS);
+                return StoppingOptions.specificOffset(
+                        config.get(SCAN_STOP_SPECIFIC_OFFSET_FILE),
+                        config.get(SCAN_STOP_SPECIFIC_OFFSET_POS));
+
+            case SCAN_STOP_MODE_VALUE_TIMESTAMP:
+                validateRequiredOptions(
+                        SCAN_STOP_MODE_VALUE_TIMESTAMP, config, SCAN_STOP_TIMESTAMP_MILLIS);
+                return StoppingOptions.timestamp(config.get(SCAN_STOP_TIMESTAMP_MILLIS));
+
+            default:
+                throw new ValidationException(
+                        String.format(
+                                "Invalid value for option '%s'. Supported values are [%s, %s, %s], but was: %s",
+                                SCAN_STOP_MODE.key(),
+                                SCAN_STOP_MODE_VALUE_NEVER,
+                                SCAN_STOP_MODE_VALUE_SPECIFIC_OFFSET,
+                                SCAN_STOP_MODE_VALUE_TIMESTAMP,
                                 modeString));
         }
     }
 
+    private static void validateRequiredOptions(
+            String modeValue, ReadableConfig config, ConfigOption<?>... requiredOptions) {
+        for (ConfigOption<?> option : requiredOptions) {
+            if (!config.getOptional(option).isPresent()) {
+                throw new ValidationException(
+                        String.format(
+                                "The option '%s' is required for the mode '%s'",
+                                option.key(), modeValue));
+            }
+        }
+    }
+
     private void validatePrimaryKeyIfEnableParallel(ResolvedSchema physicalSchema) {
         if (!physicalSchema.getPrimaryKey().isPresent()) {
             throw new ValidationException(
@@ -238,9 +356,12 @@ public class MySqlTableSourceFactory implements DynamicTableSourceFactory {
         // validate mode
         Preconditions.checkState(
                 startupOptions.startupMode == StartupMode.INITIAL
-                        || startupOptions.startupMode == StartupMode.LATEST_OFFSET,
+                        || startupOptions.startupMode == StartupMode.LATEST_OFFSET
+                        || startupOptions.startupMode == StartupMode.SPECIFIC_OFFSETS
+                        || startupOptions.startupMode == StartupMode.TIMESTAMP
+                        || startupOptions.startupMode == StartupMode.SNAPSHOT,
                 String.format(
-                        "MySql Parallel Source only supports startup mode 'initial' and 'latest-offset',"
+                        "MySql Parallel Source only supports startup mode 'initial', 'latest-offset', 'specific-offset', 'timestamp' and 'snapshot',"
                                 + " but actual is %s",
                         startupOptions.startupMode));
     }
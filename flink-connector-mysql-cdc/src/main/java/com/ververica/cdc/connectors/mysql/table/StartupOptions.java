@@ -28,6 +28,7 @@ public final class StartupOptions implements Serializable {
     public final StartupMode startupMode;
     public final String specificOffsetFile;
     public final Integer specificOffsetPos;
+    public final String specificOffsetGtidSet;
     public final Long startupTimestampMillis;
 
     /**
@@ -35,7 +36,15 @@ public final class StartupOptions implements Serializable {
      * continue to read the latest binlog.
      */
     public static StartupOptions initial() {
-        return new StartupOptions(StartupMode.INITIAL, null, null, null);
+        return new StartupOptions(StartupMode.INITIAL, null, null, null, null);
+    }
+
+    /**
+     * Performs a snapshot on the monitored database tables and finishes after the snapshot is read,
+     * the binlog is never read.
+     */
+    public static StartupOptions snapshot() {
+        return new StartupOptions(StartupMode.SNAPSHOT, null, null, null, null);
     }
 
     /**
@@ -44,7 +53,7 @@ public final class StartupOptions implements Serializable {
      * binlog is guaranteed to contain the entire history of the database.
      */
     public static StartupOptions earliest() {
-        return new StartupOptions(StartupMode.EARLIEST_OFFSET, null, null, null);
+        return new StartupOptions(StartupMode.EARLIEST_OFFSET, null, null, null, null);
     }
 
     /**
@@ -52,7 +61,7 @@ public final class StartupOptions implements Serializable {
      * the end of the binlog which means only have the changes since the connector was started.
      */
     public static StartupOptions latest() {
-        return new StartupOptions(StartupMode.LATEST_OFFSET, null, null, null);
+        return new StartupOptions(StartupMode.LATEST_OFFSET, null, null, null, null);
     }
 
     /**
@@ -61,7 +70,16 @@ public final class StartupOptions implements Serializable {
      */
     public static StartupOptions specificOffset(String specificOffsetFile, int specificOffsetPos) {
         return new StartupOptions(
-                StartupMode.SPECIFIC_OFFSETS, specificOffsetFile, specificOffsetPos, null);
+                StartupMode.SPECIFIC_OFFSETS, specificOffsetFile, specificOffsetPos, null, null);
+    }
+
+    /**
+     * Never to perform snapshot on the monitored database tables upon first startup, and directly
+     * read binlog after the specified GTID set, which requires GTID mode enabled on the server.
+     */
+    public static StartupOptions specificOffset(String specificOffsetGtidSet) {
+        return new StartupOptions(
+                StartupMode.SPECIFIC_OFFSETS, null, null, specificOffsetGtidSet, null);
     }
 
     /**
@@ -74,27 +92,33 @@ public final class StartupOptions implements Serializable {
      * @param startupTimestampMillis timestamp for the startup offsets, as milliseconds from epoch.
      */
     public static StartupOptions timestamp(long startupTimestampMillis) {
-        return new StartupOptions(StartupMode.TIMESTAMP, null, null, startupTimestampMillis);
+        return new StartupOptions(
+                StartupMode.TIMESTAMP, null, null, null, startupTimestampMillis);
     }
 
     private StartupOptions(
             StartupMode startupMode,
             String specificOffsetFile,
             Integer specificOffsetPos,
+            String specificOffsetGtidSet,
             Long startupTimestampMillis) {
         this.startupMode = startupMode;
         this.specificOffsetFile = specificOffsetFile;
         this.specificOffsetPos = specificOffsetPos;
+        this.specificOffsetGtidSet = specificOffsetGtidSet;
         this.startupTimestampMillis = startupTimestampMillis;
 
         switch (startupMode) {
             case INITIAL:
             case EARLIEST_OFFSET:
             case LATEST_OFFSET:
+            case SNAPSHOT:
                 break;
             case SPECIFIC_OFFSETS:
-                checkNotNull(specificOffsetFile, "specificOffsetFile shouldn't be null");
-                checkNotNull(specificOffsetPos, "specificOffsetPos shouldn't be null");
+                if (specificOffsetGtidSet == null) {
+                    checkNotNull(specificOffsetFile, "specificOffsetFile shouldn't be null");
+                    checkNotNull(specificOffsetPos, "specificOffsetPos shouldn't be null");
+                }
                 break;
             case TIMESTAMP:
                 checkNotNull(startupTimestampMillis, "startupTimestampMillis shouldn't be null");
@@ -104,6 +128,11 @@ public final class StartupOptions implements Serializable {
         }
     }
 
+    /** Whether the source only reads the snapshot and finishes afterwards. */
+    public boolean isSnapshotOnly() {
+        return startupMode == StartupMode.SNAPSHOT;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -116,12 +145,17 @@ public final class StartupOptions implements Serializable {
         return startupMode == that.startupMode
                 && Objects.equals(specificOffsetFile, that.specificOffsetFile)
                 && Objects.equals(specificOffsetPos, that.specificOffsetPos)
+                && Objects.equals(specificOffsetGtidSet, that.specificOffsetGtidSet)
                 && Objects.equals(startupTimestampMillis, that.startupTimestampMillis);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(
-                startupMode, specificOffsetFile, specificOffsetPos, startupTimestampMillis);
+                startupMode,
+                specificOffsetFile,
+                specificOffsetPos,
+                specificOffsetGtidSet,
+                startupTimestampMillis);
     }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mysql.table;
+
+import com.ververica.cdc.connectors.mysql.source.offset.BinlogOffset;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/** Debezium stopping options, the binlog reading finishes when the stopping point is reached. */
+public final class StoppingOptions implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public final StoppingMode stoppingMode;
+    public final String specificOffsetFile;
+    public final Long specificOffsetPos;
+    public final String specificOffsetGtidSet;
+    public final Long stoppingTimestampMillis;
+
+    /** Never stop reading the binlog, this is the default behavior of an unbounded source. */
+    public static StoppingOptions never() {
+        return new StoppingOptions(StoppingMode.NEVER, null, null, null, null);
+    }
+
+    /** Stop reading the binlog once the specified binlog file and position are reached. */
+    public static StoppingOptions specificOffset(String specificOffsetFile, long specificOffsetPos) {
+        return new StoppingOptions(
+                StoppingMode.SPECIFIC_OFFSETS, specificOffsetFile, specificOffsetPos, null, null);
+    }
+
+    /** Stop reading the binlog once the specified GTID set has been read. */
+    public static StoppingOptions specificOffset(String specificOffsetGtidSet) {
+        return new StoppingOptions(
+                StoppingMode.SPECIFIC_OFFSETS, null, null, specificOffsetGtidSet, null);
+    }
+
+    /**
+     * Stop reading the binlog at the first binlog event whose timestamp is at or after the
+     * specified timestamp, the event itself is not emitted.
+     *
+     * @param stoppingTimestampMillis timestamp for the stopping point, as milliseconds from epoch.
+     */
+    public static StoppingOptions timestamp(long stoppingTimestampMillis) {
+        return new StoppingOptions(
+                StoppingMode.TIMESTAMP, null, null, null, stoppingTimestampMillis);
+    }
+
+    private StoppingOptions(
+            StoppingMode stoppingMode,
+            String specificOffsetFile,
+            Long specificOffsetPos,
+            String specificOffsetGtidSet,
+            Long stoppingTimestampMillis) {
+        this.stoppingMode = stoppingMode;
+        this.specificOffsetFile = specificOffsetFile;
+        this.specificOffsetPos = specificOffsetPos;
+        this.specificOffsetGtidSet = specificOffsetGtidSet;
+        this.stoppingTimestampMillis = stoppingTimestampMillis;
+
+        switch (stoppingMode) {
+            case NEVER:
+                break;
+            case SPECIFIC_OFFSETS:
+                checkArgument(
+                        specificOffsetGtidSet != null
+                                || (specificOffsetFile != null && specificOffsetPos != null),
+                        "Either specificOffsetGtidSet or specificOffsetFile and specificOffsetPos should be set");
+                break;
+            case TIMESTAMP:
+                checkNotNull(stoppingTimestampMillis, "stoppingTimestampMillis shouldn't be null");
+                break;
+            default:
+                throw new UnsupportedOperationException(stoppingMode + " mode is not supported.");
+        }
+    }
+
+    /** Whether the binlog reading finishes at some point. */
+    public boolean isBounded() {
+        return stoppingMode != StoppingMode.NEVER;
+    }
+
+    /**
+     * Returns the ending offset of the binlog split, {@link BinlogOffset#NO_STOPPING_OFFSET} if the
+     * reading doesn't stop at a binlog offset.
+     */
+    public BinlogOffset getStoppingOffset() {
+        if (stoppingMode != StoppingMode.SPECIFIC_OFFSETS) {
+            return BinlogOffset.NO_STOPPING_OFFSET;
+        }
+        if (specificOffsetGtidSet != null) {
+            return new BinlogOffset("", 0L, 0L, 0L, 0L, specificOffsetGtidSet, null);
+        }
+        return new BinlogOffset(specificOffsetFile, specificOffsetPos);
+    }
+
+    /**
+     * Returns the stopping timestamp in milliseconds, {@link Long#MAX_VALUE} if the reading doesn't
+     * stop at a timestamp.
+     */
+    public long getStoppingTimestampMillis() {
+        return stoppingMode == StoppingMode.TIMESTAMP ? stoppingTimestampMillis : Long.MAX_VALUE;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        StoppingOptions that = (StoppingOptions) o;
+        return stoppingMode == that.stoppingMode
+                && Objects.equals(specificOffsetFile, that.specificOffsetFile)
+                && Objects.equals(specificOffsetPos, that.specificOffsetPos)
+                && Objects.equals(specificOffsetGtidSet, that.specificOffsetGtidSet)
+                && Objects.equals(stoppingTimestampMillis, that.stoppingTimestampMillis);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                stoppingMode,
+                specificOffsetFile,
+                specificOffsetPos,
+                specificOffsetGtidSet,
+                stoppingTimestampMillis);
+    }
+}
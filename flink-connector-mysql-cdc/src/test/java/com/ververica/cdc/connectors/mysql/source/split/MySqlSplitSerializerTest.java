@@ -55,6 +55,21 @@ public class MySqlSplitSerializerTest {
         assertEquals(split, serializeAndDeserializeSplit(split));
     }
 
+    @Test
+    public void testConsistentSnapshotSplit() throws Exception {
+        final MySqlSplit split =
+                new MySqlSnapshotSplit(
+                        TableId.parse("test_db.test_table"),
+                        "test_db.test_table-1",
+                        new RowType(Arrays.asList(new RowType.RowField("id", new BigIntType()))),
+                        new Object[] {100L},
+                        new Object[] {999L},
+                        null,
+                        new HashMap<>(),
+                        new BinlogOffset("mysql-bin.000001", 4L));
+        assertEquals(split, serializeAndDeserializeSplit(split));
+    }
+
     @Test
     public void testBinlogSplit() throws Exception {
         final TableId tableId = TableId.parse("test_db.test_table");
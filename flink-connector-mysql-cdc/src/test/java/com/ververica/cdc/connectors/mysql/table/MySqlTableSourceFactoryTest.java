@@ -26,7 +26,9 @@ import org.apache.flink.table.catalog.ObjectIdentifier;
 import org.apache.flink.table.catalog.ResolvedCatalogTable;
 import org.apache.flink.table.catalog.ResolvedSchema;
 import org.apache.flink.table.catalog.UniqueConstraint;
+import org.apache.flink.table.connector.ChangelogMode;
 import org.apache.flink.table.connector.source.DynamicTableSource;
+import org.apache.flink.table.connector.source.ScanTableSource;
 import org.apache.flink.table.factories.Factory;
 import org.apache.flink.table.factories.FactoryUtil;
 import org.apache.flink.util.ExceptionUtils;
@@ -50,8 +52,11 @@ import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOption
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.CONNECT_MAX_RETRIES;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.CONNECT_TIMEOUT;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.HEARTBEAT_INTERVAL;
+import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE;
+import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_ENABLED;
+import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED;
 import static com.ververica.cdc.connectors.mysql.source.config.MySqlSourceOptions.SCAN_SNAPSHOT_FETCH_SIZE;
 import static org.apache.flink.core.testutils.FlinkMatchers.containsMessage;
 import static org.junit.Assert.assertEquals;
@@ -123,7 +128,11 @@ public class MySqlTableSourceFactoryTest {
                         false,
                         new Properties(),
                         HEARTBEAT_INTERVAL.defaultValue(),
-                        null);
+                        null,
+                        SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED.defaultValue(),
+                        StoppingOptions.never(),
+                        SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.defaultValue());
         assertEquals(expectedSource, actualSource);
     }
 
@@ -167,7 +176,11 @@ public class MySqlTableSourceFactoryTest {
                         false,
                         new Properties(),
                         HEARTBEAT_INTERVAL.defaultValue(),
-                        "testCol");
+                        "testCol",
+                        SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED.defaultValue(),
+                        StoppingOptions.never(),
+                        SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.defaultValue());
         assertEquals(expectedSource, actualSource);
     }
 
@@ -207,7 +220,11 @@ public class MySqlTableSourceFactoryTest {
                         false,
                         new Properties(),
                         HEARTBEAT_INTERVAL.defaultValue(),
-                        null);
+                        null,
+                        SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED.defaultValue(),
+                        StoppingOptions.never(),
+                        SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.defaultValue());
         assertEquals(expectedSource, actualSource);
     }
 
@@ -245,8 +262,90 @@ public class MySqlTableSourceFactoryTest {
                         false,
                         new Properties(),
                         HEARTBEAT_INTERVAL.defaultValue(),
-                        null);
+                        null,
+                        SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED.defaultValue(),
+                        StoppingOptions.never(),
+                        SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.defaultValue());
+        assertEquals(expectedSource, actualSource);
+    }
+
+    @Test
+    public void testEnableParallelReadSourceSnapshotOnly() {
+        Map<String, String> properties = getAllOptions();
+        properties.put("scan.incremental.snapshot.enabled", "true");
+        properties.put("server-id", "123-126");
+        properties.put("scan.startup.mode", "snapshot");
+
+        // validation for source
+        DynamicTableSource actualSource = createTableSource(properties);
+        MySqlTableSource expectedSource =
+                new MySqlTableSource(
+                        SCHEMA,
+                        3306,
+                        MY_LOCALHOST,
+                        MY_DATABASE,
+                        MY_TABLE,
+                        MY_USERNAME,
+                        MY_PASSWORD,
+                        ZoneId.systemDefault(),
+                        PROPERTIES,
+                        "123-126",
+                        SCAN_INCREMENTAL_SNAPSHOT_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE.defaultValue(),
+                        CHUNK_META_GROUP_SIZE.defaultValue(),
+                        SCAN_SNAPSHOT_FETCH_SIZE.defaultValue(),
+                        CONNECT_TIMEOUT.defaultValue(),
+                        CONNECT_MAX_RETRIES.defaultValue(),
+                        CONNECTION_POOL_SIZE.defaultValue(),
+                        CHUNK_KEY_EVEN_DISTRIBUTION_FACTOR_UPPER_BOUND.defaultValue(),
+                        CHUNK_KEY_EVEN_DISTRIBUTION_FACTOR_LOWER_BOUND.defaultValue(),
+                        StartupOptions.snapshot(),
+                        false,
+                        new Properties(),
+                        HEARTBEAT_INTERVAL.defaultValue(),
+                        null,
+                        SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED.defaultValue(),
+                        StoppingOptions.never(),
+                        SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.defaultValue());
         assertEquals(expectedSource, actualSource);
+        assertEquals(
+                ChangelogMode.insertOnly(), ((ScanTableSource) actualSource).getChangelogMode());
+    }
+
+    @Test
+    public void testStartupFromSnapshotWithoutParallelRead() {
+        try {
+            Map<String, String> properties = getAllOptions();
+            properties.put("scan.startup.mode", "snapshot");
+
+            createTableSource(properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The startup mode 'snapshot' is only supported when 'scan.incremental.snapshot.enabled' is enabled")
+                            .isPresent());
+        }
+    }
+
+    @Test
+    public void testSkipSnapshotBackfillWithoutParallelRead() {
+        try {
+            Map<String, String> properties = getAllOptions();
+            properties.put("scan.incremental.snapshot.backfill.skip", "true");
+
+            createTableSource(properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The option 'scan.incremental.snapshot.backfill.skip' is only supported when 'scan.incremental.snapshot.enabled' is enabled")
+                            .isPresent());
+        }
     }
 
     @Test
@@ -291,22 +390,235 @@ public class MySqlTableSourceFactoryTest {
                         true,
                         jdbcProperties,
                         Duration.ofMillis(15213),
-                        "testCol");
+                        "testCol",
+                        SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED.defaultValue(),
+                        StoppingOptions.never(),
+                        SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.defaultValue());
         assertEquals(expectedSource, actualSource);
     }
 
     @Test
     public void testStartupFromSpecificOffset() {
+        final String offsetFile = "mysql-bin.000003";
+        final int offsetPos = 100203;
+
+        Map<String, String> properties = getAllOptions();
+        properties.put("port", "3307");
+        properties.put("server-id", "4321");
+        properties.put("scan.startup.mode", "specific-offset");
+        properties.put("scan.startup.specific-offset.file", offsetFile);
+        properties.put("scan.startup.specific-offset.pos", String.valueOf(offsetPos));
+
+        // validation for source
+        DynamicTableSource actualSource = createTableSource(properties);
+        MySqlTableSource expectedSource =
+                new MySqlTableSource(
+                        SCHEMA,
+                        3307,
+                        MY_LOCALHOST,
+                        MY_DATABASE,
+                        MY_TABLE,
+                        MY_USERNAME,
+                        MY_PASSWORD,
+                        ZoneId.systemDefault(),
+                        PROPERTIES,
+                        "4321",
+                        false,
+                        SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE.defaultValue(),
+                        CHUNK_META_GROUP_SIZE.defaultValue(),
+                        SCAN_SNAPSHOT_FETCH_SIZE.defaultValue(),
+                        CONNECT_TIMEOUT.defaultValue(),
+                        CONNECT_MAX_RETRIES.defaultValue(),
+                        CONNECTION_POOL_SIZE.defaultValue(),
+                        CHUNK_KEY_EVEN_DISTRIBUTION_FACTOR_UPPER_BOUND.defaultValue(),
+                        CHUNK_KEY_EVEN_DISTRIBUTION_FACTOR_LOWER_BOUND.defaultValue(),
+                        StartupOptions.specificOffset(offsetFile, offsetPos),
+                        false,
+                        new Properties(),
+                        HEARTBEAT_INTERVAL.defaultValue(),
+                        null,
+                        SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED.defaultValue(),
+                        StoppingOptions.never(),
+                        SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.defaultValue());
+        assertEquals(expectedSource, actualSource);
+    }
+
+    @Test
+    public void testStartupFromSpecificGtidSet() {
+        final String gtidSet = "24DA167-0C0C-11E8-8442-00059A3C7B00:1-19";
+
+        Map<String, String> properties = getAllOptions();
+        properties.put("scan.startup.mode", "specific-offset");
+        properties.put("scan.startup.specific-offset.gtid-set", gtidSet);
+
+        // validation for source
+        DynamicTableSource actualSource = createTableSource(properties);
+        MySqlTableSource expectedSource =
+                new MySqlTableSource(
+                        SCHEMA,
+                        3306,
+                        MY_LOCALHOST,
+                        MY_DATABASE,
+                        MY_TABLE,
+                        MY_USERNAME,
+                        MY_PASSWORD,
+                        ZoneId.systemDefault(),
+                        PROPERTIES,
+                        null,
+                        false,
+                        SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE.defaultValue(),
+                        CHUNK_META_GROUP_SIZE.defaultValue(),
+                        SCAN_SNAPSHOT_FETCH_SIZE.defaultValue(),
+                        CONNECT_TIMEOUT.defaultValue(),
+                        CONNECT_MAX_RETRIES.defaultValue(),
+                        CONNECTION_POOL_SIZE.defaultValue(),
+                        CHUNK_KEY_EVEN_DISTRIBUTION_FACTOR_UPPER_BOUND.defaultValue(),
+                        CHUNK_KEY_EVEN_DISTRIBUTION_FACTOR_LOWER_BOUND.defaultValue(),
+                        StartupOptions.specificOffset(gtidSet),
+                        false,
+                        new Properties(),
+                        HEARTBEAT_INTERVAL.defaultValue(),
+                        null,
+                        SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED.defaultValue(),
+                        StoppingOptions.never(),
+                        SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.defaultValue());
+        assertEquals(expectedSource, actualSource);
+    }
+
+    @Test
+    public void testBoundedBinlogRangeWithSpecificOffsets() {
+        Map<String, String> properties = getAllOptions();
+        properties.put("scan.incremental.snapshot.enabled", "true");
+        properties.put("server-id", "123-126");
+        properties.put("scan.startup.mode", "specific-offset");
+        properties.put("scan.startup.specific-offset.file", "mysql-bin.000003");
+        properties.put("scan.startup.specific-offset.pos", "4");
+        properties.put("scan.stop.mode", "specific-offset");
+        properties.put("scan.stop.specific-offset.file", "mysql-bin.000005");
+        properties.put("scan.stop.specific-offset.pos", "1024");
+
+        // validation for source
+        DynamicTableSource actualSource = createTableSource(properties);
+        MySqlTableSource expectedSource =
+                new MySqlTableSource(
+                        SCHEMA,
+                        3306,
+                        MY_LOCALHOST,
+                        MY_DATABASE,
+                        MY_TABLE,
+                        MY_USERNAME,
+                        MY_PASSWORD,
+                        ZoneId.systemDefault(),
+                        PROPERTIES,
+                        "123-126",
+                        SCAN_INCREMENTAL_SNAPSHOT_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE.defaultValue(),
+                        CHUNK_META_GROUP_SIZE.defaultValue(),
+                        SCAN_SNAPSHOT_FETCH_SIZE.defaultValue(),
+                        CONNECT_TIMEOUT.defaultValue(),
+                        CONNECT_MAX_RETRIES.defaultValue(),
+                        CONNECTION_POOL_SIZE.defaultValue(),
+                        CHUNK_KEY_EVEN_DISTRIBUTION_FACTOR_UPPER_BOUND.defaultValue(),
+                        CHUNK_KEY_EVEN_DISTRIBUTION_FACTOR_LOWER_BOUND.defaultValue(),
+                        StartupOptions.specificOffset("mysql-bin.000003", 4),
+                        false,
+                        new Properties(),
+                        HEARTBEAT_INTERVAL.defaultValue(),
+                        null,
+                        SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED.defaultValue(),
+                        StoppingOptions.specificOffset("mysql-bin.000005", 1024L),
+                        SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.defaultValue());
+        assertEquals(expectedSource, actualSource);
+    }
+
+    @Test
+    public void testBoundedBinlogRangeWithTimestamps() {
+        Map<String, String> properties = getAllOptions();
+        properties.put("scan.incremental.snapshot.enabled", "true");
+        properties.put("server-id", "123-126");
+        properties.put("scan.startup.mode", "timestamp");
+        properties.put("scan.startup.timestamp-millis", "1667232000000");
+        properties.put("scan.stop.mode", "timestamp");
+        properties.put("scan.stop.timestamp-millis", "1667318400000");
+
+        // validation for source
+        DynamicTableSource actualSource = createTableSource(properties);
+        MySqlTableSource expectedSource =
+                new MySqlTableSource(
+                        SCHEMA,
+                        3306,
+                        MY_LOCALHOST,
+                        MY_DATABASE,
+                        MY_TABLE,
+                        MY_USERNAME,
+                        MY_PASSWORD,
+                        ZoneId.systemDefault(),
+                        PROPERTIES,
+                        "123-126",
+                        SCAN_INCREMENTAL_SNAPSHOT_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE.defaultValue(),
+                        CHUNK_META_GROUP_SIZE.defaultValue(),
+                        SCAN_SNAPSHOT_FETCH_SIZE.defaultValue(),
+                        CONNECT_TIMEOUT.defaultValue(),
+                        CONNECT_MAX_RETRIES.defaultValue(),
+                        CONNECTION_POOL_SIZE.defaultValue(),
+                        CHUNK_KEY_EVEN_DISTRIBUTION_FACTOR_UPPER_BOUND.defaultValue(),
+                        CHUNK_KEY_EVEN_DISTRIBUTION_FACTOR_LOWER_BOUND.defaultValue(),
+                        StartupOptions.timestamp(1667232000000L),
+                        false,
+                        new Properties(),
+                        HEARTBEAT_INTERVAL.defaultValue(),
+                        null,
+                        SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED.defaultValue(),
+                        StoppingOptions.timestamp(1667318400000L),
+                        SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.defaultValue());
+        assertEquals(expectedSource, actualSource);
+    }
+
+    @Test
+    public void testStoppingOptionsValidation() {
+        // validate the stopping mode without parallel read
         try {
-            final String offsetFile = "mysql-bin.000003";
-            final int offsetPos = 100203;
+            Map<String, String> properties = getAllOptions();
+            properties.put("scan.stop.mode", "timestamp");
+            properties.put("scan.stop.timestamp-millis", "1667318400000");
+
+            createTableSource(properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The option 'scan.stop.mode' is only supported when 'scan.incremental.snapshot.enabled' is enabled")
+                            .isPresent());
+        }
+
+        // validate the missing stopping offset
+        try {
+            Map<String, String> properties = getAllOptions();
+            properties.put("scan.incremental.snapshot.enabled", "true");
+            properties.put("scan.stop.mode", "specific-offset");
+            properties.put("scan.stop.specific-offset.file", "mysql-bin.000005");
+
+            createTableSource(properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The option 'scan.stop.specific-offset.pos' is required for the mode 'specific-offset'")
+                            .isPresent());
+        }
 
+        // validate the invalid stopping mode
+        try {
             Map<String, String> properties = getAllOptions();
-            properties.put("port", "3307");
-            properties.put("server-id", "4321");
-            properties.put("scan.startup.mode", "specific-offset");
-            properties.put("scan.startup.specific-offset.file", offsetFile);
-            properties.put("scan.startup.specific-offset.pos", String.valueOf(offsetPos));
+            properties.put("scan.stop.mode", "abc");
 
             createTableSource(properties);
             fail("exception expected");
@@ -314,7 +626,7 @@ public class MySqlTableSourceFactoryTest {
             assertTrue(
                     ExceptionUtils.findThrowableWithMessage(
                                     t,
-                                    "Unsupported option value 'specific-offset', the options [earliest-offset, specific-offset, timestamp] are not supported correctly, please do not use them until they're correctly supported")
+                                    "Invalid value for option 'scan.stop.mode'. Supported values are [never, specific-offset, timestamp], but was: abc")
                             .isPresent());
         }
     }
@@ -351,7 +663,11 @@ public class MySqlTableSourceFactoryTest {
                         false,
                         new Properties(),
                         HEARTBEAT_INTERVAL.defaultValue(),
-                        null);
+                        null,
+                        SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED.defaultValue(),
+                        StoppingOptions.never(),
+                        SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.defaultValue());
         assertEquals(expectedSource, actualSource);
     }
 
@@ -366,26 +682,50 @@ public class MySqlTableSourceFactoryTest {
             assertTrue(
                     ExceptionUtils.findThrowableWithMessage(
                                     t,
-                                    "Unsupported option value 'earliest-offset', the options [earliest-offset, specific-offset, timestamp] are not supported correctly, please do not use them until they're correctly supported")
+                                    "Unsupported option value 'earliest-offset', the options [earliest-offset] are not supported correctly, please do not use them until they're correctly supported")
                             .isPresent());
         }
     }
 
     @Test
     public void testStartupFromSpecificTimestamp() {
-        try {
-            Map<String, String> properties = getAllOptions();
-            properties.put("scan.startup.mode", "timestamp");
-            properties.put("scan.startup.timestamp-millis", "0");
-            createTableSource(properties);
-            fail("exception expected");
-        } catch (Throwable t) {
-            assertTrue(
-                    ExceptionUtils.findThrowableWithMessage(
-                                    t,
-                                    "Unsupported option value 'timestamp', the options [earliest-offset, specific-offset, timestamp] are not supported correctly, please do not use them until they're correctly supported")
-                            .isPresent());
-        }
+        Map<String, String> properties = getAllOptions();
+        properties.put("scan.startup.mode", "timestamp");
+        properties.put("scan.startup.timestamp-millis", "0");
+
+        // validation for source
+        DynamicTableSource actualSource = createTableSource(properties);
+        MySqlTableSource expectedSource =
+                new MySqlTableSource(
+                        SCHEMA,
+                        3306,
+                        MY_LOCALHOST,
+                        MY_DATABASE,
+                        MY_TABLE,
+                        MY_USERNAME,
+                        MY_PASSWORD,
+                        ZoneId.systemDefault(),
+                        PROPERTIES,
+                        null,
+                        false,
+                        SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE.defaultValue(),
+                        CHUNK_META_GROUP_SIZE.defaultValue(),
+                        SCAN_SNAPSHOT_FETCH_SIZE.defaultValue(),
+                        CONNECT_TIMEOUT.defaultValue(),
+                        CONNECT_MAX_RETRIES.defaultValue(),
+                        CONNECTION_POOL_SIZE.defaultValue(),
+                        CHUNK_KEY_EVEN_DISTRIBUTION_FACTOR_UPPER_BOUND.defaultValue(),
+                        CHUNK_KEY_EVEN_DISTRIBUTION_FACTOR_LOWER_BOUND.defaultValue(),
+                        StartupOptions.timestamp(0L),
+                        false,
+                        new Properties(),
+                        HEARTBEAT_INTERVAL.defaultValue(),
+                        null,
+                        SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED.defaultValue(),
+                        StoppingOptions.never(),
+                        SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.defaultValue());
+        assertEquals(expectedSource, actualSource);
     }
 
     @Test
@@ -420,7 +760,11 @@ public class MySqlTableSourceFactoryTest {
                         false,
                         new Properties(),
                         HEARTBEAT_INTERVAL.defaultValue(),
-                        null);
+                        null,
+                        SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED.defaultValue(),
+                        StoppingOptions.never(),
+                        SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.defaultValue());
         assertEquals(expectedSource, actualSource);
     }
 
@@ -461,7 +805,11 @@ public class MySqlTableSourceFactoryTest {
                         false,
                         new Properties(),
                         HEARTBEAT_INTERVAL.defaultValue(),
-                        null);
+                        null,
+                        SCAN_INCREMENTAL_SNAPSHOT_SHARED_BACKFILL_ENABLED.defaultValue(),
+                        SCAN_INCREMENTAL_SNAPSHOT_CONSISTENT_SNAPSHOT_ENABLED.defaultValue(),
+                        StoppingOptions.never(),
+                        SCAN_INCREMENTAL_SNAPSHOT_BACKFILL_SKIP.defaultValue());
         expectedSource.producedDataType = SCHEMA_WITH_METADATA.toSourceRowDataType();
         expectedSource.metadataKeys = Arrays.asList("op_ts", "database_name");
 
@@ -633,7 +981,7 @@ public class MySqlTableSourceFactoryTest {
         } catch (Throwable t) {
             String msg =
                     "Invalid value for option 'scan.startup.mode'. Supported values are "
-                            + "[initial, latest-offset], "
+                            + "[initial, latest-offset, specific-offset, timestamp, snapshot], "
                             + "but was: abc";
             assertTrue(ExceptionUtils.findThrowableWithMessage(t, msg).isPresent());
         }
@@ -22,7 +22,9 @@ import org.apache.flink.streaming.api.functions.source.SourceFunction;
 import com.oceanbase.clogproxy.client.config.ClientConf;
 import com.oceanbase.clogproxy.client.config.ObReaderConfig;
 import com.oceanbase.clogproxy.client.util.ClientIdGenerator;
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseIncrementalSource;
 import com.ververica.cdc.connectors.oceanbase.source.OceanBaseRichSourceFunction;
+import com.ververica.cdc.connectors.oceanbase.table.OceanBaseTableSourceFactory;
 import com.ververica.cdc.connectors.oceanbase.table.StartupMode;
 import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
 import org.apache.commons.lang3.StringUtils;
@@ -35,7 +37,8 @@ import java.time.ZoneOffset;
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
 /**
- * A builder to build a SourceFunction which can read snapshot and continue to consume commit log.
+ * A builder to build a SourceFunction which can read snapshot and continue to consume commit log,
+ * or an {@link OceanBaseIncrementalSource} which reads the snapshot in parallel chunks.
  */
 @PublicEvolving
 public class OceanBaseSource {
@@ -71,6 +74,13 @@ public class OceanBaseSource {
         private String configUrl;
         private String workingMode;
 
+        // incremental snapshot reading config
+        private Integer chunkSize;
+
+        // change event buffer config of the snapshot reading without incremental snapshot
+        private Long changeEventBufferSize;
+        private Long changeEventSpillSize;
+
         private DebeziumDeserializationSchema<T> deserializer;
 
         public Builder<T> startupMode(StartupMode startupMode) {
@@ -163,12 +173,27 @@ public class OceanBaseSource {
             return this;
         }
 
+        public Builder<T> chunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        public Builder<T> changeEventBufferSize(long changeEventBufferSize) {
+            this.changeEventBufferSize = changeEventBufferSize;
+            return this;
+        }
+
+        public Builder<T> changeEventSpillSize(long changeEventSpillSize) {
+            this.changeEventSpillSize = changeEventSpillSize;
+            return this;
+        }
+
         public Builder<T> deserializer(DebeziumDeserializationSchema<T> deserializer) {
             this.deserializer = deserializer;
             return this;
         }
 
-        public SourceFunction<T> build() {
+        private void validate() {
             switch (startupMode) {
                 case INITIAL:
                     checkNotNull(hostname, "hostname shouldn't be null on startup mode 'initial'");
@@ -202,12 +227,23 @@ public class OceanBaseSource {
             if (serverTimeZone == null) {
                 serverTimeZone = "+00:00";
             }
-            ZoneOffset zoneOffset = ZoneId.of(serverTimeZone).getRules().getOffset(Instant.now());
-
             if (connectTimeout == null) {
                 connectTimeout = Duration.ofSeconds(30);
             }
 
+            if (changeEventBufferSize == null) {
+                changeEventBufferSize =
+                        OceanBaseTableSourceFactory.SCAN_CHANGE_EVENT_BUFFER_SIZE
+                                .defaultValue()
+                                .getBytes();
+            }
+            if (changeEventSpillSize == null) {
+                changeEventSpillSize =
+                        OceanBaseTableSourceFactory.SCAN_CHANGE_EVENT_SPILL_SIZE
+                                .defaultValue()
+                                .getBytes();
+            }
+
             if (logProxyClientId == null) {
                 logProxyClientId =
                         String.format(
@@ -216,12 +252,16 @@ public class OceanBaseSource {
                                 Thread.currentThread().getId(),
                                 checkNotNull(tenantName));
             }
-            ClientConf clientConf =
-                    ClientConf.builder()
-                            .clientId(logProxyClientId)
-                            .connectTimeoutMs((int) connectTimeout.toMillis())
-                            .build();
+        }
+
+        private ClientConf getClientConf() {
+            return ClientConf.builder()
+                    .clientId(logProxyClientId)
+                    .connectTimeoutMs((int) connectTimeout.toMillis())
+                    .build();
+        }
 
+        private ObReaderConfig getObReaderConfig() {
             ObReaderConfig obReaderConfig = new ObReaderConfig();
             if (StringUtils.isNotEmpty(rsList)) {
                 obReaderConfig.setRsList(rsList);
@@ -237,6 +277,15 @@ public class OceanBaseSource {
             obReaderConfig.setStartTimestamp(startupTimestamp);
             obReaderConfig.setTimezone(serverTimeZone);
 
+            return obReaderConfig;
+        }
+
+        private ZoneOffset getZoneOffset() {
+            return ZoneId.of(serverTimeZone).getRules().getOffset(Instant.now());
+        }
+
+        public SourceFunction<T> build() {
+            validate();
             return new OceanBaseRichSourceFunction<T>(
                     StartupMode.INITIAL.equals(startupMode),
                     username,
@@ -245,14 +294,46 @@ public class OceanBaseSource {
                     databaseName,
                     tableName,
                     tableList,
-                    zoneOffset,
+                    getZoneOffset(),
+                    connectTimeout,
+                    hostname,
+                    port,
+                    logProxyHost,
+                    logProxyPort,
+                    getClientConf(),
+                    getObReaderConfig(),
+                    changeEventBufferSize,
+                    changeEventSpillSize,
+                    deserializer);
+        }
+
+        /**
+         * Build the {@link OceanBaseIncrementalSource} which reads the snapshot of the tables in
+         * parallel chunks, the chunk size is the number of rows in a chunk.
+         */
+        public OceanBaseIncrementalSource<T> buildIncremental() {
+            validate();
+            return new OceanBaseIncrementalSource<>(
+                    startupMode,
+                    username,
+                    password,
+                    tenantName,
+                    databaseName,
+                    tableName,
+                    tableList,
+                    getZoneOffset(),
                     connectTimeout,
                     hostname,
                     port,
                     logProxyHost,
                     logProxyPort,
-                    clientConf,
-                    obReaderConfig,
+                    getClientConf(),
+                    getObReaderConfig(),
+                    startupTimestamp,
+                    chunkSize == null
+                            ? OceanBaseTableSourceFactory.SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE
+                                    .defaultValue()
+                            : chunkSize,
                     deserializer);
         }
     }
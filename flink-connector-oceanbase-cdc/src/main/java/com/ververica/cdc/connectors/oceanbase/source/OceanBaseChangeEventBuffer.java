@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source;
+
+import org.apache.flink.util.function.ThrowingConsumer;
+
+import com.oceanbase.oms.logmessage.LogMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+
+/**
+ * A FIFO buffer of the change event log messages which are received while the snapshot is read.
+ *
+ * <p>The buffer keeps at most {@code maxMemoryBytes} of log messages in memory, measured by the
+ * size of their raw data. When the budget is exceeded, the following messages are appended to a
+ * spill file in the given spill directories in their raw form and parsed again when the buffer is
+ * flushed. The buffer is
+ * full when the spill file exceeds {@code maxSpillBytes}, the caller should stop receiving the
+ * messages until the buffer can be flushed.
+ */
+public class OceanBaseChangeEventBuffer implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OceanBaseChangeEventBuffer.class);
+
+    private final long maxMemoryBytes;
+    private final long maxSpillBytes;
+    private final File[] spillDirectories;
+
+    private final ArrayDeque<LogMessage> memoryMessages = new ArrayDeque<>();
+    private long memoryBytes;
+
+    private File spillFile;
+    private DataOutputStream spillOutput;
+    private long spilledBytes;
+    private long spilledMessages;
+    private int nextSpillDirectory;
+
+    public OceanBaseChangeEventBuffer(
+            long maxMemoryBytes, long maxSpillBytes, String[] spillDirectories) {
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.maxSpillBytes = maxSpillBytes;
+        this.spillDirectories = new File[spillDirectories.length];
+        for (int i = 0; i < spillDirectories.length; i++) {
+            this.spillDirectories[i] = new File(spillDirectories[i]);
+        }
+    }
+
+    public void add(LogMessage message) throws IOException {
+        final byte[] rawData = message.getRawData();
+        if (spillOutput == null && memoryBytes + rawData.length <= maxMemoryBytes) {
+            memoryMessages.add(message);
+            memoryBytes += rawData.length;
+            return;
+        }
+        if (spillOutput == null) {
+            final File spillDirectory = spillDirectories[nextSpillDirectory];
+            nextSpillDirectory = (nextSpillDirectory + 1) % spillDirectories.length;
+            spillFile = File.createTempFile("oceanbase-cdc-", ".spill", spillDirectory);
+            spillOutput =
+                    new DataOutputStream(
+                            new BufferedOutputStream(new FileOutputStream(spillFile)));
+            LOG.info(
+                    "The change event buffer exceeds {} bytes, spill the following log messages "
+                            + "to {}.",
+                    maxMemoryBytes,
+                    spillFile);
+        }
+        spillOutput.writeInt(rawData.length);
+        spillOutput.write(rawData);
+        spilledBytes += Integer.BYTES + rawData.length;
+        spilledMessages++;
+    }
+
+    public boolean isEmpty() {
+        return memoryMessages.isEmpty() && spilledMessages == 0;
+    }
+
+    /** Returns true if the spilled log messages exceed the max spill bytes. */
+    public boolean isFull() {
+        return spilledBytes >= maxSpillBytes;
+    }
+
+    /** Releases all the buffered log messages in the order they are added. */
+    public void flush(ThrowingConsumer<LogMessage, Exception> consumer) throws Exception {
+        while (!memoryMessages.isEmpty()) {
+            consumer.accept(memoryMessages.poll());
+        }
+        memoryBytes = 0;
+        if (spillOutput == null) {
+            return;
+        }
+        spillOutput.close();
+        spillOutput = null;
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(new FileInputStream(spillFile)))) {
+            for (long i = 0; i < spilledMessages; i++) {
+                final byte[] rawData = new byte[in.readInt()];
+                in.readFully(rawData);
+                final LogMessage message = new LogMessage(true);
+                message.parse(rawData);
+                consumer.accept(message);
+            }
+        }
+        LOG.info("Flushed {} log messages from the spill file {}.", spilledMessages, spillFile);
+        deleteSpillFile();
+    }
+
+    @Override
+    public void close() {
+        memoryMessages.clear();
+        memoryBytes = 0;
+        if (spillOutput != null) {
+            try {
+                spillOutput.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to close the spill file {}.", spillFile, e);
+            }
+            spillOutput = null;
+        }
+        deleteSpillFile();
+    }
+
+    private void deleteSpillFile() {
+        if (spillFile != null && !spillFile.delete()) {
+            LOG.warn("Failed to delete the spill file {}.", spillFile);
+        }
+        spillFile = null;
+        spilledBytes = 0;
+        spilledMessages = 0;
+    }
+}
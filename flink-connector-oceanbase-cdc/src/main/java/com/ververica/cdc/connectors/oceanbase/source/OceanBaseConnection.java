@@ -19,7 +19,10 @@ package com.ververica.cdc.connectors.oceanbase.source;
 import io.debezium.config.Configuration;
 import io.debezium.jdbc.JdbcConnection;
 
+import java.sql.SQLException;
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
 
 /** {@link JdbcConnection} extension to be used with OceanBase server. */
 public class OceanBaseConnection extends JdbcConnection {
@@ -52,4 +55,36 @@ public class OceanBaseConnection extends JdbcConnection {
     public static JdbcConnection.ConnectionFactory factory(ClassLoader classLoader) {
         return JdbcConnection.patternBasedFactory(URL_PATTERN, DRIVER_CLASS_NAME, classLoader);
     }
+
+    /**
+     * Lists the full names of the base tables which match the regular expressions of the database
+     * name and the table name, the names are in format "database.table".
+     */
+    public Set<String> listTables(String databaseName, String tableName) throws SQLException {
+        final Set<String> tables = new HashSet<>();
+        query(
+                String.format(
+                        "SELECT TABLE_SCHEMA, TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+                                + "WHERE TABLE_TYPE='BASE TABLE' and TABLE_SCHEMA REGEXP '%s' "
+                                + "and TABLE_NAME REGEXP '%s'",
+                        databaseName, tableName),
+                rs -> {
+                    while (rs.next()) {
+                        tables.add(String.format("%s.%s", rs.getString(1), rs.getString(2)));
+                    }
+                });
+        return tables;
+    }
+
+    /** Returns the current timestamp of the database server in seconds. */
+    public long getCurrentTimestamp() throws SQLException {
+        return queryAndMap(
+                "SELECT UNIX_TIMESTAMP()",
+                rs -> {
+                    if (!rs.next()) {
+                        throw new SQLException("Failed to query the current timestamp");
+                    }
+                    return rs.getLong(1);
+                });
+    }
 }
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.connector.source.Boundedness;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.oceanbase.clogproxy.client.config.ClientConf;
+import com.oceanbase.clogproxy.client.config.ObReaderConfig;
+import com.ververica.cdc.connectors.oceanbase.source.enumerator.OceanBaseSourceEnumState;
+import com.ververica.cdc.connectors.oceanbase.source.enumerator.OceanBaseSourceEnumStateSerializer;
+import com.ververica.cdc.connectors.oceanbase.source.enumerator.OceanBaseSourceEnumerator;
+import com.ververica.cdc.connectors.oceanbase.source.reader.OceanBaseRecordEmitter;
+import com.ververica.cdc.connectors.oceanbase.source.reader.OceanBaseSourceReader;
+import com.ververica.cdc.connectors.oceanbase.source.reader.OceanBaseSplitReader;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSplit;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSplitSerializer;
+import com.ververica.cdc.connectors.oceanbase.table.StartupMode;
+import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The OceanBase CDC Source based on FLIP-27 which reads the snapshot of the tables in parallel and
+ * then continues to read the change events from the log proxy.
+ *
+ * <pre>
+ *     1. The current timestamp of the database is taken before the snapshot is read.
+ *     2. The captured tables are split into chunks of the primary key, the chunks are read by all
+ *        the readers in parallel, and a finished chunk is not read again after failover.
+ *     3. After all the chunks are finished, the change events are read from the timestamp by one
+ *        reader, the changes which happen during the snapshot read are replayed, so the rows are
+ *        eventually consistent with the database.
+ * </pre>
+ *
+ * <p>Use {@link com.ververica.cdc.connectors.oceanbase.OceanBaseSource.Builder#buildIncremental()}
+ * to build the source.
+ *
+ * @param <T> the output type of the source.
+ */
+@Internal
+public class OceanBaseIncrementalSource<T>
+        implements Source<T, OceanBaseSplit, OceanBaseSourceEnumState>, ResultTypeQueryable<T> {
+
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOG = LoggerFactory.getLogger(OceanBaseIncrementalSource.class);
+
+    private final StartupMode startupMode;
+    private final String username;
+    private final String password;
+    private final String tenantName;
+    private final String databaseName;
+    private final String tableName;
+    private final String tableList;
+    private final ZoneOffset zoneOffset;
+    private final Duration connectTimeout;
+    private final String hostname;
+    private final Integer port;
+    private final String logProxyHost;
+    private final int logProxyPort;
+    private final ClientConf logProxyClientConf;
+    private final ObReaderConfig obReaderConfig;
+    private final long startupTimestamp;
+    private final int chunkSize;
+    private final DebeziumDeserializationSchema<T> deserializer;
+
+    public OceanBaseIncrementalSource(
+            StartupMode startupMode,
+            String username,
+            String password,
+            String tenantName,
+            String databaseName,
+            String tableName,
+            String tableList,
+            ZoneOffset zoneOffset,
+            Duration connectTimeout,
+            String hostname,
+            Integer port,
+            String logProxyHost,
+            int logProxyPort,
+            ClientConf logProxyClientConf,
+            ObReaderConfig obReaderConfig,
+            long startupTimestamp,
+            int chunkSize,
+            DebeziumDeserializationSchema<T> deserializer) {
+        this.startupMode = checkNotNull(startupMode);
+        this.username = checkNotNull(username);
+        this.password = checkNotNull(password);
+        this.tenantName = checkNotNull(tenantName);
+        this.databaseName = databaseName;
+        this.tableName = tableName;
+        this.tableList = tableList;
+        this.zoneOffset = checkNotNull(zoneOffset);
+        this.connectTimeout = checkNotNull(connectTimeout);
+        this.hostname = hostname;
+        this.port = port;
+        this.logProxyHost = checkNotNull(logProxyHost);
+        this.logProxyPort = logProxyPort;
+        this.logProxyClientConf = checkNotNull(logProxyClientConf);
+        this.obReaderConfig = checkNotNull(obReaderConfig);
+        this.startupTimestamp = startupTimestamp;
+        this.chunkSize = chunkSize;
+        this.deserializer = checkNotNull(deserializer);
+    }
+
+    @Override
+    public Boundedness getBoundedness() {
+        return Boundedness.CONTINUOUS_UNBOUNDED;
+    }
+
+    @Override
+    public SourceReader<T, OceanBaseSplit> createReader(SourceReaderContext readerContext) {
+        return new OceanBaseSourceReader<>(
+                () ->
+                        new OceanBaseSplitReader(
+                                this::createConnection,
+                                new OceanBaseRecordConverter(tenantName, zoneOffset),
+                                tenantName,
+                                logProxyHost,
+                                logProxyPort,
+                                logProxyClientConf,
+                                obReaderConfig),
+                new OceanBaseRecordEmitter<>(deserializer),
+                readerContext.getConfiguration(),
+                readerContext);
+    }
+
+    @Override
+    public SplitEnumerator<OceanBaseSplit, OceanBaseSourceEnumState> createEnumerator(
+            SplitEnumeratorContext<OceanBaseSplit> enumContext) {
+        final boolean snapshot = StartupMode.INITIAL.equals(startupMode);
+        final List<String> capturedTables;
+        final long startTimestamp;
+        try {
+            if (snapshot) {
+                try (OceanBaseConnection connection = createConnection()) {
+                    // take the timestamp before reading the snapshot
+                    startTimestamp = connection.getCurrentTimestamp();
+                    capturedTables = getCapturedTables(connection);
+                }
+            } else {
+                startTimestamp = startupTimestamp;
+                capturedTables = getCapturedTables(null);
+            }
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException("Failed to create the splits for enumerator", e);
+        }
+        LOG.info("Capture tables {} from timestamp {}", capturedTables, startTimestamp);
+        return new OceanBaseSourceEnumerator(
+                enumContext,
+                this::createConnection,
+                chunkSize,
+                new OceanBaseSourceEnumState(
+                        capturedTables,
+                        snapshot ? capturedTables : Collections.emptyList(),
+                        Collections.emptyList(),
+                        Collections.emptyList(),
+                        Collections.emptyList(),
+                        false,
+                        startTimestamp));
+    }
+
+    /**
+     * Returns the sorted full names of the captured tables, the regular expressions of the
+     * database name and table name are resolved only if the connection is given.
+     */
+    private List<String> getCapturedTables(OceanBaseConnection connection) throws SQLException {
+        final Set<String> tables = new TreeSet<>();
+        if (StringUtils.isNotBlank(tableList)) {
+            for (String s : tableList.split(",")) {
+                if (StringUtils.isNotBlank(s)) {
+                    String[] schema = s.split("\\.");
+                    tables.add(String.format("%s.%s", schema[0].trim(), schema[1].trim()));
+                }
+            }
+        }
+        if (connection != null
+                && StringUtils.isNotBlank(databaseName)
+                && StringUtils.isNotBlank(tableName)) {
+            tables.addAll(connection.listTables(databaseName, tableName));
+        }
+        if (tables.isEmpty()) {
+            throw new FlinkRuntimeException("No valid table found");
+        }
+        return new ArrayList<>(tables);
+    }
+
+    private OceanBaseConnection createConnection() {
+        return new OceanBaseConnection(
+                checkNotNull(hostname, "hostname shouldn't be null on startup mode 'initial'"),
+                checkNotNull(port, "port shouldn't be null on startup mode 'initial'"),
+                username,
+                password,
+                connectTimeout,
+                getClass().getClassLoader());
+    }
+
+    @Override
+    public SplitEnumerator<OceanBaseSplit, OceanBaseSourceEnumState> restoreEnumerator(
+            SplitEnumeratorContext<OceanBaseSplit> enumContext,
+            OceanBaseSourceEnumState checkpoint) {
+        return new OceanBaseSourceEnumerator(
+                enumContext, this::createConnection, chunkSize, checkpoint);
+    }
+
+    @Override
+    public SimpleVersionedSerializer<OceanBaseSplit> getSplitSerializer() {
+        return OceanBaseSplitSerializer.INSTANCE;
+    }
+
+    @Override
+    public SimpleVersionedSerializer<OceanBaseSourceEnumState>
+            getEnumeratorCheckpointSerializer() {
+        return new OceanBaseSourceEnumStateSerializer();
+    }
+
+    @Override
+    public TypeInformation<T> getProducedType() {
+        return deserializer.getProducedType();
+    }
+}
@@ -23,7 +23,6 @@ import io.debezium.jdbc.JdbcValueConverters;
 import io.debezium.jdbc.TemporalPrecisionMode;
 import io.debezium.relational.ValueConverterProvider;
 import io.debezium.util.NumberConversions;
-import org.apache.kafka.connect.data.Schema;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -33,6 +32,8 @@ import java.sql.Date;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.time.Month;
+import java.time.Year;
 import java.time.ZoneOffset;
 import java.util.Arrays;
 
@@ -91,51 +92,315 @@ public class OceanBaseJdbcConverter {
         }
     }
 
-    public static Object getField(
-            Schema.Type schemaType, DataMessage.Record.Field.Type fieldType, ByteString value) {
-        if (value == null) {
-            return null;
-        }
-        int jdbcType = getType(fieldType);
-        switch (jdbcType) {
+    /** Converts the non-null value of a field in the log message. */
+    @FunctionalInterface
+    public interface LogFieldConverter {
+        Object convert(ByteString value);
+    }
+
+    /**
+     * Returns the converter of the fields of given type in the log messages. The numeric and
+     * temporal values are parsed from the bytes directly, the integral values are converted to
+     * {@link Long}, or the decimal string if they exceed the range of long, and should be cast to
+     * the type of the schema field by the caller.
+     */
+    public static LogFieldConverter getLogFieldConverter(DataMessage.Record.Field.Type fieldType) {
+        switch (getType(fieldType)) {
             case Types.NULL:
-                return null;
+                return value -> null;
             case Types.INTEGER:
-                if (schemaType.equals(Schema.Type.INT64)) {
-                    return Long.parseLong(value.toString());
-                }
-                return Integer.parseInt(value.toString());
             case Types.BIGINT:
-                if (schemaType.equals(Schema.Type.STRING)) {
-                    return value.toString();
-                }
-                return Long.parseLong(value.toString());
+                return value -> parseIntegral(value.getBytes());
             case Types.DOUBLE:
-                return Double.parseDouble(value.toString());
+                return value -> {
+                    double d = parseDouble(value.getBytes());
+                    return Double.isNaN(d) ? Double.parseDouble(value.toString()) : d;
+                };
             case Types.DATE:
-                Date date = Date.valueOf(value.toString());
-                return io.debezium.time.Date.toEpochDay(date, null);
+                return value -> {
+                    long epochDay = parseEpochDay(value.getBytes());
+                    if (epochDay != NOT_PARSED) {
+                        return (int) epochDay;
+                    }
+                    Date date = Date.valueOf(value.toString());
+                    return io.debezium.time.Date.toEpochDay(date, null);
+                };
             case Types.TIME:
-                Time time = Time.valueOf(value.toString());
-                return io.debezium.time.MicroTime.toMicroOfDay(time, true);
+                return value -> {
+                    long microOfDay = parseMicroOfDay(value.getBytes());
+                    if (microOfDay != NOT_PARSED) {
+                        return microOfDay;
+                    }
+                    Time time = Time.valueOf(value.toString());
+                    return io.debezium.time.MicroTime.toMicroOfDay(time, true);
+                };
             case Types.TIMESTAMP:
-                Timestamp timestamp = Timestamp.valueOf(value.toString());
-                return io.debezium.time.MicroTimestamp.toEpochMicros(timestamp, null);
+                return value -> {
+                    long epochMicros = parseEpochMicros(value.getBytes());
+                    if (epochMicros != NOT_PARSED) {
+                        return epochMicros;
+                    }
+                    Timestamp timestamp = Timestamp.valueOf(value.toString());
+                    return io.debezium.time.MicroTimestamp.toEpochMicros(timestamp, null);
+                };
             case Types.BIT:
-                long v = Long.parseLong(value.toString());
-                byte[] bytes = ByteBuffer.allocate(8).putLong(v).array();
-                int i = 0;
-                while (bytes[i] == 0 && i < Long.BYTES - 1) {
-                    i++;
-                }
-                return Arrays.copyOfRange(bytes, i, Long.BYTES);
+                return value -> {
+                    long v = parseLong(value.getBytes());
+                    byte[] bytes = ByteBuffer.allocate(8).putLong(v).array();
+                    int i = 0;
+                    while (bytes[i] == 0 && i < Long.BYTES - 1) {
+                        i++;
+                    }
+                    return Arrays.copyOfRange(bytes, i, Long.BYTES);
+                };
             case Types.BINARY:
-                return ByteBuffer.wrap(value.toString().getBytes(StandardCharsets.UTF_8));
+                return value -> ByteBuffer.wrap(value.getBytes());
             default:
-                return value.toString(StandardCharsets.UTF_8.toString());
+                return value -> value.toString(StandardCharsets.UTF_8.toString());
         }
     }
 
+    // --------------------------------------------------------------------------------------------
+    // Parsers of the values in log messages
+    // --------------------------------------------------------------------------------------------
+
+    /** Returned by the parsers if the value is not in the expected format. */
+    static final long NOT_PARSED = Long.MIN_VALUE;
+
+    private static final byte[] LONG_MAX_DIGITS =
+            "9223372036854775807".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LONG_MIN_DIGITS =
+            "9223372036854775808".getBytes(StandardCharsets.US_ASCII);
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+        1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+
+    private static final long DAYS_0000_TO_1970 = 719528L;
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final long SECONDS_PER_DAY = 86400L;
+
+    /**
+     * Parses the decimal integer, returns a {@link Long} if it's in the range of long, otherwise
+     * returns the decimal string.
+     */
+    static Object parseIntegral(byte[] bytes) {
+        if (fitsLong(bytes)) {
+            return parseLong(bytes);
+        }
+        String value = new String(bytes, StandardCharsets.US_ASCII);
+        // throws NumberFormatException if it's not an integer
+        return new BigInteger(value).toString();
+    }
+
+    /** Parses the decimal integer in the same way as {@link Long#parseLong(String)}. */
+    static long parseLong(byte[] bytes) {
+        int len = bytes.length;
+        int i = 0;
+        boolean negative = false;
+        if (len > 0 && (bytes[0] == '-' || bytes[0] == '+')) {
+            negative = bytes[0] == '-';
+            i++;
+        }
+        if (i == len) {
+            throw numberFormatException(bytes);
+        }
+        // accumulate negatively to reach Long.MIN_VALUE
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyMin = limit / 10;
+        long result = 0;
+        for (; i < len; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9 || result < multiplyMin) {
+                throw numberFormatException(bytes);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw numberFormatException(bytes);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /** Returns false only if the bytes is a decimal integer out of the range of long. */
+    private static boolean fitsLong(byte[] bytes) {
+        int start = 0;
+        boolean negative = false;
+        if (bytes.length > 0 && (bytes[0] == '-' || bytes[0] == '+')) {
+            negative = bytes[0] == '-';
+            start++;
+        }
+        while (start < bytes.length - 1 && bytes[start] == '0') {
+            start++;
+        }
+        byte[] limit = negative ? LONG_MIN_DIGITS : LONG_MAX_DIGITS;
+        int digits = bytes.length - start;
+        if (digits != limit.length) {
+            return digits < limit.length;
+        }
+        for (int i = 0; i < digits; i++) {
+            if (bytes[start + i] != limit[i]) {
+                return bytes[start + i] < limit[i];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the plain decimal number which has at most 15 significant digits and 22 fraction
+     * digits, the result is exact in this case. Returns {@link Double#NaN} for other formats, which
+     * should be parsed by {@link Double#parseDouble(String)}.
+     */
+    static double parseDouble(byte[] bytes) {
+        int len = bytes.length;
+        int i = 0;
+        boolean negative = false;
+        if (len > 0 && (bytes[0] == '-' || bytes[0] == '+')) {
+            negative = bytes[0] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int significantDigits = 0;
+        int scale = -1;
+        boolean hasDigit = false;
+        for (; i < len; i++) {
+            if (bytes[i] == '.') {
+                if (scale >= 0) {
+                    return Double.NaN;
+                }
+                scale = 0;
+                continue;
+            }
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Double.NaN;
+            }
+            hasDigit = true;
+            if (mantissa != 0 || digit != 0) {
+                if (++significantDigits > MAX_EXACT_DOUBLE_DIGITS) {
+                    return Double.NaN;
+                }
+            }
+            mantissa = mantissa * 10 + digit;
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+        if (!hasDigit || scale >= POWERS_OF_TEN.length) {
+            return Double.NaN;
+        }
+        double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -value : value;
+    }
+
+    /** Parses the date in format 'yyyy-MM-dd' to the epoch day. */
+    static long parseEpochDay(byte[] bytes) {
+        if (bytes.length != 10) {
+            return NOT_PARSED;
+        }
+        return parseEpochDay(bytes, 0);
+    }
+
+    /** Parses the time in format 'HH:mm:ss' to the micro of day. */
+    static long parseMicroOfDay(byte[] bytes) {
+        if (bytes.length != 8) {
+            return NOT_PARSED;
+        }
+        long secondOfDay = parseSecondOfDay(bytes, 0);
+        return secondOfDay == NOT_PARSED ? NOT_PARSED : secondOfDay * MICROS_PER_SECOND;
+    }
+
+    /**
+     * Parses the timestamp in format 'yyyy-MM-dd HH:mm:ss[.fffffffff]' to the epoch micros, the
+     * timestamp is treated as in UTC like {@link io.debezium.time.MicroTimestamp}.
+     */
+    static long parseEpochMicros(byte[] bytes) {
+        int len = bytes.length;
+        if (len < 19 || bytes[10] != ' ' || len == 20 || len > 29) {
+            return NOT_PARSED;
+        }
+        long epochDay = parseEpochDay(bytes, 0);
+        long secondOfDay = parseSecondOfDay(bytes, 11);
+        if (epochDay == NOT_PARSED || secondOfDay == NOT_PARSED) {
+            return NOT_PARSED;
+        }
+        long micros = 0;
+        if (len > 19) {
+            if (bytes[19] != '.') {
+                return NOT_PARSED;
+            }
+            int fraction = parseDigits(bytes, 20, len - 20);
+            if (fraction < 0) {
+                return NOT_PARSED;
+            }
+            // pad the fraction to 9 digits of nanos
+            for (int i = len - 20; i < 9; i++) {
+                fraction *= 10;
+            }
+            micros = fraction / 1000;
+        }
+        return (epochDay * SECONDS_PER_DAY + secondOfDay) * MICROS_PER_SECOND + micros;
+    }
+
+    private static long parseEpochDay(byte[] bytes, int offset) {
+        if (bytes[offset + 4] != '-' || bytes[offset + 7] != '-') {
+            return NOT_PARSED;
+        }
+        int year = parseDigits(bytes, offset, 4);
+        int month = parseDigits(bytes, offset + 5, 2);
+        int day = parseDigits(bytes, offset + 8, 2);
+        // leave the year before 1 and the invalid dates to the lenient java.sql parsers
+        if (year < 1 || month < 1 || month > 12 || day < 1) {
+            return NOT_PARSED;
+        }
+        boolean leapYear = Year.isLeap(year);
+        if (day > Month.of(month).length(leapYear)) {
+            return NOT_PARSED;
+        }
+        // same as java.time.LocalDate#toEpochDay
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total -= leapYear ? 1 : 2;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static long parseSecondOfDay(byte[] bytes, int offset) {
+        if (bytes[offset + 2] != ':' || bytes[offset + 5] != ':') {
+            return NOT_PARSED;
+        }
+        int hour = parseDigits(bytes, offset, 2);
+        int minute = parseDigits(bytes, offset + 3, 2);
+        int second = parseDigits(bytes, offset + 6, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return NOT_PARSED;
+        }
+        return hour * 3600L + minute * 60L + second;
+    }
+
+    /** Parses the non-negative decimal digits, returns -1 if there is a non-digit byte. */
+    private static int parseDigits(byte[] bytes, int offset, int length) {
+        int result = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private static NumberFormatException numberFormatException(byte[] bytes) {
+        return new NumberFormatException(
+                "For input string: \"" + new String(bytes, StandardCharsets.US_ASCII) + "\"");
+    }
+
     private static boolean isBoolean(int jdbcType, String typeName) {
         return jdbcType == Types.BOOLEAN || (jdbcType == Types.BIT && "TINYINT".equals(typeName));
     }
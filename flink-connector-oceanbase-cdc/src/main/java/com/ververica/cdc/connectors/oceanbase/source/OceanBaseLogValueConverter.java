@@ -0,0 +1,218 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source;
+
+import com.oceanbase.oms.logmessage.ByteString;
+import com.oceanbase.oms.logmessage.DataMessage;
+import io.debezium.relational.TableSchema;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts the fields of the log messages of a table into the value structs.
+ *
+ * <p>A converter is created for one version of the table schema and the field layout of the log
+ * messages, the schema field and the value converter of every field position are resolved once, so
+ * the fields of the log messages are converted by position without looking up the schema by name.
+ * The values are parsed by {@link #parse(List)} before they are put into the struct, if an integral
+ * value exceeds the range of its schema field, the schema should be widened by {@link
+ * #widen(String, Object[][])} before the struct is created.
+ */
+public class OceanBaseLogValueConverter {
+
+    private final TableSchema tableSchema;
+    private final int schemaVersion;
+    private final String[] fieldNames;
+    private final DataMessage.Record.Field.Type[] fieldTypes;
+    private final Field[] schemaFields;
+    private final OceanBaseJdbcConverter.LogFieldConverter[] fieldConverters;
+
+    /** The schema types of the positions of integral fields, or null for other fields. */
+    private final Schema.Type[] integralSchemaTypes;
+
+    private OceanBaseLogValueConverter(
+            TableSchema tableSchema,
+            int schemaVersion,
+            String[] fieldNames,
+            DataMessage.Record.Field.Type[] fieldTypes) {
+        this.tableSchema = tableSchema;
+        this.schemaVersion = schemaVersion;
+        this.fieldNames = fieldNames;
+        this.fieldTypes = fieldTypes;
+        int size = fieldNames.length;
+        this.schemaFields = new Field[size];
+        this.fieldConverters = new OceanBaseJdbcConverter.LogFieldConverter[size];
+        this.integralSchemaTypes = new Schema.Type[size];
+        for (int i = 0; i < size; i++) {
+            schemaFields[i] = tableSchema.valueSchema().field(fieldNames[i]);
+            fieldConverters[i] = OceanBaseJdbcConverter.getLogFieldConverter(fieldTypes[i]);
+            int jdbcType = OceanBaseJdbcConverter.getType(fieldTypes[i]);
+            if (jdbcType == Types.INTEGER || jdbcType == Types.BIGINT) {
+                integralSchemaTypes[i] = schemaFields[i].schema().type();
+            }
+        }
+    }
+
+    /**
+     * Creates the converter of the field layout of the log message, the table schema should contain
+     * all the fields, see {@link #isCompatible(TableSchema, List)}.
+     */
+    public static OceanBaseLogValueConverter create(
+            TableSchema tableSchema, int schemaVersion, List<DataMessage.Record.Field> fieldList) {
+        String[] fieldNames = new String[fieldList.size()];
+        DataMessage.Record.Field.Type[] fieldTypes =
+                new DataMessage.Record.Field.Type[fieldList.size()];
+        for (int i = 0; i < fieldList.size(); i++) {
+            fieldNames[i] = fieldList.get(i).getFieldname();
+            fieldTypes[i] = fieldList.get(i).getType();
+        }
+        return new OceanBaseLogValueConverter(tableSchema, schemaVersion, fieldNames, fieldTypes);
+    }
+
+    public TableSchema getTableSchema() {
+        return tableSchema;
+    }
+
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    /** Returns true if the table schema contains all the fields. */
+    public static boolean isCompatible(
+            TableSchema tableSchema, List<DataMessage.Record.Field> fieldList) {
+        for (DataMessage.Record.Field field : fieldList) {
+            if (tableSchema.valueSchema().field(field.getFieldname()) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns true if the fields have the same names and types at every position. */
+    public boolean matches(List<DataMessage.Record.Field> fieldList) {
+        if (fieldList.size() != fieldNames.length) {
+            return false;
+        }
+        for (int i = 0; i < fieldNames.length; i++) {
+            DataMessage.Record.Field field = fieldList.get(i);
+            // the type of null value may be reported as NULL
+            if (!fieldNames[i].equals(field.getFieldname())
+                    || (field.getValue() != null && fieldTypes[i] != field.getType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Parses the values of the fields which should match this converter. */
+    public Object[] parse(List<DataMessage.Record.Field> fieldList) {
+        Object[] values = new Object[fieldConverters.length];
+        for (int i = 0; i < fieldConverters.length; i++) {
+            ByteString value = fieldList.get(i).getValue();
+            values[i] = value == null ? null : fieldConverters[i].convert(value);
+        }
+        return values;
+    }
+
+    /** Returns true if the parsed integral values are in the range of their schema fields. */
+    public boolean fits(Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (integralSchemaTypes[i] != null
+                    && values[i] != null
+                    && widerType(integralSchemaTypes[i], values[i]) != integralSchemaTypes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the converter of the next schema version in which the integral fields are widened to
+     * hold all the given parsed values, INT32 to INT64 and INT64 to STRING.
+     */
+    public OceanBaseLogValueConverter widen(String topicName, Object[]... valuesList) {
+        Map<String, Schema> widenedFields = new HashMap<>();
+        for (int i = 0; i < integralSchemaTypes.length; i++) {
+            if (integralSchemaTypes[i] == null) {
+                continue;
+            }
+            Schema.Type type = integralSchemaTypes[i];
+            for (Object[] values : valuesList) {
+                if (values[i] != null) {
+                    type = widerType(type, values[i]);
+                }
+            }
+            if (type != integralSchemaTypes[i]) {
+                widenedFields.put(
+                        fieldNames[i],
+                        type == Schema.Type.INT64
+                                ? Schema.OPTIONAL_INT64_SCHEMA
+                                : Schema.OPTIONAL_STRING_SCHEMA);
+            }
+        }
+        TableSchema widenedSchema =
+                OceanBaseTableSchema.widenTableSchema(topicName, tableSchema, widenedFields);
+        return new OceanBaseLogValueConverter(
+                widenedSchema, schemaVersion + 1, fieldNames, fieldTypes);
+    }
+
+    /** Creates the value struct from the parsed values which fit the schema. */
+    public Struct toStruct(Object[] values) {
+        Struct struct = new Struct(tableSchema.valueSchema());
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value != null && integralSchemaTypes[i] != null) {
+                value = castIntegral(integralSchemaTypes[i], value);
+            }
+            struct.put(schemaFields[i], value);
+        }
+        return struct;
+    }
+
+    private static Object castIntegral(Schema.Type schemaType, Object value) {
+        switch (schemaType) {
+            case INT32:
+                return ((Long) value).intValue();
+            case INT64:
+                return value;
+            default:
+                return value.toString();
+        }
+    }
+
+    private static Schema.Type widerType(Schema.Type schemaType, Object value) {
+        if (schemaType == Schema.Type.INT32) {
+            if (value instanceof String) {
+                return Schema.Type.STRING;
+            }
+            long v = (Long) value;
+            return v < Integer.MIN_VALUE || v > Integer.MAX_VALUE
+                    ? Schema.Type.INT64
+                    : Schema.Type.INT32;
+        }
+        if (schemaType == Schema.Type.INT64 && value instanceof String) {
+            return Schema.Type.STRING;
+        }
+        return schemaType;
+    }
+}
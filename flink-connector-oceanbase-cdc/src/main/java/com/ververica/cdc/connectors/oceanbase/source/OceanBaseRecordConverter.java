@@ -0,0 +1,301 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source;
+
+import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.function.ThrowingConsumer;
+
+import com.mysql.jdbc.ResultSetMetaData;
+import com.oceanbase.oms.logmessage.DataMessage;
+import com.oceanbase.oms.logmessage.LogMessage;
+import io.debezium.data.Envelope;
+import io.debezium.relational.TableSchema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts the snapshot rows and the log messages of OceanBase into {@link SourceRecord}s, the
+ * table schemas are created from the first row or message of the tables and cached by the topic.
+ * The log messages are converted by the {@link OceanBaseLogValueConverter} of the table.
+ */
+public class OceanBaseRecordConverter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OceanBaseRecordConverter.class);
+
+    private final String tenantName;
+    private final ZoneOffset zoneOffset;
+    private final Map<String, TableSchema> tableSchemaMap = new ConcurrentHashMap<>();
+    private final Map<String, OceanBaseLogValueConverter> logValueConverters =
+            new ConcurrentHashMap<>();
+
+    public OceanBaseRecordConverter(String tenantName, ZoneOffset zoneOffset) {
+        this.tenantName = tenantName;
+        this.zoneOffset = zoneOffset;
+    }
+
+    /**
+     * Converts the rows of the result set which are selected from the table, the records are
+     * passed to the given consumer one by one.
+     */
+    public void readSnapshotRecords(
+            String databaseName,
+            String tableName,
+            ResultSet rs,
+            long timestamp,
+            ThrowingConsumer<SourceRecord, Exception> consumer)
+            throws SQLException {
+        String topicName = getDefaultTopicName(tenantName, databaseName, tableName);
+        Map<String, String> partition = getSourcePartition(tenantName, databaseName, tableName);
+        // the offset here is useless
+        Map<String, Object> offset = getSourceOffset(timestamp);
+
+        ResultSetMetaData metaData = (ResultSetMetaData) rs.getMetaData();
+        String[] columnNames = new String[metaData.getColumnCount()];
+        int[] jdbcTypes = new int[metaData.getColumnCount()];
+        for (int i = 0; i < metaData.getColumnCount(); i++) {
+            columnNames[i] = metaData.getColumnName(i + 1);
+            jdbcTypes[i] =
+                    OceanBaseJdbcConverter.getType(
+                            metaData.getColumnType(i + 1), metaData.getColumnTypeName(i + 1));
+        }
+
+        TableSchema tableSchema = tableSchemaMap.get(topicName);
+        if (tableSchema == null) {
+            tableSchema =
+                    OceanBaseTableSchema.getTableSchema(
+                            topicName, databaseName, tableName, columnNames, jdbcTypes, zoneOffset);
+            tableSchemaMap.put(topicName, tableSchema);
+        }
+
+        Struct source =
+                OceanBaseSchemaUtils.sourceStruct(tenantName, databaseName, tableName, null, null);
+
+        while (rs.next()) {
+            Struct value = new Struct(tableSchema.valueSchema());
+            for (int i = 0; i < metaData.getColumnCount(); i++) {
+                value.put(
+                        columnNames[i],
+                        OceanBaseJdbcConverter.getField(jdbcTypes[i], rs.getObject(i + 1)));
+            }
+            Struct struct = tableSchema.getEnvelopeSchema().create(value, source, null);
+            try {
+                consumer.accept(
+                        new SourceRecord(
+                                partition,
+                                offset,
+                                topicName,
+                                null,
+                                null,
+                                null,
+                                struct.schema(),
+                                struct));
+            } catch (Exception e) {
+                LOG.error("Deserialize snapshot record failed ", e);
+                throw new FlinkRuntimeException(e);
+            }
+        }
+    }
+
+    /** Converts the INSERT, UPDATE or DELETE log message. */
+    public SourceRecord getRecordFromLogMessage(LogMessage message) {
+        String databaseName = getDbName(message.getDbName());
+        String tableName = message.getTableName();
+        String topicName = getDefaultTopicName(tenantName, databaseName, tableName);
+
+        List<DataMessage.Record.Field> beforeFields = null;
+        List<DataMessage.Record.Field> afterFields = null;
+        switch (message.getOpt()) {
+            case INSERT:
+                afterFields = message.getFieldList();
+                break;
+            case UPDATE:
+                beforeFields = new ArrayList<>();
+                afterFields = new ArrayList<>();
+                for (DataMessage.Record.Field field : message.getFieldList()) {
+                    if (field.isPrev()) {
+                        beforeFields.add(field);
+                    } else {
+                        afterFields.add(field);
+                    }
+                }
+                break;
+            case DELETE:
+                beforeFields = message.getFieldList();
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported dml type: " + message.getOpt());
+        }
+
+        OceanBaseLogValueConverter converter =
+                getLogValueConverter(
+                        topicName,
+                        databaseName,
+                        tableName,
+                        afterFields != null ? afterFields : beforeFields);
+        if (beforeFields != null && afterFields != null && !converter.matches(beforeFields)) {
+            throw new IllegalStateException(
+                    "The before and after images of the update message don't match: " + topicName);
+        }
+        // parse all the values first to widen the schema before creating the structs
+        Object[] before = beforeFields == null ? null : converter.parse(beforeFields);
+        Object[] after = afterFields == null ? null : converter.parse(afterFields);
+        if ((before != null && !converter.fits(before))
+                || (after != null && !converter.fits(after))) {
+            converter =
+                    before == null
+                            ? converter.widen(topicName, after)
+                            : after == null
+                                    ? converter.widen(topicName, before)
+                                    : converter.widen(topicName, before, after);
+            LOG.info(
+                    "Widen the schema of {} to version {}: {}",
+                    topicName,
+                    converter.getSchemaVersion(),
+                    converter.getTableSchema().valueSchema().fields());
+            logValueConverters.put(topicName, converter);
+            tableSchemaMap.put(topicName, converter.getTableSchema());
+        }
+
+        Struct source =
+                OceanBaseSchemaUtils.sourceStruct(
+                        tenantName,
+                        databaseName,
+                        tableName,
+                        String.valueOf(getCheckpointTimestamp(message)),
+                        message.getOB10UniqueId());
+        Envelope envelope = converter.getTableSchema().getEnvelopeSchema();
+        Struct struct;
+        if (before == null) {
+            struct = envelope.create(converter.toStruct(after), source, null);
+        } else if (after == null) {
+            struct = envelope.delete(converter.toStruct(before), source, null);
+        } else {
+            struct =
+                    envelope.update(
+                            converter.toStruct(before), converter.toStruct(after), source, null);
+        }
+        return new SourceRecord(
+                getSourcePartition(tenantName, databaseName, tableName),
+                getSourceOffset(getCheckpointTimestamp(message)),
+                topicName,
+                null,
+                null,
+                null,
+                struct.schema(),
+                struct);
+    }
+
+    /**
+     * Returns the converter of the field layout of the table. The converter is created when the
+     * table is met the first time, or the layout of the fields is changed, e.g. by a DDL, and the
+     * table schema is recreated from the log message if it doesn't contain all the fields.
+     */
+    private OceanBaseLogValueConverter getLogValueConverter(
+            String topicName,
+            String databaseName,
+            String tableName,
+            List<DataMessage.Record.Field> fieldList) {
+        OceanBaseLogValueConverter converter = logValueConverters.get(topicName);
+        TableSchema tableSchema = tableSchemaMap.get(topicName);
+        if (converter != null
+                && converter.getTableSchema() == tableSchema
+                && converter.matches(fieldList)) {
+            return converter;
+        }
+
+        int schemaVersion = converter == null ? 0 : converter.getSchemaVersion() + 1;
+        if (tableSchema == null
+                || !OceanBaseLogValueConverter.isCompatible(tableSchema, fieldList)) {
+            String[] columnNames = new String[fieldList.size()];
+            int[] jdbcTypes = new int[fieldList.size()];
+            for (int i = 0; i < fieldList.size(); i++) {
+                columnNames[i] = fieldList.get(i).getFieldname();
+                jdbcTypes[i] = OceanBaseJdbcConverter.getType(fieldList.get(i).getType());
+            }
+            tableSchema =
+                    OceanBaseTableSchema.getTableSchema(
+                            topicName, databaseName, tableName, columnNames, jdbcTypes, zoneOffset);
+            tableSchemaMap.put(topicName, tableSchema);
+        }
+        converter = OceanBaseLogValueConverter.create(tableSchema, schemaVersion, fieldList);
+        LOG.info(
+                "Create the log value converter of {} with schema version {}",
+                topicName,
+                schemaVersion);
+        logValueConverters.put(topicName, converter);
+        return converter;
+    }
+
+    private String getDbName(String origin) {
+        if (origin == null) {
+            return null;
+        }
+        return origin.replace(tenantName + ".", "");
+    }
+
+    private String getDefaultTopicName(String tenantName, String databaseName, String tableName) {
+        return String.format("%s.%s.%s", tenantName, databaseName, tableName);
+    }
+
+    private Map<String, String> getSourcePartition(
+            String tenantName, String databaseName, String tableName) {
+        Map<String, String> sourcePartition = new HashMap<>();
+        sourcePartition.put("tenant", tenantName);
+        sourcePartition.put("database", databaseName);
+        sourcePartition.put("table", tableName);
+        return sourcePartition;
+    }
+
+    private Map<String, Object> getSourceOffset(long timestamp) {
+        Map<String, Object> sourceOffset = new HashMap<>();
+        sourceOffset.put("timestamp", timestamp);
+        return sourceOffset;
+    }
+
+    /**
+     * Get log message checkpoint timestamp in seconds. Refer to 'globalSafeTimestamp' in {@link
+     * LogMessage}.
+     *
+     * @param message Log message.
+     * @return Timestamp in seconds.
+     */
+    public static long getCheckpointTimestamp(LogMessage message) {
+        long timestamp = -1;
+        try {
+            if (DataMessage.Record.Type.HEARTBEAT.equals(message.getOpt())) {
+                timestamp = Long.parseLong(message.getTimestamp());
+            } else {
+                timestamp = message.getFileNameOffset();
+            }
+        } catch (Throwable t) {
+            LOG.error("Failed to get checkpoint from log message", t);
+        }
+        return timestamp;
+    }
+}
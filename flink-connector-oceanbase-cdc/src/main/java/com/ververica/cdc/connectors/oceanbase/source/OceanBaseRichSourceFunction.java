@@ -27,37 +27,27 @@ import org.apache.flink.runtime.state.FunctionInitializationContext;
 import org.apache.flink.runtime.state.FunctionSnapshotContext;
 import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
 import org.apache.flink.streaming.api.functions.source.RichSourceFunction;
+import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 import org.apache.flink.util.Collector;
 import org.apache.flink.util.FlinkRuntimeException;
 
-import com.mysql.jdbc.ResultSetMetaData;
 import com.oceanbase.clogproxy.client.LogProxyClient;
 import com.oceanbase.clogproxy.client.config.ClientConf;
 import com.oceanbase.clogproxy.client.config.ObReaderConfig;
 import com.oceanbase.clogproxy.client.exception.LogProxyClientException;
 import com.oceanbase.clogproxy.client.listener.RecordListener;
-import com.oceanbase.oms.logmessage.DataMessage;
 import com.oceanbase.oms.logmessage.LogMessage;
 import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
-import io.debezium.relational.TableSchema;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.Struct;
-import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -94,13 +84,16 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
     private final int logProxyPort;
     private final ClientConf logProxyClientConf;
     private final ObReaderConfig obReaderConfig;
+    private final long changeEventBufferSize;
+    private final long changeEventSpillSize;
     private final DebeziumDeserializationSchema<T> deserializer;
 
     private final AtomicBoolean snapshotCompleted = new AtomicBoolean(false);
-    private final List<LogMessage> logMessageBuffer = new LinkedList<>();
 
     private transient Set<String> tableSet;
-    private transient Map<String, TableSchema> tableSchemaMap;
+    private transient OceanBaseChangeEventBuffer changeEventBuffer;
+    private transient volatile boolean cancelled;
+    private transient OceanBaseRecordConverter recordConverter;
     private transient volatile long resolvedTimestamp;
     private transient volatile OceanBaseConnection snapshotConnection;
     private transient LogProxyClient logProxyClient;
@@ -123,6 +116,8 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
             int logProxyPort,
             ClientConf logProxyClientConf,
             ObReaderConfig obReaderConfig,
+            long changeEventBufferSize,
+            long changeEventSpillSize,
             DebeziumDeserializationSchema<T> deserializer) {
         this.snapshot = checkNotNull(snapshot);
         this.username = checkNotNull(username);
@@ -139,6 +134,8 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
         this.logProxyPort = checkNotNull(logProxyPort);
         this.logProxyClientConf = checkNotNull(logProxyClientConf);
         this.obReaderConfig = checkNotNull(obReaderConfig);
+        this.changeEventBufferSize = changeEventBufferSize;
+        this.changeEventSpillSize = changeEventSpillSize;
         this.deserializer = checkNotNull(deserializer);
     }
 
@@ -146,7 +143,14 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
     public void open(final Configuration config) throws Exception {
         super.open(config);
         this.outputCollector = new OutputCollector<>();
-        this.tableSchemaMap = new ConcurrentHashMap<>();
+        this.recordConverter = new OceanBaseRecordConverter(tenantName, zoneOffset);
+        this.changeEventBuffer =
+                new OceanBaseChangeEventBuffer(
+                        changeEventBufferSize,
+                        changeEventSpillSize,
+                        ((StreamingRuntimeContext) getRuntimeContext())
+                                .getTaskManagerRuntimeInfo()
+                                .getTmpDirectories());
         this.resolvedTimestamp = -1;
     }
 
@@ -221,21 +225,7 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
                 && StringUtils.isNotBlank(databaseName)
                 && StringUtils.isNotBlank(tableName)) {
             try {
-                String sql =
-                        String.format(
-                                "SELECT TABLE_SCHEMA, TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
-                                        + "WHERE TABLE_TYPE='BASE TABLE' and TABLE_SCHEMA REGEXP '%s' and TABLE_NAME REGEXP '%s'",
-                                databaseName, tableName);
-                getSnapshotConnection()
-                        .query(
-                                sql,
-                                rs -> {
-                                    while (rs.next()) {
-                                        localTableSet.add(
-                                                String.format(
-                                                        "%s.%s", rs.getString(1), rs.getString(2)));
-                                    }
-                                });
+                localTableSet.addAll(getSnapshotConnection().listTables(databaseName, tableName));
             } catch (SQLException e) {
                 LOG.error("Query database and table name failed", e);
                 throw new FlinkRuntimeException(e);
@@ -259,15 +249,31 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
                     String[] schema = table.split("\\.");
                     readSnapshotFromTable(schema[0], schema[1]);
                 });
-        snapshotCompleted.set(true);
+        synchronized (snapshotCompleted) {
+            snapshotCompleted.set(true);
+            snapshotCompleted.notifyAll();
+        }
     }
 
-    private void readSnapshotFromTable(String databaseName, String tableName) {
-        String topicName = getDefaultTopicName(tenantName, databaseName, tableName);
-        Map<String, String> partition = getSourcePartition(tenantName, databaseName, tableName);
-        // the offset here is useless
-        Map<String, Object> offset = getSourceOffset(resolvedTimestamp);
+    /**
+     * Blocks the log proxy client until the snapshot is completed if the change event buffer is
+     * full, so that the buffered change events are bounded by the spill size.
+     */
+    private void waitForSnapshotIfBufferFull() throws InterruptedException {
+        if (!shouldReadSnapshot() || !changeEventBuffer.isFull()) {
+            return;
+        }
+        synchronized (snapshotCompleted) {
+            if (!snapshotCompleted.get()) {
+                LOG.info("Change event buffer is full, wait for the snapshot to be completed");
+            }
+            while (!snapshotCompleted.get() && !cancelled) {
+                snapshotCompleted.wait(1000L);
+            }
+        }
+    }
 
+    private void readSnapshotFromTable(String databaseName, String tableName) {
         String fullName = String.format("`%s`.`%s`", databaseName, tableName);
         String selectSql = "SELECT * FROM " + fullName;
         try {
@@ -275,65 +281,15 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
             getSnapshotConnection()
                     .query(
                             selectSql,
-                            rs -> {
-                                ResultSetMetaData metaData = (ResultSetMetaData) rs.getMetaData();
-                                String[] columnNames = new String[metaData.getColumnCount()];
-                                int[] jdbcTypes = new int[metaData.getColumnCount()];
-                                for (int i = 0; i < metaData.getColumnCount(); i++) {
-                                    columnNames[i] = metaData.getColumnName(i + 1);
-                                    jdbcTypes[i] =
-                                            OceanBaseJdbcConverter.getType(
-                                                    metaData.getColumnType(i + 1),
-                                                    metaData.getColumnTypeName(i + 1));
-                                }
-
-                                TableSchema tableSchema = tableSchemaMap.get(topicName);
-                                if (tableSchema == null) {
-                                    tableSchema =
-                                            OceanBaseTableSchema.getTableSchema(
-                                                    topicName,
-                                                    databaseName,
-                                                    tableName,
-                                                    columnNames,
-                                                    jdbcTypes,
-                                                    zoneOffset);
-                                    tableSchemaMap.put(topicName, tableSchema);
-                                }
-
-                                Struct source =
-                                        OceanBaseSchemaUtils.sourceStruct(
-                                                tenantName, databaseName, tableName, null, null);
-
-                                while (rs.next()) {
-                                    Struct value = new Struct(tableSchema.valueSchema());
-                                    for (int i = 0; i < metaData.getColumnCount(); i++) {
-                                        value.put(
-                                                columnNames[i],
-                                                OceanBaseJdbcConverter.getField(
-                                                        jdbcTypes[i], rs.getObject(i + 1)));
-                                    }
-                                    Struct struct =
-                                            tableSchema
-                                                    .getEnvelopeSchema()
-                                                    .create(value, source, null);
-                                    try {
-                                        deserializer.deserialize(
-                                                new SourceRecord(
-                                                        partition,
-                                                        offset,
-                                                        topicName,
-                                                        null,
-                                                        null,
-                                                        null,
-                                                        struct.schema(),
-                                                        struct),
-                                                outputCollector);
-                                    } catch (Exception e) {
-                                        LOG.error("Deserialize snapshot record failed ", e);
-                                        throw new FlinkRuntimeException(e);
-                                    }
-                                }
-                            });
+                            rs ->
+                                    recordConverter.readSnapshotRecords(
+                                            databaseName,
+                                            tableName,
+                                            rs,
+                                            resolvedTimestamp,
+                                            record ->
+                                                    deserializer.deserialize(
+                                                            record, outputCollector)));
             LOG.info("Read snapshot from {} finished", fullName);
         } catch (SQLException e) {
             LOG.error("Read snapshot from table " + fullName + " failed", e);
@@ -373,23 +329,34 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
                                 if (!started) {
                                     break;
                                 }
-                                logMessageBuffer.add(message);
+                                try {
+                                    waitForSnapshotIfBufferFull();
+                                    changeEventBuffer.add(message);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                    throw new FlinkRuntimeException(e);
+                                } catch (IOException e) {
+                                    throw new FlinkRuntimeException(
+                                            "Failed to buffer the change event", e);
+                                }
                                 break;
                             case COMMIT:
                                 // flush buffer after snapshot completed
                                 if (!shouldReadSnapshot() || snapshotCompleted.get()) {
-                                    logMessageBuffer.forEach(
-                                            msg -> {
-                                                try {
-                                                    deserializer.deserialize(
-                                                            getRecordFromLogMessage(msg),
-                                                            outputCollector);
-                                                } catch (Exception e) {
-                                                    throw new FlinkRuntimeException(e);
-                                                }
-                                            });
-                                    logMessageBuffer.clear();
-                                    long timestamp = getCheckpointTimestamp(message);
+                                    try {
+                                        changeEventBuffer.flush(
+                                                msg ->
+                                                        deserializer.deserialize(
+                                                                recordConverter
+                                                                        .getRecordFromLogMessage(
+                                                                                msg),
+                                                                outputCollector));
+                                    } catch (Exception e) {
+                                        throw new FlinkRuntimeException(e);
+                                    }
+                                    long timestamp =
+                                            OceanBaseRecordConverter.getCheckpointTimestamp(
+                                                    message);
                                     if (timestamp > resolvedTimestamp) {
                                         resolvedTimestamp = timestamp;
                                     }
@@ -422,170 +389,10 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
         LOG.info("LogProxyClient packet processing started");
     }
 
-    private SourceRecord getRecordFromLogMessage(LogMessage message) {
-        String databaseName = getDbName(message.getDbName());
-        String topicName = getDefaultTopicName(tenantName, databaseName, message.getTableName());
-
-        if (tableSchemaMap.get(topicName) == null) {
-            String[] columnNames = new String[message.getFieldCount()];
-            int[] jdbcTypes = new int[message.getFieldCount()];
-            int i = 0;
-            for (DataMessage.Record.Field field : message.getFieldList()) {
-                if (message.getOpt() == DataMessage.Record.Type.UPDATE && field.isPrev()) {
-                    continue;
-                }
-                columnNames[i] = field.getFieldname();
-                jdbcTypes[i] = OceanBaseJdbcConverter.getType(field.getType());
-                i++;
-            }
-            TableSchema tableSchema =
-                    OceanBaseTableSchema.getTableSchema(
-                            topicName,
-                            databaseName,
-                            message.getTableName(),
-                            columnNames,
-                            jdbcTypes,
-                            zoneOffset);
-            tableSchemaMap.put(topicName, tableSchema);
-        }
-
-        Struct source =
-                OceanBaseSchemaUtils.sourceStruct(
-                        tenantName,
-                        databaseName,
-                        message.getTableName(),
-                        String.valueOf(getCheckpointTimestamp(message)),
-                        message.getOB10UniqueId());
-        Struct struct;
-        switch (message.getOpt()) {
-            case INSERT:
-                Struct after = getLogValueStruct(topicName, message.getFieldList());
-                struct =
-                        tableSchemaMap
-                                .get(topicName)
-                                .getEnvelopeSchema()
-                                .create(after, source, null);
-                break;
-            case UPDATE:
-                List<DataMessage.Record.Field> beforeFields = new ArrayList<>();
-                List<DataMessage.Record.Field> afterFields = new ArrayList<>();
-                for (DataMessage.Record.Field field : message.getFieldList()) {
-                    if (field.isPrev()) {
-                        beforeFields.add(field);
-                    } else {
-                        afterFields.add(field);
-                    }
-                }
-                after = getLogValueStruct(topicName, afterFields);
-                Struct before = getLogValueStruct(topicName, beforeFields);
-                struct =
-                        tableSchemaMap
-                                .get(topicName)
-                                .getEnvelopeSchema()
-                                .update(before, after, source, null);
-                break;
-            case DELETE:
-                before = getLogValueStruct(topicName, message.getFieldList());
-                struct =
-                        tableSchemaMap
-                                .get(topicName)
-                                .getEnvelopeSchema()
-                                .delete(before, source, null);
-                break;
-            default:
-                throw new UnsupportedOperationException(
-                        "Unsupported dml type: " + message.getOpt());
-        }
-        return new SourceRecord(
-                getSourcePartition(tenantName, databaseName, message.getTableName()),
-                getSourceOffset(getCheckpointTimestamp(message)),
-                topicName,
-                null,
-                null,
-                null,
-                struct.schema(),
-                struct);
-    }
-
     private boolean shouldReadSnapshot() {
         return resolvedTimestamp == -1 && snapshot;
     }
 
-    private String getDbName(String origin) {
-        if (origin == null) {
-            return null;
-        }
-        return origin.replace(tenantName + ".", "");
-    }
-
-    private String getDefaultTopicName(String tenantName, String databaseName, String tableName) {
-        return String.format("%s.%s.%s", tenantName, databaseName, tableName);
-    }
-
-    private Map<String, String> getSourcePartition(
-            String tenantName, String databaseName, String tableName) {
-        Map<String, String> sourcePartition = new HashMap<>();
-        sourcePartition.put("tenant", tenantName);
-        sourcePartition.put("database", databaseName);
-        sourcePartition.put("table", tableName);
-        return sourcePartition;
-    }
-
-    private Map<String, Object> getSourceOffset(long timestamp) {
-        Map<String, Object> sourceOffset = new HashMap<>();
-        sourceOffset.put("timestamp", timestamp);
-        return sourceOffset;
-    }
-
-    private Struct getLogValueStruct(String topicName, List<DataMessage.Record.Field> fieldList) {
-        TableSchema tableSchema = tableSchemaMap.get(topicName);
-        Struct value = new Struct(tableSchema.valueSchema());
-        Object fieldValue;
-        for (DataMessage.Record.Field field : fieldList) {
-            try {
-                Schema fieldSchema = tableSchema.valueSchema().field(field.getFieldname()).schema();
-                fieldValue =
-                        OceanBaseJdbcConverter.getField(
-                                fieldSchema.type(), field.getType(), field.getValue());
-                value.put(field.getFieldname(), fieldValue);
-            } catch (NumberFormatException e) {
-                tableSchema =
-                        OceanBaseTableSchema.upcastingTableSchema(
-                                topicName,
-                                tableSchema,
-                                fieldList.stream()
-                                        .collect(
-                                                Collectors.toMap(
-                                                        DataMessage.Record.Field::getFieldname,
-                                                        f -> f.getValue().toString())));
-                tableSchemaMap.put(topicName, tableSchema);
-                return getLogValueStruct(topicName, fieldList);
-            }
-        }
-        return value;
-    }
-
-    /**
-     * Get log message checkpoint timestamp in seconds. Refer to 'globalSafeTimestamp' in {@link
-     * LogMessage}.
-     *
-     * @param message Log message.
-     * @return Timestamp in seconds.
-     */
-    private long getCheckpointTimestamp(LogMessage message) {
-        long timestamp = -1;
-        try {
-            if (DataMessage.Record.Type.HEARTBEAT.equals(message.getOpt())) {
-                timestamp = Long.parseLong(message.getTimestamp());
-            } else {
-                timestamp = message.getFileNameOffset();
-            }
-        } catch (Throwable t) {
-            LOG.error("Failed to get checkpoint from log message", t);
-        }
-        return timestamp;
-    }
-
     @Override
     public void notifyCheckpointComplete(long l) {
         // do nothing
@@ -625,12 +432,21 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
 
     @Override
     public void cancel() {
+        cancelled = true;
         closeSnapshotConnection();
         if (logProxyClient != null) {
             logProxyClient.stop();
         }
     }
 
+    @Override
+    public void close() throws Exception {
+        super.close();
+        if (changeEventBuffer != null) {
+            changeEventBuffer.close();
+        }
+    }
+
     private static class OutputCollector<T> implements Collector<T> {
 
         private SourceContext<T> context;
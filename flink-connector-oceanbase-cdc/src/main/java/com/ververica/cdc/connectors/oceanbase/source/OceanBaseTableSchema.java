@@ -26,10 +26,10 @@ import io.debezium.relational.TableId;
 import io.debezium.relational.TableSchema;
 import io.debezium.relational.TableSchemaBuilder;
 import io.debezium.util.SchemaNameAdjuster;
+import org.apache.kafka.connect.data.Field;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
 
-import java.math.BigInteger;
 import java.sql.Types;
 import java.time.ZoneOffset;
 import java.util.Map;
@@ -83,29 +83,6 @@ public class OceanBaseTableSchema {
                         null);
     }
 
-    public static Schema upcastingSchemaType(Schema schema, String value) {
-        if (schema.type().equals(Schema.Type.INT32) && Long.parseLong(value) > Integer.MAX_VALUE) {
-            return Schema.INT64_SCHEMA;
-        }
-        if (schema.type().equals(Schema.Type.INT64)) {
-            BigInteger bigInt = new BigInteger(value);
-            if (bigInt.compareTo(BigInteger.valueOf(Long.MAX_VALUE)) > 0) {
-                return Schema.STRING_SCHEMA;
-            }
-        }
-        return schema;
-    }
-
-    public static Schema upcastingValueSchema(Schema valueSchema, Map<String, String> fields) {
-        SchemaBuilder schemaBuilder = SchemaBuilder.struct().optional();
-        for (Map.Entry<String, String> entry : fields.entrySet()) {
-            Schema fieldSchema = valueSchema.field(entry.getKey()).schema();
-            fieldSchema = upcastingSchemaType(fieldSchema, entry.getValue());
-            schemaBuilder.field(entry.getKey(), fieldSchema);
-        }
-        return schemaBuilder.build();
-    }
-
     public static Envelope getEnvelope(String name, Schema valueSchema) {
         return Envelope.defineSchema()
                 .withName(name)
@@ -114,15 +91,25 @@ public class OceanBaseTableSchema {
                 .build();
     }
 
-    public static TableSchema upcastingTableSchema(
-            String topicName, TableSchema tableSchema, Map<String, String> fields) {
-        Schema valueSchema = upcastingValueSchema(tableSchema.valueSchema(), fields);
+    /**
+     * Returns a new table schema in which the types of the given fields are replaced by the wider
+     * ones, the other fields and the order of the fields are kept.
+     */
+    public static TableSchema widenTableSchema(
+            String topicName, TableSchema tableSchema, Map<String, Schema> widenedFields) {
+        Schema valueSchema = tableSchema.valueSchema();
+        SchemaBuilder schemaBuilder = SchemaBuilder.struct().name(valueSchema.name()).optional();
+        for (Field field : valueSchema.fields()) {
+            schemaBuilder.field(
+                    field.name(), widenedFields.getOrDefault(field.name(), field.schema()));
+        }
+        Schema widenedValueSchema = schemaBuilder.build();
         return new TableSchema(
                 tableSchema.id(),
                 null,
                 null,
-                getEnvelope(Envelope.schemaName(topicName), valueSchema),
-                valueSchema,
+                getEnvelope(Envelope.schemaName(topicName), widenedValueSchema),
+                widenedValueSchema,
                 null);
     }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.enumerator;
+
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseConnection;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSplit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Splits a table into the chunks of the first primary key column, every chunk contains about
+ * chunk size rows. The bounds of the chunks are queried from the table one by one, so the chunks
+ * are balanced even if the values of the column are not evenly distributed.
+ *
+ * <p>The table without primary key is read by one split.
+ */
+public class OceanBaseChunkSplitter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OceanBaseChunkSplitter.class);
+
+    private final OceanBaseConnection connection;
+    private final int chunkSize;
+
+    public OceanBaseChunkSplitter(OceanBaseConnection connection, int chunkSize) {
+        this.connection = connection;
+        this.chunkSize = chunkSize;
+    }
+
+    /** Splits the table in format "database.table" into the snapshot splits. */
+    public List<OceanBaseSplit> splitChunks(String tableId, long startTimestamp)
+            throws SQLException {
+        final String[] names = tableId.split("\\.", 2);
+        final String quotedTable = quote(names[0]) + "." + quote(names[1]);
+        final String splitColumn = getSplitColumn(names[0], names[1]);
+        final List<OceanBaseSplit> splits = new ArrayList<>();
+        if (splitColumn == null) {
+            LOG.info("Table {} has no primary key, read it with one split", tableId);
+            splits.add(createSplit(tableId, 0, null, null, null, startTimestamp));
+            return splits;
+        }
+
+        final String quotedColumn = quote(splitColumn);
+        final String chunkEndSql =
+                String.format(
+                        "SELECT MAX(%s) FROM "
+                                + "(SELECT %s FROM %s WHERE %s >= ? ORDER BY %s LIMIT %d) T",
+                        quotedColumn,
+                        quotedColumn,
+                        quotedTable,
+                        quotedColumn,
+                        quotedColumn,
+                        chunkSize);
+        final String nextStartSql =
+                String.format(
+                        "SELECT MIN(%s) FROM %s WHERE %s > ?",
+                        quotedColumn, quotedTable, quotedColumn);
+
+        Serializable start =
+                connection.queryAndMap(
+                        String.format("SELECT MIN(%s) FROM %s", quotedColumn, quotedTable),
+                        OceanBaseChunkSplitter::getBound);
+        Serializable lowerBound = null;
+        while (start != null) {
+            final Serializable chunkEnd = queryBound(chunkEndSql, start);
+            final Serializable next = chunkEnd == null ? null : queryBound(nextStartSql, chunkEnd);
+            splits.add(
+                    createSplit(
+                            tableId,
+                            splits.size(),
+                            splitColumn,
+                            lowerBound,
+                            next,
+                            startTimestamp));
+            lowerBound = next;
+            start = next;
+        }
+        if (splits.isEmpty()) {
+            // the table is empty
+            splits.add(createSplit(tableId, 0, splitColumn, null, null, startTimestamp));
+        }
+        LOG.info("Split table {} into {} chunks by column {}", tableId, splits.size(), splitColumn);
+        return splits;
+    }
+
+    /** Returns the first column of the primary key of the table, or null if there's no one. */
+    private String getSplitColumn(String databaseName, String tableName) throws SQLException {
+        final TreeMap<Integer, String> primaryKeys = new TreeMap<>();
+        try (ResultSet rs =
+                connection
+                        .connection()
+                        .getMetaData()
+                        .getPrimaryKeys(databaseName, null, tableName)) {
+            while (rs.next()) {
+                primaryKeys.put(rs.getInt("KEY_SEQ"), rs.getString("COLUMN_NAME"));
+            }
+        }
+        return primaryKeys.isEmpty() ? null : primaryKeys.firstEntry().getValue();
+    }
+
+    private Serializable queryBound(String sql, Serializable value) throws SQLException {
+        return connection.prepareQueryAndMap(
+                sql, ps -> ps.setObject(1, value), OceanBaseChunkSplitter::getBound);
+    }
+
+    private static Serializable getBound(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            return null;
+        }
+        return (Serializable) rs.getObject(1);
+    }
+
+    private static OceanBaseSplit createSplit(
+            String tableId,
+            int chunkId,
+            String splitColumn,
+            Serializable lowerBound,
+            Serializable upperBound,
+            long startTimestamp) {
+        return OceanBaseSplit.snapshotSplit(
+                tableId + ":" + chunkId,
+                tableId,
+                splitColumn,
+                lowerBound,
+                upperBound,
+                startTimestamp);
+    }
+
+    private static String quote(String name) {
+        return "`" + name + "`";
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.enumerator;
+
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSplit;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The state of the {@link OceanBaseSourceEnumerator}.
+ *
+ * <pre>
+ *     1. The captured tables, and the ones which haven't been split into chunks yet.
+ *     2. The splits which haven't been assigned to the readers.
+ *     3. The ids of the snapshot splits which have been assigned, and which have been finished.
+ *     4. Whether the stream split has been created, it's created after all the snapshot splits
+ *        are finished.
+ * </pre>
+ */
+public class OceanBaseSourceEnumState {
+
+    private final List<String> capturedTables;
+    private final List<String> remainingTables;
+    private final List<OceanBaseSplit> remainingSplits;
+    private final List<String> assignedSplitIds;
+    private final List<String> finishedSplitIds;
+    private final boolean streamSplitCreated;
+    private final long startTimestamp;
+
+    public OceanBaseSourceEnumState(
+            List<String> capturedTables,
+            List<String> remainingTables,
+            List<OceanBaseSplit> remainingSplits,
+            List<String> assignedSplitIds,
+            List<String> finishedSplitIds,
+            boolean streamSplitCreated,
+            long startTimestamp) {
+        this.capturedTables = capturedTables;
+        this.remainingTables = remainingTables;
+        this.remainingSplits = remainingSplits;
+        this.assignedSplitIds = assignedSplitIds;
+        this.finishedSplitIds = finishedSplitIds;
+        this.streamSplitCreated = streamSplitCreated;
+        this.startTimestamp = startTimestamp;
+    }
+
+    public List<String> getCapturedTables() {
+        return capturedTables;
+    }
+
+    public List<String> getRemainingTables() {
+        return remainingTables;
+    }
+
+    public List<OceanBaseSplit> getRemainingSplits() {
+        return remainingSplits;
+    }
+
+    public List<String> getAssignedSplitIds() {
+        return assignedSplitIds;
+    }
+
+    public List<String> getFinishedSplitIds() {
+        return finishedSplitIds;
+    }
+
+    public boolean isStreamSplitCreated() {
+        return streamSplitCreated;
+    }
+
+    public long getStartTimestamp() {
+        return startTimestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        OceanBaseSourceEnumState that = (OceanBaseSourceEnumState) o;
+        return streamSplitCreated == that.streamSplitCreated
+                && startTimestamp == that.startTimestamp
+                && Objects.equals(capturedTables, that.capturedTables)
+                && Objects.equals(remainingTables, that.remainingTables)
+                && Objects.equals(remainingSplits, that.remainingSplits)
+                && Objects.equals(assignedSplitIds, that.assignedSplitIds)
+                && Objects.equals(finishedSplitIds, that.finishedSplitIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                capturedTables,
+                remainingTables,
+                remainingSplits,
+                assignedSplitIds,
+                finishedSplitIds,
+                streamSplitCreated,
+                startTimestamp);
+    }
+
+    @Override
+    public String toString() {
+        return "OceanBaseSourceEnumState{"
+                + "remainingTables="
+                + remainingTables
+                + ", remainingSplits="
+                + remainingSplits
+                + ", assignedSplitIds="
+                + assignedSplitIds
+                + ", finishedSplitIds="
+                + finishedSplitIds
+                + ", streamSplitCreated="
+                + streamSplitCreated
+                + ", startTimestamp="
+                + startTimestamp
+                + '}';
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.enumerator;
+
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSplit;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSplitSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** A serializer for the {@link OceanBaseSourceEnumState}. */
+public class OceanBaseSourceEnumStateSerializer
+        implements SimpleVersionedSerializer<OceanBaseSourceEnumState> {
+
+    private static final int VERSION = 1;
+    private static final ThreadLocal<DataOutputSerializer> SERIALIZER_CACHE =
+            ThreadLocal.withInitial(() -> new DataOutputSerializer(64));
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] serialize(OceanBaseSourceEnumState state) throws IOException {
+        final DataOutputSerializer out = SERIALIZER_CACHE.get();
+        writeStrings(state.getCapturedTables(), out);
+        writeStrings(state.getRemainingTables(), out);
+        out.writeInt(state.getRemainingSplits().size());
+        for (OceanBaseSplit split : state.getRemainingSplits()) {
+            OceanBaseSplitSerializer.writeSplit(split, out);
+        }
+        writeStrings(state.getAssignedSplitIds(), out);
+        writeStrings(state.getFinishedSplitIds(), out);
+        out.writeBoolean(state.isStreamSplitCreated());
+        out.writeLong(state.getStartTimestamp());
+        final byte[] result = out.getCopyOfBuffer();
+        out.clear();
+        return result;
+    }
+
+    @Override
+    public OceanBaseSourceEnumState deserialize(int version, byte[] serialized)
+            throws IOException {
+        if (version != VERSION) {
+            throw new IOException("Unknown version: " + version);
+        }
+        final DataInputDeserializer in = new DataInputDeserializer(serialized);
+        final List<String> capturedTables = readStrings(in);
+        final List<String> remainingTables = readStrings(in);
+        final int size = in.readInt();
+        final List<OceanBaseSplit> remainingSplits = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            remainingSplits.add(OceanBaseSplitSerializer.readSplit(in));
+        }
+        final List<String> assignedSplitIds = readStrings(in);
+        final List<String> finishedSplitIds = readStrings(in);
+        final boolean streamSplitCreated = in.readBoolean();
+        final long startTimestamp = in.readLong();
+        return new OceanBaseSourceEnumState(
+                capturedTables,
+                remainingTables,
+                remainingSplits,
+                assignedSplitIds,
+                finishedSplitIds,
+                streamSplitCreated,
+                startTimestamp);
+    }
+
+    private static void writeStrings(List<String> values, DataOutputView out) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputView in) throws IOException {
+        final int size = in.readInt();
+        final List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.enumerator;
+
+import org.apache.flink.api.connector.source.SourceEvent;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseConnection;
+import com.ververica.cdc.connectors.oceanbase.source.events.FinishedSnapshotSplitsEvent;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSplit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The enumerator of the OceanBase source, it splits the captured tables into chunks lazily and
+ * assigns the snapshot splits to the readers on request, so the snapshot is read in parallel by
+ * all the readers. The stream split is created and assigned after all the snapshot splits are
+ * reported finished, it reads the change events from the timestamp which is taken before the
+ * snapshot, so no change is lost between the snapshot and the stream.
+ */
+public class OceanBaseSourceEnumerator
+        implements SplitEnumerator<OceanBaseSplit, OceanBaseSourceEnumState> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OceanBaseSourceEnumerator.class);
+
+    private final SplitEnumeratorContext<OceanBaseSplit> context;
+    private final Supplier<OceanBaseConnection> connectionSupplier;
+    private final int chunkSize;
+
+    private final List<String> capturedTables;
+    private final LinkedList<String> remainingTables;
+    private final LinkedList<OceanBaseSplit> remainingSplits;
+    private final Set<String> assignedSplitIds;
+    private final Set<String> finishedSplitIds;
+    private final long startTimestamp;
+    private boolean streamSplitCreated;
+
+    private OceanBaseConnection connection;
+    private OceanBaseChunkSplitter chunkSplitter;
+
+    public OceanBaseSourceEnumerator(
+            SplitEnumeratorContext<OceanBaseSplit> context,
+            Supplier<OceanBaseConnection> connectionSupplier,
+            int chunkSize,
+            OceanBaseSourceEnumState state) {
+        this.context = context;
+        this.connectionSupplier = connectionSupplier;
+        this.chunkSize = chunkSize;
+        this.capturedTables = new ArrayList<>(state.getCapturedTables());
+        this.remainingTables = new LinkedList<>(state.getRemainingTables());
+        this.remainingSplits = new LinkedList<>(state.getRemainingSplits());
+        this.assignedSplitIds = new LinkedHashSet<>(state.getAssignedSplitIds());
+        this.finishedSplitIds = new LinkedHashSet<>(state.getFinishedSplitIds());
+        this.streamSplitCreated = state.isStreamSplitCreated();
+        this.startTimestamp = state.getStartTimestamp();
+    }
+
+    @Override
+    public void start() {
+        // the splits are assigned on the requests of the readers
+    }
+
+    @Override
+    public void handleSplitRequest(int subtaskId, @Nullable String requesterHostname) {
+        if (!context.registeredReaders().containsKey(subtaskId)) {
+            return;
+        }
+        final OceanBaseSplit split = getNextSplit();
+        if (split == null) {
+            LOG.debug("No split is available for subtask {} currently", subtaskId);
+            return;
+        }
+        LOG.info("Assign split {} to subtask {}", split, subtaskId);
+        context.assignSplit(split, subtaskId);
+    }
+
+    @Override
+    public void addSplitsBack(List<OceanBaseSplit> splits, int subtaskId) {
+        LOG.debug("OceanBase Source Enumerator adds splits back: {}", splits);
+        for (OceanBaseSplit split : splits) {
+            if (!split.isStreamSplit()) {
+                // the records of the split emitted after the last checkpoint are rolled back
+                assignedSplitIds.remove(split.splitId());
+                finishedSplitIds.remove(split.splitId());
+            }
+            remainingSplits.add(split);
+        }
+    }
+
+    @Override
+    public void addReader(int subtaskId) {
+        // the reader requests the splits after it's started
+    }
+
+    @Override
+    public void handleSourceEvent(int subtaskId, SourceEvent sourceEvent) {
+        if (sourceEvent instanceof FinishedSnapshotSplitsEvent) {
+            final List<String> splitIds =
+                    ((FinishedSnapshotSplitsEvent) sourceEvent).getFinishedSplitIds();
+            LOG.info("Subtask {} finished the snapshot splits {}", subtaskId, splitIds);
+            finishedSplitIds.addAll(splitIds);
+        }
+    }
+
+    @Override
+    public OceanBaseSourceEnumState snapshotState(long checkpointId) {
+        return new OceanBaseSourceEnumState(
+                new ArrayList<>(capturedTables),
+                new ArrayList<>(remainingTables),
+                new ArrayList<>(remainingSplits),
+                new ArrayList<>(assignedSplitIds),
+                new ArrayList<>(finishedSplitIds),
+                streamSplitCreated,
+                startTimestamp);
+    }
+
+    @Override
+    public void close() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOG.error("Failed to close the connection of the enumerator", e);
+            }
+            connection = null;
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    @Nullable
+    private OceanBaseSplit getNextSplit() {
+        while (remainingSplits.isEmpty() && !remainingTables.isEmpty()) {
+            final String tableId = remainingTables.removeFirst();
+            try {
+                remainingSplits.addAll(getChunkSplitter().splitChunks(tableId, startTimestamp));
+            } catch (SQLException e) {
+                throw new FlinkRuntimeException("Failed to split the table " + tableId, e);
+            }
+        }
+        if (!remainingSplits.isEmpty()) {
+            final OceanBaseSplit split = remainingSplits.removeFirst();
+            if (!split.isStreamSplit()) {
+                assignedSplitIds.add(split.splitId());
+            }
+            return split;
+        }
+        if (!streamSplitCreated && finishedSplitIds.containsAll(assignedSplitIds)) {
+            streamSplitCreated = true;
+            return OceanBaseSplit.streamSplit(new ArrayList<>(capturedTables), startTimestamp);
+        }
+        return null;
+    }
+
+    private OceanBaseChunkSplitter getChunkSplitter() {
+        if (chunkSplitter == null) {
+            connection = connectionSupplier.get();
+            chunkSplitter = new OceanBaseChunkSplitter(connection, chunkSize);
+        }
+        return chunkSplitter;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.events;
+
+import org.apache.flink.api.connector.source.SourceEvent;
+
+import com.ververica.cdc.connectors.oceanbase.source.enumerator.OceanBaseSourceEnumerator;
+import com.ververica.cdc.connectors.oceanbase.source.reader.OceanBaseSourceReader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@link SourceEvent} that {@link OceanBaseSourceReader} sends to {@link
+ * OceanBaseSourceEnumerator} to notify the snapshot splits have been read completely.
+ */
+public class FinishedSnapshotSplitsEvent implements SourceEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> finishedSplitIds;
+
+    public FinishedSnapshotSplitsEvent(List<String> finishedSplitIds) {
+        this.finishedSplitIds = new ArrayList<>(finishedSplitIds);
+    }
+
+    public List<String> getFinishedSplitIds() {
+        return finishedSplitIds;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FinishedSnapshotSplitsEvent that = (FinishedSnapshotSplitsEvent) o;
+        return Objects.equals(finishedSplitIds, that.finishedSplitIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(finishedSplitIds);
+    }
+
+    @Override
+    public String toString() {
+        return "FinishedSnapshotSplitsEvent{" + "finishedSplitIds=" + finishedSplitIds + '}';
+    }
+}
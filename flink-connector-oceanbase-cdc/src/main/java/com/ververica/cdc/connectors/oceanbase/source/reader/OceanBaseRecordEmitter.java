@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.reader;
+
+import org.apache.flink.api.connector.source.SourceOutput;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.util.Collector;
+
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSplitState;
+import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
+
+/**
+ * The {@link RecordEmitter} implementation for the OceanBase source, it deserializes the snapshot
+ * and change events and updates the resolved timestamp of the stream split state.
+ */
+public class OceanBaseRecordEmitter<T>
+        implements RecordEmitter<OceanBaseSourceRecord, T, OceanBaseSplitState> {
+
+    private final DebeziumDeserializationSchema<T> deserializer;
+    private final OutputCollector<T> outputCollector;
+
+    public OceanBaseRecordEmitter(DebeziumDeserializationSchema<T> deserializer) {
+        this.deserializer = deserializer;
+        this.outputCollector = new OutputCollector<>();
+    }
+
+    @Override
+    public void emitRecord(
+            OceanBaseSourceRecord element, SourceOutput<T> output, OceanBaseSplitState splitState)
+            throws Exception {
+        switch (element.getKind()) {
+            case RECORD:
+                outputCollector.output = output;
+                deserializer.deserialize(element.getRecord(), outputCollector);
+                break;
+            case RESOLVED_TIMESTAMP:
+                splitState.setResolvedTimestamp(element.getTimestamp());
+                break;
+            default:
+                throw new IllegalStateException("Unknown record kind: " + element.getKind());
+        }
+    }
+
+    private static class OutputCollector<T> implements Collector<T> {
+        private SourceOutput<T> output;
+
+        @Override
+        public void collect(T record) {
+            output.collect(record);
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+    }
+}
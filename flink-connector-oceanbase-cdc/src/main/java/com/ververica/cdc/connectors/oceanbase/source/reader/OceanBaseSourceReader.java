@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.reader;
+
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.connector.base.source.reader.SingleThreadMultiplexSourceReaderBase;
+
+import com.ververica.cdc.connectors.oceanbase.source.events.FinishedSnapshotSplitsEvent;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSplit;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSplitState;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The source reader for the OceanBase source, it requests a new split from the enumerator after
+ * every snapshot split is finished.
+ *
+ * <p>The finished snapshot splits are kept in the checkpoints of the reader until the reader is
+ * assigned the stream split, and they are reported to the enumerator again on restore, so the
+ * enumerator always learns all the finished splits even if the reader finished a split after the
+ * checkpoint of the enumerator was taken.
+ */
+public class OceanBaseSourceReader<T>
+        extends SingleThreadMultiplexSourceReaderBase<
+                OceanBaseSourceRecord, T, OceanBaseSplit, OceanBaseSplitState> {
+
+    private final SourceReaderContext context;
+    private final Map<String, OceanBaseSplit> finishedSnapshotSplits = new LinkedHashMap<>();
+
+    public OceanBaseSourceReader(
+            Supplier<OceanBaseSplitReader> splitReaderSupplier,
+            RecordEmitter<OceanBaseSourceRecord, T, OceanBaseSplitState> recordEmitter,
+            Configuration config,
+            SourceReaderContext context) {
+        super(splitReaderSupplier::get, recordEmitter, config, context);
+        this.context = context;
+    }
+
+    @Override
+    public void start() {
+        context.sendSplitRequest();
+    }
+
+    @Override
+    public void addSplits(List<OceanBaseSplit> splits) {
+        final List<OceanBaseSplit> unfinishedSplits = new ArrayList<>();
+        final List<String> finishedSplitIds = new ArrayList<>();
+        for (OceanBaseSplit split : splits) {
+            if (split.isFinished()) {
+                finishedSnapshotSplits.put(split.splitId(), split);
+                finishedSplitIds.add(split.splitId());
+            } else {
+                if (split.isStreamSplit()) {
+                    // all the snapshot splits are known finished by the enumerator
+                    finishedSnapshotSplits.clear();
+                }
+                unfinishedSplits.add(split);
+            }
+        }
+        if (!finishedSplitIds.isEmpty()) {
+            context.sendSourceEventToCoordinator(new FinishedSnapshotSplitsEvent(finishedSplitIds));
+        }
+        super.addSplits(unfinishedSplits);
+    }
+
+    @Override
+    public List<OceanBaseSplit> snapshotState(long checkpointId) {
+        final List<OceanBaseSplit> splits = new ArrayList<>(super.snapshotState(checkpointId));
+        splits.addAll(finishedSnapshotSplits.values());
+        return splits;
+    }
+
+    @Override
+    protected void onSplitFinished(Map<String, OceanBaseSplitState> finishedSplitIds) {
+        for (OceanBaseSplitState splitState : finishedSplitIds.values()) {
+            final OceanBaseSplit split = splitState.toSourceSplit().asFinished();
+            finishedSnapshotSplits.put(split.splitId(), split);
+        }
+        context.sendSourceEventToCoordinator(
+                new FinishedSnapshotSplitsEvent(new ArrayList<>(finishedSplitIds.keySet())));
+        context.sendSplitRequest();
+    }
+
+    @Override
+    protected OceanBaseSplitState initializedState(OceanBaseSplit split) {
+        return new OceanBaseSplitState(split);
+    }
+
+    @Override
+    protected OceanBaseSplit toSplitType(String splitId, OceanBaseSplitState splitState) {
+        return splitState.toSourceSplit();
+    }
+}
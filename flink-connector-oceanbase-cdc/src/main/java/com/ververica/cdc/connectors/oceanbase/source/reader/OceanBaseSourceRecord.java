@@ -0,0 +1,64 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.reader;
+
+import org.apache.kafka.connect.source.SourceRecord;
+
+/**
+ * The record read by the {@link OceanBaseSplitReader}, either a snapshot or change event, or a
+ * signal which updates the progress of the stream split.
+ */
+public final class OceanBaseSourceRecord {
+
+    /** The kind of the record. */
+    public enum Kind {
+        /** A snapshot or committed change event. */
+        RECORD,
+        /** Signals the change events before the timestamp have been emitted. */
+        RESOLVED_TIMESTAMP
+    }
+
+    private final Kind kind;
+    private final SourceRecord record;
+    private final long timestamp;
+
+    private OceanBaseSourceRecord(Kind kind, SourceRecord record, long timestamp) {
+        this.kind = kind;
+        this.record = record;
+        this.timestamp = timestamp;
+    }
+
+    public static OceanBaseSourceRecord record(SourceRecord record) {
+        return new OceanBaseSourceRecord(Kind.RECORD, record, -1);
+    }
+
+    public static OceanBaseSourceRecord resolvedTimestamp(long timestamp) {
+        return new OceanBaseSourceRecord(Kind.RESOLVED_TIMESTAMP, null, timestamp);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public SourceRecord getRecord() {
+        return record;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.reader;
+
+import org.apache.flink.connector.base.source.reader.RecordsBySplits;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
+
+import com.oceanbase.clogproxy.client.LogProxyClient;
+import com.oceanbase.clogproxy.client.config.ClientConf;
+import com.oceanbase.clogproxy.client.config.ObReaderConfig;
+import com.oceanbase.clogproxy.client.exception.LogProxyClientException;
+import com.oceanbase.clogproxy.client.listener.RecordListener;
+import com.oceanbase.oms.logmessage.LogMessage;
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseConnection;
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseRecordConverter;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSplit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link SplitReader} implementation for the OceanBase source.
+ *
+ * <p>A snapshot split is read completely by one fetch, so the split is either finished or read
+ * again from the beginning after failover. The stream split starts a {@link LogProxyClient} which
+ * puts the log messages into a bounded queue, the change events of a transaction are emitted when
+ * the COMMIT message is fetched, together with the resolved timestamp of the transaction.
+ */
+public class OceanBaseSplitReader implements SplitReader<OceanBaseSourceRecord, OceanBaseSplit> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OceanBaseSplitReader.class);
+
+    private static final int LOG_MESSAGE_QUEUE_CAPACITY = 8192;
+    private static final int MAX_LOG_MESSAGES_PER_FETCH = 1024;
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+
+    private final Supplier<OceanBaseConnection> connectionSupplier;
+    private final OceanBaseRecordConverter recordConverter;
+    private final String tenantName;
+    private final String logProxyHost;
+    private final int logProxyPort;
+    private final ClientConf logProxyClientConf;
+    private final ObReaderConfig obReaderConfig;
+
+    private final LinkedList<OceanBaseSplit> snapshotSplits = new LinkedList<>();
+    private final BlockingQueue<LogMessage> logMessageQueue =
+            new LinkedBlockingQueue<>(LOG_MESSAGE_QUEUE_CAPACITY);
+    private final List<LogMessage> transactionBuffer = new ArrayList<>();
+
+    private OceanBaseConnection connection;
+    private OceanBaseSplit streamSplit;
+    private LogProxyClient logProxyClient;
+    private volatile Throwable logProxyFailure;
+    private boolean started;
+    private long resolvedTimestamp;
+
+    public OceanBaseSplitReader(
+            Supplier<OceanBaseConnection> connectionSupplier,
+            OceanBaseRecordConverter recordConverter,
+            String tenantName,
+            String logProxyHost,
+            int logProxyPort,
+            ClientConf logProxyClientConf,
+            ObReaderConfig obReaderConfig) {
+        this.connectionSupplier = connectionSupplier;
+        this.recordConverter = recordConverter;
+        this.tenantName = tenantName;
+        this.logProxyHost = logProxyHost;
+        this.logProxyPort = logProxyPort;
+        this.logProxyClientConf = logProxyClientConf;
+        this.obReaderConfig = obReaderConfig;
+    }
+
+    @Override
+    public RecordsWithSplitIds<OceanBaseSourceRecord> fetch() throws IOException {
+        final RecordsBySplits.Builder<OceanBaseSourceRecord> builder =
+                new RecordsBySplits.Builder<>();
+        try {
+            if (!snapshotSplits.isEmpty()) {
+                final OceanBaseSplit split = snapshotSplits.removeFirst();
+                readSnapshotSplit(split, builder);
+                builder.addFinishedSplit(split.splitId());
+            } else if (streamSplit != null) {
+                readChangeEvents(builder);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+        return builder.build();
+    }
+
+    private void readSnapshotSplit(
+            OceanBaseSplit split, RecordsBySplits.Builder<OceanBaseSourceRecord> builder)
+            throws SQLException {
+        final String[] names = split.getTableId().split("\\.", 2);
+        final StringBuilder sql =
+                new StringBuilder(String.format("SELECT * FROM `%s`.`%s`", names[0], names[1]));
+        final List<Object> parameters = new ArrayList<>();
+        if (split.getLowerBound() != null) {
+            sql.append(String.format(" WHERE `%s` >= ?", split.getSplitColumn()));
+            parameters.add(split.getLowerBound());
+        }
+        if (split.getUpperBound() != null) {
+            sql.append(parameters.isEmpty() ? " WHERE " : " AND ")
+                    .append(String.format("`%s` < ?", split.getSplitColumn()));
+            parameters.add(split.getUpperBound());
+        }
+
+        LOG.info("Start to read snapshot split {}", split);
+        getConnection()
+                .prepareQuery(
+                        sql.toString(),
+                        ps -> {
+                            for (int i = 0; i < parameters.size(); i++) {
+                                ps.setObject(i + 1, parameters.get(i));
+                            }
+                        },
+                        rs ->
+                                recordConverter.readSnapshotRecords(
+                                        names[0],
+                                        names[1],
+                                        rs,
+                                        split.getStartTimestamp(),
+                                        record ->
+                                                builder.add(
+                                                        split.splitId(),
+                                                        OceanBaseSourceRecord.record(record))));
+        LOG.info("Read snapshot split {} finished", split.splitId());
+    }
+
+    private void readChangeEvents(RecordsBySplits.Builder<OceanBaseSourceRecord> builder)
+            throws InterruptedException {
+        if (logProxyFailure != null) {
+            throw new IllegalStateException("LogProxyClient exception", logProxyFailure);
+        }
+        LogMessage message = logMessageQueue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        int count = 0;
+        while (message != null) {
+            handleLogMessage(message, builder);
+            if (++count >= MAX_LOG_MESSAGES_PER_FETCH) {
+                break;
+            }
+            message = logMessageQueue.poll();
+        }
+    }
+
+    private void handleLogMessage(
+            LogMessage message, RecordsBySplits.Builder<OceanBaseSourceRecord> builder) {
+        switch (message.getOpt()) {
+            case HEARTBEAT:
+            case BEGIN:
+                started = true;
+                break;
+            case INSERT:
+            case UPDATE:
+            case DELETE:
+                if (started) {
+                    transactionBuffer.add(message);
+                }
+                break;
+            case COMMIT:
+                for (LogMessage msg : transactionBuffer) {
+                    builder.add(
+                            streamSplit.splitId(),
+                            OceanBaseSourceRecord.record(
+                                    recordConverter.getRecordFromLogMessage(msg)));
+                }
+                transactionBuffer.clear();
+                final long timestamp = OceanBaseRecordConverter.getCheckpointTimestamp(message);
+                if (timestamp > resolvedTimestamp) {
+                    resolvedTimestamp = timestamp;
+                    builder.add(
+                            streamSplit.splitId(),
+                            OceanBaseSourceRecord.resolvedTimestamp(resolvedTimestamp));
+                }
+                break;
+            case DDL:
+                LOG.trace("Ddl: {}", message.getFieldList().get(0).getValue().toString());
+                break;
+            default:
+                throw new UnsupportedOperationException("Unsupported type: " + message.getOpt());
+        }
+    }
+
+    @Override
+    public void handleSplitsChanges(SplitsChange<OceanBaseSplit> splitsChanges) {
+        if (!(splitsChanges instanceof SplitsAddition)) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "The SplitChange type of %s is not supported.",
+                            splitsChanges.getClass()));
+        }
+        for (OceanBaseSplit split : splitsChanges.splits()) {
+            LOG.info("Handling split change {}", split);
+            if (split.isStreamSplit()) {
+                closeConnection();
+                startLogProxyClient(split);
+            } else {
+                snapshotSplits.add(split);
+            }
+        }
+    }
+
+    private void startLogProxyClient(OceanBaseSplit split) {
+        this.streamSplit = split;
+        this.resolvedTimestamp = split.getResolvedTimestamp();
+        obReaderConfig.setTableWhiteList(
+                split.getTables().stream()
+                        .map(table -> String.format("%s.%s", tenantName, table))
+                        .collect(Collectors.joining("|")));
+        obReaderConfig.setStartTimestamp(split.getStartTimestamp());
+        if (resolvedTimestamp > 0) {
+            obReaderConfig.updateCheckpoint(Long.toString(resolvedTimestamp));
+            LOG.info("Read change events from resolvedTimestamp: {}", resolvedTimestamp);
+        } else {
+            LOG.info("Read change events from startTimestamp: {}", split.getStartTimestamp());
+        }
+
+        logProxyClient =
+                new LogProxyClient(logProxyHost, logProxyPort, obReaderConfig, logProxyClientConf);
+        logProxyClient.addListener(
+                new RecordListener() {
+                    @Override
+                    public void notify(LogMessage message) {
+                        try {
+                            // blocks the log proxy client if the reader falls behind
+                            logMessageQueue.put(message);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+
+                    @Override
+                    public void onException(LogProxyClientException e) {
+                        LOG.error("LogProxyClient exception", e);
+                        logProxyFailure = e;
+                        logProxyClient.stop();
+                    }
+                });
+        logProxyClient.start();
+        LOG.info("LogProxyClient started");
+    }
+
+    private OceanBaseConnection getConnection() {
+        if (connection == null) {
+            connection = connectionSupplier.get();
+        }
+        return connection;
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOG.error("Failed to close the snapshot connection", e);
+            }
+            connection = null;
+        }
+    }
+
+    @Override
+    public void wakeUp() {
+        // the fetch only blocks shortly when there's no log message
+    }
+
+    @Override
+    public void close() throws Exception {
+        closeConnection();
+        if (logProxyClient != null) {
+            logProxyClient.stop();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.split;
+
+import org.apache.flink.api.connector.source.SourceSplit;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The split of the OceanBase source, either a snapshot split which reads a chunk of a table, or the
+ * stream split which reads the change events of all the captured tables from the log proxy.
+ *
+ * <p>The snapshot split reads the rows whose split column is in the range [lowerBound,
+ * upperBound), a null bound means the range is unbounded on that side, and a null split column
+ * means the whole table is read. The stream split reads the change events after the start
+ * timestamp, and resumes from the resolved timestamp on restore.
+ */
+public class OceanBaseSplit implements SourceSplit {
+
+    public static final String STREAM_SPLIT_ID = "stream-split";
+
+    private final String splitId;
+
+    /** The full name of the table in format "database.table", null for the stream split. */
+    @Nullable private final String tableId;
+
+    @Nullable private final String splitColumn;
+    @Nullable private final Serializable lowerBound;
+    @Nullable private final Serializable upperBound;
+
+    /** The captured tables in format "database.table", empty for the snapshot splits. */
+    private final List<String> tables;
+
+    /** The timestamp in seconds which the snapshot is taken and the change events start from. */
+    private final long startTimestamp;
+
+    /** The timestamp which all the change events before it have been emitted, or -1. */
+    private final long resolvedTimestamp;
+
+    /** Whether the snapshot split is finished, only kept by the reader until it's acknowledged. */
+    private final boolean finished;
+
+    public OceanBaseSplit(
+            String splitId,
+            @Nullable String tableId,
+            @Nullable String splitColumn,
+            @Nullable Serializable lowerBound,
+            @Nullable Serializable upperBound,
+            List<String> tables,
+            long startTimestamp,
+            long resolvedTimestamp,
+            boolean finished) {
+        this.splitId = splitId;
+        this.tableId = tableId;
+        this.splitColumn = splitColumn;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.tables = tables;
+        this.startTimestamp = startTimestamp;
+        this.resolvedTimestamp = resolvedTimestamp;
+        this.finished = finished;
+    }
+
+    /** Creates a split which reads a chunk of the table at the start timestamp. */
+    public static OceanBaseSplit snapshotSplit(
+            String splitId,
+            String tableId,
+            @Nullable String splitColumn,
+            @Nullable Serializable lowerBound,
+            @Nullable Serializable upperBound,
+            long startTimestamp) {
+        return new OceanBaseSplit(
+                splitId,
+                tableId,
+                splitColumn,
+                lowerBound,
+                upperBound,
+                Collections.emptyList(),
+                startTimestamp,
+                -1,
+                false);
+    }
+
+    /** Creates the split which reads the change events of the tables after the start timestamp. */
+    public static OceanBaseSplit streamSplit(List<String> tables, long startTimestamp) {
+        return new OceanBaseSplit(
+                STREAM_SPLIT_ID, null, null, null, null, tables, startTimestamp, -1, false);
+    }
+
+    @Override
+    public String splitId() {
+        return splitId;
+    }
+
+    public boolean isStreamSplit() {
+        return tableId == null;
+    }
+
+    @Nullable
+    public String getTableId() {
+        return tableId;
+    }
+
+    @Nullable
+    public String getSplitColumn() {
+        return splitColumn;
+    }
+
+    @Nullable
+    public Serializable getLowerBound() {
+        return lowerBound;
+    }
+
+    @Nullable
+    public Serializable getUpperBound() {
+        return upperBound;
+    }
+
+    public List<String> getTables() {
+        return tables;
+    }
+
+    public long getStartTimestamp() {
+        return startTimestamp;
+    }
+
+    public long getResolvedTimestamp() {
+        return resolvedTimestamp;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /** Returns a copy of the snapshot split which is marked as finished. */
+    public OceanBaseSplit asFinished() {
+        return new OceanBaseSplit(
+                splitId,
+                tableId,
+                splitColumn,
+                lowerBound,
+                upperBound,
+                tables,
+                startTimestamp,
+                resolvedTimestamp,
+                true);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        OceanBaseSplit that = (OceanBaseSplit) o;
+        return startTimestamp == that.startTimestamp
+                && resolvedTimestamp == that.resolvedTimestamp
+                && finished == that.finished
+                && Objects.equals(splitId, that.splitId)
+                && Objects.equals(tableId, that.tableId)
+                && Objects.equals(splitColumn, that.splitColumn)
+                && Objects.equals(lowerBound, that.lowerBound)
+                && Objects.equals(upperBound, that.upperBound)
+                && Objects.equals(tables, that.tables);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                splitId,
+                tableId,
+                splitColumn,
+                lowerBound,
+                upperBound,
+                tables,
+                startTimestamp,
+                resolvedTimestamp,
+                finished);
+    }
+
+    @Override
+    public String toString() {
+        return "OceanBaseSplit{"
+                + "splitId='"
+                + splitId
+                + '\''
+                + ", tableId='"
+                + tableId
+                + '\''
+                + ", splitColumn='"
+                + splitColumn
+                + '\''
+                + ", lowerBound="
+                + lowerBound
+                + ", upperBound="
+                + upperBound
+                + ", startTimestamp="
+                + startTimestamp
+                + ", resolvedTimestamp="
+                + resolvedTimestamp
+                + ", finished="
+                + finished
+                + '}';
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.split;
+
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.util.InstantiationUtil;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/** A serializer for the {@link OceanBaseSplit}. */
+public final class OceanBaseSplitSerializer implements SimpleVersionedSerializer<OceanBaseSplit> {
+
+    public static final OceanBaseSplitSerializer INSTANCE = new OceanBaseSplitSerializer();
+
+    private static final int VERSION = 1;
+    private static final ThreadLocal<DataOutputSerializer> SERIALIZER_CACHE =
+            ThreadLocal.withInitial(() -> new DataOutputSerializer(64));
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] serialize(OceanBaseSplit split) throws IOException {
+        final DataOutputSerializer out = SERIALIZER_CACHE.get();
+        writeSplit(split, out);
+        final byte[] result = out.getCopyOfBuffer();
+        out.clear();
+        return result;
+    }
+
+    @Override
+    public OceanBaseSplit deserialize(int version, byte[] serialized) throws IOException {
+        if (version != VERSION) {
+            throw new IOException("Unknown version: " + version);
+        }
+        return readSplit(new DataInputDeserializer(serialized));
+    }
+
+    public static void writeSplit(OceanBaseSplit split, DataOutputView out) throws IOException {
+        out.writeUTF(split.splitId());
+        writeNullableString(split.getTableId(), out);
+        writeNullableString(split.getSplitColumn(), out);
+        writeBound(split.getLowerBound(), out);
+        writeBound(split.getUpperBound(), out);
+        out.writeInt(split.getTables().size());
+        for (String table : split.getTables()) {
+            out.writeUTF(table);
+        }
+        out.writeLong(split.getStartTimestamp());
+        out.writeLong(split.getResolvedTimestamp());
+        out.writeBoolean(split.isFinished());
+    }
+
+    public static OceanBaseSplit readSplit(DataInputView in) throws IOException {
+        final String splitId = in.readUTF();
+        final String tableId = readNullableString(in);
+        final String splitColumn = readNullableString(in);
+        final Serializable lowerBound = readBound(in);
+        final Serializable upperBound = readBound(in);
+        final int tableNum = in.readInt();
+        final List<String> tables = new ArrayList<>(tableNum);
+        for (int i = 0; i < tableNum; i++) {
+            tables.add(in.readUTF());
+        }
+        final long startTimestamp = in.readLong();
+        final long resolvedTimestamp = in.readLong();
+        final boolean finished = in.readBoolean();
+        return new OceanBaseSplit(
+                splitId,
+                tableId,
+                splitColumn,
+                lowerBound,
+                upperBound,
+                tables,
+                startTimestamp,
+                resolvedTimestamp,
+                finished);
+    }
+
+    private static void writeNullableString(String value, DataOutputView out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputView in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeBound(Serializable bound, DataOutputView out) throws IOException {
+        out.writeBoolean(bound != null);
+        if (bound != null) {
+            final byte[] bytes = InstantiationUtil.serializeObject(bound);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static Serializable readBound(DataInputView in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        try {
+            return InstantiationUtil.deserializeObject(
+                    bytes, OceanBaseSplitSerializer.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Failed to deserialize the bound of the split", e);
+        }
+    }
+}
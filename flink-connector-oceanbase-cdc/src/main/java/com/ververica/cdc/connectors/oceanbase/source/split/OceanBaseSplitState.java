@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.split;
+
+/** State of the reader, essentially a mutable version of the {@link OceanBaseSplit}. */
+public class OceanBaseSplitState {
+
+    private final OceanBaseSplit split;
+
+    private long resolvedTimestamp;
+
+    public OceanBaseSplitState(OceanBaseSplit split) {
+        this.split = split;
+        this.resolvedTimestamp = split.getResolvedTimestamp();
+    }
+
+    public OceanBaseSplit getSplit() {
+        return split;
+    }
+
+    public void setResolvedTimestamp(long resolvedTimestamp) {
+        this.resolvedTimestamp = resolvedTimestamp;
+    }
+
+    /** Use the current split state to create a new OceanBaseSplit. */
+    public OceanBaseSplit toSourceSplit() {
+        return new OceanBaseSplit(
+                split.splitId(),
+                split.getTableId(),
+                split.getSplitColumn(),
+                split.getLowerBound(),
+                split.getUpperBound(),
+                split.getTables(),
+                split.getStartTimestamp(),
+                resolvedTimestamp,
+                split.isFinished());
+    }
+
+    @Override
+    public String toString() {
+        return "OceanBaseSplitState{"
+                + "split="
+                + split
+                + ", resolvedTimestamp="
+                + resolvedTimestamp
+                + '}';
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.flink.table.connector.ChangelogMode;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.ScanTableSource;
 import org.apache.flink.table.connector.source.SourceFunctionProvider;
+import org.apache.flink.table.connector.source.SourceProvider;
 import org.apache.flink.table.connector.source.abilities.SupportsReadingMetadata;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.DataType;
@@ -69,6 +70,10 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
     private final String rsList;
     private final String configUrl;
     private final String workingMode;
+    private final boolean enableParallelRead;
+    private final int chunkSize;
+    private final long changeEventBufferSize;
+    private final long changeEventSpillSize;
 
     // --------------------------------------------------------------------------------------------
     // Mutable attributes
@@ -99,7 +104,11 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
             Long startupTimestamp,
             String rsList,
             String configUrl,
-            String workingMode) {
+            String workingMode,
+            boolean enableParallelRead,
+            int chunkSize,
+            long changeEventBufferSize,
+            long changeEventSpillSize) {
         this.physicalSchema = physicalSchema;
         this.startupMode = checkNotNull(startupMode);
         this.username = checkNotNull(username);
@@ -119,6 +128,10 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
         this.rsList = rsList;
         this.configUrl = configUrl;
         this.workingMode = workingMode;
+        this.enableParallelRead = enableParallelRead;
+        this.chunkSize = chunkSize;
+        this.changeEventBufferSize = changeEventBufferSize;
+        this.changeEventSpillSize = changeEventSpillSize;
 
         this.producedDataType = physicalSchema.toPhysicalRowDataType();
         this.metadataKeys = Collections.emptyList();
@@ -169,7 +182,13 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
                         .rsList(rsList)
                         .configUrl(configUrl)
                         .workingMode(workingMode)
+                        .chunkSize(chunkSize)
+                        .changeEventBufferSize(changeEventBufferSize)
+                        .changeEventSpillSize(changeEventSpillSize)
                         .deserializer(deserializer);
+        if (enableParallelRead) {
+            return SourceProvider.of(builder.buildIncremental());
+        }
         return SourceFunctionProvider.of(builder.build(), false);
     }
 
@@ -225,7 +244,11 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
                         startupTimestamp,
                         rsList,
                         configUrl,
-                        workingMode);
+                        workingMode,
+                        enableParallelRead,
+                        chunkSize,
+                        changeEventBufferSize,
+                        changeEventSpillSize);
         source.metadataKeys = metadataKeys;
         source.producedDataType = producedDataType;
         return source;
@@ -259,6 +282,10 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
                 && Objects.equals(this.rsList, that.rsList)
                 && Objects.equals(this.configUrl, that.configUrl)
                 && Objects.equals(this.workingMode, that.workingMode)
+                && Objects.equals(this.enableParallelRead, that.enableParallelRead)
+                && Objects.equals(this.chunkSize, that.chunkSize)
+                && Objects.equals(this.changeEventBufferSize, that.changeEventBufferSize)
+                && Objects.equals(this.changeEventSpillSize, that.changeEventSpillSize)
                 && Objects.equals(this.producedDataType, that.producedDataType)
                 && Objects.equals(this.metadataKeys, that.metadataKeys);
     }
@@ -285,6 +312,10 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
                 rsList,
                 configUrl,
                 workingMode,
+                enableParallelRead,
+                chunkSize,
+                changeEventBufferSize,
+                changeEventSpillSize,
                 producedDataType,
                 metadataKeys);
     }
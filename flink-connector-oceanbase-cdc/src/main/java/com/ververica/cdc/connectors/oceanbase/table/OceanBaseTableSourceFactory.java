@@ -18,6 +18,7 @@ package com.ververica.cdc.connectors.oceanbase.table;
 
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
+import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.table.catalog.ResolvedSchema;
 import org.apache.flink.table.connector.source.DynamicTableSource;
@@ -155,6 +156,34 @@ public class OceanBaseTableSourceFactory implements DynamicTableSourceFactory {
                     .withDescription(
                             "The working mode of 'obcdc', can be `storage` (default value, supported from `obcdc` 3.1.3) or `memory`.");
 
+    public static final ConfigOption<Boolean> SCAN_INCREMENTAL_SNAPSHOT_ENABLED =
+            ConfigOptions.key("scan.incremental.snapshot.enabled")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription(
+                            "Incremental snapshot is a new mechanism to read snapshot of a table. Compared to the old snapshot mechanism, the incremental snapshot has many advantages, including: (1) source can be parallel during snapshot reading, (2) source can perform checkpoints in the chunk granularity during snapshot reading.");
+
+    public static final ConfigOption<Integer> SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE =
+            ConfigOptions.key("scan.incremental.snapshot.chunk.size")
+                    .intType()
+                    .defaultValue(8096)
+                    .withDescription(
+                            "The chunk size (number of rows) of table snapshot, captured tables are split into multiple chunks by the first column of the primary key when read the snapshot of table.");
+
+    public static final ConfigOption<MemorySize> SCAN_CHANGE_EVENT_BUFFER_SIZE =
+            ConfigOptions.key("scan.change-event.buffer.size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("64mb"))
+                    .withDescription(
+                            "The max memory size of the change events buffered while the snapshot is read without incremental snapshot, the following change events are spilled to the 'io.tmp.dirs' of the task manager.");
+
+    public static final ConfigOption<MemorySize> SCAN_CHANGE_EVENT_SPILL_SIZE =
+            ConfigOptions.key("scan.change-event.spill.size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("1gb"))
+                    .withDescription(
+                            "The max size of the change events spilled to the 'io.tmp.dirs' of the task manager while the snapshot is read without incremental snapshot, the log proxy client is blocked until the snapshot is completed when the size is exceeded.");
+
     @Override
     public DynamicTableSource createDynamicTableSource(Context context) {
         final FactoryUtil.TableFactoryHelper helper =
@@ -188,6 +217,11 @@ public class OceanBaseTableSourceFactory implements DynamicTableSourceFactory {
         String configUrl = config.get(CONFIG_URL);
         String workingMode = config.get(WORKING_MODE);
 
+        boolean enableParallelRead = config.get(SCAN_INCREMENTAL_SNAPSHOT_ENABLED);
+        int chunkSize = config.get(SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE);
+        long changeEventBufferSize = config.get(SCAN_CHANGE_EVENT_BUFFER_SIZE).getBytes();
+        long changeEventSpillSize = config.get(SCAN_CHANGE_EVENT_SPILL_SIZE).getBytes();
+
         return new OceanBaseTableSource(
                 physicalSchema,
                 startupMode,
@@ -207,7 +241,11 @@ public class OceanBaseTableSourceFactory implements DynamicTableSourceFactory {
                 startupTimestamp,
                 rsList,
                 configUrl,
-                workingMode);
+                workingMode,
+                enableParallelRead,
+                chunkSize,
+                changeEventBufferSize,
+                changeEventSpillSize);
     }
 
     @Override
@@ -242,6 +280,10 @@ public class OceanBaseTableSourceFactory implements DynamicTableSourceFactory {
         options.add(RS_LIST);
         options.add(CONFIG_URL);
         options.add(WORKING_MODE);
+        options.add(SCAN_INCREMENTAL_SNAPSHOT_ENABLED);
+        options.add(SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE);
+        options.add(SCAN_CHANGE_EVENT_BUFFER_SIZE);
+        options.add(SCAN_CHANGE_EVENT_SPILL_SIZE);
         return options;
     }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+import static com.ververica.cdc.connectors.oceanbase.source.OceanBaseJdbcConverter.NOT_PARSED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/** Tests for the parsers of the log message values in {@link OceanBaseJdbcConverter}. */
+public class OceanBaseJdbcConverterTest {
+
+    @Test
+    public void testParseIntegral() {
+        for (String value :
+                new String[] {
+                    "0", "-1", "42", "2147483647", "2147483648", "-2147483648", "007",
+                    "9223372036854775807", "-9223372036854775808"
+                }) {
+            assertEquals(Long.parseLong(value), OceanBaseJdbcConverter.parseIntegral(bytes(value)));
+        }
+        assertEquals(
+                "9223372036854775808",
+                OceanBaseJdbcConverter.parseIntegral(bytes("9223372036854775808")));
+        assertEquals(
+                "18446744073709551615",
+                OceanBaseJdbcConverter.parseIntegral(bytes("18446744073709551615")));
+
+        for (String value : new String[] {"", "-", "1a", "1.5"}) {
+            try {
+                OceanBaseJdbcConverter.parseIntegral(bytes(value));
+                fail("Expected NumberFormatException for " + value);
+            } catch (NumberFormatException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testParseDouble() {
+        for (String value :
+                new String[] {
+                    "0", "-0", "1.5", "-3.14159", "0.1", "123456789012345", ".5", "1.",
+                    "0.0000000000000000000001", "99999.99999"
+                }) {
+            assertEquals(
+                    Double.parseDouble(value),
+                    OceanBaseJdbcConverter.parseDouble(bytes(value)),
+                    0);
+        }
+        for (String value :
+                new String[] {"1e10", "NaN", "Infinity", "1234567890123456", "1.2.3", "."}) {
+            assertTrue(Double.isNaN(OceanBaseJdbcConverter.parseDouble(bytes(value))));
+        }
+    }
+
+    @Test
+    public void testParseEpochDay() {
+        for (String value :
+                new String[] {
+                    "1970-01-01", "2022-03-15", "1969-12-31", "2000-02-29", "1582-10-15",
+                    "0001-01-01", "9999-12-31"
+                }) {
+            assertEquals(
+                    io.debezium.time.Date.toEpochDay(Date.valueOf(value), null),
+                    OceanBaseJdbcConverter.parseEpochDay(bytes(value)));
+        }
+        for (String value :
+                new String[] {"0000-00-00", "2021-02-29", "2022-13-01", "2022-1-01", "20220101"}) {
+            assertEquals(NOT_PARSED, OceanBaseJdbcConverter.parseEpochDay(bytes(value)));
+        }
+    }
+
+    @Test
+    public void testParseMicroOfDay() {
+        for (String value : new String[] {"00:00:00", "12:34:56", "23:59:59"}) {
+            assertEquals(
+                    io.debezium.time.MicroTime.toMicroOfDay(Time.valueOf(value), true),
+                    OceanBaseJdbcConverter.parseMicroOfDay(bytes(value)));
+        }
+        for (String value : new String[] {"24:00:00", "-01:00:00", "12:34:56.5", "1:2:3"}) {
+            assertEquals(NOT_PARSED, OceanBaseJdbcConverter.parseMicroOfDay(bytes(value)));
+        }
+    }
+
+    @Test
+    public void testParseEpochMicros() {
+        for (String value :
+                new String[] {
+                    "1970-01-01 00:00:00",
+                    "2022-03-15 12:34:56",
+                    "2022-03-15 12:34:56.1",
+                    "2022-03-15 12:34:56.123456",
+                    "2022-03-15 12:34:56.123456789",
+                    "1900-06-30 23:59:59.999999"
+                }) {
+            assertEquals(
+                    io.debezium.time.MicroTimestamp.toEpochMicros(Timestamp.valueOf(value), null),
+                    OceanBaseJdbcConverter.parseEpochMicros(bytes(value)));
+        }
+        for (String value :
+                new String[] {
+                    "0000-00-00 00:00:00",
+                    "2022-03-15T12:34:56",
+                    "2022-03-15 12:34:56.",
+                    "2022-03-15 12:34:56.1234567890",
+                    "2022-03-15"
+                }) {
+            assertEquals(NOT_PARSED, OceanBaseJdbcConverter.parseEpochMicros(bytes(value)));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
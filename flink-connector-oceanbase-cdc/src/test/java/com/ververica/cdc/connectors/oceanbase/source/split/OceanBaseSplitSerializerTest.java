@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.split;
+
+import com.ververica.cdc.connectors.oceanbase.source.enumerator.OceanBaseSourceEnumState;
+import com.ververica.cdc.connectors.oceanbase.source.enumerator.OceanBaseSourceEnumStateSerializer;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/** Tests for {@link OceanBaseSplitSerializer}. */
+public class OceanBaseSplitSerializerTest {
+
+    @Test
+    public void testSnapshotSplit() throws Exception {
+        final OceanBaseSplit split =
+                OceanBaseSplit.snapshotSplit("db.users:1", "db.users", "id", 100L, 200L, 400L);
+        assertEquals(split, serializeAndDeserializeSplit(split));
+        assertEquals(split.asFinished(), serializeAndDeserializeSplit(split.asFinished()));
+
+        final OceanBaseSplit unbounded =
+                OceanBaseSplit.snapshotSplit("db.users:0", "db.users", "id", null, 100L, 400L);
+        assertEquals(unbounded, serializeAndDeserializeSplit(unbounded));
+
+        final OceanBaseSplit decimalBounds =
+                OceanBaseSplit.snapshotSplit(
+                        "db.orders:2",
+                        "db.orders",
+                        "price",
+                        new BigDecimal("1.5"),
+                        new BigDecimal("9.25"),
+                        400L);
+        assertEquals(decimalBounds, serializeAndDeserializeSplit(decimalBounds));
+    }
+
+    @Test
+    public void testTableWithoutPrimaryKey() throws Exception {
+        final OceanBaseSplit split =
+                OceanBaseSplit.snapshotSplit("db.logs:0", "db.logs", null, null, null, 400L);
+        assertEquals(split, serializeAndDeserializeSplit(split));
+    }
+
+    @Test
+    public void testStreamSplit() throws Exception {
+        final OceanBaseSplit split =
+                new OceanBaseSplit(
+                        OceanBaseSplit.STREAM_SPLIT_ID,
+                        null,
+                        null,
+                        null,
+                        null,
+                        Arrays.asList("db.orders", "db.users"),
+                        400L,
+                        500L,
+                        false);
+        assertEquals(split, serializeAndDeserializeSplit(split));
+    }
+
+    @Test
+    public void testEnumState() throws Exception {
+        final OceanBaseSourceEnumStateSerializer serializer =
+                new OceanBaseSourceEnumStateSerializer();
+        final OceanBaseSourceEnumState state =
+                new OceanBaseSourceEnumState(
+                        Arrays.asList("db.orders", "db.users"),
+                        Collections.singletonList("db.users"),
+                        Collections.singletonList(
+                                OceanBaseSplit.snapshotSplit(
+                                        "db.orders:1", "db.orders", "id", 100, null, 400L)),
+                        Arrays.asList("db.orders:0", "db.orders:1"),
+                        Collections.singletonList("db.orders:0"),
+                        false,
+                        400L);
+        assertEquals(
+                state,
+                serializer.deserialize(serializer.getVersion(), serializer.serialize(state)));
+
+        final OceanBaseSourceEnumState streamState =
+                new OceanBaseSourceEnumState(
+                        Collections.singletonList("db.orders"),
+                        Collections.emptyList(),
+                        Collections.emptyList(),
+                        Collections.emptyList(),
+                        Collections.emptyList(),
+                        true,
+                        400L);
+        assertEquals(
+                streamState,
+                serializer.deserialize(serializer.getVersion(), serializer.serialize(streamState)));
+    }
+
+    private OceanBaseSplit serializeAndDeserializeSplit(OceanBaseSplit split) throws Exception {
+        final OceanBaseSplitSerializer serializer = new OceanBaseSplitSerializer();
+        byte[] serialized = serializer.serialize(split);
+        return serializer.deserialize(serializer.getVersion(), serialized);
+    }
+}
@@ -17,6 +17,7 @@
 package com.ververica.cdc.connectors.oceanbase.table;
 
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.table.api.DataTypes;
 import org.apache.flink.table.api.Schema;
 import org.apache.flink.table.catalog.CatalogTable;
@@ -117,7 +118,11 @@ public class OceanBaseTableFactoryTest {
                         null,
                         RS_LIST,
                         null,
-                        WORKING_MODE);
+                        WORKING_MODE,
+                        true,
+                        8096,
+                        MemorySize.parse("64mb").getBytes(),
+                        MemorySize.parse("1gb").getBytes());
         assertEquals(expectedSource, actualSource);
     }
 
@@ -132,6 +137,10 @@ public class OceanBaseTableFactoryTest {
         options.put("port", String.valueOf(PORT));
         options.put("logproxy.client.id", LOG_PROXY_CLIENT_ID);
         options.put("rootserver-list", RS_LIST);
+        options.put("scan.incremental.snapshot.enabled", "false");
+        options.put("scan.incremental.snapshot.chunk.size", "1024");
+        options.put("scan.change-event.buffer.size", "16mb");
+        options.put("scan.change-event.spill.size", "256mb");
         DynamicTableSource actualSource = createTableSource(SCHEMA, options);
 
         OceanBaseTableSource expectedSource =
@@ -154,7 +163,11 @@ public class OceanBaseTableFactoryTest {
                         null,
                         RS_LIST,
                         null,
-                        WORKING_MODE);
+                        WORKING_MODE,
+                        false,
+                        1024,
+                        MemorySize.parse("16mb").getBytes(),
+                        MemorySize.parse("256mb").getBytes());
         assertEquals(expectedSource, actualSource);
     }
 
@@ -193,7 +206,11 @@ public class OceanBaseTableFactoryTest {
                         null,
                         RS_LIST,
                         null,
-                        WORKING_MODE);
+                        WORKING_MODE,
+                        true,
+                        8096,
+                        MemorySize.parse("64mb").getBytes(),
+                        MemorySize.parse("1gb").getBytes());
         expectedSource.producedDataType = SCHEMA_WITH_METADATA.toSourceRowDataType();
         expectedSource.metadataKeys =
                 Arrays.asList("op_ts", "tenant_name", "database_name", "table_name");
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source;
+
+import org.apache.flink.annotation.Experimental;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.base.config.JdbcSourceConfig;
+import com.ververica.cdc.connectors.base.dialect.JdbcDataSourceDialect;
+import com.ververica.cdc.connectors.base.relational.connection.JdbcConnectionPoolFactory;
+import com.ververica.cdc.connectors.base.source.assigner.splitter.ChunkSplitter;
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.reader.external.FetchTask;
+import com.ververica.cdc.connectors.oracle.source.config.OracleSourceConfig;
+import com.ververica.cdc.connectors.oracle.source.config.OracleSourceConfigFactory;
+import com.ververica.cdc.connectors.oracle.source.fetch.OracleScanFetchTask;
+import com.ververica.cdc.connectors.oracle.source.fetch.OracleSourceFetchTaskContext;
+import com.ververica.cdc.connectors.oracle.source.fetch.OracleStreamFetchTask;
+import com.ververica.cdc.connectors.oracle.source.utils.OracleSchema;
+import io.debezium.connector.oracle.OracleConnection;
+import io.debezium.jdbc.JdbcConnection;
+import io.debezium.relational.TableId;
+import io.debezium.relational.history.TableChanges.TableChange;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.ververica.cdc.connectors.oracle.source.utils.OracleConnectionUtils.currentRedoLogOffset;
+import static com.ververica.cdc.connectors.oracle.source.utils.OracleConnectionUtils.listTables;
+import static com.ververica.cdc.connectors.oracle.source.utils.OracleConnectionUtils.openTableReadingConnection;
+
+/** The {@link JdbcDataSourceDialect} implementation for Oracle datasource. */
+@Experimental
+public class OracleDialect implements JdbcDataSourceDialect {
+
+    private static final long serialVersionUID = 1L;
+    private final OracleSourceConfigFactory configFactory;
+    private final OracleSourceConfig sourceConfig;
+    private transient OracleSchema oracleSchema;
+
+    public OracleDialect(OracleSourceConfigFactory configFactory) {
+        this.configFactory = configFactory;
+        this.sourceConfig = configFactory.create(0);
+    }
+
+    @Override
+    public String getName() {
+        return "Oracle";
+    }
+
+    @Override
+    public Offset displayCurrentOffset(JdbcSourceConfig sourceConfig) {
+        try (JdbcConnection jdbcConnection = openJdbcConnection(sourceConfig)) {
+            return currentRedoLogOffset(jdbcConnection);
+        } catch (Exception e) {
+            throw new FlinkRuntimeException("Read the redo log offset error", e);
+        }
+    }
+
+    @Override
+    public boolean isDataCollectionIdCaseSensitive(JdbcSourceConfig sourceConfig) {
+        // Oracle keeps the names of quoted identifiers as is, the table ids are read from the
+        // data dictionary
+        return true;
+    }
+
+    /**
+     * Opens an {@link OracleConnection} instead of a pooled connection, the table schemas are
+     * read with the database name as the catalog of the table ids, which is the same as the one
+     * of the redo log events.
+     */
+    @Override
+    public JdbcConnection openJdbcConnection(JdbcSourceConfig sourceConfig) {
+        OracleConnection jdbc = openTableReadingConnection(sourceConfig.getDbzConfiguration());
+        try {
+            jdbc.connect();
+        } catch (Exception e) {
+            throw new FlinkRuntimeException(e);
+        }
+        return jdbc;
+    }
+
+    @Override
+    public ChunkSplitter<TableId> createChunkSplitter(JdbcSourceConfig sourceConfig) {
+        return new OracleChunkSplitter(sourceConfig, this);
+    }
+
+    @Override
+    public JdbcConnectionPoolFactory getPooledDataSourceFactory() {
+        return new OraclePooledDataSourceFactory();
+    }
+
+    @Override
+    public List<TableId> discoverDataCollections(JdbcSourceConfig sourceConfig) {
+        OracleSourceConfig oracleSourceConfig = (OracleSourceConfig) sourceConfig;
+        try (JdbcConnection jdbcConnection = openJdbcConnection(sourceConfig)) {
+            return listTables(
+                    jdbcConnection,
+                    oracleSourceConfig.getDatabaseList().get(0),
+                    oracleSourceConfig.getTableFilters());
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException("Error to discover tables: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<TableId, TableChange> discoverDataCollectionSchemas(JdbcSourceConfig sourceConfig) {
+        final List<TableId> capturedTableIds = discoverDataCollections(sourceConfig);
+
+        try (JdbcConnection jdbc = openJdbcConnection(sourceConfig)) {
+            // fetch table schemas
+            Map<TableId, TableChange> tableSchemas = new HashMap<>();
+            for (TableId tableId : capturedTableIds) {
+                TableChange tableSchema = queryTableSchema(jdbc, tableId);
+                tableSchemas.put(tableId, tableSchema);
+            }
+            return tableSchemas;
+        } catch (Exception e) {
+            throw new FlinkRuntimeException(
+                    "Error to discover table schemas: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public TableChange queryTableSchema(JdbcConnection jdbc, TableId tableId) {
+        if (oracleSchema == null) {
+            oracleSchema = new OracleSchema(sourceConfig);
+        }
+        return oracleSchema.getTableSchema(jdbc, tableId);
+    }
+
+    @Override
+    public OracleSourceFetchTaskContext createFetchTaskContext(
+            SourceSplitBase sourceSplitBase, JdbcSourceConfig taskSourceConfig) {
+        final OracleConnection jdbcConnection =
+                openTableReadingConnection(taskSourceConfig.getDbzConfiguration());
+        return new OracleSourceFetchTaskContext(taskSourceConfig, this, jdbcConnection);
+    }
+
+    @Override
+    public FetchTask<SourceSplitBase> createFetchTask(SourceSplitBase sourceSplitBase) {
+        if (sourceSplitBase.isSnapshotSplit()) {
+            return new OracleScanFetchTask(sourceSplitBase.asSnapshotSplit());
+        } else {
+            return new OracleStreamFetchTask(sourceSplitBase.asStreamSplit());
+        }
+    }
+}
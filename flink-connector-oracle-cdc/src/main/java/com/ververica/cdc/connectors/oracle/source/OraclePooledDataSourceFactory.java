@@ -0,0 +1,30 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source;
+
+import com.ververica.cdc.connectors.base.config.JdbcSourceConfig;
+import com.ververica.cdc.connectors.base.relational.connection.JdbcConnectionPoolFactory;
+import com.ververica.cdc.connectors.oracle.util.OracleJdbcUrlUtils;
+
+/** An Oracle datasource factory. */
+public class OraclePooledDataSourceFactory extends JdbcConnectionPoolFactory {
+
+    @Override
+    public String getJdbcUrl(JdbcSourceConfig sourceConfig) {
+        return OracleJdbcUrlUtils.getConnectionUrlWithSid(sourceConfig.getDbzProperties());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.config;
+
+import com.ververica.cdc.connectors.base.config.JdbcSourceConfigFactory;
+import com.ververica.cdc.connectors.oracle.source.EmbeddedFlinkDatabaseHistory;
+import io.debezium.config.Configuration;
+import io.debezium.connector.oracle.OracleConnector;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/** A factory to initialize {@link OracleSourceConfig}. */
+public class OracleSourceConfigFactory extends JdbcSourceConfigFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String DATABASE_SERVER_NAME = "oracle_logminer";
+    private static final String DRIVER_CLASS_NAME = "oracle.jdbc.OracleDriver";
+
+    private String url;
+    private List<String> schemaList;
+
+    public OracleSourceConfigFactory() {
+        // the default port of the Oracle listener
+        this.port = 1521;
+    }
+
+    /** Url to use when connecting to the Oracle database server. */
+    public OracleSourceConfigFactory url(String url) {
+        this.url = url;
+        return this;
+    }
+
+    /**
+     * An optional list of regular expressions that match schema names to be monitored; any schema
+     * name not included in the whitelist will be excluded from monitoring. By default all
+     * non-system schemas will be monitored.
+     */
+    public OracleSourceConfigFactory schemaList(String... schemaList) {
+        this.schemaList = Arrays.asList(schemaList);
+        return this;
+    }
+
+    /** Creates a new {@link OracleSourceConfig} for the given subtask {@code subtaskId}. */
+    @Override
+    public OracleSourceConfig create(int subtaskId) {
+        Properties props = new Properties();
+        props.setProperty("connector.class", OracleConnector.class.getCanonicalName());
+        // Logical name that identifies and provides a namespace for the particular Oracle
+        // database server being monitored, only alphanumeric characters and underscores should
+        // be used.
+        props.setProperty("database.server.name", DATABASE_SERVER_NAME);
+        props.setProperty("database.user", checkNotNull(username));
+        props.setProperty("database.password", checkNotNull(password));
+        props.setProperty("database.history.skip.unparseable.ddl", String.valueOf(true));
+        checkState(
+                databaseList != null && databaseList.size() == 1,
+                "Exactly one Oracle database should be captured.");
+        props.setProperty("database.dbname", databaseList.get(0));
+        if (url != null) {
+            props.setProperty("database.url", url);
+        } else {
+            props.setProperty(
+                    "database.hostname",
+                    checkNotNull(hostname, "hostname is required when url is not configured"));
+            props.setProperty("database.port", String.valueOf(port));
+        }
+        // database history
+        props.setProperty(
+                "database.history", EmbeddedFlinkDatabaseHistory.class.getCanonicalName());
+        props.setProperty(
+                EmbeddedFlinkDatabaseHistory.DATABASE_HISTORY_INSTANCE_NAME,
+                UUID.randomUUID() + "_" + subtaskId);
+        props.setProperty("connect.timeout.ms", String.valueOf(connectTimeout.toMillis()));
+        // the underlying debezium reader should always capture the schema changes and forward them.
+        // Note: the includeSchemaChanges parameter is used to control emitting the schema record,
+        // only DataStream API program need to emit the schema record, the Table API need not
+        props.setProperty("include.schema.changes", String.valueOf(true));
+        // disable the offset flush totally
+        props.setProperty("offset.flush.interval.ms", String.valueOf(Long.MAX_VALUE));
+        // disable tombstones
+        props.setProperty("tombstones.on.delete", String.valueOf(false));
+
+        if (schemaList != null) {
+            props.setProperty("schema.whitelist", String.join(",", schemaList));
+        }
+        if (tableList != null) {
+            props.setProperty("table.include.list", String.join(",", tableList));
+        }
+
+        // override the user-defined debezium properties
+        if (dbzProperties != null) {
+            dbzProperties.forEach(props::put);
+        }
+
+        Configuration dbzConfiguration = Configuration.from(props);
+        return new OracleSourceConfig(
+                startupOptions,
+                databaseList,
+                tableList,
+                splitSize,
+                splitMetaGroupSize,
+                distributionFactorUpper,
+                distributionFactorLower,
+                includeSchemaChanges,
+                props,
+                dbzConfiguration,
+                DRIVER_CLASS_NAME,
+                hostname,
+                port,
+                url,
+                username,
+                password,
+                fetchSize,
+                serverTimeZone,
+                connectTimeout,
+                connectMaxRetries,
+                connectionPoolSize);
+    }
+}
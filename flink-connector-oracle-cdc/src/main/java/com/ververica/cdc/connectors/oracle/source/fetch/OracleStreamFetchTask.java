@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.fetch;
+
+import com.ververica.cdc.connectors.base.relational.JdbcSourceEventDispatcher;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.meta.split.StreamSplit;
+import com.ververica.cdc.connectors.base.source.reader.external.FetchTask;
+import io.debezium.config.Configuration;
+import io.debezium.connector.oracle.OracleConnection;
+import io.debezium.connector.oracle.OracleConnectorConfig;
+import io.debezium.connector.oracle.OracleDatabaseSchema;
+import io.debezium.connector.oracle.OracleStreamingChangeEventSourceMetrics;
+import io.debezium.connector.oracle.logminer.ArchiveLogCatchUp;
+import io.debezium.connector.oracle.logminer.LogMinerStreamingChangeEventSource;
+import io.debezium.pipeline.ErrorHandler;
+import io.debezium.pipeline.source.spi.ChangeEventSource;
+import io.debezium.util.Clock;
+
+/** The task to work for fetching data of Oracle table stream split . */
+public class OracleStreamFetchTask implements FetchTask<SourceSplitBase> {
+
+    private final StreamSplit split;
+    private volatile boolean taskRunning = false;
+    private RedoLogSplitReadTask redoLogSplitReadTask;
+
+    public OracleStreamFetchTask(StreamSplit split) {
+        this.split = split;
+    }
+
+    @Override
+    public void execute(Context context) throws Exception {
+        OracleSourceFetchTaskContext sourceFetchContext = (OracleSourceFetchTaskContext) context;
+        taskRunning = true;
+        redoLogSplitReadTask =
+                new RedoLogSplitReadTask(
+                        sourceFetchContext.getDbzConnectorConfig(),
+                        sourceFetchContext.getConnection(),
+                        sourceFetchContext.getDispatcher(),
+                        sourceFetchContext.getErrorHandler(),
+                        sourceFetchContext.getDatabaseSchema(),
+                        sourceFetchContext.getDbzConnectorConfig().jdbcConfig(),
+                        sourceFetchContext.getStreamingChangeEventSourceMetrics());
+        RedoLogSplitChangeEventSourceContext changeEventSourceContext =
+                new RedoLogSplitChangeEventSourceContext();
+        if (ArchiveLogCatchUp.isEnabled(sourceFetchContext.getDbzConnectorConfig())) {
+            // mine the archived logs behind the offset in parallel before the sequential session
+            new ArchiveLogCatchUp(
+                            sourceFetchContext.getDbzConnectorConfig(),
+                            sourceFetchContext.getDatabaseSchema(),
+                            sourceFetchContext.getErrorHandler(),
+                            sourceFetchContext.getStreamingChangeEventSourceMetrics(),
+                            sourceFetchContext.getDispatcher(),
+                            sourceFetchContext.getDbzConnectorConfig().jdbcConfig())
+                    .execute(changeEventSourceContext, sourceFetchContext.getOffsetContext());
+        }
+        redoLogSplitReadTask.execute(
+                changeEventSourceContext, sourceFetchContext.getOffsetContext());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return taskRunning;
+    }
+
+    @Override
+    public StreamSplit getSplit() {
+        return split;
+    }
+
+    /**
+     * A wrapped task to read all redo log for table and also supports read bounded (from
+     * lowWatermark to highWatermark) redo log. The bounded read is stopped by the {@link
+     * ChangeEventSourceContext} between two mining rounds of LogMiner.
+     */
+    public static class RedoLogSplitReadTask extends LogMinerStreamingChangeEventSource {
+
+        public RedoLogSplitReadTask(
+                OracleConnectorConfig connectorConfig,
+                OracleConnection connection,
+                JdbcSourceEventDispatcher dispatcher,
+                ErrorHandler errorHandler,
+                OracleDatabaseSchema schema,
+                Configuration jdbcConfig,
+                OracleStreamingChangeEventSourceMetrics metrics) {
+            super(
+                    connectorConfig,
+                    connection,
+                    dispatcher,
+                    errorHandler,
+                    Clock.SYSTEM,
+                    schema,
+                    jdbcConfig,
+                    metrics);
+        }
+    }
+
+    /**
+     * The {@link ChangeEventSource.ChangeEventSourceContext} implementation for redo log split
+     * task.
+     */
+    private class RedoLogSplitChangeEventSourceContext
+            implements ChangeEventSource.ChangeEventSourceContext {
+        @Override
+        public boolean isRunning() {
+            return taskRunning;
+        }
+    }
+}
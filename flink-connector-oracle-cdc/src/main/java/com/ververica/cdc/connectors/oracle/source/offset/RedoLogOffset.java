@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.offset;
+
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A structure describes an offset in the redo log of Oracle, i.e. the SCN from which LogMiner
+ * restarts and the SCN of the last committed transaction.
+ *
+ * <p>The keys are the ones of the LogMiner offset of Debezium, so the offset is loaded by the
+ * Debezium offset context loader as is.
+ */
+public class RedoLogOffset extends Offset {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String SCN_KEY = "scn";
+    public static final String COMMIT_SCN_KEY = "commit_scn";
+
+    public static final RedoLogOffset INITIAL_OFFSET = new RedoLogOffset(0L);
+    public static final RedoLogOffset NO_STOPPING_OFFSET = new RedoLogOffset(Long.MIN_VALUE);
+
+    public RedoLogOffset(Map<String, String> offset) {
+        this.offset = offset;
+    }
+
+    public RedoLogOffset(long scn) {
+        this(scn, 0L);
+    }
+
+    public RedoLogOffset(long scn, long commitScn) {
+        Map<String, String> offsetMap = new HashMap<>();
+        offsetMap.put(SCN_KEY, String.valueOf(scn));
+        offsetMap.put(COMMIT_SCN_KEY, String.valueOf(commitScn));
+        this.offset = offsetMap;
+    }
+
+    public long getScn() {
+        return longOffsetValue(offset, SCN_KEY);
+    }
+
+    public long getCommitScn() {
+        return longOffsetValue(offset, COMMIT_SCN_KEY);
+    }
+
+    /**
+     * Returns the SCN up to which the redo log has been consumed. LogMiner keeps the restart SCN
+     * at the first SCN of the oldest open transaction, the SCN of the last committed transaction
+     * may be greater.
+     */
+    public long getConsumedScn() {
+        return Math.max(getScn(), getCommitScn());
+    }
+
+    @Override
+    public int compareTo(Offset offset) {
+        RedoLogOffset that = (RedoLogOffset) offset;
+        // the NO_STOPPING_OFFSET is the max offset
+        if (NO_STOPPING_OFFSET.equals(that) && NO_STOPPING_OFFSET.equals(this)) {
+            return 0;
+        }
+        if (NO_STOPPING_OFFSET.equals(this)) {
+            return 1;
+        }
+        if (NO_STOPPING_OFFSET.equals(that)) {
+            return -1;
+        }
+        return Long.compare(getConsumedScn(), that.getConsumedScn());
+    }
+}
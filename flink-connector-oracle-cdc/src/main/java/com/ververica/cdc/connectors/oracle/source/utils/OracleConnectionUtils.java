@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.utils;
+
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.oracle.source.offset.RedoLogOffset;
+import io.debezium.config.Configuration;
+import io.debezium.connector.oracle.OracleConnection;
+import io.debezium.connector.oracle.OracleConnectorConfig;
+import io.debezium.connector.oracle.Scn;
+import io.debezium.jdbc.JdbcConnection;
+import io.debezium.relational.RelationalTableFilters;
+import io.debezium.relational.TableId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Oracle connection Utilities. */
+public class OracleConnectionUtils {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OracleConnectionUtils.class);
+
+    private static final String SHOW_CURRENT_SCN = "SELECT CURRENT_SCN FROM V$DATABASE";
+
+    /** The tables of the schema, excluding the system, index-organized and nested tables. */
+    private static final String LIST_TABLES =
+            "SELECT OWNER, TABLE_NAME FROM ALL_TABLES "
+                    + "WHERE TABLE_NAME NOT LIKE 'MDRT_%' "
+                    + "AND TABLE_NAME NOT LIKE 'MDRS_%' "
+                    + "AND TABLE_NAME NOT LIKE 'MDXT_%' "
+                    + "AND (TABLE_NAME NOT LIKE 'SYS_IOT_OVER_%' AND IOT_NAME IS NULL) "
+                    + "AND NESTED = 'NO' "
+                    + "AND TABLE_NAME NOT IN (SELECT PARENT_TABLE_NAME FROM ALL_NESTED_TABLES)";
+
+    private OracleConnectionUtils() {}
+
+    /** Creates a new {@link OracleConnection}, but not open the connection. */
+    public static OracleConnection createOracleConnection(Configuration dbzConfiguration) {
+        return new OracleConnection(
+                dbzConfiguration.subset("database.", true),
+                OracleConnectionUtils.class::getClassLoader);
+    }
+
+    /**
+     * Creates a new {@link OracleConnection} to read the tables, the session is set to the
+     * pluggable database if one is configured.
+     */
+    public static OracleConnection openTableReadingConnection(Configuration dbzConfiguration) {
+        final OracleConnection connection = createOracleConnection(dbzConfiguration);
+        final String pdbName = new OracleConnectorConfig(dbzConfiguration).getPdbName();
+        if (pdbName != null) {
+            connection.setSessionToPdb(pdbName);
+        }
+        return connection;
+    }
+
+    /** Fetch current redo log offsets in Oracle Server. */
+    public static RedoLogOffset currentRedoLogOffset(JdbcConnection jdbc) {
+        try {
+            return jdbc.queryAndMap(
+                    SHOW_CURRENT_SCN,
+                    rs -> {
+                        if (rs.next()) {
+                            final String scn = rs.getString(1);
+                            return new RedoLogOffset(Scn.valueOf(scn).longValue());
+                        } else {
+                            throw new FlinkRuntimeException(
+                                    "Cannot read the scn via '"
+                                            + SHOW_CURRENT_SCN
+                                            + "'. Make sure your server is correctly configured");
+                        }
+                    });
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException(
+                    "Cannot read the redo log position via '"
+                            + SHOW_CURRENT_SCN
+                            + "'. Make sure your server is correctly configured",
+                    e);
+        }
+    }
+
+    /** Lists the tables of the database which are included by the table filters. */
+    public static List<TableId> listTables(
+            JdbcConnection jdbc, String database, RelationalTableFilters tableFilters)
+            throws SQLException {
+        final List<TableId> capturedTableIds = new ArrayList<>();
+        jdbc.query(
+                LIST_TABLES,
+                rs -> {
+                    while (rs.next()) {
+                        TableId tableId = new TableId(database, rs.getString(1), rs.getString(2));
+                        if (tableFilters.dataCollectionFilter().isIncluded(tableId)) {
+                            capturedTableIds.add(tableId);
+                            LOG.info("\t including '{}' for further processing", tableId);
+                        } else {
+                            LOG.debug("\t '{}' is filtered out of capturing", tableId);
+                        }
+                    }
+                });
+        return capturedTableIds;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.utils;
+
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.oracle.source.config.OracleSourceConfig;
+import io.debezium.connector.oracle.OracleConnection;
+import io.debezium.jdbc.JdbcConnection;
+import io.debezium.relational.RelationalTableFilters;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.relational.Tables;
+import io.debezium.relational.history.TableChanges.TableChange;
+import io.debezium.relational.history.TableChanges.TableChangeType;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/** A component used to get schema by table path. */
+public class OracleSchema {
+
+    private final RelationalTableFilters tableFilters;
+    private final Map<TableId, TableChange> schemasByTableId;
+
+    public OracleSchema(OracleSourceConfig sourceConfig) {
+        this.tableFilters = sourceConfig.getTableFilters();
+        this.schemasByTableId = new HashMap<>();
+    }
+
+    /**
+     * Gets table schema for the given table path. It will read the table metadata of the owner
+     * from the Oracle server if cache missed.
+     */
+    public TableChange getTableSchema(JdbcConnection jdbc, TableId tableId) {
+        // read schema from cache first
+        TableChange schema = schemasByTableId.get(tableId);
+        if (schema == null) {
+            schema = readTableSchema(jdbc, tableId);
+            schemasByTableId.put(tableId, schema);
+        }
+        return schema;
+    }
+
+    private TableChange readTableSchema(JdbcConnection jdbc, TableId tableId) {
+        // OracleConnection keeps the database name as the catalog of the read table ids, which is
+        // required to match the table ids of the redo log events
+        final OracleConnection oracleConnection = (OracleConnection) jdbc;
+        final Tables tables = new Tables();
+        try {
+            oracleConnection.readSchema(
+                    tables,
+                    tableId.catalog(),
+                    tableId.schema(),
+                    tableFilters.dataCollectionFilter(),
+                    null,
+                    false);
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException(
+                    String.format("Failed to read schema for table %s", tableId), e);
+        }
+        final Table table = tables.forTable(tableId);
+        if (table == null) {
+            throw new FlinkRuntimeException(
+                    String.format("Can't obtain schema for table %s", tableId));
+        }
+        return new TableChange(TableChangeType.CREATE, table);
+    }
+}
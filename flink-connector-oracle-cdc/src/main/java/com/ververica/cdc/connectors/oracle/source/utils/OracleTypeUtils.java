@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.utils;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.api.ValidationException;
+import org.apache.flink.table.types.DataType;
+
+import io.debezium.relational.Column;
+
+import java.sql.Types;
+
+/** Utilities for converting from Oracle types to Flink types. */
+public class OracleTypeUtils {
+
+    private OracleTypeUtils() {}
+
+    /**
+     * Returns a corresponding Flink data type from a debezium {@link Column} of a split key.
+     *
+     * <p>Only the integral {@code NUMBER(p)} and the character types are supported as split keys,
+     * their values in the change events can be compared with the chunk boundaries read by JDBC.
+     */
+    public static DataType fromDbzColumn(Column column) {
+        DataType dataType = convertFromColumn(column);
+        if (column.isOptional()) {
+            return dataType;
+        } else {
+            return dataType.notNull();
+        }
+    }
+
+    /**
+     * Returns a corresponding Flink data type from a debezium {@link Column} with nullable always
+     * be true.
+     */
+    private static DataType convertFromColumn(Column column) {
+        switch (column.jdbcType()) {
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+                return DataTypes.STRING();
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                if (column.length() > 0 && column.scale().orElse(-1) == 0) {
+                    // the same integral types as the change events of Debezium
+                    final int precision = column.length();
+                    if (precision < 3) {
+                        return DataTypes.TINYINT();
+                    } else if (precision < 5) {
+                        return DataTypes.SMALLINT();
+                    } else if (precision < 10) {
+                        return DataTypes.INT();
+                    } else if (precision < 19) {
+                        return DataTypes.BIGINT();
+                    } else {
+                        return DataTypes.DECIMAL(Math.min(precision, 38), 0);
+                    }
+                }
+                // fall through
+            default:
+                throw new ValidationException(
+                        String.format(
+                                "Incremental snapshot for Oracle tables requires the first primary key column to be an integral NUMBER(p) or a character type,"
+                                        + " but column %s is %s.",
+                                column.name(), column.typeName()));
+        }
+    }
+}
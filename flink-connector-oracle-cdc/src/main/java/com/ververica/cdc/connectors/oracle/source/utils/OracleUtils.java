@@ -0,0 +1,301 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.utils;
+
+import org.apache.flink.table.api.ValidationException;
+import org.apache.flink.table.types.logical.RowType;
+
+import com.ververica.cdc.connectors.oracle.source.offset.RedoLogOffset;
+import io.debezium.connector.oracle.OracleConnection;
+import io.debezium.connector.oracle.OracleConnectorConfig;
+import io.debezium.connector.oracle.OracleDatabaseSchema;
+import io.debezium.connector.oracle.OracleTopicSelector;
+import io.debezium.connector.oracle.OracleValueConverters;
+import io.debezium.connector.oracle.StreamingAdapter.TableNameCaseSensitivity;
+import io.debezium.jdbc.JdbcConnection;
+import io.debezium.relational.Column;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.schema.TopicSelector;
+import io.debezium.util.SchemaNameAdjuster;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.ververica.cdc.connectors.base.utils.SourceRecordUtils.rowToArray;
+import static org.apache.flink.table.api.DataTypes.FIELD;
+import static org.apache.flink.table.api.DataTypes.ROW;
+
+/** Utils to prepare Oracle SQL statement. */
+public class OracleUtils {
+
+    private OracleUtils() {}
+
+    public static Object[] queryMinMax(JdbcConnection jdbc, TableId tableId, String columnName)
+            throws SQLException {
+        final String minMaxQuery =
+                String.format(
+                        "SELECT MIN(%s), MAX(%s) FROM %s",
+                        quote(columnName), quote(columnName), quote(tableId));
+        return jdbc.queryAndMap(
+                minMaxQuery,
+                rs -> {
+                    if (!rs.next()) {
+                        // this should never happen
+                        throw new SQLException(
+                                String.format(
+                                        "No result returned after running query [%s]",
+                                        minMaxQuery));
+                    }
+                    return rowToArray(rs, 2);
+                });
+    }
+
+    public static long queryApproximateRowCnt(JdbcConnection jdbc, TableId tableId)
+            throws SQLException {
+        // The optimizer statistics of the table, which are less accurate than COUNT(*) and may
+        // be absent if the table has never been analyzed, but are free to read for large tables.
+        final String rowCountQuery =
+                "SELECT NUM_ROWS FROM ALL_TABLES WHERE OWNER = ? AND TABLE_NAME = ?";
+        return jdbc.prepareQueryAndMap(
+                rowCountQuery,
+                ps -> {
+                    ps.setString(1, tableId.schema());
+                    ps.setString(2, tableId.table());
+                },
+                rs -> {
+                    if (!rs.next()) {
+                        throw new SQLException(
+                                String.format(
+                                        "No result returned after running query [%s]",
+                                        rowCountQuery));
+                    }
+                    // NUM_ROWS is NULL without statistics, which is read as 0
+                    return rs.getLong(1);
+                });
+    }
+
+    public static Object queryMin(
+            JdbcConnection jdbc, TableId tableId, String columnName, Object excludedLowerBound)
+            throws SQLException {
+        final String minQuery =
+                String.format(
+                        "SELECT MIN(%s) FROM %s WHERE %s > ?",
+                        quote(columnName), quote(tableId), quote(columnName));
+        return jdbc.prepareQueryAndMap(
+                minQuery,
+                ps -> ps.setObject(1, excludedLowerBound),
+                rs -> {
+                    if (!rs.next()) {
+                        // this should never happen
+                        throw new SQLException(
+                                String.format(
+                                        "No result returned after running query [%s]", minQuery));
+                    }
+                    return rs.getObject(1);
+                });
+    }
+
+    public static Object queryNextChunkMax(
+            JdbcConnection jdbc,
+            TableId tableId,
+            String splitColumnName,
+            int chunkSize,
+            Object includedLowerBound)
+            throws SQLException {
+        final String query = buildNextChunkMaxQuery(tableId, splitColumnName, chunkSize);
+        return jdbc.prepareQueryAndMap(
+                query,
+                ps -> ps.setObject(1, includedLowerBound),
+                rs -> {
+                    if (!rs.next()) {
+                        // this should never happen
+                        throw new SQLException(
+                                String.format(
+                                        "No result returned after running query [%s]", query));
+                    }
+                    return rs.getObject(1);
+                });
+    }
+
+    /**
+     * Builds the query of the maximum split key value among the next {@code chunkSize} rows. The
+     * rows are limited by {@code ROWNUM} of an ordered sub query, which is also supported by the
+     * releases before Oracle 12c.
+     */
+    static String buildNextChunkMaxQuery(TableId tableId, String splitColumnName, int chunkSize) {
+        final String quotedColumn = quote(splitColumnName);
+        return String.format(
+                "SELECT MAX(%s) FROM ("
+                        + "SELECT %s FROM (SELECT %s FROM %s WHERE %s >= ? ORDER BY %s ASC) "
+                        + "WHERE ROWNUM <= %s)",
+                quotedColumn,
+                quotedColumn,
+                quotedColumn,
+                quote(tableId),
+                quotedColumn,
+                quotedColumn,
+                chunkSize);
+    }
+
+    public static String buildSplitScanQuery(
+            TableId tableId, RowType pkRowType, boolean isFirstSplit, boolean isLastSplit) {
+        final StringBuilder sql = new StringBuilder("SELECT * FROM ").append(quote(tableId));
+        if (isFirstSplit && isLastSplit) {
+            return sql.toString();
+        }
+        sql.append(" WHERE ");
+        if (isFirstSplit) {
+            addPrimaryKeyColumnsToCondition(pkRowType, sql, " <= ?");
+            sql.append(" AND NOT (");
+            addPrimaryKeyColumnsToCondition(pkRowType, sql, " = ?");
+            sql.append(")");
+        } else if (isLastSplit) {
+            addPrimaryKeyColumnsToCondition(pkRowType, sql, " >= ?");
+        } else {
+            addPrimaryKeyColumnsToCondition(pkRowType, sql, " >= ?");
+            sql.append(" AND NOT (");
+            addPrimaryKeyColumnsToCondition(pkRowType, sql, " = ?");
+            sql.append(")");
+            sql.append(" AND ");
+            addPrimaryKeyColumnsToCondition(pkRowType, sql, " <= ?");
+        }
+        return sql.toString();
+    }
+
+    public static PreparedStatement readTableSplitDataStatement(
+            JdbcConnection jdbc,
+            String sql,
+            boolean isFirstSplit,
+            boolean isLastSplit,
+            Object[] splitStart,
+            Object[] splitEnd,
+            int primaryKeyNum,
+            int fetchSize) {
+        try {
+            final PreparedStatement statement = initStatement(jdbc, sql, fetchSize);
+            if (isFirstSplit && isLastSplit) {
+                return statement;
+            }
+            if (isFirstSplit) {
+                for (int i = 0; i < primaryKeyNum; i++) {
+                    statement.setObject(i + 1, splitEnd[i]);
+                    statement.setObject(i + 1 + primaryKeyNum, splitEnd[i]);
+                }
+            } else if (isLastSplit) {
+                for (int i = 0; i < primaryKeyNum; i++) {
+                    statement.setObject(i + 1, splitStart[i]);
+                }
+            } else {
+                for (int i = 0; i < primaryKeyNum; i++) {
+                    statement.setObject(i + 1, splitStart[i]);
+                    statement.setObject(i + 1 + primaryKeyNum, splitEnd[i]);
+                    statement.setObject(i + 1 + 2 * primaryKeyNum, splitEnd[i]);
+                }
+            }
+            return statement;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to build the split data read statement.", e);
+        }
+    }
+
+    public static RowType getSplitType(Table table) {
+        Column splitColumn = getSplitColumn(table);
+        return (RowType)
+                ROW(FIELD(splitColumn.name(), OracleTypeUtils.fromDbzColumn(splitColumn)))
+                        .getLogicalType();
+    }
+
+    public static Column getSplitColumn(Table table) {
+        List<Column> primaryKeys = table.primaryKeyColumns();
+        if (primaryKeys.isEmpty()) {
+            throw new ValidationException(
+                    String.format(
+                            "Incremental snapshot for tables requires primary key,"
+                                    + " but table %s doesn't have primary key.",
+                            table.id()));
+        }
+
+        // use first field in primary key as the split key
+        return primaryKeys.get(0);
+    }
+
+    /** Creates a new {@link OracleDatabaseSchema} to monitor the latest Oracle database schemas. */
+    public static OracleDatabaseSchema createOracleDatabaseSchema(
+            OracleConnectorConfig dbzOracleConfig, OracleConnection connection) {
+        TopicSelector<TableId> topicSelector = OracleTopicSelector.defaultSelector(dbzOracleConfig);
+        SchemaNameAdjuster schemaNameAdjuster = SchemaNameAdjuster.create();
+        OracleValueConverters valueConverters =
+                new OracleValueConverters(dbzOracleConfig, connection);
+        TableNameCaseSensitivity tableNameCaseSensitivity =
+                dbzOracleConfig.getAdapter().getTableNameCaseSensitivity(connection);
+        return new OracleDatabaseSchema(
+                dbzOracleConfig,
+                valueConverters,
+                schemaNameAdjuster,
+                topicSelector,
+                tableNameCaseSensitivity);
+    }
+
+    public static RedoLogOffset getRedoLogPosition(SourceRecord dataRecord) {
+        return getRedoLogPosition(dataRecord.sourceOffset());
+    }
+
+    public static RedoLogOffset getRedoLogPosition(Map<String, ?> offset) {
+        Map<String, String> offsetStrMap = new HashMap<>();
+        for (Map.Entry<String, ?> entry : offset.entrySet()) {
+            offsetStrMap.put(
+                    entry.getKey(), entry.getValue() == null ? null : entry.getValue().toString());
+        }
+        return new RedoLogOffset(offsetStrMap);
+    }
+
+    public static String quote(String dbOrTableName) {
+        return "\"" + dbOrTableName + "\"";
+    }
+
+    /** Quotes the table as {@code "SCHEMA"."TABLE"}, the catalog is the connected database. */
+    public static String quote(TableId tableId) {
+        return quote(tableId.schema()) + "." + quote(tableId.table());
+    }
+
+    private static PreparedStatement initStatement(JdbcConnection jdbc, String sql, int fetchSize)
+            throws SQLException {
+        final Connection connection = jdbc.connection();
+        connection.setAutoCommit(false);
+        final PreparedStatement statement = connection.prepareStatement(sql);
+        statement.setFetchSize(fetchSize);
+        return statement;
+    }
+
+    private static void addPrimaryKeyColumnsToCondition(
+            RowType pkRowType, StringBuilder sql, String predicate) {
+        for (Iterator<String> fieldNamesIt = pkRowType.getFieldNames().iterator();
+                fieldNamesIt.hasNext(); ) {
+            sql.append(quote(fieldNamesIt.next())).append(predicate);
+            if (fieldNamesIt.hasNext()) {
+                sql.append(" AND ");
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+import io.debezium.config.Configuration;
+import io.debezium.connector.oracle.OracleConnectorConfig;
+import io.debezium.connector.oracle.OracleDatabaseSchema;
+import io.debezium.connector.oracle.OracleOffsetContext;
+import io.debezium.connector.oracle.OracleStreamingChangeEventSourceMetrics;
+import io.debezium.connector.oracle.Scn;
+import io.debezium.connector.oracle.logminer.ArchiveLogRangeProvider.ArchiveLogRange;
+import io.debezium.connector.oracle.logminer.parser.LogMinerDmlParser;
+import io.debezium.connector.oracle.logminer.valueholder.LogMinerDmlEntry;
+import io.debezium.pipeline.ErrorHandler;
+import io.debezium.pipeline.EventDispatcher;
+import io.debezium.pipeline.source.spi.ChangeEventSource.ChangeEventSourceContext;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.util.Clock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Catches up with the redo log after a restart far behind its head by mining the archived logs
+ * with several concurrent LogMiner sessions, before the sequential LogMiner session of {@link
+ * LogMinerStreamingChangeEventSource} takes over.
+ *
+ * <p>The rows of the ranges are applied in SCN order to a {@link TransactionalBuffer}, which emits
+ * the committed transactions. The catch-up stops before a DDL or a LOB operation on a captured
+ * table, or a change of a table unknown to the schema, and leaves them to the sequential session.
+ * On handover the offset SCN is set before the first SCN of the oldest transaction still open, the
+ * sequential session mines the open transactions again and skips the transactions committed up to
+ * the commit SCN of the offset.
+ */
+public final class ArchiveLogCatchUp {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArchiveLogCatchUp.class);
+
+    /**
+     * The number of concurrent LogMiner sessions mining the archived logs on startup, the catch-up
+     * is disabled with 1.
+     */
+    public static final String ARCHIVE_LOG_PARALLELISM = "log.mining.archive.parallelism";
+
+    private static final int ARCHIVE_LOG_PARALLELISM_DEFAULT = 1;
+
+    private static final int ROW_QUEUE_CAPACITY = 10_000;
+
+    private final OracleConnectorConfig connectorConfig;
+    private final OracleDatabaseSchema schema;
+    private final ErrorHandler errorHandler;
+    private final OracleStreamingChangeEventSourceMetrics streamingMetrics;
+    private final EventDispatcher<TableId> dispatcher;
+    private final ArchiveLogRangeProvider provider;
+    private final int parallelism;
+
+    public ArchiveLogCatchUp(
+            OracleConnectorConfig connectorConfig,
+            OracleDatabaseSchema schema,
+            ErrorHandler errorHandler,
+            OracleStreamingChangeEventSourceMetrics streamingMetrics,
+            EventDispatcher<TableId> dispatcher,
+            Configuration jdbcConfig) {
+        this.connectorConfig = connectorConfig;
+        this.schema = schema;
+        this.errorHandler = errorHandler;
+        this.streamingMetrics = streamingMetrics;
+        this.dispatcher = dispatcher;
+        this.provider = new OracleArchiveLogRangeProvider(jdbcConfig);
+        this.parallelism = getParallelism(connectorConfig);
+    }
+
+    /**
+     * Returns whether the catch-up is configured, the LOB operations are merged by the sequential
+     * session only.
+     */
+    public static boolean isEnabled(OracleConnectorConfig connectorConfig) {
+        return getParallelism(connectorConfig) > 1 && !connectorConfig.isLobEnabled();
+    }
+
+    private static int getParallelism(OracleConnectorConfig connectorConfig) {
+        return connectorConfig
+                .getConfig()
+                .getInteger(ARCHIVE_LOG_PARALLELISM, ARCHIVE_LOG_PARALLELISM_DEFAULT);
+    }
+
+    /**
+     * Mines the archived logs after the offset SCN and updates the offset to the SCN the
+     * sequential session continues from. Does nothing if less than two archived log ranges are
+     * behind the offset.
+     */
+    public void execute(ChangeEventSourceContext context, OracleOffsetContext offsetContext)
+            throws SQLException, InterruptedException {
+        final List<ArchiveLogRange> ranges =
+                provider.listRanges(offsetContext.getScn().add(Scn.valueOf(1)));
+        if (ranges.size() < 2) {
+            LOGGER.debug(
+                    "{} archived log ranges after SCN {}, skip the parallel mining.",
+                    ranges.size(),
+                    offsetContext.getScn());
+            return;
+        }
+        LOGGER.info(
+                "Mining {} archived log ranges from SCN {} to {} with {} sessions.",
+                ranges.size(),
+                ranges.get(0).getStartScn(),
+                ranges.get(ranges.size() - 1).getEndScn(),
+                parallelism);
+
+        try (TransactionalBuffer buffer =
+                        new TransactionalBuffer(
+                                connectorConfig,
+                                schema,
+                                Clock.SYSTEM,
+                                errorHandler,
+                                streamingMetrics);
+                ParallelArchiveLogMiner miner =
+                        new ParallelArchiveLogMiner(provider, parallelism, ROW_QUEUE_CAPACITY)) {
+            final Scn stopScn =
+                    miner.mine(ranges, new BufferRowHandler(buffer, context, offsetContext));
+
+            // the open transactions are mined again by the sequential session
+            Scn restartScn = stopScn.subtract(Scn.valueOf(1));
+            final Scn minimumScn = buffer.getMinimumScn();
+            if (!buffer.isEmpty() && !minimumScn.isNull() && minimumScn.compareTo(stopScn) < 0) {
+                restartScn = minimumScn.subtract(Scn.valueOf(1));
+            }
+            LOGGER.info(
+                    "Mined the archived logs up to SCN {}, continue from SCN {}, commit SCN {}.",
+                    stopScn,
+                    restartScn,
+                    offsetContext.getCommitScn());
+            offsetContext.setScn(restartScn);
+            streamingMetrics.setOffsetScn(restartScn);
+            dispatcher.dispatchHeartbeatEvent(offsetContext);
+        }
+    }
+
+    /** Applies the mined rows to the transactional buffer. */
+    private final class BufferRowHandler implements ParallelArchiveLogMiner.RowHandler {
+
+        private final TransactionalBuffer buffer;
+        private final ChangeEventSourceContext context;
+        private final OracleOffsetContext offsetContext;
+        private final LogMinerDmlParser dmlParser = new LogMinerDmlParser();
+
+        private BufferRowHandler(
+                TransactionalBuffer buffer,
+                ChangeEventSourceContext context,
+                OracleOffsetContext offsetContext) {
+            this.buffer = buffer;
+            this.context = context;
+            this.offsetContext = offsetContext;
+        }
+
+        @Override
+        public boolean accept(LogMinerRow row) {
+            if (!context.isRunning()) {
+                return false;
+            }
+            switch (row.getOperationCode()) {
+                case LogMinerRow.START:
+                case LogMinerRow.COMMIT:
+                case LogMinerRow.ROLLBACK:
+                    return true;
+                default:
+                    if (row.getTableName() == null) {
+                        // a DDL not on a table
+                        return true;
+                    }
+                    final TableId tableId = tableId(row);
+                    if (!isIncluded(tableId)) {
+                        return true;
+                    }
+                    return row.isDml() && schema.tableFor(tableId) != null;
+            }
+        }
+
+        @Override
+        public void apply(LogMinerRow row) {
+            final String transactionId = row.getTransactionId();
+            switch (row.getOperationCode()) {
+                case LogMinerRow.START:
+                    buffer.registerTransaction(transactionId, row.getScn());
+                    break;
+                case LogMinerRow.COMMIT:
+                    buffer.commit(
+                            transactionId,
+                            row.getScn(),
+                            offsetContext,
+                            row.getChangeTime(),
+                            context,
+                            row.toString(),
+                            dispatcher);
+                    break;
+                case LogMinerRow.ROLLBACK:
+                    buffer.rollback(transactionId, row.toString());
+                    break;
+                default:
+                    if (row.isDml()) {
+                        final TableId tableId = tableId(row);
+                        if (isIncluded(tableId)) {
+                            applyDml(row, tableId);
+                        }
+                    }
+            }
+        }
+
+        private void applyDml(LogMinerRow row, TableId tableId) {
+            if (row.isRollback()) {
+                buffer.undoDmlOperation(row.getTransactionId(), row.getRowId(), tableId);
+                return;
+            }
+            final Table table = schema.tableFor(tableId);
+            buffer.registerDmlOperation(
+                    row.getOperationCode(),
+                    row.getTransactionId(),
+                    row.getScn(),
+                    tableId,
+                    () -> {
+                        final LogMinerDmlEntry entry =
+                                dmlParser.parse(row.getRedoSql(), table, row.getTransactionId());
+                        entry.setObjectOwner(row.getSegOwner());
+                        entry.setObjectName(row.getTableName());
+                        return entry;
+                    },
+                    row.getChangeTime().toInstant(),
+                    row.getRowId(),
+                    row.getRsId());
+        }
+
+        private TableId tableId(LogMinerRow row) {
+            return new TableId(
+                    connectorConfig.getCatalogName(), row.getSegOwner(), row.getTableName());
+        }
+
+        private boolean isIncluded(TableId tableId) {
+            return connectorConfig.getTableFilters().dataCollectionFilter().isIncluded(tableId);
+        }
+    }
+}
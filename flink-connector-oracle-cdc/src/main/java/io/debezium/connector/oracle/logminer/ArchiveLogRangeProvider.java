@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+import io.debezium.connector.oracle.Scn;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lists the SCN ranges covered by the archived redo logs and mines a range in its own LogMiner
+ * session. The ranges are disjoint, so the rows of the ranges in order are in SCN order.
+ */
+interface ArchiveLogRangeProvider {
+
+    /**
+     * Returns the ranges of the archived logs from the given SCN in SCN order, the first range
+     * starts at the given SCN and every range starts at the end of the previous one. Returns an
+     * empty list if the archived logs don't cover the SCN.
+     */
+    List<ArchiveLogRange> listRanges(Scn startScn) throws SQLException;
+
+    /**
+     * Mines the rows with an SCN in the range and passes them to the consumer in SCN order, this
+     * is called concurrently for different ranges.
+     */
+    void mine(ArchiveLogRange range, RowConsumer consumer)
+            throws SQLException, InterruptedException;
+
+    /** The consumer of the rows mined from a range. */
+    interface RowConsumer {
+        void accept(LogMinerRow row) throws InterruptedException;
+    }
+
+    /** The SCN range [startScn, endScn) and the archived logs containing it. */
+    final class ArchiveLogRange {
+        private final Scn startScn;
+        private final Scn endScn;
+        private final List<String> logFiles;
+
+        ArchiveLogRange(Scn startScn, Scn endScn, List<String> logFiles) {
+            this.startScn = startScn;
+            this.endScn = endScn;
+            this.logFiles = Collections.unmodifiableList(logFiles);
+        }
+
+        Scn getStartScn() {
+            return startScn;
+        }
+
+        Scn getEndScn() {
+            return endScn;
+        }
+
+        List<String> getLogFiles() {
+            return logFiles;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ArchiveLogRange that = (ArchiveLogRange) o;
+            return startScn.equals(that.startScn)
+                    && endScn.equals(that.endScn)
+                    && logFiles.equals(that.logFiles);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(startScn, endScn, logFiles);
+        }
+
+        @Override
+        public String toString() {
+            return "ArchiveLogRange{"
+                    + "startScn="
+                    + startScn
+                    + ", endScn="
+                    + endScn
+                    + ", logFiles="
+                    + logFiles
+                    + '}';
+        }
+    }
+}
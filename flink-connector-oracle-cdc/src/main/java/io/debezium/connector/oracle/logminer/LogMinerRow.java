@@ -0,0 +1,135 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+import io.debezium.connector.oracle.Scn;
+
+import java.sql.Timestamp;
+
+/**
+ * A row of {@code V$LOGMNR_CONTENTS} read by an archive log mining session, the continued rows of a
+ * redo SQL are already concatenated.
+ */
+final class LogMinerRow {
+
+    static final int INSERT = 1;
+    static final int DELETE = 2;
+    static final int UPDATE = 3;
+    static final int DDL = 5;
+    static final int START = 6;
+    static final int COMMIT = 7;
+    static final int SELECT_LOB_LOCATOR = 9;
+    static final int LOB_WRITE = 10;
+    static final int LOB_ERASE = 29;
+    static final int ROLLBACK = 36;
+
+    private final Scn scn;
+    private final int operationCode;
+    private final String transactionId;
+    private final String segOwner;
+    private final String tableName;
+    private final String redoSql;
+    private final Timestamp changeTime;
+    private final String rowId;
+    private final Object rsId;
+    private final boolean rollback;
+
+    LogMinerRow(
+            Scn scn,
+            int operationCode,
+            String transactionId,
+            String segOwner,
+            String tableName,
+            String redoSql,
+            Timestamp changeTime,
+            String rowId,
+            Object rsId,
+            boolean rollback) {
+        this.scn = scn;
+        this.operationCode = operationCode;
+        this.transactionId = transactionId;
+        this.segOwner = segOwner;
+        this.tableName = tableName;
+        this.redoSql = redoSql;
+        this.changeTime = changeTime;
+        this.rowId = rowId;
+        this.rsId = rsId;
+        this.rollback = rollback;
+    }
+
+    Scn getScn() {
+        return scn;
+    }
+
+    int getOperationCode() {
+        return operationCode;
+    }
+
+    String getTransactionId() {
+        return transactionId;
+    }
+
+    String getSegOwner() {
+        return segOwner;
+    }
+
+    String getTableName() {
+        return tableName;
+    }
+
+    String getRedoSql() {
+        return redoSql;
+    }
+
+    Timestamp getChangeTime() {
+        return changeTime;
+    }
+
+    String getRowId() {
+        return rowId;
+    }
+
+    Object getRsId() {
+        return rsId;
+    }
+
+    /** Whether the row undoes a DML of the transaction, e.g. a rollback to a savepoint. */
+    boolean isRollback() {
+        return rollback;
+    }
+
+    boolean isDml() {
+        return operationCode == INSERT || operationCode == DELETE || operationCode == UPDATE;
+    }
+
+    @Override
+    public String toString() {
+        return "LogMinerRow{"
+                + "scn="
+                + scn
+                + ", operationCode="
+                + operationCode
+                + ", transactionId='"
+                + transactionId
+                + '\''
+                + ", table="
+                + segOwner
+                + '.'
+                + tableName
+                + '}';
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+import io.debezium.config.Configuration;
+import io.debezium.connector.oracle.OracleConnection;
+import io.debezium.connector.oracle.Scn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The {@link ArchiveLogRangeProvider} reading the archived logs of the local archive destination,
+ * every range is mined in a new connection with the dictionary from the online catalog.
+ *
+ * <p>A range ends at the first SCN of the next archived log, so a range contains the parts of the
+ * archived logs of all the redo threads covering it. The ranges end at the SCN up to which the
+ * logs of every redo thread are archived, the changes after it are left to the online redo logs.
+ */
+final class OracleArchiveLogRangeProvider implements ArchiveLogRangeProvider {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(OracleArchiveLogRangeProvider.class);
+
+    private static final String LIST_ARCHIVED_LOGS =
+            "SELECT NAME, THREAD#, FIRST_CHANGE#, NEXT_CHANGE# FROM V$ARCHIVED_LOG "
+                    + "WHERE NAME IS NOT NULL AND ARCHIVED = 'YES' AND STATUS = 'A' "
+                    + "AND NEXT_CHANGE# > ? AND DEST_ID IN (SELECT DEST_ID FROM "
+                    + "V$ARCHIVE_DEST_STATUS WHERE STATUS = 'VALID' AND TYPE = 'LOCAL' "
+                    + "AND ROWNUM = 1) ORDER BY FIRST_CHANGE#";
+
+    private static final String ADD_LOG_FILE =
+            "BEGIN SYS.DBMS_LOGMNR.ADD_LOGFILE(LOGFILENAME => ?, "
+                    + "OPTIONS => DBMS_LOGMNR.ADDFILE); END;";
+
+    private static final String START_LOG_MINER =
+            "BEGIN SYS.DBMS_LOGMNR.START_LOGMNR(STARTSCN => ?, ENDSCN => ?, "
+                    + "OPTIONS => DBMS_LOGMNR.DICT_FROM_ONLINE_CATALOG "
+                    + "+ DBMS_LOGMNR.NO_ROWID_IN_STMT); END;";
+
+    private static final String END_LOG_MINER = "BEGIN SYS.DBMS_LOGMNR.END_LOGMNR(); END;";
+
+    // the transaction control rows and the changes of the non-system tables
+    private static final String QUERY_CONTENTS =
+            "SELECT SCN, OPERATION_CODE, RAWTOHEX(XID), SEG_OWNER, TABLE_NAME, SQL_REDO, CSF, "
+                    + "TIMESTAMP, ROW_ID, RS_ID, ROLLBACK FROM V$LOGMNR_CONTENTS "
+                    + "WHERE SCN >= ? AND SCN < ? AND (OPERATION_CODE IN (6, 7, 36) "
+                    + "OR (OPERATION_CODE IN (1, 2, 3, 5, 9, 10, 29) "
+                    + "AND SEG_OWNER NOT IN ('SYS', 'SYSTEM')))";
+
+    private static final int FETCH_SIZE = 2_000;
+
+    private final Configuration jdbcConfig;
+
+    OracleArchiveLogRangeProvider(Configuration jdbcConfig) {
+        this.jdbcConfig = jdbcConfig;
+    }
+
+    @Override
+    public List<ArchiveLogRange> listRanges(Scn startScn) throws SQLException {
+        final List<ArchivedLog> logs = new ArrayList<>();
+        try (OracleConnection connection = createConnection()) {
+            connection.prepareQuery(
+                    LIST_ARCHIVED_LOGS,
+                    ps -> ps.setLong(1, startScn.longValue()),
+                    rs -> {
+                        while (rs.next()) {
+                            logs.add(
+                                    new ArchivedLog(
+                                            rs.getString(1),
+                                            rs.getInt(2),
+                                            Scn.valueOf(rs.getString(3)),
+                                            Scn.valueOf(rs.getString(4))));
+                        }
+                    });
+        }
+        return toRanges(logs, startScn);
+    }
+
+    @Override
+    public void mine(ArchiveLogRange range, RowConsumer consumer)
+            throws SQLException, InterruptedException {
+        try (OracleConnection connection = createConnection()) {
+            final Connection jdbc = connection.connection();
+            for (String logFile : range.getLogFiles()) {
+                try (CallableStatement statement = jdbc.prepareCall(ADD_LOG_FILE)) {
+                    statement.setString(1, logFile);
+                    statement.execute();
+                }
+            }
+            try (CallableStatement statement = jdbc.prepareCall(START_LOG_MINER)) {
+                statement.setLong(1, range.getStartScn().longValue());
+                statement.setLong(2, range.getEndScn().longValue() - 1);
+                statement.execute();
+            }
+            try {
+                LOGGER.debug("Mining {}.", range);
+                queryContents(jdbc, range, consumer);
+            } finally {
+                try (CallableStatement statement = jdbc.prepareCall(END_LOG_MINER)) {
+                    statement.execute();
+                }
+            }
+        }
+    }
+
+    private static void queryContents(Connection jdbc, ArchiveLogRange range, RowConsumer consumer)
+            throws SQLException, InterruptedException {
+        try (PreparedStatement statement = jdbc.prepareStatement(QUERY_CONTENTS)) {
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setLong(1, range.getStartScn().longValue());
+            statement.setLong(2, range.getEndScn().longValue());
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    final Scn scn = Scn.valueOf(rs.getString(1));
+                    final int operationCode = rs.getInt(2);
+                    final String transactionId = rs.getString(3);
+                    final String segOwner = rs.getString(4);
+                    final String tableName = rs.getString(5);
+                    // the redo SQL longer than 4000 characters is continued in the next rows
+                    final StringBuilder redoSql = new StringBuilder();
+                    appendRedoSql(redoSql, rs.getString(6));
+                    boolean continued = rs.getInt(7) == 1;
+                    final Timestamp changeTime = rs.getTimestamp(8);
+                    final String rowId = rs.getString(9);
+                    final Object rsId = rs.getObject(10);
+                    final boolean rollback = rs.getInt(11) == 1;
+                    while (continued && rs.next()) {
+                        appendRedoSql(redoSql, rs.getString(6));
+                        continued = rs.getInt(7) == 1;
+                    }
+                    consumer.accept(
+                            new LogMinerRow(
+                                    scn,
+                                    operationCode,
+                                    transactionId,
+                                    segOwner,
+                                    tableName,
+                                    redoSql.length() == 0 ? null : redoSql.toString(),
+                                    changeTime,
+                                    rowId,
+                                    rsId,
+                                    rollback));
+                }
+            }
+        }
+    }
+
+    private static void appendRedoSql(StringBuilder redoSql, String part) {
+        if (part != null) {
+            redoSql.append(part);
+        }
+    }
+
+    private OracleConnection createConnection() {
+        return new OracleConnection(
+                jdbcConfig, OracleArchiveLogRangeProvider.class::getClassLoader);
+    }
+
+    /** Splits the archived logs from the start SCN into ranges at the first SCNs of the logs. */
+    static List<ArchiveLogRange> toRanges(List<ArchivedLog> logs, Scn startScn) {
+        final List<ArchiveLogRange> ranges = new ArrayList<>();
+        if (logs.isEmpty()) {
+            return ranges;
+        }
+        // the logs of every thread are archived up to the smallest last next SCN of the threads
+        final Map<Integer, Scn> archivedUpTo = new HashMap<>();
+        final TreeSet<Scn> boundaries = new TreeSet<>();
+        for (ArchivedLog log : logs) {
+            archivedUpTo.merge(log.thread, log.nextScn, (a, b) -> a.compareTo(b) >= 0 ? a : b);
+            boundaries.add(log.firstScn);
+        }
+        final Scn endScn = archivedUpTo.values().stream().min(Scn::compareTo).get();
+        if (boundaries.first().compareTo(startScn) > 0 || endScn.compareTo(startScn) <= 0) {
+            // the start SCN is not archived or only in the online redo logs
+            return ranges;
+        }
+        Scn rangeStart = startScn;
+        for (Scn boundary : boundaries.tailSet(startScn, false)) {
+            if (boundary.compareTo(endScn) >= 0) {
+                break;
+            }
+            ranges.add(toRange(logs, rangeStart, boundary));
+            rangeStart = boundary;
+        }
+        ranges.add(toRange(logs, rangeStart, endScn));
+        return ranges;
+    }
+
+    private static ArchiveLogRange toRange(List<ArchivedLog> logs, Scn startScn, Scn endScn) {
+        final List<String> logFiles = new ArrayList<>();
+        for (ArchivedLog log : logs) {
+            if (log.firstScn.compareTo(endScn) < 0 && log.nextScn.compareTo(startScn) > 0) {
+                logFiles.add(log.name);
+            }
+        }
+        return new ArchiveLogRange(startScn, endScn, logFiles);
+    }
+
+    /** An archived redo log, the changes in it are in [firstScn, nextScn). */
+    static final class ArchivedLog {
+        private final String name;
+        private final int thread;
+        private final Scn firstScn;
+        private final Scn nextScn;
+
+        ArchivedLog(String name, int thread, Scn firstScn, Scn nextScn) {
+            this.name = name;
+            this.thread = thread;
+            this.firstScn = firstScn;
+            this.nextScn = nextScn;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+import io.debezium.connector.oracle.Scn;
+import io.debezium.connector.oracle.logminer.ArchiveLogRangeProvider.ArchiveLogRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mines the archived log ranges with up to {@code sessions} concurrent LogMiner sessions and hands
+ * the rows to a {@link RowHandler} on the calling thread in SCN order.
+ *
+ * <p>The ranges are mined ahead of the range being handled into bounded queues, a session blocks
+ * once its queue is full. The rows of an SCN are applied together, so the mining stops either
+ * before or after all the rows of an SCN and the SCN returned by {@link #mine} is a clean restart
+ * point: all the rows before it were applied and none after it.
+ */
+final class ParallelArchiveLogMiner implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelArchiveLogMiner.class);
+
+    private static final long OFFER_TIMEOUT_MS = 100L;
+
+    // the last row of a mined range
+    private static final LogMinerRow END =
+            new LogMinerRow(Scn.NULL, -1, null, null, null, null, null, null, null, false);
+
+    private final ArchiveLogRangeProvider provider;
+    private final int sessions;
+    private final int queueCapacity;
+    private final ExecutorService executor;
+    private volatile boolean closed;
+
+    ParallelArchiveLogMiner(ArchiveLogRangeProvider provider, int sessions, int queueCapacity) {
+        if (sessions < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException(
+                    "The sessions and the queue capacity must be positive, but are "
+                            + sessions
+                            + " and "
+                            + queueCapacity);
+        }
+        this.provider = provider;
+        this.sessions = sessions;
+        this.queueCapacity = queueCapacity;
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor =
+                Executors.newFixedThreadPool(
+                        sessions,
+                        r -> {
+                            Thread thread =
+                                    new Thread(
+                                            r,
+                                            "archive-log-miner-" + threadCount.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+    }
+
+    /**
+     * Mines the ranges and applies their rows in SCN order until a row is not accepted by the
+     * handler, a range fails to be mined or all the ranges are applied.
+     *
+     * @return the SCN before which all the rows have been applied, the end of the last range if
+     *     all of them have been applied
+     */
+    Scn mine(List<ArchiveLogRange> ranges, RowHandler handler) throws InterruptedException {
+        final Deque<MinedRange> inFlight = new ArrayDeque<>(sessions);
+        int next = 0;
+        Scn appliedUpTo = ranges.isEmpty() ? Scn.NULL : ranges.get(0).getStartScn();
+        while (next < ranges.size() && inFlight.size() < sessions) {
+            inFlight.add(submit(ranges.get(next++)));
+        }
+        while (!inFlight.isEmpty()) {
+            final MinedRange minedRange = inFlight.poll();
+            final Scn stopScn = apply(minedRange, handler);
+            if (stopScn != null) {
+                return stopScn;
+            }
+            appliedUpTo = minedRange.range.getEndScn();
+            if (next < ranges.size()) {
+                inFlight.add(submit(ranges.get(next++)));
+            }
+        }
+        return appliedUpTo;
+    }
+
+    /** Applies the rows of the range, returns the SCN it stopped at or null if it completed. */
+    private Scn apply(MinedRange minedRange, RowHandler handler) throws InterruptedException {
+        final List<LogMinerRow> pending = new ArrayList<>();
+        while (true) {
+            final LogMinerRow row = minedRange.rows.take();
+            if (row == END) {
+                if (minedRange.failure != null) {
+                    final Scn stopScn =
+                            pending.isEmpty()
+                                    ? minedRange.range.getStartScn()
+                                    : pending.get(0).getScn();
+                    LOGGER.warn(
+                            "Failed to mine {}, stop mining the archived logs at SCN {}.",
+                            minedRange.range,
+                            stopScn,
+                            minedRange.failure);
+                    return stopScn;
+                }
+                applyAll(pending, handler);
+                return null;
+            }
+            if (!pending.isEmpty() && row.getScn().compareTo(pending.get(0).getScn()) != 0) {
+                applyAll(pending, handler);
+            }
+            if (!handler.accept(row)) {
+                LOGGER.info(
+                        "Stop mining the archived logs at SCN {} before the row {}.",
+                        row.getScn(),
+                        row);
+                return row.getScn();
+            }
+            pending.add(row);
+        }
+    }
+
+    private static void applyAll(List<LogMinerRow> rows, RowHandler handler)
+            throws InterruptedException {
+        for (LogMinerRow row : rows) {
+            handler.apply(row);
+        }
+        rows.clear();
+    }
+
+    private MinedRange submit(ArchiveLogRange range) {
+        final MinedRange minedRange = new MinedRange(range, queueCapacity);
+        executor.execute(
+                () -> {
+                    boolean interrupted = false;
+                    try {
+                        provider.mine(range, minedRange::put);
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                        minedRange.failure = e;
+                    } catch (Throwable t) {
+                        minedRange.failure = t;
+                    }
+                    minedRange.end();
+                    if (interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        return minedRange;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+    }
+
+    /** Checks and applies the mined rows. */
+    interface RowHandler {
+
+        /**
+         * Returns whether the row can be applied, the mining stops before the SCN of the row
+         * otherwise.
+         */
+        boolean accept(LogMinerRow row);
+
+        void apply(LogMinerRow row) throws InterruptedException;
+    }
+
+    /** The rows of a range mined by a session. */
+    private final class MinedRange {
+
+        private final ArchiveLogRange range;
+        private final BlockingQueue<LogMinerRow> rows;
+        private volatile Throwable failure;
+
+        private MinedRange(ArchiveLogRange range, int capacity) {
+            this.range = range;
+            this.rows = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void put(LogMinerRow row) throws InterruptedException {
+            while (!rows.offer(row, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    throw new InterruptedException("The archive log miner is closed.");
+                }
+            }
+        }
+
+        private void end() {
+            try {
+                put(END);
+            } catch (InterruptedException e) {
+                // the miner is closed, the rows aren't read anymore
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
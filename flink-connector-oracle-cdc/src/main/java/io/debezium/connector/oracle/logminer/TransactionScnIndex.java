@@ -0,0 +1,111 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+import io.debezium.annotation.NotThreadSafe;
+import io.debezium.connector.oracle.Scn;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Indexes the transaction ids by an SCN of the transactions, e.g. the first SCN, so the minimum SCN
+ * is found and the transactions up to an SCN are removed in O(log n) instead of scanning all the
+ * transactions. Every transaction id is indexed once by its latest SCN.
+ */
+@NotThreadSafe
+final class TransactionScnIndex {
+
+    private final Map<String, Scn> scnByTransactionId = new HashMap<>();
+    private final TreeMap<Scn, Set<String>> transactionIdsByScn = new TreeMap<>();
+
+    /** Indexes the transaction by the SCN, replaces the previous SCN of the transaction. */
+    void put(String transactionId, Scn scn) {
+        final Scn previousScn = scnByTransactionId.put(transactionId, scn);
+        if (previousScn != null) {
+            removeFromScn(transactionId, previousScn);
+        }
+        transactionIdsByScn.computeIfAbsent(scn, s -> new HashSet<>(2)).add(transactionId);
+    }
+
+    /** Returns true if the transaction was indexed. */
+    boolean remove(String transactionId) {
+        final Scn scn = scnByTransactionId.remove(transactionId);
+        if (scn == null) {
+            return false;
+        }
+        removeFromScn(transactionId, scn);
+        return true;
+    }
+
+    boolean contains(String transactionId) {
+        return scnByTransactionId.containsKey(transactionId);
+    }
+
+    /** Returns the minimum SCN of the transactions, or {@link Scn#NULL} if there is none. */
+    Scn getMinimumScn() {
+        return transactionIdsByScn.isEmpty() ? Scn.NULL : transactionIdsByScn.firstKey();
+    }
+
+    /**
+     * Removes the transactions with an SCN less than the given SCN, or equal to it if inclusive.
+     *
+     * @return the removed transaction ids in SCN order
+     */
+    List<String> removeUpTo(Scn scn, boolean inclusive) {
+        final List<String> transactionIds = new ArrayList<>();
+        final Iterator<Set<String>> iterator =
+                transactionIdsByScn.headMap(scn, inclusive).values().iterator();
+        while (iterator.hasNext()) {
+            for (String transactionId : iterator.next()) {
+                scnByTransactionId.remove(transactionId);
+                transactionIds.add(transactionId);
+            }
+            iterator.remove();
+        }
+        return transactionIds;
+    }
+
+    int size() {
+        return scnByTransactionId.size();
+    }
+
+    boolean isEmpty() {
+        return scnByTransactionId.isEmpty();
+    }
+
+    void clear() {
+        scnByTransactionId.clear();
+        transactionIdsByScn.clear();
+    }
+
+    private void removeFromScn(String transactionId, Scn scn) {
+        final Set<String> transactionIds = transactionIdsByScn.get(scn);
+        if (transactionIds != null) {
+            transactionIds.remove(transactionId);
+            if (transactionIds.isEmpty()) {
+                transactionIdsByScn.remove(scn);
+            }
+        }
+    }
+}
@@ -26,16 +26,27 @@ import io.debezium.connector.oracle.OracleStreamingChangeEventSourceMetrics;
 import io.debezium.connector.oracle.Scn;
 import io.debezium.connector.oracle.logminer.parser.SelectLobParser;
 import io.debezium.connector.oracle.logminer.valueholder.LogMinerDmlEntry;
+import io.debezium.connector.oracle.logminer.valueholder.LogMinerDmlEntryImpl;
 import io.debezium.pipeline.ErrorHandler;
 import io.debezium.pipeline.EventDispatcher;
 import io.debezium.pipeline.source.spi.ChangeEventSource;
 import io.debezium.relational.Table;
 import io.debezium.relational.TableId;
 import io.debezium.util.Clock;
-import org.apache.kafka.connect.errors.DataException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
@@ -45,23 +56,49 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Supplier;
 
 /**
  * Copied from https://github.com/debezium/debezium project to fix
  * https://issues.redhat.com/browse/DBZ-4936 for 1.6.4.Final version.
  *
- * <p>Line 370 : Use `offsetContext.getCommitScn().compareTo(scn) >= 0` instead of
+ * <p>Line 432 : Use `offsetContext.getCommitScn().compareTo(scn) >= 0` instead of
  * `offsetContext.getCommitScn().compareTo(scn) > 0`. We should remove this class since we bumped
  * higher debezium version after 1.9.1.Final where the issue has been fixed.
+ *
+ * <p>The events of a transaction are spilled to a local file once the transaction exceeds {@link
+ * #TRANSACTION_SPILL_EVENTS} events or {@link #TRANSACTION_SPILL_BYTES} estimated bytes, the
+ * following events of the transaction are appended to the file and all the events are read back in
+ * order when the transaction is committed. The files are created in the temporary directories of
+ * the task manager passed by {@link #TMP_DIRS} in turn. The LOB events are merged while the events
+ * are read back, so a spilled transaction is never loaded into memory as a whole.
  */
 @NotThreadSafe
 public final class TransactionalBuffer implements AutoCloseable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TransactionalBuffer.class);
 
+    /** The number of events of a transaction beyond which the events are spilled to disk. */
+    public static final String TRANSACTION_SPILL_EVENTS = "log.mining.transaction.spill.events";
+
+    /** The estimated heap bytes of a transaction beyond which the events are spilled to disk. */
+    public static final String TRANSACTION_SPILL_BYTES = "log.mining.transaction.spill.bytes";
+
+    private static final long TRANSACTION_SPILL_EVENTS_DEFAULT = 100_000L;
+
+    private static final long TRANSACTION_SPILL_BYTES_DEFAULT = 64L * 1024 * 1024;
+
+    /**
+     * The comma separated temporary directories of the task manager, which are set by the Flink
+     * source as {@code DebeziumSourceFunction.TMP_DIRS_KEY}.
+     */
+    static final String TMP_DIRS = "flink.io.tmp.dirs";
+
     private final OracleConnectorConfig connectorConfig;
     private final Map<String, Transaction> transactions;
     private final OracleDatabaseSchema schema;
@@ -69,9 +106,17 @@ public final class TransactionalBuffer implements AutoCloseable {
     private final ErrorHandler errorHandler;
     private final Set<String> abandonedTransactionIds;
     private final Set<String> rolledBackTransactionIds;
-    private final Set<RecentlyCommittedTransaction> recentlyCommittedTransactionIds;
-    private final Set<Scn> recentlyEmittedDdls;
+    // the recently committed transactions indexed by their first SCN, which are used to detect the
+    // transactions read from overlapping mining sessions
+    private final TransactionScnIndex recentlyCommittedTransactionIds;
+    private final NavigableSet<Scn> recentlyEmittedDdls;
+    // the ids of the transactions in the buffer indexed by their first SCN
+    private final TransactionScnIndex transactionIdsByFirstScn;
     private final OracleStreamingChangeEventSourceMetrics streamingMetrics;
+    private final long spillEvents;
+    private final long spillBytes;
+    private final File[] spillDirectories;
+    private int nextSpillDirectory;
 
     private Scn lastCommittedScn;
     private Scn maxCommittedScn;
@@ -100,9 +145,27 @@ public final class TransactionalBuffer implements AutoCloseable {
         this.maxCommittedScn = Scn.NULL;
         this.abandonedTransactionIds = new HashSet<>();
         this.rolledBackTransactionIds = new HashSet<>();
-        this.recentlyCommittedTransactionIds = new HashSet<>();
-        this.recentlyEmittedDdls = new HashSet<>();
+        this.recentlyCommittedTransactionIds = new TransactionScnIndex();
+        this.recentlyEmittedDdls = new TreeSet<>();
+        this.transactionIdsByFirstScn = new TransactionScnIndex();
         this.streamingMetrics = streamingMetrics;
+        this.spillEvents =
+                connectorConfig
+                        .getConfig()
+                        .getLong(TRANSACTION_SPILL_EVENTS, TRANSACTION_SPILL_EVENTS_DEFAULT);
+        this.spillBytes =
+                connectorConfig
+                        .getConfig()
+                        .getLong(TRANSACTION_SPILL_BYTES, TRANSACTION_SPILL_BYTES_DEFAULT);
+        final String[] tmpDirs =
+                connectorConfig
+                        .getConfig()
+                        .getString(TMP_DIRS, System.getProperty("java.io.tmpdir"))
+                        .split(",");
+        this.spillDirectories = new File[tmpDirs.length];
+        for (int i = 0; i < tmpDirs.length; i++) {
+            this.spillDirectories[i] = new File(tmpDirs[i].trim());
+        }
     }
 
     /** @return rolled back transactions */
@@ -286,18 +349,12 @@ public final class TransactionalBuffer implements AutoCloseable {
             return;
         }
 
-        transaction.events.removeIf(
-                o -> {
-                    if (o.getRowId().equals(undoRowId)) {
-                        LOGGER.trace(
-                                "Undoing change to {} with row id {} in transaction {}",
-                                tableId,
-                                undoRowId,
-                                transactionId);
-                        return true;
-                    }
-                    return false;
-                });
+        LOGGER.trace(
+                "Undoing change to {} with row id {} in transaction {}",
+                tableId,
+                undoRowId,
+                transactionId);
+        transaction.undo(undoRowId);
     }
 
     /**
@@ -309,7 +366,7 @@ public final class TransactionalBuffer implements AutoCloseable {
     void registerTransaction(String transactionId, Scn scn) {
         Transaction transaction = transactions.get(transactionId);
         if (transaction == null && !isRecentlyCommitted(transactionId)) {
-            transactions.put(transactionId, new Transaction(transactionId, scn));
+            addTransaction(new Transaction(transactionId, scn, nextSpillDirectory()));
             streamingMetrics.setActiveTransactions(transactions.size());
         } else if (transaction != null && !isRecentlyCommitted(transactionId)) {
             LOGGER.trace(
@@ -347,11 +404,36 @@ public final class TransactionalBuffer implements AutoCloseable {
             EventDispatcher<TableId> dispatcher) {
 
         Instant start = Instant.now();
-        Transaction transaction = transactions.remove(transactionId);
+        Transaction transaction = removeTransaction(transactionId);
         if (transaction == null) {
             return false;
         }
 
+        try {
+            return commitTransaction(
+                    transaction,
+                    scn,
+                    offsetContext,
+                    timestamp,
+                    context,
+                    debugMessage,
+                    dispatcher,
+                    start);
+        } finally {
+            transaction.close();
+        }
+    }
+
+    private boolean commitTransaction(
+            Transaction transaction,
+            Scn scn,
+            OracleOffsetContext offsetContext,
+            Timestamp timestamp,
+            ChangeEventSource.ChangeEventSourceContext context,
+            String debugMessage,
+            EventDispatcher<TableId> dispatcher,
+            Instant start) {
+        final String transactionId = transaction.transactionId;
         Scn smallestScn = calculateSmallestScn();
 
         abandonedTransactionIds.remove(transactionId);
@@ -377,12 +459,12 @@ public final class TransactionalBuffer implements AutoCloseable {
             return false;
         }
 
-        reconcileTransaction(transaction);
-
         LOGGER.trace("COMMIT, {}, smallest SCN: {}", debugMessage, smallestScn);
+        int dispatchedEvents = 0;
         try {
-            int counter = transaction.events.size();
-            for (LogMinerEvent event : transaction.events) {
+            final Iterator<LogMinerEvent> events = reconcileTransaction(transaction);
+            while (events.hasNext()) {
+                final LogMinerEvent event = events.next();
                 if (!context.isRunning()) {
                     return false;
                 }
@@ -397,7 +479,7 @@ public final class TransactionalBuffer implements AutoCloseable {
                 offsetContext.setTransactionId(transaction.transactionId);
                 offsetContext.setSourceTime(timestamp.toInstant());
                 offsetContext.setTableId(event.getTableId());
-                if (--counter == 0) {
+                if (!events.hasNext()) {
                     offsetContext.setCommitScn(scn);
                 }
 
@@ -411,10 +493,11 @@ public final class TransactionalBuffer implements AutoCloseable {
                                 event.getEntry().getNewValues(),
                                 schema.tableFor(event.getTableId()),
                                 clock));
+                dispatchedEvents++;
             }
 
             lastCommittedScn = Scn.valueOf(scn.longValue());
-            if (!transaction.events.isEmpty()) {
+            if (dispatchedEvents > 0) {
                 dispatcher.dispatchTransactionCommittedEvent(offsetContext);
             } else {
                 dispatcher.dispatchHeartbeatEvent(offsetContext);
@@ -428,9 +511,8 @@ public final class TransactionalBuffer implements AutoCloseable {
             }
 
             if (connectorConfig.isLobEnabled()) {
-                // cache recent transaction and commit scn for handling offset updates
-                recentlyCommittedTransactionIds.add(
-                        new RecentlyCommittedTransaction(transaction, scn));
+                // cache recent transaction for handling offset updates
+                recentlyCommittedTransactionIds.put(transactionId, transaction.firstScn);
             }
         } catch (InterruptedException e) {
             LogMinerHelper.logError(streamingMetrics, "Commit interrupted", e);
@@ -440,7 +522,7 @@ public final class TransactionalBuffer implements AutoCloseable {
         } finally {
             streamingMetrics.incrementCommittedTransactions();
             streamingMetrics.setActiveTransactions(transactions.size());
-            streamingMetrics.incrementCommittedDmlCount(transaction.events.size());
+            streamingMetrics.incrementCommittedDmlCount(dispatchedEvents);
             streamingMetrics.setCommittedScn(scn);
             streamingMetrics.setOffsetScn(offsetContext.getScn());
             streamingMetrics.setLastCommitDuration(Duration.between(start, Instant.now()));
@@ -475,10 +557,9 @@ public final class TransactionalBuffer implements AutoCloseable {
             Scn minStartScn = getMinimumScn();
             if (!minStartScn.isNull()) {
                 LOGGER.trace("Removing all commits up to SCN '{}'", minStartScn);
-                recentlyCommittedTransactionIds.removeIf(
-                        t -> t.firstScn.compareTo(minStartScn) < 0);
+                recentlyCommittedTransactionIds.removeUpTo(minStartScn, false);
                 LOGGER.trace("Removing all tracked DDL operations up to SCN '{}'", minStartScn);
-                recentlyEmittedDdls.removeIf(scn -> scn.compareTo(minStartScn) < 0);
+                recentlyEmittedDdls.headSet(minStartScn, false).clear();
                 offsetContext.setScn(minStartScn.subtract(Scn.valueOf(1)));
                 dispatcher.dispatchHeartbeatEvent(offsetContext);
             } else {
@@ -489,10 +570,7 @@ public final class TransactionalBuffer implements AutoCloseable {
     }
 
     Scn getMinimumScn() {
-        return transactions.values().stream()
-                .map(t -> t.firstScn)
-                .min(Scn::compareTo)
-                .orElse(Scn.NULL);
+        return transactionIdsByFirstScn.getMinimumScn();
     }
 
     /**
@@ -508,7 +586,8 @@ public final class TransactionalBuffer implements AutoCloseable {
         if (transaction != null) {
             LOGGER.debug("Transaction rolled back: {}", debugMessage);
 
-            transactions.remove(transactionId);
+            removeTransaction(transactionId);
+            transaction.close();
             abandonedTransactionIds.remove(transactionId);
             rolledBackTransactionIds.add(transactionId);
 
@@ -549,21 +628,18 @@ public final class TransactionalBuffer implements AutoCloseable {
         if (threshold.compareTo(smallestScn) < 0) {
             threshold = smallestScn;
         }
-        Iterator<Map.Entry<String, Transaction>> iter = transactions.entrySet().iterator();
-        while (iter.hasNext()) {
-            Map.Entry<String, Transaction> transaction = iter.next();
-            if (transaction.getValue().firstScn.compareTo(threshold) <= 0) {
-                LogMinerHelper.logWarn(
-                        streamingMetrics,
-                        "Following long running transaction {} will be abandoned and ignored: {} ",
-                        transaction.getKey(),
-                        transaction.getValue().toString());
-                abandonedTransactionIds.add(transaction.getKey());
-                iter.remove();
-
-                streamingMetrics.addAbandonedTransactionId(transaction.getKey());
-                streamingMetrics.setActiveTransactions(transactions.size());
-            }
+        for (String transactionId : transactionIdsByFirstScn.removeUpTo(threshold, true)) {
+            Transaction transaction = transactions.remove(transactionId);
+            LogMinerHelper.logWarn(
+                    streamingMetrics,
+                    "Following long running transaction {} will be abandoned and ignored: {} ",
+                    transactionId,
+                    transaction.toString());
+            abandonedTransactionIds.add(transactionId);
+            transaction.close();
+
+            streamingMetrics.addAbandonedTransactionId(transactionId);
+            streamingMetrics.setActiveTransactions(transactions.size());
         }
     }
 
@@ -572,14 +648,7 @@ public final class TransactionalBuffer implements AutoCloseable {
     }
 
     private Scn calculateSmallestScn() {
-        Scn scn =
-                transactions.isEmpty()
-                        ? null
-                        : transactions.values().stream()
-                                .map(transaction -> transaction.firstScn)
-                                .min(Scn::compareTo)
-                                .orElseThrow(
-                                        () -> new DataException("Cannot calculate smallest SCN"));
+        Scn scn = transactions.isEmpty() ? null : transactionIdsByFirstScn.getMinimumScn();
         streamingMetrics.setOldestScn(scn == null ? Scn.valueOf(-1) : scn);
         return scn;
     }
@@ -602,7 +671,9 @@ public final class TransactionalBuffer implements AutoCloseable {
 
     @Override
     public void close() {
+        transactions.values().forEach(Transaction::close);
         transactions.clear();
+        transactionIdsByFirstScn.clear();
     }
 
     /**
@@ -639,20 +710,22 @@ public final class TransactionalBuffer implements AutoCloseable {
             return false;
         }
 
-        Transaction transaction =
-                transactions.computeIfAbsent(
-                        transactionId, s -> new Transaction(transactionId, scn));
+        Transaction transaction = transactions.get(transactionId);
+        if (transaction == null) {
+            transaction =
+                    addTransaction(new Transaction(transactionId, scn, nextSpillDirectory()));
+        }
         streamingMetrics.setActiveTransactions(transactions.size());
 
         int eventId = transaction.eventIds++;
-        if (transaction.events.size() > eventId) {
+        if (transaction.size() > eventId) {
             // only return true if new event is added, otherwise false
             return false;
         } else {
             // Adding new event at eventId offset
             LOGGER.trace(
                     "Transaction {}, adding event reference at index {}", transactionId, eventId);
-            transaction.events.add(supplier.get());
+            transaction.add(supplier.get(), spillEvents, spillBytes);
             streamingMetrics.calculateLagMetrics(changeTime);
             return true;
         }
@@ -666,16 +739,18 @@ public final class TransactionalBuffer implements AutoCloseable {
      *     otherwise false.
      */
     private boolean isRecentlyCommitted(String transactionId) {
-        if (recentlyCommittedTransactionIds.isEmpty()) {
-            return false;
-        }
+        return recentlyCommittedTransactionIds.contains(transactionId);
+    }
 
-        for (RecentlyCommittedTransaction transaction : recentlyCommittedTransactionIds) {
-            if (transaction.transactionId.equals(transactionId)) {
-                return true;
-            }
-        }
-        return false;
+    private Transaction addTransaction(Transaction transaction) {
+        transactions.put(transaction.transactionId, transaction);
+        transactionIdsByFirstScn.put(transaction.transactionId, transaction.firstScn);
+        return transaction;
+    }
+
+    private Transaction removeTransaction(String transactionId) {
+        transactionIdsByFirstScn.remove(transactionId);
+        return transactions.remove(transactionId);
     }
 
     /**
@@ -712,50 +787,156 @@ public final class TransactionalBuffer implements AutoCloseable {
      * single logical event, such as changes made to LOB column types that involve multiple events.
      *
      * @param transaction transaction to be reconciled, never {@code null}
+     * @return the reconciled events of the transaction in order
      */
-    private void reconcileTransaction(Transaction transaction) {
+    private Iterator<LogMinerEvent> reconcileTransaction(Transaction transaction)
+            throws IOException {
         // Do not perform reconciliation if LOB support is not enabled.
         if (!connectorConfig.isLobEnabled()) {
-            return;
+            return transaction.iterator();
         }
 
         LOGGER.trace("Reconciling transaction {}", transaction.transactionId);
-        LogMinerEvent prevEvent = null;
+        return new ReconcilingIterator(transaction.transactionId, transaction.iterator());
+    }
 
-        int prevEventSize = transaction.events.size();
-        for (int i = 0; i < transaction.events.size(); ) {
+    /**
+     * Merges the events of a transaction while they are read. Every event is merged into the
+     * previous kept event only, so the previous kept event is returned once the next event is not
+     * merged into it, and only the LOB_WRITE events of one SEL_LOB_LOCATOR event are held at once.
+     */
+    private final class ReconcilingIterator implements Iterator<LogMinerEvent> {
 
-            final LogMinerEvent event = transaction.events.get(i);
-            LOGGER.trace("Processing event {}", event);
+        private final String transactionId;
+        private final Iterator<LogMinerEvent> events;
 
+        // the event read ahead after the LOB_WRITE and LOB_ERASE events
+        private LogMinerEvent lookahead;
+        private LogMinerEvent prevEvent;
+        private LogMinerEvent next;
+        private boolean finished;
+        private int readEvents;
+        private int reconciledEvents;
+
+        private ReconcilingIterator(String transactionId, Iterator<LogMinerEvent> events) {
+            this.transactionId = transactionId;
+            this.events = events;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !finished) {
+                final LogMinerEvent event = read();
+                if (event == null) {
+                    finished = true;
+                    next = prevEvent;
+                    prevEvent = null;
+                    LOGGER.trace(
+                            "Reconciled transaction {} from {} events to {}.",
+                            transactionId,
+                            readEvents,
+                            next == null ? reconciledEvents : reconciledEvents + 1);
+                } else if (!merge(event)) {
+                    next = prevEvent;
+                    prevEvent = event;
+                    LOGGER.trace("Previous event is now {}", prevEvent);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public LogMinerEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final LogMinerEvent event = next;
+            next = null;
+            reconciledEvents++;
+            return event;
+        }
+
+        /** Returns whether the event is merged into the previous event or discarded. */
+        private boolean merge(LogMinerEvent event) {
+            LOGGER.trace("Processing event {}", event);
             switch (event.getOperation()) {
                 case RowMapper.SELECT_LOB_LOCATOR:
-                    if (shouldMergeSelectLobLocatorEvent(
-                            transaction, i, (SelectLobLocatorEvent) event, prevEvent)) {
-                        continue;
+                    {
+                        final SelectLobLocatorEvent selectLobLocatorEvent =
+                                (SelectLobLocatorEvent) event;
+                        // Read and consume all LOB_WRITE and then all LOB_ERASE events that follow
+                        // SEL_LOB_LOCATOR
+                        final List<String> lobWrites =
+                                readLobWriteEvents(selectLobLocatorEvent.isBinaryData());
+                        final int lobEraseEvents = readLobEraseEvents();
+                        return shouldMergeSelectLobLocatorEvent(
+                                selectLobLocatorEvent, lobWrites, lobEraseEvents, prevEvent);
                     }
-                    break;
                 case RowMapper.INSERT:
                 case RowMapper.UPDATE:
-                    if (shouldMergeDmlEvent(transaction, i, (DmlEvent) event, prevEvent)) {
-                        continue;
-                    }
-                    break;
+                    return shouldMergeDmlEvent((DmlEvent) event, prevEvent);
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Reads all LOB_WRITE events which follow a SEL_LOB_LOCATOR event.
+         *
+         * @param binaryData whether the SEL_LOB_LOCATOR event is for binary data (BLOB) data types
+         * @return list of string-based values for each LOB_WRITE operation
+         */
+        private List<String> readLobWriteEvents(boolean binaryData) {
+            final List<String> chunks = new ArrayList<>();
+            while (peek() instanceof LobWriteEvent) {
+                final LobWriteEvent writeEvent = (LobWriteEvent) read();
+                if (binaryData
+                        && !writeEvent.getData().startsWith("HEXTORAW('")
+                        && !writeEvent.getData().endsWith("')")) {
+                    throw new DebeziumException(
+                            "Unexpected BLOB data chunk: " + writeEvent.getData());
+                }
+                chunks.add(writeEvent.getData());
+            }
+
+            if (!chunks.isEmpty()) {
+                LOGGER.trace("\tCombined {} LobWriteEvent events", chunks.size());
             }
 
-            ++i;
-            prevEvent = event;
-            LOGGER.trace("Previous event is now {}", prevEvent);
+            return chunks;
         }
 
-        if (transaction.events.size() != prevEventSize) {
-            LOGGER.trace(
-                    "Reconciled transaction {} from {} events to {}.",
-                    transaction.transactionId,
-                    prevEventSize,
-                    transaction.events.size());
-        } else {
-            LOGGER.trace("Transaction {} event queue was unmodified.", transaction.transactionId);
+        /**
+         * Reads all LOB_ERASE events which follow the LOB_WRITE events.
+         *
+         * @return number of consecutive LOB_ERASE events
+         */
+        private int readLobEraseEvents() {
+            int eraseEvents = 0;
+            while (peek() instanceof LobEraseEvent) {
+                read();
+                eraseEvents++;
+            }
+
+            if (eraseEvents > 0) {
+                LOGGER.trace("\tConsumed {} LobErase events", eraseEvents);
+            }
+
+            return eraseEvents;
+        }
+
+        private LogMinerEvent peek() {
+            if (lookahead == null && events.hasNext()) {
+                lookahead = events.next();
+                readEvents++;
+            }
+            return lookahead;
+        }
+
+        private LogMinerEvent read() {
+            final LogMinerEvent event = peek();
+            lookahead = null;
+            return event;
         }
     }
 
@@ -763,16 +944,16 @@ public final class TransactionalBuffer implements AutoCloseable {
      * Attempts to merge the provided SEL_LOB_LOCATOR event with the previous event in the
      * transaction.
      *
-     * @param transaction transaction being processed, never {@code null}
-     * @param index event index being processed
      * @param event event being processed, never {@code null}
+     * @param lobWrites data of the LOB_WRITE events that follow the event, never {@code null}
+     * @param lobEraseEvents number of LOB_ERASE events that follow the LOB_WRITE events
      * @param prevEvent previous event in the transaction, can be {@code null}
-     * @return true if the event is merged, false if the event was not merged.
+     * @return true if the event is merged or discarded, false if the event was not merged.
      */
     private boolean shouldMergeSelectLobLocatorEvent(
-            Transaction transaction,
-            int index,
             SelectLobLocatorEvent event,
+            List<String> lobWrites,
+            int lobEraseEvents,
             LogMinerEvent prevEvent) {
         LOGGER.trace("\tDetected SelectLobLocatorEvent for column '{}'", event.getColumnName());
 
@@ -780,10 +961,8 @@ public final class TransactionalBuffer implements AutoCloseable {
                 LogMinerHelper.getColumnIndexByName(
                         event.getColumnName(), schema.tableFor(event.getTableId()));
 
-        // Read and combine all LOB_WRITE events that follow SEL_LOB_LOCATOR
+        // Combine all LOB_WRITE events that follow SEL_LOB_LOCATOR
         Object lobData = null;
-        final List<String> lobWrites =
-                readAndCombineLobWriteEvents(transaction, index, event.isBinaryData());
         if (!lobWrites.isEmpty()) {
             if (event.isBinaryData()) {
                 // For BLOB we pass the list of string chunks as-is to the value converter
@@ -794,8 +973,6 @@ public final class TransactionalBuffer implements AutoCloseable {
             }
         }
 
-        // Read and consume all LOB_ERASE events that follow SEL_LOB_LOCATOR
-        final int lobEraseEvents = readAndConsumeLobEraseEvents(transaction, index);
         if (lobEraseEvents > 0) {
             LOGGER.warn(
                     "LOB_ERASE for table '{}' column '{}' is not supported, use DML operations to manipulate LOB columns only.",
@@ -805,14 +982,12 @@ public final class TransactionalBuffer implements AutoCloseable {
                 // There are no write and only erase events, discard entire SEL_LOB_LOCATOR
                 // To simulate this, we treat this as a "merge" op so caller doesn't modify previous
                 // event
-                transaction.events.remove(index);
                 return true;
             }
         } else if (lobEraseEvents == 0 && lobWrites.isEmpty()) {
             // There were no LOB operations present, discard entire SEL_LOB_LOCATOR
             // To simulate this, we treat this as a "merge" op so caller doesn't modify previous
             // event
-            transaction.events.remove(index);
             return true;
         }
 
@@ -846,8 +1021,7 @@ public final class TransactionalBuffer implements AutoCloseable {
 
                 prevEvent.getEntry().getNewValues()[columnIndex] = lobData;
 
-                // Remove the SEL_LOB_LOCATOR event from event list and indicate merged.
-                transaction.events.remove(index);
+                // Drop the SEL_LOB_LOCATOR event from event list and indicate merged.
                 return true;
             }
         } else if (RowMapper.UPDATE == prevEvent.getOperation()) {
@@ -859,8 +1033,7 @@ public final class TransactionalBuffer implements AutoCloseable {
                         event.getColumnName());
                 prevEvent.getEntry().getNewValues()[columnIndex] = lobData;
 
-                // Remove the SEL_LOB_LOCATOR event from event list and indicate merged.
-                transaction.events.remove(index);
+                // Drop the SEL_LOB_LOCATOR event from event list and indicate merged.
                 return true;
             }
         } else if (RowMapper.SELECT_LOB_LOCATOR == prevEvent.getOperation()) {
@@ -872,8 +1045,7 @@ public final class TransactionalBuffer implements AutoCloseable {
                         event.getColumnName());
                 prevEvent.getEntry().getNewValues()[columnIndex] = lobData;
 
-                // Remove the SEL_LOB_LOCATOR event from event list and indicate merged.
-                transaction.events.remove(index);
+                // Drop the SEL_LOB_LOCATOR event from event list and indicate merged.
                 return true;
             }
         } else {
@@ -890,14 +1062,11 @@ public final class TransactionalBuffer implements AutoCloseable {
     /**
      * Attempts to merge the provided DML event with the previous event in the transaction.
      *
-     * @param transaction transaction being processed, never {@code null}
-     * @param index event index being processed
      * @param event event being processed, never {@code null}
      * @param prevEvent previous event in the transaction, can be {@code null}
      * @return true if the event is merged, false if the event was not merged
      */
-    private boolean shouldMergeDmlEvent(
-            Transaction transaction, int index, DmlEvent event, LogMinerEvent prevEvent) {
+    private boolean shouldMergeDmlEvent(DmlEvent event, LogMinerEvent prevEvent) {
         LOGGER.trace("\tDetected DmlEvent {}", event.getOperation());
 
         if (prevEvent == null) {
@@ -915,8 +1084,7 @@ public final class TransactionalBuffer implements AutoCloseable {
                     LOGGER.trace("\tMerging UPDATE event with previous INSERT event");
                     mergeNewColumns(event, prevEvent);
 
-                    // Remove the UPDATE event from event list and indicate merged.
-                    transaction.events.remove(index);
+                    // Drop the UPDATE event from event list and indicate merged.
                     return true;
                 }
             }
@@ -930,8 +1098,7 @@ public final class TransactionalBuffer implements AutoCloseable {
                     LOGGER.trace("\tMerging UPDATE event with previous UPDATE event");
                     mergeNewColumns(event, prevEvent);
 
-                    // Remove the UPDATE event from event list and indicate merged.
-                    transaction.events.remove(index);
+                    // Drop the UPDATE event from event list and indicate merged.
                     return true;
                 }
             }
@@ -952,8 +1119,7 @@ public final class TransactionalBuffer implements AutoCloseable {
                         }
                     }
 
-                    // Remove the UPDATE event from event list and indicate merged.
-                    transaction.events.remove(index);
+                    // Drop the UPDATE event from event list and indicate merged.
                     return true;
                 }
             }
@@ -964,71 +1130,6 @@ public final class TransactionalBuffer implements AutoCloseable {
         return false;
     }
 
-    /**
-     * Reads the transaction event queue and combines all LOB_WRITE events starting at the provided
-     * index. for a SEL_LOB_LOCATOR event which is for binary data (BLOB) data types.
-     *
-     * @param transaction transaction being processed, never {@code null}
-     * @param index index to the first LOB_WRITE operation
-     * @return list of string-based values for each LOB_WRITE operation
-     */
-    private List<String> readAndCombineLobWriteEvents(
-            Transaction transaction, int index, boolean binaryData) {
-        List<String> chunks = new ArrayList<>();
-        for (int i = index + 1; i < transaction.events.size(); ++i) {
-            final LogMinerEvent event = transaction.events.get(i);
-            if (!(event instanceof LobWriteEvent)) {
-                break;
-            }
-
-            final LobWriteEvent writeEvent = (LobWriteEvent) event;
-            if (binaryData
-                    && !writeEvent.getData().startsWith("HEXTORAW('")
-                    && !writeEvent.getData().endsWith("')")) {
-                throw new DebeziumException("Unexpected BLOB data chunk: " + writeEvent.getData());
-            }
-
-            chunks.add(writeEvent.getData());
-        }
-
-        if (!chunks.isEmpty()) {
-            LOGGER.trace("\tCombined {} LobWriteEvent events", chunks.size());
-            // Remove events from the transaction queue queue
-            for (int i = 0; i < chunks.size(); ++i) {
-                transaction.events.remove(index + 1);
-            }
-        }
-
-        return chunks;
-    }
-
-    /**
-     * Read and remove all LobErase events detected in the transaction event queue.
-     *
-     * @param transaction transaction being processed, never {@code null}
-     * @param index index to the first LOB_ERASE operation
-     * @return number of LOB_ERASE events consumed and removed from the event queue
-     */
-    private int readAndConsumeLobEraseEvents(Transaction transaction, int index) {
-        int events = 0;
-        for (int i = index + 1; i < transaction.events.size(); ++i) {
-            final LogMinerEvent event = transaction.events.get(i);
-            if (!(event instanceof LobEraseEvent)) {
-                break;
-            }
-            events++;
-        }
-
-        if (events > 0) {
-            LOGGER.trace("\tConsumed {} LobErase events", events);
-            for (int i = 0; i < events; ++i) {
-                transaction.events.remove(index + 1);
-            }
-        }
-
-        return events;
-    }
-
     /**
      * Checks whether the two events are for the same table or participate in the same system
      * change.
@@ -1107,69 +1208,423 @@ public final class TransactionalBuffer implements AutoCloseable {
         }
     }
 
-    /**
-     * Represents a transaction boundary that was recently committed.
-     *
-     * <p>This is used by the buffer to detect transactions read from overlapping mining sessions
-     * that can safely be ignored as the connector has already reconciled and emitted the event for
-     * it.
-     */
-    private static final class RecentlyCommittedTransaction {
-        private final String transactionId;
-        private final Scn firstScn;
-        private final Scn commitScn;
+    // --------------------------------------------------------------------------------------------
+    // Spilled events
+    // --------------------------------------------------------------------------------------------
+
+    private static final byte DML_EVENT = 0;
+    private static final byte SELECT_LOB_LOCATOR_EVENT = 1;
+    private static final byte LOB_WRITE_EVENT = 2;
+    private static final byte LOB_ERASE_EVENT = 3;
+
+    private static final byte NULL_VALUE = 0;
+    private static final byte STRING_VALUE = 1;
+    private static final byte INTEGER_VALUE = 2;
+    private static final byte LONG_VALUE = 3;
+    private static final byte BIG_DECIMAL_VALUE = 4;
+    private static final byte BYTES_VALUE = 5;
+    private static final byte TIMESTAMP_VALUE = 6;
+    private static final byte BLOB_CHUNKS_VALUE = 7;
+
+    /** Estimates the heap bytes of the event, the column values are mostly strings. */
+    private static long estimateSize(LogMinerEvent event) {
+        long size = 128;
+        if (event instanceof LobWriteEvent) {
+            size += estimateSize(((LobWriteEvent) event).getData());
+        }
+        if (event.getEntry() != null) {
+            size += estimateSize(event.getEntry().getOldValues());
+            size += estimateSize(event.getEntry().getNewValues());
+        }
+        return size;
+    }
 
-        public RecentlyCommittedTransaction(Transaction transaction, Scn commitScn) {
-            this.transactionId = transaction.transactionId;
-            this.firstScn = transaction.firstScn;
-            this.commitScn = commitScn;
+    private static long estimateSize(Object[] values) {
+        if (values == null) {
+            return 0;
+        }
+        long size = 16 + 8L * values.length;
+        for (Object value : values) {
+            size += estimateSize(value);
         }
+        return size;
+    }
 
-        public Scn getFirstScn() {
-            return firstScn;
+    private static long estimateSize(Object value) {
+        return value instanceof String ? 40 + 2L * ((String) value).length() : 16;
+    }
+
+    static void writeEvent(DataOutputStream out, LogMinerEvent event) throws IOException {
+        if (event instanceof SelectLobLocatorEvent) {
+            out.writeByte(SELECT_LOB_LOCATOR_EVENT);
+        } else if (event instanceof LobWriteEvent) {
+            out.writeByte(LOB_WRITE_EVENT);
+        } else if (event instanceof LobEraseEvent) {
+            out.writeByte(LOB_ERASE_EVENT);
+        } else {
+            out.writeByte(DML_EVENT);
         }
+        out.writeInt(event.getOperation());
+        writeString(out, event.getScn().toString());
+        writeString(out, event.getTableId().catalog());
+        writeString(out, event.getTableId().schema());
+        writeString(out, event.getTableId().table());
+        writeString(out, event.getRowId());
+        writeValue(out, event.getRsId());
+        if (event instanceof LobWriteEvent) {
+            writeString(out, ((LobWriteEvent) event).getData());
+        } else if (!(event instanceof LobEraseEvent)) {
+            final LogMinerDmlEntry entry = event.getEntry();
+            writeString(out, entry.getObjectOwner());
+            writeString(out, entry.getObjectName());
+            writeValues(out, entry.getOldValues());
+            writeValues(out, entry.getNewValues());
+            if (event instanceof SelectLobLocatorEvent) {
+                writeString(out, ((SelectLobLocatorEvent) event).getColumnName());
+                out.writeBoolean(((SelectLobLocatorEvent) event).isBinaryData());
+            }
+        }
+    }
 
-        public Scn getCommitScn() {
-            return commitScn;
+    static LogMinerEvent readEvent(DataInputStream in) throws IOException {
+        final byte type = in.readByte();
+        final int operation = in.readInt();
+        final Scn scn = Scn.valueOf(readString(in));
+        final TableId tableId = new TableId(readString(in), readString(in), readString(in));
+        final String rowId = readString(in);
+        final Object rsId = readValue(in);
+        if (type == LOB_WRITE_EVENT) {
+            return new LobWriteEvent(operation, readString(in), scn, tableId, rowId, rsId);
+        } else if (type == LOB_ERASE_EVENT) {
+            return new LobEraseEvent(operation, scn, tableId, rowId, rsId);
+        }
+        final String objectOwner = readString(in);
+        final String objectName = readString(in);
+        final Object[] oldValues = readValues(in);
+        final Object[] newValues = readValues(in);
+        final LogMinerDmlEntry entry;
+        switch (operation) {
+            case RowMapper.INSERT:
+                entry = LogMinerDmlEntryImpl.forInsert(newValues);
+                break;
+            case RowMapper.UPDATE:
+                entry = LogMinerDmlEntryImpl.forUpdate(newValues, oldValues);
+                break;
+            case RowMapper.DELETE:
+                entry = LogMinerDmlEntryImpl.forDelete(oldValues);
+                break;
+            default:
+                entry = LogMinerDmlEntryImpl.forLobLocator(newValues);
         }
+        entry.setObjectOwner(objectOwner);
+        entry.setObjectName(objectName);
+        if (type == SELECT_LOB_LOCATOR_EVENT) {
+            return new SelectLobLocatorEvent(
+                    operation,
+                    entry,
+                    readString(in),
+                    in.readBoolean(),
+                    scn,
+                    tableId,
+                    rowId,
+                    rsId);
+        }
+        return new DmlEvent(operation, entry, scn, tableId, rowId, rsId);
+    }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
+    private static void writeValues(DataOutputStream out, Object[] values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.length);
+        for (Object value : values) {
+            writeValue(out, value);
+        }
+    }
+
+    private static Object[] readValues(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final Object[] values = new Object[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = readValue(in);
+        }
+        return values;
+    }
+
+    /**
+     * Writes the value with a type tag. The values parsed from the redo SQL are strings, the other
+     * types are the ones the row id, the rollback segment id and the merged LOB values may have.
+     */
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+        } else if (value instanceof String) {
+            out.writeByte(STRING_VALUE);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER_VALUE);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG_VALUE);
+            out.writeLong((Long) value);
+        } else if (value instanceof BigDecimal) {
+            final BigDecimal decimal = (BigDecimal) value;
+            out.writeByte(BIG_DECIMAL_VALUE);
+            out.writeInt(decimal.scale());
+            writeBytes(out, decimal.unscaledValue().toByteArray());
+        } else if (value instanceof byte[]) {
+            out.writeByte(BYTES_VALUE);
+            writeBytes(out, (byte[]) value);
+        } else if (value instanceof Timestamp) {
+            out.writeByte(TIMESTAMP_VALUE);
+            out.writeLong(((Timestamp) value).getTime());
+            out.writeInt(((Timestamp) value).getNanos());
+        } else if (value instanceof BlobChunkList) {
+            final BlobChunkList chunks = (BlobChunkList) value;
+            out.writeByte(BLOB_CHUNKS_VALUE);
+            out.writeInt(chunks.size());
+            for (String chunk : chunks) {
+                writeString(out, chunk);
             }
-            RecentlyCommittedTransaction that = (RecentlyCommittedTransaction) o;
-            return Objects.equals(transactionId, that.transactionId)
-                    && Objects.equals(firstScn, that.firstScn)
-                    && Objects.equals(commitScn, that.commitScn);
+        } else {
+            throw new IOException(
+                    "Unsupported value of type " + value.getClass().getName() + " to spill");
         }
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(transactionId, firstScn, commitScn);
+    private static Object readValue(DataInputStream in) throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case NULL_VALUE:
+                return null;
+            case STRING_VALUE:
+                return readString(in);
+            case INTEGER_VALUE:
+                return in.readInt();
+            case LONG_VALUE:
+                return in.readLong();
+            case BIG_DECIMAL_VALUE:
+                final int scale = in.readInt();
+                return new BigDecimal(new BigInteger(readBytes(in)), scale);
+            case BYTES_VALUE:
+                return readBytes(in);
+            case TIMESTAMP_VALUE:
+                final Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            case BLOB_CHUNKS_VALUE:
+                final List<String> chunks = new ArrayList<>();
+                for (int i = in.readInt(); i > 0; i--) {
+                    chunks.add(readString(in));
+                }
+                return new BlobChunkList(chunks);
+            default:
+                throw new IOException("Unknown type " + type + " of a spilled value");
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /** Writes the string of any length, {@link DataOutputStream#writeUTF} is limited to 64KB. */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
         }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private File nextSpillDirectory() {
+        final File directory = spillDirectories[nextSpillDirectory];
+        nextSpillDirectory = (nextSpillDirectory + 1) % spillDirectories.length;
+        return directory;
     }
 
     /** Represents a logical database transaction. */
-    private static final class Transaction {
+    static final class Transaction {
 
         private final String transactionId;
         private final Scn firstScn;
         private Scn lastScn;
         private final List<LogMinerEvent> events;
+        private final File spillDirectory;
         private int eventIds;
 
-        private Transaction(String transactionId, Scn firstScn) {
+        /** The estimated heap bytes of the events kept in memory. */
+        private long eventBytes;
+
+        // the spilled events, the following events of a spilled transaction are appended to the
+        // spill file instead of the event list
+        private File spillFile;
+        private DataOutputStream spillOutput;
+        private DataInputStream spillInput;
+        private int spilledEvents;
+        // the row ids undone after the spill, the values are the number of spilled events then
+        private Map<String, Integer> undoneRowIds;
+
+        Transaction(String transactionId, Scn firstScn, File spillDirectory) {
             this.transactionId = transactionId;
             this.firstScn = firstScn;
             this.events = new ArrayList<>();
+            this.spillDirectory = spillDirectory;
             this.lastScn = firstScn;
             this.eventIds = 0;
         }
 
+        boolean isSpilled() {
+            return spillFile != null;
+        }
+
+        /** Returns the number of the registered events, including the spilled ones. */
+        int size() {
+            return spilledEvents + events.size();
+        }
+
+        void add(LogMinerEvent event, long spillEvents, long spillBytes) {
+            try {
+                if (isSpilled()) {
+                    writeEvent(spillOutput, event);
+                    spilledEvents++;
+                    return;
+                }
+                events.add(event);
+                eventBytes += estimateSize(event);
+                if (events.size() >= spillEvents || eventBytes >= spillBytes) {
+                    spill();
+                }
+            } catch (IOException e) {
+                throw new DebeziumException(
+                        "Failed to spill the events of transaction " + transactionId, e);
+            }
+        }
+
+        private void spill() throws IOException {
+            LOGGER.info(
+                    "Transaction {} exceeds {} events or {} bytes, spill the events to disk.",
+                    transactionId,
+                    events.size(),
+                    eventBytes);
+            spillFile =
+                    File.createTempFile(
+                            "oracle-logminer-" + transactionId + "-", ".spill", spillDirectory);
+            spillOutput =
+                    new DataOutputStream(
+                            new BufferedOutputStream(new FileOutputStream(spillFile)));
+            undoneRowIds = new HashMap<>();
+            for (LogMinerEvent event : events) {
+                writeEvent(spillOutput, event);
+            }
+            spilledEvents = events.size();
+            events.clear();
+            eventBytes = 0;
+        }
+
+        /** Undoes the events of the row registered so far. */
+        void undo(String rowId) {
+            events.removeIf(event -> event.getRowId().equals(rowId));
+            if (isSpilled()) {
+                // the spilled events of the row are skipped when the transaction is read back
+                undoneRowIds.put(rowId, spilledEvents);
+            }
+        }
+
+        /** Returns the events in order, the spilled events are read from the spill file. */
+        Iterator<LogMinerEvent> iterator() throws IOException {
+            if (!isSpilled()) {
+                return events.iterator();
+            }
+            spillOutput.flush();
+            spillInput =
+                    new DataInputStream(new BufferedInputStream(new FileInputStream(spillFile)));
+            final Iterator<LogMinerEvent> remainingEvents = events.iterator();
+            return new Iterator<LogMinerEvent>() {
+                private int readEvents;
+                private LogMinerEvent next;
+
+                @Override
+                public boolean hasNext() {
+                    while (next == null && readEvents < spilledEvents) {
+                        final int index = readEvents++;
+                        final LogMinerEvent event;
+                        try {
+                            event = readEvent(spillInput);
+                        } catch (IOException e) {
+                            throw new DebeziumException(
+                                    "Failed to read the spilled events of transaction "
+                                            + transactionId,
+                                    e);
+                        }
+                        final Integer undoneEvents = undoneRowIds.get(event.getRowId());
+                        if (undoneEvents == null || index >= undoneEvents) {
+                            next = event;
+                        }
+                    }
+                    if (next == null && remainingEvents.hasNext()) {
+                        next = remainingEvents.next();
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public LogMinerEvent next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final LogMinerEvent event = next;
+                    next = null;
+                    return event;
+                }
+            };
+        }
+
+        /** Deletes the spill file of the transaction. */
+        void close() {
+            if (!isSpilled()) {
+                return;
+            }
+            try {
+                spillOutput.close();
+                if (spillInput != null) {
+                    spillInput.close();
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Failed to close the spill file {}", spillFile, e);
+            }
+            if (!spillFile.delete()) {
+                LOGGER.warn("Failed to delete the spill file {}", spillFile);
+            }
+            spillFile = null;
+            spillOutput = null;
+            spillInput = null;
+            spilledEvents = 0;
+            undoneRowIds = null;
+        }
+
         @Override
         public String toString() {
             return "Transaction{"
@@ -1186,7 +1641,7 @@ public final class TransactionalBuffer implements AutoCloseable {
     }
 
     /** Base class for all possible LogMiner events. */
-    private static class LogMinerEvent {
+    static class LogMinerEvent {
         private final int operation;
         private final LogMinerDmlEntry entry;
         private final Scn scn;
@@ -1257,7 +1712,7 @@ public final class TransactionalBuffer implements AutoCloseable {
     }
 
     /** Represents a DML event for a given table row. */
-    private static class DmlEvent extends LogMinerEvent {
+    static class DmlEvent extends LogMinerEvent {
         public DmlEvent(
                 int operation,
                 LogMinerDmlEntry entry,
@@ -1270,7 +1725,7 @@ public final class TransactionalBuffer implements AutoCloseable {
     }
 
     /** Represents a SELECT_LOB_LOCATOR event. */
-    private static class SelectLobLocatorEvent extends LogMinerEvent {
+    static class SelectLobLocatorEvent extends LogMinerEvent {
         private final String columnName;
         private final boolean binaryData;
 
@@ -1298,7 +1753,7 @@ public final class TransactionalBuffer implements AutoCloseable {
     }
 
     /** Represents a LOB_WRITE event. */
-    private static class LobWriteEvent extends LogMinerEvent {
+    static class LobWriteEvent extends LogMinerEvent {
         private final String data;
 
         public LobWriteEvent(
@@ -1313,7 +1768,7 @@ public final class TransactionalBuffer implements AutoCloseable {
     }
 
     /** Represents a LOB_ERASE event. */
-    private static class LobEraseEvent extends LogMinerEvent {
+    static class LobEraseEvent extends LogMinerEvent {
         public LobEraseEvent(int operation, Scn scn, TableId tableId, String rowId, Object rsId) {
             super(operation, null, scn, tableId, rowId, rsId);
         }
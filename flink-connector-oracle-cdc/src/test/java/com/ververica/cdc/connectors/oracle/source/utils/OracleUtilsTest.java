@@ -0,0 +1,80 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.utils;
+
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import com.ververica.cdc.connectors.oracle.source.offset.RedoLogOffset;
+import io.debezium.relational.TableId;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link OracleUtils}. */
+public class OracleUtilsTest {
+
+    private static final TableId TABLE_ID = new TableId("ORCLCDB", "INVENTORY", "PRODUCTS");
+    private static final RowType SPLIT_TYPE =
+            RowType.of(new LogicalType[] {new BigIntType()}, new String[] {"ID"});
+
+    @Test
+    public void testBuildSplitScanQuery() {
+        assertEquals(
+                "SELECT * FROM \"INVENTORY\".\"PRODUCTS\"",
+                OracleUtils.buildSplitScanQuery(TABLE_ID, SPLIT_TYPE, true, true));
+        assertEquals(
+                "SELECT * FROM \"INVENTORY\".\"PRODUCTS\" WHERE \"ID\" <= ? AND NOT (\"ID\" = ?)",
+                OracleUtils.buildSplitScanQuery(TABLE_ID, SPLIT_TYPE, true, false));
+        assertEquals(
+                "SELECT * FROM \"INVENTORY\".\"PRODUCTS\" WHERE \"ID\" >= ?",
+                OracleUtils.buildSplitScanQuery(TABLE_ID, SPLIT_TYPE, false, true));
+        assertEquals(
+                "SELECT * FROM \"INVENTORY\".\"PRODUCTS\" WHERE \"ID\" >= ? AND NOT (\"ID\" = ?)"
+                        + " AND \"ID\" <= ?",
+                OracleUtils.buildSplitScanQuery(TABLE_ID, SPLIT_TYPE, false, false));
+    }
+
+    @Test
+    public void testBuildNextChunkMaxQuery() {
+        assertEquals(
+                "SELECT MAX(\"ID\") FROM (SELECT \"ID\" FROM (SELECT \"ID\" FROM"
+                        + " \"INVENTORY\".\"PRODUCTS\" WHERE \"ID\" >= ? ORDER BY \"ID\" ASC)"
+                        + " WHERE ROWNUM <= 1000)",
+                OracleUtils.buildNextChunkMaxQuery(TABLE_ID, "ID", 1000));
+    }
+
+    @Test
+    public void testRedoLogPosition() {
+        final Map<String, Object> offset = new HashMap<>();
+        offset.put(RedoLogOffset.SCN_KEY, 100L);
+        offset.put(RedoLogOffset.COMMIT_SCN_KEY, null);
+        final RedoLogOffset position = OracleUtils.getRedoLogPosition(offset);
+        assertEquals(100L, position.getScn());
+        assertEquals(0L, position.getCommitScn());
+
+        // an open transaction holds the restart scn back, the commit scn is ahead of it
+        assertTrue(new RedoLogOffset(90L, 120L).isAfter(position));
+        assertTrue(new RedoLogOffset(90L).isBefore(position));
+        assertTrue(RedoLogOffset.NO_STOPPING_OFFSET.isAfter(new RedoLogOffset(Long.MAX_VALUE)));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+import io.debezium.connector.oracle.Scn;
+import io.debezium.connector.oracle.logminer.ArchiveLogRangeProvider.ArchiveLogRange;
+import io.debezium.connector.oracle.logminer.OracleArchiveLogRangeProvider.ArchivedLog;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link OracleArchiveLogRangeProvider}. */
+public class OracleArchiveLogRangeProviderTest {
+
+    @Test
+    public void testToRanges() {
+        final List<ArchivedLog> logs =
+                Arrays.asList(
+                        new ArchivedLog("1_1.arc", 1, Scn.valueOf(100), Scn.valueOf(200)),
+                        new ArchivedLog("1_2.arc", 1, Scn.valueOf(200), Scn.valueOf(300)),
+                        new ArchivedLog("1_3.arc", 1, Scn.valueOf(300), Scn.valueOf(400)));
+        assertEquals(
+                Arrays.asList(
+                        range(150, 200, "1_1.arc"),
+                        range(200, 300, "1_2.arc"),
+                        range(300, 400, "1_3.arc")),
+                OracleArchiveLogRangeProvider.toRanges(logs, Scn.valueOf(150)));
+
+        // the start SCN is not archived anymore or only in the online redo logs
+        assertTrue(OracleArchiveLogRangeProvider.toRanges(logs, Scn.valueOf(50)).isEmpty());
+        assertTrue(OracleArchiveLogRangeProvider.toRanges(logs, Scn.valueOf(400)).isEmpty());
+    }
+
+    @Test
+    public void testToRangesOfRedoThreads() {
+        final List<ArchivedLog> logs =
+                Arrays.asList(
+                        new ArchivedLog("1_1.arc", 1, Scn.valueOf(100), Scn.valueOf(250)),
+                        new ArchivedLog("2_1.arc", 2, Scn.valueOf(120), Scn.valueOf(300)),
+                        new ArchivedLog("1_2.arc", 1, Scn.valueOf(250), Scn.valueOf(400)));
+        // the ranges end where the logs of the second thread end
+        assertEquals(
+                Arrays.asList(
+                        range(150, 250, "1_1.arc", "2_1.arc"),
+                        range(250, 300, "2_1.arc", "1_2.arc")),
+                OracleArchiveLogRangeProvider.toRanges(logs, Scn.valueOf(150)));
+    }
+
+    private static ArchiveLogRange range(long startScn, long endScn, String... logFiles) {
+        return new ArchiveLogRange(
+                Scn.valueOf(startScn), Scn.valueOf(endScn), Arrays.asList(logFiles));
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+import io.debezium.connector.oracle.Scn;
+import io.debezium.connector.oracle.logminer.ArchiveLogRangeProvider.ArchiveLogRange;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link ParallelArchiveLogMiner}. */
+public class ParallelArchiveLogMinerTest {
+
+    @Test
+    public void testRowsInScnOrder() throws Exception {
+        final ReplayingProvider provider = new ReplayingProvider();
+        final List<ArchiveLogRange> ranges = new ArrayList<>();
+        final List<Long> expectedScns = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final ArchiveLogRange range = range(i * 100 + 1, (i + 1) * 100 + 1);
+            ranges.add(range);
+            // a transaction spans two ranges, the later ranges are mined faster
+            final List<LogMinerRow> rows = new ArrayList<>();
+            rows.add(row(i * 100 + 10, LogMinerRow.START, "tx" + i));
+            rows.add(row(i * 100 + 20, LogMinerRow.INSERT, "tx" + i));
+            rows.add(row(i * 100 + 20, LogMinerRow.UPDATE, "tx" + i));
+            if (i > 0) {
+                rows.add(row(i * 100 + 30, LogMinerRow.COMMIT, "tx" + (i - 1)));
+            }
+            provider.record(range, rows, (8 - i) * 10L);
+            rows.forEach(row -> expectedScns.add(row.getScn().longValue()));
+        }
+
+        final RecordingHandler handler = new RecordingHandler();
+        try (ParallelArchiveLogMiner miner = new ParallelArchiveLogMiner(provider, 3, 2)) {
+            assertEquals(Scn.valueOf(801), miner.mine(ranges, handler));
+        }
+        assertEquals(expectedScns, handler.appliedScns());
+        assertTrue(provider.maxConcurrentSessions.get() > 1);
+        assertTrue(provider.maxConcurrentSessions.get() <= 3);
+    }
+
+    @Test
+    public void testStopBeforeNotAcceptedRow() throws Exception {
+        final ReplayingProvider provider = new ReplayingProvider();
+        final ArchiveLogRange first = range(1, 101);
+        final ArchiveLogRange second = range(101, 201);
+        final ArchiveLogRange third = range(201, 301);
+        provider.record(first, Collections.singletonList(row(10, LogMinerRow.START, "tx1")), 0L);
+        provider.record(
+                second,
+                Arrays.asList(
+                        row(110, LogMinerRow.INSERT, "tx1"),
+                        row(120, LogMinerRow.COMMIT, "tx1"),
+                        row(130, LogMinerRow.START, "tx2"),
+                        row(130, LogMinerRow.DDL, "tx2"),
+                        row(140, LogMinerRow.COMMIT, "tx2")),
+                0L);
+        provider.record(third, Collections.singletonList(row(210, LogMinerRow.START, "tx3")), 0L);
+
+        final RecordingHandler handler = new RecordingHandler();
+        try (ParallelArchiveLogMiner miner = new ParallelArchiveLogMiner(provider, 2, 1)) {
+            // the rows of the SCN of the DDL are not applied
+            assertEquals(
+                    Scn.valueOf(130), miner.mine(Arrays.asList(first, second, third), handler));
+        }
+        assertEquals(Arrays.asList(10L, 110L, 120L), handler.appliedScns());
+    }
+
+    @Test
+    public void testStopAtFailedRange() throws Exception {
+        final ReplayingProvider provider = new ReplayingProvider();
+        final ArchiveLogRange first = range(1, 101);
+        final ArchiveLogRange second = range(101, 201);
+        provider.record(first, Collections.singletonList(row(10, LogMinerRow.START, "tx1")), 0L);
+        provider.record(
+                second,
+                Arrays.asList(
+                        row(110, LogMinerRow.INSERT, "tx1"), row(120, LogMinerRow.INSERT, "tx1")),
+                0L);
+        provider.failAfterRecordedRows(second);
+
+        final RecordingHandler handler = new RecordingHandler();
+        try (ParallelArchiveLogMiner miner = new ParallelArchiveLogMiner(provider, 2, 10)) {
+            // the rows of the last SCN before the failure may be incomplete
+            assertEquals(Scn.valueOf(120), miner.mine(Arrays.asList(first, second), handler));
+        }
+        assertEquals(Arrays.asList(10L, 110L), handler.appliedScns());
+    }
+
+    private static ArchiveLogRange range(long startScn, long endScn) {
+        return new ArchiveLogRange(
+                Scn.valueOf(startScn),
+                Scn.valueOf(endScn),
+                Collections.singletonList("arch_" + startScn + ".log"));
+    }
+
+    private static LogMinerRow row(long scn, int operationCode, String transactionId) {
+        return new LogMinerRow(
+                Scn.valueOf(scn),
+                operationCode,
+                transactionId,
+                "INVENTORY",
+                "PRODUCTS",
+                null,
+                new Timestamp(scn),
+                "AAA" + scn,
+                null,
+                false);
+    }
+
+    /** Replays the recorded rows of the ranges after a delay. */
+    private static class ReplayingProvider implements ArchiveLogRangeProvider {
+
+        private final Map<ArchiveLogRange, List<LogMinerRow>> recordedRows = new HashMap<>();
+        private final Map<ArchiveLogRange, Long> delays = new HashMap<>();
+        private final Set<ArchiveLogRange> failures = new HashSet<>();
+        private final AtomicInteger concurrentSessions = new AtomicInteger();
+        private final AtomicInteger maxConcurrentSessions = new AtomicInteger();
+
+        void record(ArchiveLogRange range, List<LogMinerRow> rows, long delayMs) {
+            recordedRows.put(range, rows);
+            delays.put(range, delayMs);
+        }
+
+        void failAfterRecordedRows(ArchiveLogRange range) {
+            failures.add(range);
+        }
+
+        @Override
+        public List<ArchiveLogRange> listRanges(Scn startScn) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void mine(ArchiveLogRange range, RowConsumer consumer)
+                throws SQLException, InterruptedException {
+            maxConcurrentSessions.accumulateAndGet(concurrentSessions.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(delays.get(range));
+                for (LogMinerRow row : recordedRows.get(range)) {
+                    consumer.accept(row);
+                }
+                if (failures.contains(range)) {
+                    throw new SQLException("ORA-00308: cannot open archived log");
+                }
+            } finally {
+                concurrentSessions.decrementAndGet();
+            }
+        }
+    }
+
+    /** Accepts the rows except DDL and records the applied rows. */
+    private static class RecordingHandler implements ParallelArchiveLogMiner.RowHandler {
+
+        private final List<LogMinerRow> appliedRows = new ArrayList<>();
+
+        @Override
+        public boolean accept(LogMinerRow row) {
+            return row.getOperationCode() != LogMinerRow.DDL;
+        }
+
+        @Override
+        public void apply(LogMinerRow row) {
+            appliedRows.add(row);
+        }
+
+        List<Long> appliedScns() {
+            final List<Long> scns = new ArrayList<>();
+            appliedRows.forEach(row -> scns.add(row.getScn().longValue()));
+            return scns;
+        }
+    }
+}
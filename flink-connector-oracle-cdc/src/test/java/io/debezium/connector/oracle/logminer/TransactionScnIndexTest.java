@@ -0,0 +1,128 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+import io.debezium.connector.oracle.Scn;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link TransactionScnIndex}. */
+public class TransactionScnIndexTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionScnIndexTest.class);
+
+    @Test
+    public void testIndex() {
+        final TransactionScnIndex index = new TransactionScnIndex();
+        assertEquals(Scn.NULL, index.getMinimumScn());
+
+        index.put("a", Scn.valueOf(30));
+        index.put("b", Scn.valueOf(10));
+        index.put("c", Scn.valueOf(20));
+        index.put("d", Scn.valueOf(20));
+        assertEquals(Scn.valueOf(10), index.getMinimumScn());
+        assertTrue(index.contains("b"));
+
+        assertTrue(index.remove("b"));
+        assertFalse(index.remove("b"));
+        assertFalse(index.contains("b"));
+        assertEquals(Scn.valueOf(20), index.getMinimumScn());
+
+        // the transaction is indexed by its latest SCN only
+        index.put("a", Scn.valueOf(5));
+        assertEquals(Scn.valueOf(5), index.getMinimumScn());
+        assertEquals(3, index.size());
+
+        assertEquals(Collections.singletonList("a"), index.removeUpTo(Scn.valueOf(20), false));
+        final List<String> removed = index.removeUpTo(Scn.valueOf(20), true);
+        Collections.sort(removed);
+        assertEquals(Arrays.asList("c", "d"), removed);
+        assertTrue(index.isEmpty());
+        assertEquals(Scn.NULL, index.getMinimumScn());
+    }
+
+    /**
+     * Compares the index with the scan over all the open transactions, which was used to find the
+     * minimum SCN on every mined batch and every commit, with 10k concurrent open transactions.
+     */
+    @Test
+    public void testMinimumScnWithManyOpenTransactions() {
+        final int openTransactions = 10_000;
+        final int commits = 20_000;
+        final Random random = new Random(42);
+
+        final TransactionScnIndex index = new TransactionScnIndex();
+        final Map<String, Scn> transactions = new HashMap<>();
+        final List<String> openTransactionIds = new ArrayList<>();
+        long scn = 0;
+        for (int i = 0; i < openTransactions; i++) {
+            final String transactionId = "tx-" + i;
+            final Scn firstScn = Scn.valueOf(++scn);
+            index.put(transactionId, firstScn);
+            transactions.put(transactionId, firstScn);
+            openTransactionIds.add(transactionId);
+        }
+
+        long indexNanos = 0;
+        long scanNanos = 0;
+        int nextTransaction = openTransactions;
+        for (int i = 0; i < commits; i++) {
+            // commit a random open transaction and open a new one
+            final int committedIndex = random.nextInt(openTransactions);
+            final String committed = openTransactionIds.get(committedIndex);
+            final String opened = "tx-" + nextTransaction++;
+            openTransactionIds.set(committedIndex, opened);
+            final Scn firstScn = Scn.valueOf(++scn);
+            transactions.remove(committed);
+            transactions.put(opened, firstScn);
+
+            long start = System.nanoTime();
+            index.remove(committed);
+            index.put(opened, firstScn);
+            final Scn indexedMinimum = index.getMinimumScn();
+            indexNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            final Scn scannedMinimum =
+                    transactions.values().stream().min(Scn::compareTo).orElse(Scn.NULL);
+            scanNanos += System.nanoTime() - start;
+
+            assertEquals(scannedMinimum, indexedMinimum);
+        }
+        assertEquals(transactions.size(), index.size());
+
+        LOG.info(
+                "Minimum SCN of {} open transactions over {} commits: index {} ms, scan {} ms",
+                openTransactions,
+                commits,
+                indexNanos / 1_000_000,
+                scanNanos / 1_000_000);
+    }
+}
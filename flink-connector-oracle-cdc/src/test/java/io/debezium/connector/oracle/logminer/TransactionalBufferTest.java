@@ -0,0 +1,232 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+import io.debezium.connector.oracle.BlobChunkList;
+import io.debezium.connector.oracle.Scn;
+import io.debezium.connector.oracle.logminer.TransactionalBuffer.DmlEvent;
+import io.debezium.connector.oracle.logminer.TransactionalBuffer.LobWriteEvent;
+import io.debezium.connector.oracle.logminer.TransactionalBuffer.LogMinerEvent;
+import io.debezium.connector.oracle.logminer.TransactionalBuffer.SelectLobLocatorEvent;
+import io.debezium.connector.oracle.logminer.TransactionalBuffer.Transaction;
+import io.debezium.connector.oracle.logminer.valueholder.LogMinerDmlEntry;
+import io.debezium.connector.oracle.logminer.valueholder.LogMinerDmlEntryImpl;
+import io.debezium.relational.TableId;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for the spilled events of {@link TransactionalBuffer}. */
+public class TransactionalBufferTest {
+
+    private static final TableId TABLE_ID = new TableId("ORCLCDB", "INVENTORY", "PRODUCTS");
+
+    @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndReadEvents() throws IOException {
+        final Timestamp timestamp = Timestamp.valueOf("2022-03-04 05:06:07.123456789");
+        final LogMinerDmlEntry update =
+                LogMinerDmlEntryImpl.forUpdate(
+                        new Object[] {
+                            "101", 7, 8L, new BigDecimal("-12.345"), new byte[] {1, -2}, null
+                        },
+                        new Object[] {"101", timestamp, null});
+        final LogMinerDmlEntry lobLocator =
+                LogMinerDmlEntryImpl.forLobLocator(
+                        new Object[] {
+                            "102",
+                            new BlobChunkList(Arrays.asList("HEXTORAW('01')", "HEXTORAW('02')"))
+                        });
+        final List<LogMinerEvent> events =
+                Arrays.asList(
+                        new DmlEvent(
+                                LogMinerRow.UPDATE, entry(update), scn(1), TABLE_ID, "AAA1", "rs1"),
+                        new SelectLobLocatorEvent(
+                                LogMinerRow.SELECT_LOB_LOCATOR,
+                                entry(lobLocator),
+                                "IMAGE",
+                                true,
+                                scn(2),
+                                TABLE_ID,
+                                "AAA2",
+                                null),
+                        new LobWriteEvent(
+                                LogMinerRow.LOB_WRITE,
+                                "HEXTORAW('0102')",
+                                scn(3),
+                                TABLE_ID,
+                                "AAA2",
+                                3L),
+                        new DmlEvent(
+                                LogMinerRow.DELETE,
+                                entry(LogMinerDmlEntryImpl.forDelete(new Object[] {"103"})),
+                                scn(4),
+                                TABLE_ID,
+                                "AAA3",
+                                "rs4"));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (LogMinerEvent event : events) {
+                TransactionalBuffer.writeEvent(out, event);
+            }
+        }
+        try (DataInputStream in =
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            for (LogMinerEvent event : events) {
+                assertEvent(event, TransactionalBuffer.readEvent(in));
+            }
+            assertEquals(0, in.available());
+        }
+    }
+
+    @Test
+    public void testUndoSpilledEvents() throws IOException {
+        final Transaction transaction = transaction("tx");
+        try {
+            transaction.add(insert(1, "AAA1"), 3, Long.MAX_VALUE);
+            transaction.add(insert(2, "AAA2"), 3, Long.MAX_VALUE);
+            transaction.add(insert(3, "AAA3"), 3, Long.MAX_VALUE);
+            assertTrue(transaction.isSpilled());
+            assertEquals(1, temporaryFolder.getRoot().list().length);
+
+            // undoes the spilled insert only, the later change of the row is kept
+            transaction.undo("AAA2");
+            transaction.add(insert(4, "AAA2"), 3, Long.MAX_VALUE);
+            transaction.add(insert(5, "AAA4"), 3, Long.MAX_VALUE);
+            transaction.undo("AAA4");
+            assertEquals(5, transaction.size());
+
+            assertEquals(Arrays.asList(1L, 3L, 4L), scns(transaction.iterator()));
+        } finally {
+            transaction.close();
+        }
+        assertFalse(transaction.isSpilled());
+        assertEquals(0, temporaryFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void testEventOrderAcrossSpill() throws IOException {
+        final Transaction inMemory = transaction("tx1");
+        final Transaction spilled = transaction("tx2");
+        final List<Long> expected = new ArrayList<>();
+        try {
+            for (int i = 1; i <= 10; i++) {
+                inMemory.add(insert(i, "AAA" + i), Long.MAX_VALUE, Long.MAX_VALUE);
+                spilled.add(insert(i, "AAA" + i), 4, Long.MAX_VALUE);
+                expected.add((long) i);
+                assertEquals(i >= 4, spilled.isSpilled());
+            }
+            assertFalse(inMemory.isSpilled());
+            assertEquals(expected, scns(inMemory.iterator()));
+            // the events registered before and after the spill are read in order
+            assertEquals(expected, scns(spilled.iterator()));
+        } finally {
+            inMemory.close();
+            spilled.close();
+        }
+    }
+
+    private Transaction transaction(String transactionId) {
+        return new Transaction(transactionId, scn(1), temporaryFolder.getRoot());
+    }
+
+    private static LogMinerEvent insert(long scn, String rowId) {
+        return new DmlEvent(
+                LogMinerRow.INSERT,
+                entry(LogMinerDmlEntryImpl.forInsert(new Object[] {String.valueOf(scn)})),
+                scn(scn),
+                TABLE_ID,
+                rowId,
+                "rs" + scn);
+    }
+
+    private static LogMinerDmlEntry entry(LogMinerDmlEntry entry) {
+        entry.setObjectOwner(TABLE_ID.schema());
+        entry.setObjectName(TABLE_ID.table());
+        return entry;
+    }
+
+    private static Scn scn(long scn) {
+        return Scn.valueOf(scn);
+    }
+
+    private static List<Long> scns(Iterator<LogMinerEvent> events) {
+        final List<Long> scns = new ArrayList<>();
+        events.forEachRemaining(event -> scns.add(event.getScn().longValue()));
+        return scns;
+    }
+
+    private static void assertEvent(LogMinerEvent expected, LogMinerEvent actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(expected.getOperation(), actual.getOperation());
+        assertEquals(expected.getScn(), actual.getScn());
+        assertEquals(expected.getTableId(), actual.getTableId());
+        assertEquals(expected.getRowId(), actual.getRowId());
+        assertEquals(expected.getRsId(), actual.getRsId());
+        if (expected instanceof LobWriteEvent) {
+            assertEquals(((LobWriteEvent) expected).getData(), ((LobWriteEvent) actual).getData());
+        }
+        if (expected instanceof SelectLobLocatorEvent) {
+            final SelectLobLocatorEvent expectedLocator = (SelectLobLocatorEvent) expected;
+            final SelectLobLocatorEvent actualLocator = (SelectLobLocatorEvent) actual;
+            assertEquals(expectedLocator.getColumnName(), actualLocator.getColumnName());
+            assertEquals(expectedLocator.isBinaryData(), actualLocator.isBinaryData());
+        }
+        if (expected.getEntry() == null) {
+            assertEquals(null, actual.getEntry());
+            return;
+        }
+        assertEquals(expected.getEntry().getObjectOwner(), actual.getEntry().getObjectOwner());
+        assertEquals(expected.getEntry().getObjectName(), actual.getEntry().getObjectName());
+        assertValues(expected.getEntry().getOldValues(), actual.getEntry().getOldValues());
+        assertValues(expected.getEntry().getNewValues(), actual.getEntry().getNewValues());
+    }
+
+    private static void assertValues(Object[] expected, Object[] actual) {
+        if (expected == null) {
+            assertEquals(null, actual);
+            return;
+        }
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i] instanceof byte[]) {
+                assertArrayEquals((byte[]) expected[i], (byte[]) actual[i]);
+            } else {
+                assertEquals(expected[i], actual[i]);
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.ververica.cdc.connectors.tidb;
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.MemorySize;
 
 import org.tikv.common.ConfigUtils;
 import org.tikv.common.TiConfiguration;
@@ -40,7 +41,10 @@ public class TDBSourceOptions {
             ConfigOptions.key("table-name")
                     .stringType()
                     .noDefaultValue()
-                    .withDescription("Table name of the TiDB database to monitor.");
+                    .withDescription(
+                            "Table name of the TiDB database to monitor, it's a regular expression "
+                                    + "of the table names when the incremental snapshot is "
+                                    + "enabled, so several tables can be captured by one source.");
 
     public static final ConfigOption<String> SCAN_STARTUP_MODE =
             ConfigOptions.key("scan.startup.mode")
@@ -50,6 +54,27 @@ public class TDBSourceOptions {
                             "Optional startup mode for TiDB CDC consumer, valid enumerations are "
                                     + "\"initial\", \"latest-offset\"");
 
+    public static final ConfigOption<Boolean> SCAN_INCREMENTAL_SNAPSHOT_ENABLED =
+            ConfigOptions.key("scan.incremental.snapshot.enabled")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription(
+                            "Incremental snapshot reads the table in key range splits aligned to "
+                                    + "the regions, every split records the last scanned key in "
+                                    + "the checkpoint, so the source can perform checkpoints "
+                                    + "during snapshot reading and resumes from the checkpoint. "
+                                    + "Set it to false to use the legacy source function.");
+
+    public static final ConfigOption<MemorySize> SCAN_CHANGE_EVENT_BUFFER_SIZE =
+            ConfigOptions.key("scan.change-event.buffer.size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("64mb"))
+                    .withDescription(
+                            "The max size of the uncommitted change events kept in memory by "
+                                    + "every key range, the largest transactions are spilled "
+                                    + "to the 'io.tmp.dirs' of the task manager when the size "
+                                    + "is exceeded.");
+
     public static final ConfigOption<String> PD_ADDRESSES =
             ConfigOptions.key("pd-addresses")
                     .stringType()
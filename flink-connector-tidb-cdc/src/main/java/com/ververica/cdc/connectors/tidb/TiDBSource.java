@@ -19,8 +19,11 @@ package com.ververica.cdc.connectors.tidb;
 import org.apache.flink.streaming.api.functions.source.RichParallelSourceFunction;
 
 import com.ververica.cdc.connectors.tidb.table.StartupOptions;
+import com.ververica.cdc.connectors.tidb.table.utils.TableKeyRangeUtils;
 import org.tikv.common.TiConfiguration;
 
+import java.util.Collections;
+
 /** A builder to build a SourceFunction which can read snapshot and continue to read CDC events. */
 public class TiDBSource {
 
@@ -34,6 +37,9 @@ public class TiDBSource {
         private String tableName;
         private StartupOptions startupOptions = StartupOptions.initial();
         private TiConfiguration tiConf;
+        private long changeEventBufferSize =
+                TDBSourceOptions.SCAN_CHANGE_EVENT_BUFFER_SIZE.defaultValue().getBytes();
+        private boolean regionAlignedKeyRanges = false;
 
         private TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema;
         private TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema;
@@ -76,6 +82,26 @@ public class TiDBSource {
             return this;
         }
 
+        /**
+         * The max bytes of the uncommitted change events kept in memory, the largest transactions
+         * are spilled to the 'io.tmp.dirs' of the task manager when the size is exceeded.
+         */
+        public Builder<T> changeEventBufferSize(long changeEventBufferSize) {
+            this.changeEventBufferSize = changeEventBufferSize;
+            return this;
+        }
+
+        /**
+         * Whether the key ranges of the subtasks are aligned to the region boundaries of the table,
+         * by default the handle space is split evenly. The regions are looked up once when the
+         * source is built and weighted equally, so this suits tables whose handles are clustered,
+         * e.g. auto-increment ids, but doesn't follow the regions split or merged at runtime.
+         */
+        public Builder<T> regionAlignedKeyRanges(boolean regionAlignedKeyRanges) {
+            this.regionAlignedKeyRanges = regionAlignedKeyRanges;
+            return this;
+        }
+
         public RichParallelSourceFunction<T> build() {
 
             return new TiKVRichParallelSourceFunction<>(
@@ -84,7 +110,12 @@ public class TiDBSource {
                     tiConf,
                     startupOptions.startupMode,
                     database,
-                    tableName);
+                    tableName,
+                    regionAlignedKeyRanges
+                            ? TableKeyRangeUtils.getTableRegionBoundaries(
+                                    tiConf, database, tableName)
+                            : Collections.<byte[]>emptyList(),
+                    changeEventBufferSize);
         }
     }
 }
@@ -0,0 +1,587 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb;
+
+import org.apache.flink.util.function.ThrowingConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tikv.kvproto.Cdcpb;
+import org.tikv.shade.com.google.protobuf.ByteString;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A buffer of the prewrite and commit rows received from TiKV CDC, the committed rows are released
+ * in commit order once the resolved ts passes their commit ts.
+ *
+ * <p>The prewrite rows and the committed keys are grouped by the start ts of their transaction and
+ * indexed by the raw key bytes, the keys are never decoded. The buffer keeps at most {@code
+ * maxBufferBytes} of rows and committed keys in memory, the largest transactions are spilled to
+ * disk when the budget is exceeded. A spilled transaction keeps no key index in memory: its rows
+ * are written as runs sorted by key, the following rows are buffered in memory and spilled as new
+ * runs, and the runs are merged by key when the transaction is committed. The runs are written to
+ * the given spill directories in turn, which are usually the temporary directories of the task.
+ *
+ * <p>All the keys of a transaction are committed at the same commit ts, and the resolved ts only
+ * passes it once all the commit rows have been received. So a spilled transaction is released as a
+ * whole at its commit ts, in key order, instead of key by key.
+ */
+public class TiKVChangeEventBuffer implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TiKVChangeEventBuffer.class);
+
+    /** The estimated heap bytes of a map entry besides the key and the row. */
+    private static final long ENTRY_OVERHEAD_BYTES = 64L;
+
+    /** The number of sorted runs of a spilled transaction beyond which the runs are merged. */
+    private static final int MAX_SPILL_RUNS = 16;
+
+    /** The rolled back row of a spilled transaction, which hides the row in the earlier runs. */
+    private static final Cdcpb.Event.Row ROLLED_BACK = Cdcpb.Event.Row.newBuilder().build();
+
+    private static final Comparator<ByteString> KEY_COMPARATOR =
+            TiKVChangeEventBuffer::compareKeys;
+
+    private final long maxBufferBytes;
+
+    private final File[] spillDirectories;
+
+    /** The uncommitted transactions keyed by the start ts. */
+    private final Map<Long, Transaction> transactions = new HashMap<>();
+
+    /** The start ts of the transactions keyed by their commit ts. */
+    private final TreeMap<Long, Set<Long>> commits = new TreeMap<>();
+
+    private long bufferedBytes;
+
+    private int nextSpillDirectory;
+
+    public TiKVChangeEventBuffer(long maxBufferBytes, String[] spillDirectories) {
+        this.maxBufferBytes = maxBufferBytes;
+        this.spillDirectories = new File[spillDirectories.length];
+        for (int i = 0; i < spillDirectories.length; i++) {
+            this.spillDirectories[i] = new File(spillDirectories[i]);
+        }
+    }
+
+    public void add(final Cdcpb.Event.Row row) throws IOException {
+        switch (row.getType()) {
+            case COMMITTED:
+                putPrewrite(row);
+                addCommit(row);
+                break;
+            case COMMIT:
+                addCommit(row);
+                break;
+            case PREWRITE:
+                putPrewrite(row);
+                break;
+            case ROLLBACK:
+                rollback(row);
+                break;
+            default:
+                LOG.warn("Unsupported row type:" + row.getType());
+        }
+        spillIfNeeded();
+    }
+
+    public boolean hasCommits() {
+        return !commits.isEmpty();
+    }
+
+    /** Returns the bytes of the prewrite rows and the committed keys kept in memory. */
+    public long getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    /**
+     * Releases the prewrite rows of the transactions committed before or at the given resolved ts
+     * in commit order.
+     */
+    public void flush(
+            final long resolvedTs, final ThrowingConsumer<Cdcpb.Event.Row, Exception> consumer)
+            throws Exception {
+        while (!commits.isEmpty() && commits.firstKey() <= resolvedTs) {
+            final Map.Entry<Long, Set<Long>> commit = commits.pollFirstEntry();
+            for (long startTs : commit.getValue()) {
+                final Transaction transaction = transactions.get(startTs);
+                if (transaction == null) {
+                    LOG.warn(
+                            "Missing prewrite rows of the transaction with start ts {} "
+                                    + "committed at {}.",
+                            startTs,
+                            commit.getKey());
+                } else if (transaction.isSpilled()) {
+                    // the rows in memory are spilled as the newest run and merged with the others
+                    bufferedBytes -= transaction.spill(nextSpillDirectory());
+                    transaction.forEachRow(consumer);
+                    removeTransaction(transaction);
+                } else {
+                    flushCommittedKeys(transaction, commit.getKey(), consumer);
+                }
+            }
+        }
+        removeResolvedSpilledTransactions(resolvedTs);
+    }
+
+    @Override
+    public void close() {
+        for (Transaction transaction : transactions.values()) {
+            transaction.close();
+        }
+        transactions.clear();
+        commits.clear();
+        bufferedBytes = 0;
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    private void putPrewrite(final Cdcpb.Event.Row row) {
+        final Transaction transaction =
+                transactions.computeIfAbsent(row.getStartTs(), Transaction::new);
+        bufferedBytes += transaction.put(row.getKey(), row);
+    }
+
+    private void rollback(final Cdcpb.Event.Row row) {
+        final Transaction transaction = transactions.get(row.getStartTs());
+        if (transaction == null) {
+            return;
+        }
+        bufferedBytes += transaction.rollback(row.getKey());
+        if (transaction.isEmpty()) {
+            removeTransaction(transaction);
+        }
+    }
+
+    private void addCommit(final Cdcpb.Event.Row row) {
+        final Transaction transaction =
+                transactions.computeIfAbsent(row.getStartTs(), Transaction::new);
+        bufferedBytes += transaction.commit(row.getCommitTs(), row.getKey());
+        commits.computeIfAbsent(row.getCommitTs(), k -> new LinkedHashSet<>())
+                .add(row.getStartTs());
+    }
+
+    private void flushCommittedKeys(
+            Transaction transaction,
+            long commitTs,
+            ThrowingConsumer<Cdcpb.Event.Row, Exception> consumer)
+            throws Exception {
+        final long memoryBytes = transaction.memoryBytes;
+        for (ByteString key : transaction.pollCommittedKeys(commitTs)) {
+            final Cdcpb.Event.Row prewriteRow = transaction.remove(key);
+            if (prewriteRow == null) {
+                LOG.warn(
+                        "Missing prewrite row of the committed key {} with start ts {}.",
+                        key,
+                        transaction.startTs);
+                continue;
+            }
+            consumer.accept(prewriteRow);
+        }
+        bufferedBytes -= memoryBytes - transaction.memoryBytes;
+        if (transaction.isEmpty()) {
+            removeTransaction(transaction);
+        }
+    }
+
+    /**
+     * Removes the rolled back spilled transactions which started before the resolved ts and are not
+     * committed. A spilled transaction rolled back key by key can't tell when it is empty, but the
+     * resolved ts only passes its start ts once all its keys are committed or rolled back.
+     */
+    private void removeResolvedSpilledTransactions(long resolvedTs) {
+        final Iterator<Transaction> iterator = transactions.values().iterator();
+        while (iterator.hasNext()) {
+            final Transaction transaction = iterator.next();
+            if (transaction.isSpilled()
+                    && transaction.rolledBack
+                    && transaction.startTs < resolvedTs
+                    && transaction.committedTs.isEmpty()) {
+                LOG.info(
+                        "Remove the rolled back spilled transaction with start ts {}.",
+                        transaction.startTs);
+                iterator.remove();
+                bufferedBytes -= transaction.memoryBytes;
+                transaction.close();
+            }
+        }
+    }
+
+    private void removeTransaction(Transaction transaction) {
+        transactions.remove(transaction.startTs);
+        for (long commitTs : transaction.committedTs) {
+            final Set<Long> startTs = commits.get(commitTs);
+            if (startTs != null && startTs.remove(transaction.startTs) && startTs.isEmpty()) {
+                commits.remove(commitTs);
+            }
+        }
+        bufferedBytes -= transaction.memoryBytes;
+        transaction.close();
+    }
+
+    private File nextSpillDirectory() {
+        final File directory = spillDirectories[nextSpillDirectory];
+        nextSpillDirectory = (nextSpillDirectory + 1) % spillDirectories.length;
+        return directory;
+    }
+
+    private void spillIfNeeded() throws IOException {
+        while (bufferedBytes > maxBufferBytes) {
+            final Transaction largest = largestInMemoryTransaction();
+            if (largest == null) {
+                break;
+            }
+            LOG.info(
+                    "The change event buffer exceeds {} bytes, spill the transaction "
+                            + "with start ts {} of {} bytes to disk.",
+                    maxBufferBytes,
+                    largest.startTs,
+                    largest.memoryBytes);
+            bufferedBytes -= largest.spill(nextSpillDirectory());
+        }
+    }
+
+    private Transaction largestInMemoryTransaction() {
+        Transaction largest = null;
+        for (Transaction transaction : transactions.values()) {
+            if (transaction.memoryBytes > 0
+                    && (largest == null || transaction.memoryBytes > largest.memoryBytes)) {
+                largest = transaction;
+            }
+        }
+        return largest;
+    }
+
+    private static long rowBytes(ByteString key, Cdcpb.Event.Row row) {
+        return ENTRY_OVERHEAD_BYTES
+                + (row == ROLLED_BACK ? key.size() : (long) row.getSerializedSize());
+    }
+
+    /** Compares the keys by their unsigned bytes, which is the order of the keys in TiKV. */
+    static int compareKeys(ByteString left, ByteString right) {
+        final int length = Math.min(left.size(), right.size());
+        for (int i = 0; i < length; i++) {
+            final int compared = (left.byteAt(i) & 0xff) - (right.byteAt(i) & 0xff);
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return left.size() - right.size();
+    }
+
+    // ---------------------------------------
+    // static Utils classes
+    // ---------------------------------------
+
+    /**
+     * The prewrite rows and committed keys of one transaction. Once spilled, the earlier rows are
+     * kept in sorted runs on disk and the keys committed are not tracked anymore.
+     */
+    private static final class Transaction implements AutoCloseable {
+        private final long startTs;
+        private final Map<ByteString, Cdcpb.Event.Row> rows = new HashMap<>();
+        private final TreeMap<Long, List<ByteString>> committedKeys = new TreeMap<>();
+        private final Set<Long> committedTs = new LinkedHashSet<>(2);
+        private long memoryBytes;
+        private boolean rolledBack;
+
+        // the sorted runs from the oldest to the newest, null if the transaction is not spilled
+        private List<File> runs;
+
+        private Transaction(long startTs) {
+            this.startTs = startTs;
+        }
+
+        private boolean isSpilled() {
+            return runs != null;
+        }
+
+        /** Puts the row and returns the change of the memory bytes. */
+        private long put(ByteString key, Cdcpb.Event.Row row) {
+            final long before = memoryBytes;
+            final Cdcpb.Event.Row previous = rows.put(key, row);
+            if (previous != null) {
+                memoryBytes -= rowBytes(key, previous);
+            }
+            memoryBytes += rowBytes(key, row);
+            return memoryBytes - before;
+        }
+
+        /** Rolls back the row of the key and returns the change of the memory bytes. */
+        private long rollback(ByteString key) {
+            if (isSpilled()) {
+                rolledBack = true;
+                return put(key, ROLLED_BACK);
+            }
+            final long before = memoryBytes;
+            remove(key);
+            return memoryBytes - before;
+        }
+
+        /** Registers the committed key and returns the change of the memory bytes. */
+        private long commit(long commitTs, ByteString key) {
+            committedTs.add(commitTs);
+            if (isSpilled()) {
+                return 0L;
+            }
+            committedKeys.computeIfAbsent(commitTs, k -> new ArrayList<>()).add(key);
+            final long bytes = ENTRY_OVERHEAD_BYTES + key.size();
+            memoryBytes += bytes;
+            return bytes;
+        }
+
+        private List<ByteString> pollCommittedKeys(long commitTs) {
+            committedTs.remove(commitTs);
+            final List<ByteString> keys = committedKeys.remove(commitTs);
+            if (keys == null) {
+                return new ArrayList<>();
+            }
+            for (ByteString key : keys) {
+                memoryBytes -= ENTRY_OVERHEAD_BYTES + key.size();
+            }
+            return keys;
+        }
+
+        /** Removes the row of a transaction which is not spilled. */
+        private Cdcpb.Event.Row remove(ByteString key) {
+            final Cdcpb.Event.Row row = rows.remove(key);
+            if (row != null) {
+                memoryBytes -= rowBytes(key, row);
+            }
+            return row;
+        }
+
+        private boolean isEmpty() {
+            return rows.isEmpty() && committedKeys.isEmpty() && !isSpilled();
+        }
+
+        /**
+         * Writes the rows in memory to a new sorted run and returns the released memory bytes, the
+         * committed keys are released as the transaction is committed as a whole from now on.
+         */
+        private long spill(final File directory) throws IOException {
+            if (runs == null) {
+                runs = new ArrayList<>();
+            }
+            if (!rows.isEmpty()) {
+                final TreeMap<ByteString, Cdcpb.Event.Row> sorted = new TreeMap<>(KEY_COMPARATOR);
+                sorted.putAll(rows);
+                final File run =
+                        File.createTempFile("tikv-cdc-" + startTs + "-", ".spill", directory);
+                runs.add(run);
+                try (RunWriter writer = new RunWriter(run)) {
+                    for (Map.Entry<ByteString, Cdcpb.Event.Row> entry : sorted.entrySet()) {
+                        writer.write(entry.getKey(), entry.getValue());
+                    }
+                }
+                rows.clear();
+            }
+            committedKeys.clear();
+            final long released = memoryBytes;
+            memoryBytes = 0L;
+            if (runs.size() >= MAX_SPILL_RUNS) {
+                compact(directory);
+            }
+            return released;
+        }
+
+        /** Merges all the runs into one, the rolled back rows are dropped. */
+        private void compact(final File directory) throws IOException {
+            final File merged =
+                    File.createTempFile("tikv-cdc-" + startTs + "-", ".spill", directory);
+            try (RunWriter writer = new RunWriter(merged)) {
+                merge(runs, (key, row) -> writer.write(key, row));
+            } catch (IOException e) {
+                deleteFile(merged);
+                throw e;
+            }
+            for (File run : runs) {
+                deleteFile(run);
+            }
+            runs.clear();
+            runs.add(merged);
+        }
+
+        /** Passes the spilled rows to the consumer in key order. */
+        private void forEachRow(ThrowingConsumer<Cdcpb.Event.Row, Exception> consumer)
+                throws Exception {
+            merge(runs, (key, row) -> consumer.accept(row));
+        }
+
+        @Override
+        public void close() {
+            if (runs != null) {
+                for (File run : runs) {
+                    deleteFile(run);
+                }
+                runs = null;
+            }
+            rows.clear();
+            committedKeys.clear();
+            memoryBytes = 0L;
+        }
+    }
+
+    /** Consumes the merged rows. */
+    private interface RowConsumer<E extends Throwable> {
+        void accept(ByteString key, Cdcpb.Event.Row row) throws E;
+    }
+
+    /**
+     * Merges the sorted runs by key, the row of a key in the newest run wins and the rolled back
+     * rows are skipped.
+     */
+    private static <E extends Throwable> void merge(List<File> runs, RowConsumer<E> consumer)
+            throws IOException, E {
+        final PriorityQueue<RunReader> readers =
+                new PriorityQueue<>(
+                        Math.max(1, runs.size()),
+                        (left, right) -> {
+                            final int compared = compareKeys(left.key, right.key);
+                            return compared != 0 ? compared : right.index - left.index;
+                        });
+        try {
+            for (int i = 0; i < runs.size(); i++) {
+                final RunReader reader = new RunReader(runs.get(i), i);
+                if (reader.next()) {
+                    readers.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+            while (!readers.isEmpty()) {
+                final RunReader newest = readers.poll();
+                final ByteString key = newest.key;
+                final Cdcpb.Event.Row row = newest.row;
+                advance(readers, newest);
+                // skip the older rows of the key
+                while (!readers.isEmpty() && compareKeys(readers.peek().key, key) == 0) {
+                    advance(readers, readers.poll());
+                }
+                if (row != ROLLED_BACK) {
+                    consumer.accept(key, row);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private static void advance(PriorityQueue<RunReader> readers, RunReader reader)
+            throws IOException {
+        if (reader.next()) {
+            readers.add(reader);
+        } else {
+            reader.close();
+        }
+    }
+
+    private static void deleteFile(File file) {
+        if (!file.delete()) {
+            LOG.warn("Failed to delete the spill file {}.", file);
+        }
+    }
+
+    /** Appends the rows of a run, a rolled back row is written with the length -1. */
+    private static final class RunWriter implements AutoCloseable {
+        private final DataOutputStream out;
+
+        private RunWriter(File file) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        }
+
+        private void write(ByteString key, Cdcpb.Event.Row row) throws IOException {
+            out.writeInt(key.size());
+            key.writeTo(out);
+            if (row == ROLLED_BACK) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(row.getSerializedSize());
+                row.writeTo(out);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /** Reads the rows of a run sequentially. */
+    private static final class RunReader implements AutoCloseable {
+        private final DataInputStream in;
+        private final int index;
+        private ByteString key;
+        private Cdcpb.Event.Row row;
+
+        private RunReader(File file, int index) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            this.index = index;
+        }
+
+        private boolean next() throws IOException {
+            final int keyLength;
+            try {
+                keyLength = in.readInt();
+            } catch (EOFException e) {
+                return false;
+            }
+            final byte[] keyBytes = new byte[keyLength];
+            in.readFully(keyBytes);
+            key = ByteString.copyFrom(keyBytes);
+            final int rowLength = in.readInt();
+            if (rowLength < 0) {
+                row = ROLLED_BACK;
+            } else {
+                final byte[] rowBytes = new byte[rowLength];
+                in.readFully(rowBytes);
+                row = Cdcpb.Event.Row.parseFrom(rowBytes);
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to close the spill file reader.", e);
+            }
+        }
+    }
+}
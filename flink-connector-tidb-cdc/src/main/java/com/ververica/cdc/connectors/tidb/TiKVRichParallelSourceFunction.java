@@ -25,6 +25,7 @@ import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.runtime.state.FunctionInitializationContext;
 import org.apache.flink.runtime.state.FunctionSnapshotContext;
+import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
 import org.apache.flink.streaming.api.functions.source.RichParallelSourceFunction;
 import org.apache.flink.util.Collector;
@@ -45,9 +46,10 @@ import org.tikv.kvproto.Kvrpcpb;
 import org.tikv.shade.com.google.protobuf.ByteString;
 import org.tikv.txn.KVClient;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.TreeMap;
 
 /**
  * The source implementation for TiKV that read snapshot events first and then read the change
@@ -67,6 +69,8 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
     private final StartupMode startupMode;
     private final String database;
     private final String tableName;
+    private final ArrayList<byte[]> regionBoundaries;
+    private final long changeEventBufferSize;
 
     // Task local variables
     private transient TiSession session = null;
@@ -74,8 +78,7 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
     private transient CDCClient cdcClient = null;
     private transient SourceContext<T> sourceContext = null;
     private transient volatile long resolvedTs = -1L;
-    private transient TreeMap<RowKeyWithTs, Cdcpb.Event.Row> prewrites = null;
-    private transient TreeMap<RowKeyWithTs, Cdcpb.Event.Row> commits = null;
+    private transient TiKVChangeEventBuffer changeEventBuffer = null;
     private transient OutputCollector<T> outputCollector;
 
     // offset state
@@ -88,12 +91,34 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
             StartupMode startupMode,
             String database,
             String tableName) {
+        this(
+                snapshotEventDeserializationSchema,
+                changeEventDeserializationSchema,
+                tiConf,
+                startupMode,
+                database,
+                tableName,
+                Collections.emptyList(),
+                TDBSourceOptions.SCAN_CHANGE_EVENT_BUFFER_SIZE.defaultValue().getBytes());
+    }
+
+    public TiKVRichParallelSourceFunction(
+            TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema,
+            TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema,
+            TiConfiguration tiConf,
+            StartupMode startupMode,
+            String database,
+            String tableName,
+            List<byte[]> regionBoundaries,
+            long changeEventBufferSize) {
         this.snapshotEventDeserializationSchema = snapshotEventDeserializationSchema;
         this.changeEventDeserializationSchema = changeEventDeserializationSchema;
         this.tiConf = tiConf;
         this.startupMode = startupMode;
         this.database = database;
         this.tableName = tableName;
+        this.regionBoundaries = new ArrayList<>(regionBoundaries);
+        this.changeEventBufferSize = changeEventBufferSize;
     }
 
     @Override
@@ -106,14 +131,23 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
                     String.format("Table %s.%s does not exist.", database, tableName));
         }
         long tableId = tableInfo.getId();
+        // the handle space is split evenly if no region boundaries are given. Otherwise they are
+        // looked up once when the source is built, so that all the subtasks group the same
+        // regions, the split and merge of regions afterwards only change the regions inside the
+        // key ranges, which are resolved by the scan and CDC clients.
         keyRange =
                 TableKeyRangeUtils.getTableKeyRange(
                         tableId,
+                        regionBoundaries,
                         getRuntimeContext().getNumberOfParallelSubtasks(),
                         getRuntimeContext().getIndexOfThisSubtask());
         cdcClient = new CDCClient(session, keyRange);
-        prewrites = new TreeMap<>();
-        commits = new TreeMap<>();
+        changeEventBuffer =
+                new TiKVChangeEventBuffer(
+                        changeEventBufferSize,
+                        ((StreamingRuntimeContext) getRuntimeContext())
+                                .getTaskManagerRuntimeInfo()
+                                .getTmpDirectories());
         outputCollector = new OutputCollector<>();
         resolvedTs =
                 startupMode == StartupMode.INITIAL
@@ -140,29 +174,13 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
         readChangeEvents();
     }
 
-    private void handleRow(final Cdcpb.Event.Row row) {
-        if (!TableKeyRangeUtils.isRecordKey(row.getKey().toByteArray())) {
+    private void handleRow(final Cdcpb.Event.Row row) throws IOException {
+        if (!TableKeyRangeUtils.isRecordKey(row.getKey())) {
             // Don't handle index key for now
             return;
         }
         LOG.debug("binlog record, type: {}, data: {}", row.getType(), row);
-        switch (row.getType()) {
-            case COMMITTED:
-                prewrites.put(RowKeyWithTs.ofStart(row), row);
-                commits.put(RowKeyWithTs.ofCommit(row), row);
-                break;
-            case COMMIT:
-                commits.put(RowKeyWithTs.ofCommit(row), row);
-                break;
-            case PREWRITE:
-                prewrites.put(RowKeyWithTs.ofStart(row), row);
-                break;
-            case ROLLBACK:
-                prewrites.remove(RowKeyWithTs.ofStart(row));
-                break;
-            default:
-                LOG.warn("Unsupported row type:" + row.getType());
-        }
+        changeEventBuffer.add(row);
     }
 
     protected void readSnapshotEvents() throws Exception {
@@ -181,7 +199,7 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
                 }
 
                 for (final Kvrpcpb.KvPair pair : segment) {
-                    if (TableKeyRangeUtils.isRecordKey(pair.getKey().toByteArray())) {
+                    if (TableKeyRangeUtils.isRecordKey(pair.getKey())) {
                         snapshotEventDeserializationSchema.deserialize(pair, outputCollector);
                     }
                 }
@@ -207,7 +225,7 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
                 handleRow(row);
             }
             resolvedTs = cdcClient.getMinResolvedTs();
-            if (commits.size() > 0) {
+            if (changeEventBuffer.hasCommits()) {
                 flushRows(resolvedTs);
             }
         }
@@ -216,12 +234,9 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
     protected void flushRows(final long timestamp) throws Exception {
         Preconditions.checkState(sourceContext != null, "sourceContext shouldn't be null");
         synchronized (sourceContext) {
-            while (!commits.isEmpty() && commits.firstKey().timestamp <= timestamp) {
-                final Cdcpb.Event.Row commitRow = commits.pollFirstEntry().getValue();
-                final Cdcpb.Event.Row prewriteRow =
-                        prewrites.remove(RowKeyWithTs.ofStart(commitRow));
-                changeEventDeserializationSchema.deserialize(prewriteRow, outputCollector);
-            }
+            changeEventBuffer.flush(
+                    timestamp,
+                    row -> changeEventDeserializationSchema.deserialize(row, outputCollector));
         }
     }
 
@@ -236,6 +251,14 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
         }
     }
 
+    @Override
+    public void close() throws Exception {
+        super.close();
+        if (changeEventBuffer != null) {
+            changeEventBuffer.close();
+        }
+    }
+
     @Override
     public void snapshotState(final FunctionSnapshotContext context) throws Exception {
         LOG.info(
@@ -280,62 +303,6 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
     // ---------------------------------------
     // static Utils classes
     // ---------------------------------------
-    private static class RowKeyWithTs implements Comparable<RowKeyWithTs> {
-        private final long timestamp;
-        private final RowKey rowKey;
-
-        private RowKeyWithTs(final long timestamp, final RowKey rowKey) {
-            this.timestamp = timestamp;
-            this.rowKey = rowKey;
-        }
-
-        private RowKeyWithTs(final long timestamp, final byte[] key) {
-            this(timestamp, RowKey.decode(key));
-        }
-
-        public long getTimestamp() {
-            return timestamp;
-        }
-
-        public RowKey getRowKey() {
-            return rowKey;
-        }
-
-        @Override
-        public int compareTo(final RowKeyWithTs that) {
-            int res = Long.compare(this.timestamp, that.timestamp);
-            if (res == 0) {
-                res = Long.compare(this.rowKey.getTableId(), that.rowKey.getTableId());
-            }
-            if (res == 0) {
-                res = Long.compare(this.rowKey.getHandle(), that.rowKey.getHandle());
-            }
-            return res;
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(this.timestamp, this.rowKey.getTableId(), this.rowKey.getHandle());
-        }
-
-        @Override
-        public boolean equals(final Object thatObj) {
-            if (thatObj instanceof RowKeyWithTs) {
-                final RowKeyWithTs that = (RowKeyWithTs) thatObj;
-                return this.timestamp == that.timestamp && this.rowKey.equals(that.rowKey);
-            }
-            return false;
-        }
-
-        static RowKeyWithTs ofStart(final Cdcpb.Event.Row row) {
-            return new RowKeyWithTs(row.getStartTs(), row.getKey().toByteArray());
-        }
-
-        static RowKeyWithTs ofCommit(final Cdcpb.Event.Row row) {
-            return new RowKeyWithTs(row.getCommitTs(), row.getKey().toByteArray());
-        }
-    }
-
     private static class OutputCollector<T> implements Collector<T> {
 
         private SourceContext<T> context;
@@ -22,6 +22,7 @@ import org.apache.flink.util.Collector;
 
 import org.apache.kafka.connect.source.SourceRecord;
 import org.tikv.kvproto.Kvrpcpb.KvPair;
+import org.tikv.shade.com.google.protobuf.ByteString;
 
 import java.io.Serializable;
 
@@ -37,4 +38,24 @@ public interface TiKVSnapshotEventDeserializationSchema<T>
 
     /** Deserialize the Debezium record, it is represented in Kafka {@link SourceRecord}. */
     void deserialize(KvPair record, Collector<T> out) throws Exception;
+
+    /**
+     * Whether the deserializer supports the rows decoded by the TiKV coprocessor, see {@link
+     * #deserialize(ByteString, Object[], Collector)}. The projection and filters are only pushed
+     * down to the coprocessor for the deserializers supporting it.
+     */
+    default boolean supportsPushDown() {
+        return false;
+    }
+
+    /**
+     * Deserialize the snapshot row which is decoded by the TiKV coprocessor when the projection is
+     * pushed down, the values are in the order of the required columns and are null for the
+     * columns missing in the table. Only called if {@link #supportsPushDown()} returns true.
+     */
+    default void deserialize(ByteString key, Object[] fieldValues, Collector<T> out)
+            throws Exception {
+        throw new UnsupportedOperationException(
+                "The deserializer doesn't support the rows decoded by the TiKV coprocessor.");
+    }
 }
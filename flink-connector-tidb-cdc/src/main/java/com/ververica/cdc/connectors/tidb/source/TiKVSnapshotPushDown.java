@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source;
+
+import org.tikv.common.expression.Expression;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The projection and the filters which are pushed down to the TiKV coprocessor when reading the
+ * snapshot of the tables. The snapshot rows are decoded by TiKV and only the required columns are
+ * returned, they are emitted in the order of the required columns, see {@link
+ * com.ververica.cdc.connectors.tidb.TiKVSnapshotEventDeserializationSchema#deserialize(
+ * org.tikv.shade.com.google.protobuf.ByteString, Object[], org.apache.flink.util.Collector)}.
+ *
+ * <p>The filters only skip the snapshot rows, the change events are not filtered, so the filters
+ * must still be evaluated after the source.
+ */
+public class TiKVSnapshotPushDown implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> requiredColumns;
+    private final List<Expression> filters;
+
+    public TiKVSnapshotPushDown(List<String> requiredColumns, List<Expression> filters) {
+        this.requiredColumns = new ArrayList<>(checkNotNull(requiredColumns));
+        this.filters = new ArrayList<>(checkNotNull(filters));
+    }
+
+    public List<String> getRequiredColumns() {
+        return requiredColumns;
+    }
+
+    public List<Expression> getFilters() {
+        return filters;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TiKVSnapshotPushDown that = (TiKVSnapshotPushDown) o;
+        return Objects.equals(requiredColumns, that.requiredColumns)
+                && Objects.equals(filters, that.filters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(requiredColumns, filters);
+    }
+
+    @Override
+    public String toString() {
+        return "TiKVSnapshotPushDown{"
+                + "requiredColumns="
+                + requiredColumns
+                + ", filters="
+                + filters
+                + '}';
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.connector.source.Boundedness;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
+import org.apache.flink.configuration.ConfigurationUtils;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.tidb.TiKVChangeEventDeserializationSchema;
+import com.ververica.cdc.connectors.tidb.TiKVSnapshotEventDeserializationSchema;
+import com.ververica.cdc.connectors.tidb.source.enumerator.TiKVSourceEnumState;
+import com.ververica.cdc.connectors.tidb.source.enumerator.TiKVSourceEnumStateSerializer;
+import com.ververica.cdc.connectors.tidb.source.enumerator.TiKVSourceEnumerator;
+import com.ververica.cdc.connectors.tidb.source.reader.TiKVRecordEmitter;
+import com.ververica.cdc.connectors.tidb.source.reader.TiKVSourceReader;
+import com.ververica.cdc.connectors.tidb.source.reader.TiKVSplitReader;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplit;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplitSerializer;
+import com.ververica.cdc.connectors.tidb.table.StartupMode;
+import com.ververica.cdc.connectors.tidb.table.utils.TableKeyRangeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tikv.common.TiConfiguration;
+import org.tikv.common.TiSession;
+import org.tikv.common.meta.TiDBInfo;
+import org.tikv.common.meta.TiTableInfo;
+import org.tikv.kvproto.Coprocessor.KeyRange;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The TiDB CDC Source based on FLIP-27 which reads the snapshot of the tables and then continues to
+ * read the change events from TiKV CDC.
+ *
+ * <pre>
+ *     1. The captured tables are split into key ranges by tables and handles, or aligned to the
+ *        regions of the tables. A key range may span several tables, its change events are read
+ *        from the record ranges of the captured tables in the range only.
+ *     2. The snapshot of the key ranges is read at one ts, so the snapshot is consistent.
+ *     3. The splits record the last scanned key and the resolved ts, so the source can checkpoint
+ *        during the snapshot read and resumes from the checkpointed position.
+ * </pre>
+ *
+ * <p>See {@link TiKVSourceBuilder} for more details.
+ *
+ * @param <T> the output type of the source.
+ */
+@Internal
+public class TiKVSource<T>
+        implements Source<T, TiKVSourceSplit, TiKVSourceEnumState>, ResultTypeQueryable<T> {
+
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOG = LoggerFactory.getLogger(TiKVSource.class);
+
+    private final TiConfiguration tiConf;
+    private final StartupMode startupMode;
+    private final String database;
+    private final List<String> tableList;
+    private final TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema;
+    private final TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema;
+    private final long changeEventBufferSize;
+    @Nullable private final TiKVSnapshotPushDown snapshotPushDown;
+    private final boolean regionAlignedKeyRanges;
+
+    /**
+     * Get a TiKVSourceBuilder to build a {@link TiKVSource}.
+     *
+     * @return a TiKV source builder.
+     */
+    @PublicEvolving
+    public static <T> TiKVSourceBuilder<T> builder() {
+        return new TiKVSourceBuilder<>();
+    }
+
+    TiKVSource(
+            TiConfiguration tiConf,
+            StartupMode startupMode,
+            String database,
+            List<String> tableList,
+            TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema,
+            TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema,
+            long changeEventBufferSize,
+            @Nullable TiKVSnapshotPushDown snapshotPushDown,
+            boolean regionAlignedKeyRanges) {
+        this.tiConf = tiConf;
+        this.startupMode = startupMode;
+        this.database = database;
+        this.tableList = tableList;
+        this.snapshotEventDeserializationSchema = snapshotEventDeserializationSchema;
+        this.changeEventDeserializationSchema = changeEventDeserializationSchema;
+        this.changeEventBufferSize = changeEventBufferSize;
+        this.snapshotPushDown = snapshotPushDown;
+        this.regionAlignedKeyRanges = regionAlignedKeyRanges;
+    }
+
+    @Override
+    public Boundedness getBoundedness() {
+        return Boundedness.CONTINUOUS_UNBOUNDED;
+    }
+
+    @Override
+    public SourceReader<T, TiKVSourceSplit> createReader(SourceReaderContext readerContext) {
+        // the change events beyond the buffer size are spilled to the temporary directories of
+        // the task manager
+        final String[] spillDirectories =
+                ConfigurationUtils.parseTempDirectories(readerContext.getConfiguration());
+        return new TiKVSourceReader<>(
+                () ->
+                        new TiKVSplitReader(
+                                tiConf,
+                                database,
+                                changeEventBufferSize,
+                                spillDirectories,
+                                snapshotPushDown),
+                new TiKVRecordEmitter<>(
+                        snapshotEventDeserializationSchema, changeEventDeserializationSchema),
+                readerContext.getConfiguration(),
+                readerContext);
+    }
+
+    @Override
+    public SplitEnumerator<TiKVSourceSplit, TiKVSourceEnumState> createEnumerator(
+            SplitEnumeratorContext<TiKVSourceSplit> enumContext) {
+        final List<TiKVSourceSplit> splits = new ArrayList<>();
+        try (TiSession session = TiSession.create(tiConf)) {
+            final List<Long> tableIds = getCapturedTableIds(session);
+            final List<KeyRange> keyRanges =
+                    TableKeyRangeUtils.getKeyRanges(
+                            tableIds,
+                            regionAlignedKeyRanges
+                                    ? TableKeyRangeUtils.getRegionBoundaries(
+                                            session.getRegionManager(), tableIds)
+                                    : Collections.emptyList(),
+                            enumContext.currentParallelism());
+            final long startTs = session.getTimestamp().getVersion();
+            for (int i = 0; i < keyRanges.size(); i++) {
+                final String splitId = String.valueOf(i);
+                final KeyRange keyRange = keyRanges.get(i);
+                final List<Long> splitTableIds =
+                        TableKeyRangeUtils.getTableIds(tableIds, keyRange);
+                splits.add(
+                        startupMode == StartupMode.INITIAL
+                                ? TiKVSourceSplit.snapshotSplit(
+                                        splitId, keyRange, splitTableIds, startTs)
+                                : TiKVSourceSplit.streamSplit(
+                                        splitId, keyRange, splitTableIds, startTs));
+            }
+        } catch (FlinkRuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new FlinkRuntimeException("Failed to create the splits for enumerator", e);
+        }
+        return new TiKVSourceEnumerator(enumContext, splits);
+    }
+
+    /** Returns the sorted ids of the tables in the database matching any of the table patterns. */
+    private List<Long> getCapturedTableIds(TiSession session) {
+        final TiDBInfo databaseInfo = session.getCatalog().getDatabase(database);
+        if (databaseInfo == null) {
+            throw new FlinkRuntimeException(
+                    String.format("Database %s does not exist.", database));
+        }
+        final List<Pattern> patterns =
+                tableList.stream().map(Pattern::compile).collect(Collectors.toList());
+        final List<Long> tableIds = new ArrayList<>();
+        for (TiTableInfo tableInfo : session.getCatalog().listTables(databaseInfo)) {
+            if (patterns.stream().anyMatch(p -> p.matcher(tableInfo.getName()).matches())) {
+                LOG.info("Capture table {}.{}", database, tableInfo.getName());
+                tableIds.add(tableInfo.getId());
+            }
+        }
+        if (tableIds.isEmpty()) {
+            throw new FlinkRuntimeException(
+                    String.format(
+                            "No table in database %s matches the table list %s.",
+                            database, tableList));
+        }
+        Collections.sort(tableIds);
+        return tableIds;
+    }
+
+    @Override
+    public SplitEnumerator<TiKVSourceSplit, TiKVSourceEnumState> restoreEnumerator(
+            SplitEnumeratorContext<TiKVSourceSplit> enumContext, TiKVSourceEnumState checkpoint) {
+        return new TiKVSourceEnumerator(enumContext, checkpoint.getRemainingSplits());
+    }
+
+    @Override
+    public SimpleVersionedSerializer<TiKVSourceSplit> getSplitSerializer() {
+        return TiKVSourceSplitSerializer.INSTANCE;
+    }
+
+    @Override
+    public SimpleVersionedSerializer<TiKVSourceEnumState> getEnumeratorCheckpointSerializer() {
+        return new TiKVSourceEnumStateSerializer();
+    }
+
+    @Override
+    public TypeInformation<T> getProducedType() {
+        return snapshotEventDeserializationSchema.getProducedType();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import com.ververica.cdc.connectors.tidb.TDBSourceOptions;
+import com.ververica.cdc.connectors.tidb.TiKVChangeEventDeserializationSchema;
+import com.ververica.cdc.connectors.tidb.TiKVSnapshotEventDeserializationSchema;
+import com.ververica.cdc.connectors.tidb.table.StartupOptions;
+import org.tikv.common.TiConfiguration;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The builder class for {@link TiKVSource} to make it easier for the users to construct a {@link
+ * TiKVSource}.
+ *
+ * <pre>{@code
+ * TiKVSource
+ *     .<String>builder()
+ *     .database("mydb")
+ *     .tableList("users", "orders_[0-9]+")
+ *     .tiConf(TiConfiguration.createDefault(pdAddresses))
+ *     .snapshotEventDeserializer(snapshotEventDeserializer)
+ *     .changeEventDeserializer(changeEventDeserializer)
+ *     .build();
+ * }</pre>
+ */
+@PublicEvolving
+public class TiKVSourceBuilder<T> {
+    private String database;
+    private List<String> tableList;
+    private StartupOptions startupOptions = StartupOptions.initial();
+    private TiConfiguration tiConf;
+    private long changeEventBufferSize =
+            TDBSourceOptions.SCAN_CHANGE_EVENT_BUFFER_SIZE.defaultValue().getBytes();
+
+    private TiKVSnapshotPushDown snapshotPushDown;
+    private boolean regionAlignedKeyRanges = false;
+
+    private TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema;
+    private TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema;
+
+    /** Database name to be monitored. */
+    public TiKVSourceBuilder<T> database(String database) {
+        this.database = database;
+        return this;
+    }
+
+    /**
+     * TableName name to be monitored, it's a regular expression of the table names in the
+     * database.
+     */
+    public TiKVSourceBuilder<T> tableName(String tableName) {
+        return tableList(tableName);
+    }
+
+    /**
+     * The tables to be monitored, every element is a regular expression of the table names in the
+     * database. The change events of all the matched tables are read by one source, the rows are
+     * routed to the deserializers by the table id in the row key.
+     */
+    public TiKVSourceBuilder<T> tableList(String... tableList) {
+        this.tableList = Arrays.asList(tableList);
+        return this;
+    }
+
+    /** The deserializer used to convert from consumed snapshot event from TiKV. */
+    public TiKVSourceBuilder<T> snapshotEventDeserializer(
+            TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema) {
+        this.snapshotEventDeserializationSchema = snapshotEventDeserializationSchema;
+        return this;
+    }
+
+    /** The deserializer used to convert from consumed change event from TiKV. */
+    public TiKVSourceBuilder<T> changeEventDeserializer(
+            TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema) {
+        this.changeEventDeserializationSchema = changeEventDeserializationSchema;
+        return this;
+    }
+
+    /** Specifies the startup options. */
+    public TiKVSourceBuilder<T> startupOptions(StartupOptions startupOptions) {
+        this.startupOptions = startupOptions;
+        return this;
+    }
+
+    /** TIDB config. */
+    public TiKVSourceBuilder<T> tiConf(TiConfiguration tiConf) {
+        this.tiConf = tiConf;
+        return this;
+    }
+
+    /**
+     * The max bytes of the uncommitted change events kept in memory by every split, the largest
+     * transactions are spilled to the 'io.tmp.dirs' of the task manager when the size is exceeded.
+     */
+    public TiKVSourceBuilder<T> changeEventBufferSize(long changeEventBufferSize) {
+        this.changeEventBufferSize = changeEventBufferSize;
+        return this;
+    }
+
+    /**
+     * The projection and the filters pushed down to the TiKV coprocessor when reading the
+     * snapshot, the snapshot event deserializer must support the rows decoded by the coprocessor,
+     * see {@link TiKVSnapshotEventDeserializationSchema#supportsPushDown()}.
+     */
+    public TiKVSourceBuilder<T> snapshotPushDown(TiKVSnapshotPushDown snapshotPushDown) {
+        this.snapshotPushDown = snapshotPushDown;
+        return this;
+    }
+
+    /**
+     * Whether the key ranges of the splits are aligned to the region boundaries of the tables, by
+     * default the handle space of a table is split evenly. The regions are looked up once when the
+     * enumerator is created and weighted equally, so this suits tables whose handles are
+     * clustered, e.g. auto-increment ids, but doesn't follow the regions split or merged at
+     * runtime.
+     */
+    public TiKVSourceBuilder<T> regionAlignedKeyRanges(boolean regionAlignedKeyRanges) {
+        this.regionAlignedKeyRanges = regionAlignedKeyRanges;
+        return this;
+    }
+
+    /**
+     * Build the {@link TiKVSource}.
+     *
+     * @return a TiKVSource with the settings made for this builder.
+     */
+    public TiKVSource<T> build() {
+        checkArgument(
+                snapshotPushDown == null
+                        || checkNotNull(snapshotEventDeserializationSchema).supportsPushDown(),
+                "The snapshot event deserializer %s doesn't support the snapshot push down.",
+                snapshotEventDeserializationSchema);
+        return new TiKVSource<>(
+                checkNotNull(tiConf),
+                startupOptions.startupMode,
+                checkNotNull(database),
+                checkNotNull(tableList),
+                checkNotNull(snapshotEventDeserializationSchema),
+                checkNotNull(changeEventDeserializationSchema),
+                changeEventBufferSize,
+                snapshotPushDown,
+                regionAlignedKeyRanges);
+    }
+}
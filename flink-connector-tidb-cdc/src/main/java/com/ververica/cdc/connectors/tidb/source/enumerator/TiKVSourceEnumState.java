@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.enumerator;
+
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplit;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The state of the {@link TiKVSourceEnumerator}, the splits which haven't been assigned to the
+ * readers.
+ */
+public class TiKVSourceEnumState {
+
+    private final List<TiKVSourceSplit> remainingSplits;
+
+    public TiKVSourceEnumState(List<TiKVSourceSplit> remainingSplits) {
+        this.remainingSplits = remainingSplits;
+    }
+
+    public List<TiKVSourceSplit> getRemainingSplits() {
+        return remainingSplits;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TiKVSourceEnumState that = (TiKVSourceEnumState) o;
+        return Objects.equals(remainingSplits, that.remainingSplits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(remainingSplits);
+    }
+
+    @Override
+    public String toString() {
+        return "TiKVSourceEnumState{" + "remainingSplits=" + remainingSplits + '}';
+    }
+}
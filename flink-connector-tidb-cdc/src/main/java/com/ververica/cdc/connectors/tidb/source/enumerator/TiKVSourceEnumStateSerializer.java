@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.enumerator;
+
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplit;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplitSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** A serializer for the {@link TiKVSourceEnumState}. */
+public class TiKVSourceEnumStateSerializer
+        implements SimpleVersionedSerializer<TiKVSourceEnumState> {
+
+    private static final int VERSION = 1;
+    private static final ThreadLocal<DataOutputSerializer> SERIALIZER_CACHE =
+            ThreadLocal.withInitial(() -> new DataOutputSerializer(64));
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] serialize(TiKVSourceEnumState state) throws IOException {
+        final DataOutputSerializer out = SERIALIZER_CACHE.get();
+        final List<TiKVSourceSplit> remainingSplits = state.getRemainingSplits();
+        out.writeInt(remainingSplits.size());
+        for (TiKVSourceSplit split : remainingSplits) {
+            TiKVSourceSplitSerializer.writeSplit(split, out);
+        }
+        final byte[] result = out.getCopyOfBuffer();
+        out.clear();
+        return result;
+    }
+
+    @Override
+    public TiKVSourceEnumState deserialize(int version, byte[] serialized) throws IOException {
+        if (version != VERSION) {
+            throw new IOException("Unknown version: " + version);
+        }
+        final DataInputDeserializer in = new DataInputDeserializer(serialized);
+        final int size = in.readInt();
+        final List<TiKVSourceSplit> remainingSplits = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            remainingSplits.add(TiKVSourceSplitSerializer.readSplit(in));
+        }
+        return new TiKVSourceEnumState(remainingSplits);
+    }
+}
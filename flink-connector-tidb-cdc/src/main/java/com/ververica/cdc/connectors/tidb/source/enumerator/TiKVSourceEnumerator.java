@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.enumerator;
+
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A TiKV CDC source enumerator that assigns the key range splits to the readers, the splits are
+ * never finished, so every split is assigned to one reader and stays there unless the reader fails.
+ */
+public class TiKVSourceEnumerator implements SplitEnumerator<TiKVSourceSplit, TiKVSourceEnumState> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TiKVSourceEnumerator.class);
+
+    private final SplitEnumeratorContext<TiKVSourceSplit> context;
+
+    /** The splits waiting for the readers to register, keyed by the subtask id of the reader. */
+    private final Map<Integer, List<TiKVSourceSplit>> pendingSplits = new TreeMap<>();
+
+    public TiKVSourceEnumerator(
+            SplitEnumeratorContext<TiKVSourceSplit> context,
+            List<TiKVSourceSplit> remainingSplits) {
+        this.context = context;
+        final int parallelism = context.currentParallelism();
+        for (int i = 0; i < remainingSplits.size(); i++) {
+            pendingSplits
+                    .computeIfAbsent(i % parallelism, k -> new ArrayList<>())
+                    .add(remainingSplits.get(i));
+        }
+    }
+
+    @Override
+    public void start() {
+        // the splits are assigned when the readers register
+    }
+
+    @Override
+    public void handleSplitRequest(int subtaskId, @Nullable String requesterHostname) {
+        assignSplits(subtaskId);
+    }
+
+    @Override
+    public void addSplitsBack(List<TiKVSourceSplit> splits, int subtaskId) {
+        LOG.debug("TiKV Source Enumerator adds splits back: {}", splits);
+        pendingSplits.computeIfAbsent(subtaskId, k -> new ArrayList<>()).addAll(splits);
+    }
+
+    @Override
+    public void addReader(int subtaskId) {
+        assignSplits(subtaskId);
+    }
+
+    @Override
+    public TiKVSourceEnumState snapshotState(long checkpointId) {
+        final List<TiKVSourceSplit> remainingSplits = new ArrayList<>();
+        pendingSplits.values().forEach(remainingSplits::addAll);
+        return new TiKVSourceEnumState(remainingSplits);
+    }
+
+    @Override
+    public void close() {
+        // nothing to do
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    private void assignSplits(int subtaskId) {
+        if (!context.registeredReaders().containsKey(subtaskId)) {
+            return;
+        }
+        final List<TiKVSourceSplit> splits = pendingSplits.remove(subtaskId);
+        if (splits == null) {
+            return;
+        }
+        for (TiKVSourceSplit split : splits) {
+            LOG.info("Assign split {} to subtask {}", split, subtaskId);
+            context.assignSplit(split, subtaskId);
+        }
+    }
+}
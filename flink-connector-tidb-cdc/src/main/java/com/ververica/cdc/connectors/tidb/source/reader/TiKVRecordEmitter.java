@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.reader;
+
+import org.apache.flink.api.connector.source.SourceOutput;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.util.Collector;
+
+import com.ververica.cdc.connectors.tidb.TiKVChangeEventDeserializationSchema;
+import com.ververica.cdc.connectors.tidb.TiKVSnapshotEventDeserializationSchema;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplitState;
+
+/**
+ * The {@link RecordEmitter} implementation for the TiKV CDC source, it deserializes the snapshot
+ * and change events and updates the progress of the split state, so that the checkpointed split
+ * resumes after the last emitted record.
+ */
+public class TiKVRecordEmitter<T>
+        implements RecordEmitter<TiKVSourceRecord, T, TiKVSourceSplitState> {
+
+    private final TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema;
+    private final TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema;
+    private final OutputCollector<T> outputCollector;
+
+    public TiKVRecordEmitter(
+            TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema,
+            TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema) {
+        this.snapshotEventDeserializationSchema = snapshotEventDeserializationSchema;
+        this.changeEventDeserializationSchema = changeEventDeserializationSchema;
+        this.outputCollector = new OutputCollector<>();
+    }
+
+    @Override
+    public void emitRecord(
+            TiKVSourceRecord element, SourceOutput<T> output, TiKVSourceSplitState splitState)
+            throws Exception {
+        outputCollector.output = output;
+        switch (element.getKind()) {
+            case SNAPSHOT:
+                snapshotEventDeserializationSchema.deserialize(
+                        element.getKvPair(), outputCollector);
+                splitState.setLastScannedKey(element.getKvPair().getKey());
+                break;
+            case SNAPSHOT_ROW:
+                snapshotEventDeserializationSchema.deserialize(
+                        element.getKey(), element.getFieldValues(), outputCollector);
+                splitState.setLastScannedKey(element.getKey());
+                break;
+            case SNAPSHOT_FINISHED:
+                splitState.setSnapshotFinished();
+                splitState.setResolvedTs(element.getTs());
+                break;
+            case CHANGE:
+                changeEventDeserializationSchema.deserialize(element.getRow(), outputCollector);
+                break;
+            case RESOLVED_TS:
+                splitState.setResolvedTs(element.getTs());
+                break;
+            default:
+                throw new IllegalStateException("Unknown record kind: " + element.getKind());
+        }
+    }
+
+    private static class OutputCollector<T> implements Collector<T> {
+        private SourceOutput<T> output;
+
+        @Override
+        public void collect(T record) {
+            output.collect(record);
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+    }
+}
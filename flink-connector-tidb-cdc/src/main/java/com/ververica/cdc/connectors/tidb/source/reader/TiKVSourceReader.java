@@ -0,0 +1,57 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.reader;
+
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.connector.base.source.reader.SingleThreadMultiplexSourceReaderBase;
+
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplit;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplitState;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/** The source reader for the TiKV CDC source, the splits are assigned by the enumerator. */
+public class TiKVSourceReader<T>
+        extends SingleThreadMultiplexSourceReaderBase<
+                TiKVSourceRecord, T, TiKVSourceSplit, TiKVSourceSplitState> {
+
+    public TiKVSourceReader(
+            Supplier<TiKVSplitReader> splitReaderSupplier,
+            RecordEmitter<TiKVSourceRecord, T, TiKVSourceSplitState> recordEmitter,
+            Configuration config,
+            SourceReaderContext context) {
+        super(splitReaderSupplier::get, recordEmitter, config, context);
+    }
+
+    @Override
+    protected void onSplitFinished(Map<String, TiKVSourceSplitState> finishedSplitIds) {
+        // the splits read the change events continuously and are never finished
+    }
+
+    @Override
+    protected TiKVSourceSplitState initializedState(TiKVSourceSplit split) {
+        return new TiKVSourceSplitState(split);
+    }
+
+    @Override
+    protected TiKVSourceSplit toSplitType(String splitId, TiKVSourceSplitState splitState) {
+        return splitState.toSourceSplit();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.reader;
+
+import org.tikv.kvproto.Cdcpb;
+import org.tikv.kvproto.Kvrpcpb;
+import org.tikv.shade.com.google.protobuf.ByteString;
+
+/**
+ * The record read by the {@link TiKVSplitReader}, either a snapshot or change event, or a signal
+ * which updates the progress of the split.
+ */
+public final class TiKVSourceRecord {
+
+    /** The kind of the record. */
+    public enum Kind {
+        /** A key value pair read by the snapshot scan. */
+        SNAPSHOT,
+        /** A row decoded by the coprocessor of the snapshot scan. */
+        SNAPSHOT_ROW,
+        /** Signals the snapshot scan of the split is finished. */
+        SNAPSHOT_FINISHED,
+        /** A committed change event. */
+        CHANGE,
+        /** Signals the change events before or at the ts have been emitted. */
+        RESOLVED_TS
+    }
+
+    private final Kind kind;
+    private final Kvrpcpb.KvPair kvPair;
+    private final Cdcpb.Event.Row row;
+    private final ByteString key;
+    private final Object[] fieldValues;
+    private final long ts;
+
+    private TiKVSourceRecord(
+            Kind kind,
+            Kvrpcpb.KvPair kvPair,
+            Cdcpb.Event.Row row,
+            ByteString key,
+            Object[] fieldValues,
+            long ts) {
+        this.kind = kind;
+        this.kvPair = kvPair;
+        this.row = row;
+        this.key = key;
+        this.fieldValues = fieldValues;
+        this.ts = ts;
+    }
+
+    public static TiKVSourceRecord snapshot(Kvrpcpb.KvPair kvPair) {
+        return new TiKVSourceRecord(Kind.SNAPSHOT, kvPair, null, null, null, 0L);
+    }
+
+    public static TiKVSourceRecord snapshotRow(ByteString key, Object[] fieldValues) {
+        return new TiKVSourceRecord(Kind.SNAPSHOT_ROW, null, null, key, fieldValues, 0L);
+    }
+
+    public static TiKVSourceRecord snapshotFinished(long startTs) {
+        return new TiKVSourceRecord(Kind.SNAPSHOT_FINISHED, null, null, null, null, startTs);
+    }
+
+    public static TiKVSourceRecord change(Cdcpb.Event.Row row) {
+        return new TiKVSourceRecord(Kind.CHANGE, null, row, null, null, row.getCommitTs());
+    }
+
+    public static TiKVSourceRecord resolvedTs(long resolvedTs) {
+        return new TiKVSourceRecord(Kind.RESOLVED_TS, null, null, null, null, resolvedTs);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Kvrpcpb.KvPair getKvPair() {
+        return kvPair;
+    }
+
+    public Cdcpb.Event.Row getRow() {
+        return row;
+    }
+
+    /** The row key of the {@link Kind#SNAPSHOT_ROW} record. */
+    public ByteString getKey() {
+        return key;
+    }
+
+    /** The values of the required columns of the {@link Kind#SNAPSHOT_ROW} record. */
+    public Object[] getFieldValues() {
+        return fieldValues;
+    }
+
+    public long getTs() {
+        return ts;
+    }
+}
@@ -0,0 +1,442 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.reader;
+
+import org.apache.flink.connector.base.source.reader.RecordsBySplits;
+import org.apache.flink.util.InstantiationUtil;
+
+import com.ververica.cdc.connectors.tidb.TiKVChangeEventBuffer;
+import com.ververica.cdc.connectors.tidb.source.TiKVSnapshotPushDown;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplit;
+import com.ververica.cdc.connectors.tidb.table.utils.TableKeyRangeUtils;
+import com.ververica.cdc.connectors.tidb.table.utils.TiKVExpressionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tikv.cdc.CDCClient;
+import org.tikv.common.TiSession;
+import org.tikv.common.expression.Expression;
+import org.tikv.common.expression.visitor.MetaResolver;
+import org.tikv.common.key.Key;
+import org.tikv.common.key.RowKey;
+import org.tikv.common.meta.TiColumnInfo;
+import org.tikv.common.meta.TiDAGRequest;
+import org.tikv.common.meta.TiTableInfo;
+import org.tikv.common.meta.TiTimestamp;
+import org.tikv.common.region.TiRegion;
+import org.tikv.common.row.Row;
+import org.tikv.common.types.DataType;
+import org.tikv.kvproto.Cdcpb;
+import org.tikv.kvproto.Coprocessor.KeyRange;
+import org.tikv.kvproto.Kvrpcpb;
+import org.tikv.shade.com.google.protobuf.ByteString;
+import org.tikv.txn.KVClient;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The task reads one {@link TiKVSourceSplit} step by step, every step reads one segment of the
+ * snapshot scan or one batch of the change events, so that the reader can checkpoint between the
+ * steps.
+ *
+ * <p>The key range of the split may span several tables, both the snapshot scan and the CDC clients
+ * only read the record ranges of the captured tables, one CDC client for every record range, so
+ * the change events of the index keys and the other tables in the key range are never pulled.
+ *
+ * <p>The snapshot scan is paged by the scan batch size of the session, every page starts after the
+ * last key of the previous one, so that the rows of a split are never held in memory at once and
+ * the last scanned key is checkpointed between the pages.
+ *
+ * <p>If a {@link TiKVSnapshotPushDown} is given, the snapshot rows are read by coprocessor requests
+ * which only return the required columns of the rows matching the filters. Every request reads at
+ * most one region with a limit, so that the rows are returned in the order of their keys and the
+ * last key of the request can be checkpointed. The tables which the push down can't be applied to
+ * are still scanned as raw key values.
+ */
+public class TiKVSplitReadTask implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TiKVSplitReadTask.class);
+    private static final int CHANGE_EVENT_BATCH_SIZE = 1000;
+    private static final long LOGICAL_TS_MASK = (1L << 18) - 1;
+
+    private final TiSession session;
+    private final String database;
+    @Nullable private final TiKVSnapshotPushDown snapshotPushDown;
+    private final String splitId;
+    private final KeyRange keyRange;
+    private final long[] tableIds;
+
+    /** The record ranges of the captured tables in the key range, read by the CDC clients. */
+    private final List<KeyRange> recordRanges;
+    private final long startTs;
+
+    private ByteString scanStart;
+    private boolean snapshotFinished;
+    private long resolvedTs;
+
+    private KVClient scanClient;
+    private List<CDCClient> cdcClients;
+    private final TiKVChangeEventBuffer changeEventBuffer;
+
+    /** The coprocessor reads of the tables by id, null if the table is scanned as raw values. */
+    private final Map<Long, CoprocessorRead> coprocessorReads = new HashMap<>();
+
+    public TiKVSplitReadTask(
+            TiSession session,
+            String database,
+            TiKVSourceSplit split,
+            long changeEventBufferSize,
+            String[] spillDirectories,
+            @Nullable TiKVSnapshotPushDown snapshotPushDown) {
+        this.session = session;
+        this.database = database;
+        this.snapshotPushDown = snapshotPushDown;
+        this.splitId = split.splitId();
+        this.keyRange = split.getKeyRange();
+        this.tableIds = split.getTableIds().stream().mapToLong(Long::longValue).sorted().toArray();
+        this.recordRanges =
+                TableKeyRangeUtils.getRecordKeyRanges(keyRange, split.getTableIds());
+        this.startTs = split.getStartTs();
+        this.scanStart =
+                split.getLastScannedKey() == null
+                        ? keyRange.getStart()
+                        : RowKey.toRawKey(split.getLastScannedKey()).next().toByteString();
+        this.snapshotFinished = split.isSnapshotFinished();
+        this.resolvedTs = split.getResolvedTs();
+        this.changeEventBuffer = new TiKVChangeEventBuffer(changeEventBufferSize, spillDirectories);
+    }
+
+    /**
+     * Reads the next step of the split into the given output.
+     *
+     * @return whether the step has read any record.
+     */
+    public boolean read(RecordsBySplits.Builder<TiKVSourceRecord> output) throws Exception {
+        return snapshotFinished ? readChangeEvents(output) : readSnapshotEvents(output);
+    }
+
+    private boolean readSnapshotEvents(RecordsBySplits.Builder<TiKVSourceRecord> output) {
+        if (scanClient == null) {
+            LOG.info("Read snapshot events of split {} at ts {}", splitId, startTs);
+            scanClient = session.createKVClient();
+        }
+        final Key end = Key.toRawKey(keyRange.getEnd());
+        while (true) {
+            // skips the keys between the record ranges of the captured tables
+            final Key start = Key.toRawKey(scanStart);
+            final int tableIdx = nextTableIndex(start);
+            final Key tableStart =
+                    tableIdx < tableIds.length ? RowKey.createMin(tableIds[tableIdx]) : end;
+            final Key scanFrom = start.compareTo(tableStart) > 0 ? start : tableStart;
+            if (scanFrom.compareTo(end) >= 0) {
+                LOG.info("Finished reading snapshot events of split {}", splitId);
+                scanClient.close();
+                scanClient = null;
+                snapshotFinished = true;
+                resolvedTs = startTs;
+                output.add(splitId, TiKVSourceRecord.snapshotFinished(startTs));
+                return true;
+            }
+
+            final Key tableEnd = RowKey.createBeyondMax(tableIds[tableIdx]);
+            final Key scanTo = tableEnd.compareTo(end) < 0 ? tableEnd : end;
+            final CoprocessorRead coprocessorRead = getCoprocessorRead(tableIds[tableIdx]);
+            if (coprocessorRead != null) {
+                if (readSnapshotRows(coprocessorRead, scanFrom, scanTo, output) == 0) {
+                    continue;
+                }
+                return true;
+            }
+
+            if (scanSnapshotPage(scanFrom, scanTo, output) == 0) {
+                continue;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Scans at most one batch of the raw key values from scanFrom, and moves the scan start after
+     * the read keys. The scan with a limit has no end key, so the keys from scanTo are dropped.
+     *
+     * @return the number of the read key values.
+     */
+    private int scanSnapshotPage(
+            Key scanFrom, Key scanTo, RecordsBySplits.Builder<TiKVSourceRecord> output) {
+        final int limit = session.getConf().getScanBatchSize();
+        final List<Kvrpcpb.KvPair> page = scanClient.scan(scanFrom.toByteString(), startTs, limit);
+        int count = 0;
+        for (final Kvrpcpb.KvPair pair : page) {
+            if (Key.toRawKey(pair.getKey()).compareTo(scanTo) >= 0) {
+                scanStart = scanTo.toByteString();
+                return count;
+            }
+            output.add(splitId, TiKVSourceRecord.snapshot(pair));
+            count++;
+        }
+        scanStart =
+                page.size() < limit
+                        ? scanTo.toByteString()
+                        : RowKey.toRawKey(page.get(page.size() - 1).getKey())
+                                .next()
+                                .toByteString();
+        return count;
+    }
+
+    /**
+     * Reads the rows in [scanFrom, scanTo) of the first region by one coprocessor request, and
+     * moves the scan start after the read rows.
+     *
+     * @return the number of the read rows.
+     */
+    private int readSnapshotRows(
+            CoprocessorRead coprocessorRead,
+            Key scanFrom,
+            Key scanTo,
+            RecordsBySplits.Builder<TiKVSourceRecord> output) {
+        final TiRegion region = session.getRegionManager().getRegionByKey(scanFrom.toByteString());
+        final Key regionEnd =
+                region.getEndKey().isEmpty() ? scanTo : Key.toRawKey(region.getEndKey());
+        final Key readTo = regionEnd.compareTo(scanTo) < 0 ? regionEnd : scanTo;
+        final int limit = session.getConf().getScanBatchSize();
+        final TiTimestamp snapshotTs =
+                new TiTimestamp(TiTimestamp.extractPhysical(startTs), startTs & LOGICAL_TS_MASK);
+
+        final TiDAGRequest request = coprocessorRead.createRequest(snapshotTs, limit);
+        request.addRanges(
+                Collections.singletonMap(
+                        coprocessorRead.tableId,
+                        Collections.singletonList(
+                                KeyRange.newBuilder()
+                                        .setStart(scanFrom.toByteString())
+                                        .setEnd(readTo.toByteString())
+                                        .build())));
+        final Iterator<Row> rows =
+                session.createSnapshot(snapshotTs).tableReadRow(request, coprocessorRead.tableId);
+        int count = 0;
+        ByteString lastKey = null;
+        while (rows.hasNext()) {
+            final Row row = rows.next();
+            lastKey = coprocessorRead.getKey(row);
+            output.add(
+                    splitId, TiKVSourceRecord.snapshotRow(lastKey, coprocessorRead.getValues(row)));
+            count++;
+        }
+        scanStart =
+                count < limit
+                        ? readTo.toByteString()
+                        : RowKey.toRawKey(lastKey).next().toByteString();
+        return count;
+    }
+
+    private CoprocessorRead getCoprocessorRead(long tableId) {
+        if (snapshotPushDown == null) {
+            return null;
+        }
+        if (!coprocessorReads.containsKey(tableId)) {
+            coprocessorReads.put(tableId, createCoprocessorRead(tableId));
+        }
+        return coprocessorReads.get(tableId);
+    }
+
+    private CoprocessorRead createCoprocessorRead(long tableId) {
+        try {
+            final TiTableInfo tableInfo =
+                    session.getCatalog()
+                            .getTable(session.getCatalog().getDatabase(database), tableId);
+            if (tableInfo == null) {
+                LOG.warn("Can't find the table of id {} in database {}.", tableId, database);
+                return null;
+            }
+            final CoprocessorRead coprocessorRead =
+                    new CoprocessorRead(tableId, tableInfo, snapshotPushDown);
+            LOG.info(
+                    "Read snapshot rows of table {}.{} by coprocessor with {}",
+                    database,
+                    tableInfo.getName(),
+                    snapshotPushDown);
+            return coprocessorRead;
+        } catch (Exception e) {
+            LOG.warn(
+                    "Can't push down {} to table of id {}, the raw key values are scanned.",
+                    snapshotPushDown,
+                    tableId,
+                    e);
+            return null;
+        }
+    }
+
+    /** Returns the index of the first captured table whose records end after the given key. */
+    private int nextTableIndex(Key key) {
+        final long tableId = TableKeyRangeUtils.getTableId(key.getBytes());
+        int idx = Arrays.binarySearch(tableIds, tableId);
+        idx = idx >= 0 ? idx : -idx - 1;
+        while (idx < tableIds.length
+                && key.compareTo(RowKey.createBeyondMax(tableIds[idx])) >= 0) {
+            idx++;
+        }
+        return idx;
+    }
+
+    private boolean isCapturedRecord(ByteString key) {
+        return TableKeyRangeUtils.isRecordKey(key)
+                && Arrays.binarySearch(tableIds, TableKeyRangeUtils.getTableId(key)) >= 0;
+    }
+
+    private boolean readChangeEvents(RecordsBySplits.Builder<TiKVSourceRecord> output)
+            throws Exception {
+        if (cdcClients == null) {
+            LOG.info(
+                    "Read change events of split {} in {} record ranges from resolvedTs {}",
+                    splitId,
+                    recordRanges.size(),
+                    resolvedTs);
+            cdcClients = new ArrayList<>(recordRanges.size());
+            for (KeyRange recordRange : recordRanges) {
+                final CDCClient cdcClient = new CDCClient(session, recordRange);
+                cdcClients.add(cdcClient);
+                cdcClient.start(resolvedTs);
+            }
+        }
+        // the rows are buffered until they are committed, so the clients can be read in any order
+        long minResolvedTs = Long.MAX_VALUE;
+        for (CDCClient cdcClient : cdcClients) {
+            for (int i = 0; i < CHANGE_EVENT_BATCH_SIZE; i++) {
+                final Cdcpb.Event.Row row = cdcClient.get();
+                if (row == null) {
+                    break;
+                }
+                if (isCapturedRecord(row.getKey())) {
+                    changeEventBuffer.add(row);
+                }
+            }
+            minResolvedTs = Math.min(minResolvedTs, cdcClient.getMinResolvedTs());
+        }
+
+        if (cdcClients.isEmpty() || minResolvedTs <= resolvedTs) {
+            return false;
+        }
+        changeEventBuffer.flush(
+                minResolvedTs, row -> output.add(splitId, TiKVSourceRecord.change(row)));
+        resolvedTs = minResolvedTs;
+        output.add(splitId, TiKVSourceRecord.resolvedTs(minResolvedTs));
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (scanClient != null) {
+            scanClient.close();
+        }
+        if (cdcClients != null) {
+            for (CDCClient cdcClient : cdcClients) {
+                cdcClient.close();
+            }
+        }
+        changeEventBuffer.close();
+    }
+
+    /** The coprocessor read of one table, the filters are resolved by the schema of the table. */
+    private static final class CoprocessorRead {
+
+        private final long tableId;
+        private final TiTableInfo tableInfo;
+        private final List<String> columns;
+        private final DataType[] columnTypes;
+        private final List<Expression> filters;
+
+        /** The index of the required columns in the returned rows, -1 if the column is missing. */
+        private final int[] requiredIndexes;
+
+        private final int handleIndex;
+
+        private CoprocessorRead(long tableId, TiTableInfo table, TiKVSnapshotPushDown pushDown)
+                throws Exception {
+            this.tableId = tableId;
+            // the handle of the table without an integer primary key is the hidden row id
+            this.tableInfo = table.isPkHandle() ? table : table.copyTableWithRowId();
+            this.filters = InstantiationUtil.clone(new ArrayList<>(pushDown.getFilters()));
+            MetaResolver.resolve(filters, tableInfo);
+
+            final Set<String> columnNames = new LinkedHashSet<>();
+            for (String requiredColumn : pushDown.getRequiredColumns()) {
+                final TiColumnInfo column = tableInfo.getColumn(requiredColumn);
+                if (column != null) {
+                    columnNames.add(column.getName());
+                }
+            }
+            for (Expression filter : filters) {
+                TiKVExpressionUtils.collectColumnNames(filter, columnNames);
+            }
+            final List<TiColumnInfo> tableColumns = tableInfo.getColumns();
+            final String handleColumn =
+                    table.isPkHandle()
+                            ? table.getPKIsHandleColumn().getName()
+                            : tableColumns.get(tableColumns.size() - 1).getName();
+            columnNames.add(handleColumn);
+            this.columns = new ArrayList<>(columnNames);
+            this.columnTypes =
+                    columns.stream()
+                            .map(name -> tableInfo.getColumn(name).getType())
+                            .toArray(DataType[]::new);
+            this.handleIndex = columns.indexOf(handleColumn);
+            this.requiredIndexes =
+                    pushDown.getRequiredColumns().stream()
+                            .map(tableInfo::getColumn)
+                            .mapToInt(c -> c == null ? -1 : columns.indexOf(c.getName()))
+                            .toArray();
+        }
+
+        private TiDAGRequest createRequest(TiTimestamp snapshotTs, int limit) {
+            final TiDAGRequest.Builder builder =
+                    TiDAGRequest.Builder.newBuilder()
+                            .setTableInfo(tableInfo)
+                            .setPhysicalId(tableId)
+                            .addRequiredCols(columns)
+                            .setStartTs(snapshotTs)
+                            .setLimit(limit);
+            for (Expression filter : filters) {
+                builder.addFilter(filter);
+            }
+            return builder.build(TiDAGRequest.PushDownType.NORMAL);
+        }
+
+        private ByteString getKey(Row row) {
+            return RowKey.toRowKey(tableId, row.getLong(handleIndex)).toByteString();
+        }
+
+        private Object[] getValues(Row row) {
+            final Object[] values = new Object[requiredIndexes.length];
+            for (int i = 0; i < requiredIndexes.length; i++) {
+                final int index = requiredIndexes[i];
+                if (index >= 0 && !row.isNull(index)) {
+                    values[i] = row.get(index, columnTypes[index]);
+                }
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.reader;
+
+import org.apache.flink.connector.base.source.reader.RecordsBySplits;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
+
+import com.ververica.cdc.connectors.tidb.source.TiKVSnapshotPushDown;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tikv.common.TiConfiguration;
+import org.tikv.common.TiSession;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@link SplitReader} implementation for the TiKV CDC source, the assigned splits are read
+ * in turn by their {@link TiKVSplitReadTask}s.
+ */
+public class TiKVSplitReader implements SplitReader<TiKVSourceRecord, TiKVSourceSplit> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TiKVSplitReader.class);
+    private static final long IDLE_SLEEP_MILLIS = 10L;
+
+    private final TiConfiguration tiConf;
+    private final String database;
+    private final long changeEventBufferSize;
+    private final String[] spillDirectories;
+    @Nullable private final TiKVSnapshotPushDown snapshotPushDown;
+    private final Map<String, TiKVSplitReadTask> readTasks = new LinkedHashMap<>();
+
+    private TiSession session;
+
+    public TiKVSplitReader(
+            TiConfiguration tiConf,
+            String database,
+            long changeEventBufferSize,
+            String[] spillDirectories,
+            @Nullable TiKVSnapshotPushDown snapshotPushDown) {
+        this.tiConf = tiConf;
+        this.database = database;
+        this.changeEventBufferSize = changeEventBufferSize;
+        this.spillDirectories = spillDirectories;
+        this.snapshotPushDown = snapshotPushDown;
+    }
+
+    @Override
+    public RecordsWithSplitIds<TiKVSourceRecord> fetch() throws IOException {
+        final RecordsBySplits.Builder<TiKVSourceRecord> builder = new RecordsBySplits.Builder<>();
+        boolean hasRecords = false;
+        try {
+            for (TiKVSplitReadTask readTask : readTasks.values()) {
+                hasRecords |= readTask.read(builder);
+            }
+            if (!hasRecords) {
+                Thread.sleep(IDLE_SLEEP_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void handleSplitsChanges(SplitsChange<TiKVSourceSplit> splitsChanges) {
+        if (!(splitsChanges instanceof SplitsAddition)) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "The SplitChange type of %s is not supported.",
+                            splitsChanges.getClass()));
+        }
+        if (session == null) {
+            session = TiSession.create(tiConf);
+        }
+        for (TiKVSourceSplit split : splitsChanges.splits()) {
+            LOG.info("Handling split change {}", split);
+            readTasks.put(
+                    split.splitId(),
+                    new TiKVSplitReadTask(
+                            session,
+                            database,
+                            split,
+                            changeEventBufferSize,
+                            spillDirectories,
+                            snapshotPushDown));
+        }
+    }
+
+    @Override
+    public void wakeUp() {
+        // the fetch only sleeps shortly when there's nothing to read
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (TiKVSplitReadTask readTask : readTasks.values()) {
+            readTask.close();
+        }
+        readTasks.clear();
+        if (session != null) {
+            session.close();
+        }
+    }
+}
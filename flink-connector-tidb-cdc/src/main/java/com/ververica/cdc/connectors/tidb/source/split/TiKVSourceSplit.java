@@ -0,0 +1,162 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.split;
+
+import org.apache.flink.api.connector.source.SourceSplit;
+
+import org.tikv.kvproto.Coprocessor.KeyRange;
+import org.tikv.shade.com.google.protobuf.ByteString;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The split of a key range of the captured TiDB tables, the split reads the snapshot of the key
+ * range at the start ts first and then continues to read the change events of the key range from
+ * TiKV CDC. The key range may span several tables, only the rows of the captured tables in the
+ * range are read.
+ *
+ * <p>The snapshot read of the split can be resumed from the last scanned key, and the change event
+ * read can be resumed from the resolved ts.
+ */
+public class TiKVSourceSplit implements SourceSplit {
+
+    private final String splitId;
+    private final KeyRange keyRange;
+
+    /** The sorted ids of the captured tables which intersect the key range. */
+    private final List<Long> tableIds;
+
+    /** The ts of the snapshot read, the change events are read after the ts. */
+    private final long startTs;
+
+    /** The key of the last record emitted by the snapshot read, null if no record is emitted. */
+    @Nullable private final ByteString lastScannedKey;
+
+    private final boolean snapshotFinished;
+
+    /** The ts which all the change events before or at the ts have been emitted. */
+    private final long resolvedTs;
+
+    public TiKVSourceSplit(
+            String splitId,
+            KeyRange keyRange,
+            List<Long> tableIds,
+            long startTs,
+            @Nullable ByteString lastScannedKey,
+            boolean snapshotFinished,
+            long resolvedTs) {
+        this.splitId = splitId;
+        this.keyRange = keyRange;
+        this.tableIds = tableIds;
+        this.startTs = startTs;
+        this.lastScannedKey = lastScannedKey;
+        this.snapshotFinished = snapshotFinished;
+        this.resolvedTs = resolvedTs;
+    }
+
+    /** Creates a split which reads the snapshot at the start ts first. */
+    public static TiKVSourceSplit snapshotSplit(
+            String splitId, KeyRange keyRange, List<Long> tableIds, long startTs) {
+        return new TiKVSourceSplit(splitId, keyRange, tableIds, startTs, null, false, startTs);
+    }
+
+    /** Creates a split which only reads the change events after the start ts. */
+    public static TiKVSourceSplit streamSplit(
+            String splitId, KeyRange keyRange, List<Long> tableIds, long startTs) {
+        return new TiKVSourceSplit(splitId, keyRange, tableIds, startTs, null, true, startTs);
+    }
+
+    @Override
+    public String splitId() {
+        return splitId;
+    }
+
+    public KeyRange getKeyRange() {
+        return keyRange;
+    }
+
+    public List<Long> getTableIds() {
+        return tableIds;
+    }
+
+    public long getStartTs() {
+        return startTs;
+    }
+
+    @Nullable
+    public ByteString getLastScannedKey() {
+        return lastScannedKey;
+    }
+
+    public boolean isSnapshotFinished() {
+        return snapshotFinished;
+    }
+
+    public long getResolvedTs() {
+        return resolvedTs;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TiKVSourceSplit that = (TiKVSourceSplit) o;
+        return startTs == that.startTs
+                && snapshotFinished == that.snapshotFinished
+                && resolvedTs == that.resolvedTs
+                && Objects.equals(splitId, that.splitId)
+                && Objects.equals(keyRange, that.keyRange)
+                && Objects.equals(tableIds, that.tableIds)
+                && Objects.equals(lastScannedKey, that.lastScannedKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                splitId,
+                keyRange,
+                tableIds,
+                startTs,
+                lastScannedKey,
+                snapshotFinished,
+                resolvedTs);
+    }
+
+    @Override
+    public String toString() {
+        return "TiKVSourceSplit{"
+                + "splitId='"
+                + splitId
+                + '\''
+                + ", tableIds="
+                + tableIds
+                + ", startTs="
+                + startTs
+                + ", snapshotFinished="
+                + snapshotFinished
+                + ", resolvedTs="
+                + resolvedTs
+                + '}';
+    }
+}
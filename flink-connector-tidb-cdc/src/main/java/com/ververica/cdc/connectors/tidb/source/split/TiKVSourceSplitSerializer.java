@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.split;
+
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+
+import org.tikv.common.util.KeyRangeUtils;
+import org.tikv.shade.com.google.protobuf.ByteString;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** A serializer for the {@link TiKVSourceSplit}. */
+public final class TiKVSourceSplitSerializer implements SimpleVersionedSerializer<TiKVSourceSplit> {
+
+    public static final TiKVSourceSplitSerializer INSTANCE = new TiKVSourceSplitSerializer();
+
+    private static final int VERSION = 1;
+    private static final ThreadLocal<DataOutputSerializer> SERIALIZER_CACHE =
+            ThreadLocal.withInitial(() -> new DataOutputSerializer(64));
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] serialize(TiKVSourceSplit split) throws IOException {
+        final DataOutputSerializer out = SERIALIZER_CACHE.get();
+        writeSplit(split, out);
+        final byte[] result = out.getCopyOfBuffer();
+        out.clear();
+        return result;
+    }
+
+    @Override
+    public TiKVSourceSplit deserialize(int version, byte[] serialized) throws IOException {
+        if (version != VERSION) {
+            throw new IOException("Unknown version: " + version);
+        }
+        return readSplit(new DataInputDeserializer(serialized));
+    }
+
+    public static void writeSplit(TiKVSourceSplit split, DataOutputView out) throws IOException {
+        out.writeUTF(split.splitId());
+        writeByteString(split.getKeyRange().getStart(), out);
+        writeByteString(split.getKeyRange().getEnd(), out);
+        out.writeInt(split.getTableIds().size());
+        for (long tableId : split.getTableIds()) {
+            out.writeLong(tableId);
+        }
+        out.writeLong(split.getStartTs());
+        final ByteString lastScannedKey = split.getLastScannedKey();
+        out.writeBoolean(lastScannedKey != null);
+        if (lastScannedKey != null) {
+            writeByteString(lastScannedKey, out);
+        }
+        out.writeBoolean(split.isSnapshotFinished());
+        out.writeLong(split.getResolvedTs());
+    }
+
+    public static TiKVSourceSplit readSplit(DataInputView in) throws IOException {
+        final String splitId = in.readUTF();
+        final ByteString start = readByteString(in);
+        final ByteString end = readByteString(in);
+        final int tableNum = in.readInt();
+        final List<Long> tableIds = new ArrayList<>(tableNum);
+        for (int i = 0; i < tableNum; i++) {
+            tableIds.add(in.readLong());
+        }
+        final long startTs = in.readLong();
+        final ByteString lastScannedKey = in.readBoolean() ? readByteString(in) : null;
+        final boolean snapshotFinished = in.readBoolean();
+        final long resolvedTs = in.readLong();
+        return new TiKVSourceSplit(
+                splitId,
+                KeyRangeUtils.makeCoprocRange(start, end),
+                tableIds,
+                startTs,
+                lastScannedKey,
+                snapshotFinished,
+                resolvedTs);
+    }
+
+    private static void writeByteString(ByteString bytes, DataOutputView out) throws IOException {
+        out.writeInt(bytes.size());
+        out.write(bytes.toByteArray());
+    }
+
+    private static ByteString readByteString(DataInputView in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return ByteString.copyFrom(bytes);
+    }
+}
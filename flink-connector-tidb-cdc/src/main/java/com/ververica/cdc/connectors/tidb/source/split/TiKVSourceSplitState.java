@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.split;
+
+import org.tikv.shade.com.google.protobuf.ByteString;
+
+import javax.annotation.Nullable;
+
+/** State of the reader, essentially a mutable version of the {@link TiKVSourceSplit}. */
+public class TiKVSourceSplitState {
+
+    private final TiKVSourceSplit split;
+
+    @Nullable private ByteString lastScannedKey;
+    private boolean snapshotFinished;
+    private long resolvedTs;
+
+    public TiKVSourceSplitState(TiKVSourceSplit split) {
+        this.split = split;
+        this.lastScannedKey = split.getLastScannedKey();
+        this.snapshotFinished = split.isSnapshotFinished();
+        this.resolvedTs = split.getResolvedTs();
+    }
+
+    public void setLastScannedKey(ByteString lastScannedKey) {
+        this.lastScannedKey = lastScannedKey;
+    }
+
+    public void setSnapshotFinished() {
+        this.snapshotFinished = true;
+    }
+
+    public void setResolvedTs(long resolvedTs) {
+        this.resolvedTs = resolvedTs;
+    }
+
+    /** Use the current split state to create a new TiKVSourceSplit. */
+    public TiKVSourceSplit toSourceSplit() {
+        return new TiKVSourceSplit(
+                split.splitId(),
+                split.getKeyRange(),
+                split.getTableIds(),
+                split.getStartTs(),
+                lastScannedKey,
+                snapshotFinished,
+                resolvedTs);
+    }
+
+    @Override
+    public String toString() {
+        return "TiKVSourceSplitState{"
+                + "split="
+                + split
+                + ", snapshotFinished="
+                + snapshotFinished
+                + ", resolvedTs="
+                + resolvedTs
+                + '}';
+    }
+}
@@ -24,12 +24,11 @@ import org.apache.flink.util.Collector;
 import org.apache.flink.util.FlinkRuntimeException;
 
 import com.ververica.cdc.connectors.tidb.TiKVChangeEventDeserializationSchema;
+import com.ververica.cdc.connectors.tidb.table.utils.TableKeyRangeUtils;
 import org.tikv.common.TiConfiguration;
-import org.tikv.common.key.RowKey;
 import org.tikv.kvproto.Cdcpb.Event.Row;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
-import static org.tikv.common.codec.TableCodec.decodeObjects;
 
 /**
  * Deserialization schema from TiKV Change Event to Flink Table/SQL internal data structure {@link
@@ -57,45 +56,33 @@ public class RowDataTiKVChangeEventDeserializationSchema
 
     @Override
     public void deserialize(Row row, Collector<RowData> out) throws Exception {
-        if (tableInfo == null) {
-            tableInfo = fetchTableInfo();
-        }
-        final RowKey rowKey = RowKey.decode(row.getKey().toByteArray());
-        final long handle = rowKey.getHandle();
-        Object[] tikvValues;
+        final long handle = TableKeyRangeUtils.getHandle(row.getKey());
 
         switch (row.getOpType()) {
             case DELETE:
-                tikvValues = decodeObjects(row.getOldValue().toByteArray(), handle, tableInfo);
-                RowData rowDataDelete =
-                        (RowData) physicalConverter.convert(tikvValues, tableInfo, null);
+                final TiKVRowDecoder deleteDecoder = getDecoder(row.getKey(), row.getOldValue());
+                RowData rowDataDelete = deleteDecoder.decode(row.getOldValue(), handle);
                 rowDataDelete.setRowKind(RowKind.DELETE);
-                emit(new TiKVMetadataConverter.TiKVRowValue(row), rowDataDelete, out);
+                emit(rowValue(row, deleteDecoder), rowDataDelete, out);
                 break;
             case PUT:
+                final TiKVRowDecoder putDecoder = getDecoder(row.getKey(), row.getValue());
                 try {
-                    tikvValues =
-                            decodeObjects(
-                                    row.getValue().toByteArray(),
-                                    RowKey.decode(row.getKey().toByteArray()).getHandle(),
-                                    tableInfo);
                     if (row.getOldValue() == null || row.getOldValue().isEmpty()) {
-                        RowData rowDataUpdateBefore =
-                                (RowData) physicalConverter.convert(tikvValues, tableInfo, null);
+                        RowData rowDataUpdateBefore = putDecoder.decode(row.getValue(), handle);
                         rowDataUpdateBefore.setRowKind(RowKind.INSERT);
-                        emit(new TiKVMetadataConverter.TiKVRowValue(row), rowDataUpdateBefore, out);
+                        emit(rowValue(row, putDecoder), rowDataUpdateBefore, out);
                     } else {
-                        RowData rowDataUpdateAfter =
-                                (RowData) physicalConverter.convert(tikvValues, tableInfo, null);
+                        RowData rowDataUpdateAfter = putDecoder.decode(row.getValue(), handle);
                         rowDataUpdateAfter.setRowKind(RowKind.UPDATE_AFTER);
-                        emit(new TiKVMetadataConverter.TiKVRowValue(row), rowDataUpdateAfter, out);
+                        emit(rowValue(row, putDecoder), rowDataUpdateAfter, out);
                     }
                     break;
                 } catch (final RuntimeException e) {
                     throw new FlinkRuntimeException(
                             String.format(
                                     "Fail to deserialize row: %s, table: %s",
-                                    row, tableInfo.getId()),
+                                    row, putDecoder.getTableInfo().getId()),
                             e);
                 }
             default:
@@ -103,6 +90,10 @@ public class RowDataTiKVChangeEventDeserializationSchema
         }
     }
 
+    private static TiKVMetadataConverter.TiKVRowValue rowValue(Row row, TiKVRowDecoder decoder) {
+        return new TiKVMetadataConverter.TiKVRowValue(row, decoder.getTableInfo().getName());
+    }
+
     @Override
     public TypeInformation getProducedType() {
         return resultTypeInfo;
@@ -28,17 +28,23 @@ import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.util.Collector;
 import org.apache.flink.util.FlinkRuntimeException;
 
+import com.ververica.cdc.connectors.tidb.table.utils.TableKeyRangeUtils;
 import com.ververica.cdc.debezium.utils.TemporalConversions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.tikv.common.TiConfiguration;
 import org.tikv.common.TiSession;
 import org.tikv.common.meta.TiColumnInfo;
+import org.tikv.common.meta.TiDBInfo;
 import org.tikv.common.meta.TiTableInfo;
-import org.tikv.kvproto.Kvrpcpb;
+import org.tikv.shade.com.google.protobuf.ByteString;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
@@ -48,12 +54,18 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  */
 public class RowDataTiKVEventDeserializationSchemaBase implements Serializable {
     private static final long serialVersionUID = 1L;
+    private static final Logger LOG =
+            LoggerFactory.getLogger(RowDataTiKVEventDeserializationSchemaBase.class);
 
     /** Whether the deserializer needs to handle metadata columns. */
     private final boolean hasMetadata;
 
-    /** Information of the TiKV table. * */
-    protected TiTableInfo tableInfo;
+    /**
+     * The row decoders of the captured TiKV tables by the table id, the rows of several tables may
+     * be read by one source and are routed by the table id of their keys. Every decoder is bound
+     * to the schema version of its table and is refreshed when a DDL changes the table.
+     */
+    private transient Map<Long, TiKVRowDecoder> decoders;
 
     private final TiConfiguration tiConf;
     private final String database;
@@ -64,11 +76,10 @@ public class RowDataTiKVEventDeserializationSchemaBase implements Serializable {
      */
     private final TiKVAppendMetadataCollector appendMetadataCollector;
 
-    /**
-     * Runtime converter that converts Tikv {@link Kvrpcpb.KvPair}s into {@link RowData} consisted
-     * of physical column values.
-     */
-    protected final TiKVDeserializationRuntimeConverter physicalConverter;
+    private final RowType physicalDataType;
+
+    /** Runtime converters that convert the TiKV column values into the physical fields. */
+    private final TiKVDeserializationRuntimeConverter[] fieldConverters;
 
     public RowDataTiKVEventDeserializationSchemaBase(
             TiConfiguration tiConf,
@@ -81,15 +92,94 @@ public class RowDataTiKVEventDeserializationSchemaBase implements Serializable {
         this.tableName = checkNotNull(tableName);
         this.hasMetadata = checkNotNull(metadataConverters).length > 0;
         this.appendMetadataCollector = new TiKVAppendMetadataCollector(metadataConverters);
-        this.physicalConverter = createConverter(checkNotNull(physicalDataType));
+        this.physicalDataType = checkNotNull(physicalDataType);
+        this.fieldConverters =
+                physicalDataType.getFields().stream()
+                        .map(RowType.RowField::getType)
+                        .map(logicType -> createConverter(logicType))
+                        .toArray(TiKVDeserializationRuntimeConverter[]::new);
+    }
+
+    /**
+     * Returns the decoder of the table which the row key belongs to, the decoder is refreshed if
+     * the row value contains columns unknown to the cached schema of the table.
+     */
+    protected TiKVRowDecoder getDecoder(ByteString key, ByteString value) {
+        final TiKVRowDecoder decoder = getDecoder(key);
+        return decoder.hasUnknownColumn(value) ? refreshDecoder(decoder, value) : decoder;
+    }
+
+    /** Returns the decoder of the table which the row key belongs to. */
+    protected TiKVRowDecoder getDecoder(ByteString key) {
+        if (decoders == null) {
+            decoders = new HashMap<>();
+        }
+        final long tableId = TableKeyRangeUtils.getTableId(key);
+        TiKVRowDecoder decoder = decoders.get(tableId);
+        if (decoder == null) {
+            fetchDecoders();
+            decoder = decoders.get(tableId);
+            if (decoder == null) {
+                throw new FlinkRuntimeException(
+                        String.format(
+                                "Can't find the table of id %s for %s.%s",
+                                tableId, database, tableName));
+            }
+        }
+        return decoder;
+    }
+
+    /** Creates the decoders of all the tables in the database in one session. */
+    private void fetchDecoders() {
+        try (final TiSession session = TiSession.create(tiConf)) {
+            final TiDBInfo databaseInfo = session.getCatalog().getDatabase(database);
+            if (databaseInfo != null) {
+                for (TiTableInfo tableInfo : session.getCatalog().listTables(databaseInfo)) {
+                    decoders.put(
+                            tableInfo.getId(),
+                            new TiKVRowDecoder(tableInfo, physicalDataType, fieldConverters));
+                }
+            }
+        } catch (final Exception e) {
+            throw new FlinkRuntimeException(e);
+        }
     }
 
-    protected TiTableInfo fetchTableInfo() {
+    private TiKVRowDecoder refreshDecoder(TiKVRowDecoder decoder, ByteString value) {
+        final TiTableInfo tableInfo;
         try (final TiSession session = TiSession.create(tiConf)) {
-            return session.getCatalog().getTable(database, tableName);
+            tableInfo =
+                    session.getCatalog()
+                            .getTable(
+                                    session.getCatalog().getDatabase(database),
+                                    decoder.getTableInfo().getId());
         } catch (final Exception e) {
             throw new FlinkRuntimeException(e);
         }
+
+        final TiKVRowDecoder refreshed =
+                tableInfo == null
+                        ? decoder
+                        : new TiKVRowDecoder(tableInfo, physicalDataType, fieldConverters);
+        if (refreshed.getSchemaVersion() != decoder.getSchemaVersion()) {
+            LOG.info(
+                    "The schema of table {}.{} is changed from version {} to {}.",
+                    database,
+                    refreshed.getTableInfo().getName(),
+                    decoder.getSchemaVersion(),
+                    refreshed.getSchemaVersion());
+        }
+        if (refreshed.hasUnknownColumn(value)) {
+            LOG.warn(
+                    "The row of table {}.{} contains columns which are not in the schema of "
+                            + "version {}, the columns are ignored.",
+                    database,
+                    refreshed.getTableInfo().getName(),
+                    refreshed.getSchemaVersion());
+            refreshed.acceptUnknownColumns(value);
+        }
+        decoders.put(refreshed.getTableInfo().getId(), refreshed);
+        return refreshed;
     }
 
     public void emit(
@@ -541,7 +631,7 @@ public class RowDataTiKVEventDeserializationSchemaBase implements Serializable {
         };
     }
 
-    private static Object convertField(
+    static Object convertField(
             TiKVDeserializationRuntimeConverter fieldConverter,
             TiTableInfo tableInfo,
             org.tikv.common.types.DataType dataType,
@@ -22,12 +22,12 @@ import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.util.Collector;
 
 import com.ververica.cdc.connectors.tidb.TiKVSnapshotEventDeserializationSchema;
+import com.ververica.cdc.connectors.tidb.table.utils.TableKeyRangeUtils;
 import org.tikv.common.TiConfiguration;
-import org.tikv.common.key.RowKey;
 import org.tikv.kvproto.Kvrpcpb.KvPair;
+import org.tikv.shade.com.google.protobuf.ByteString;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
-import static org.tikv.common.codec.TableCodec.decodeObjects;
 
 /**
  * Deserialization schema from TiKV Snapshot Event to Flink Table/SQL internal data structure {@link
@@ -60,18 +60,26 @@ public class RowDataTiKVSnapshotEventDeserializationSchema
 
     @Override
     public void deserialize(KvPair record, Collector<RowData> out) throws Exception {
-        if (tableInfo == null) {
-            tableInfo = fetchTableInfo();
-        }
-        Object[] tikvValues =
-                decodeObjects(
-                        record.getValue().toByteArray(),
-                        RowKey.decode(record.getKey().toByteArray()).getHandle(),
-                        tableInfo);
+        final TiKVRowDecoder decoder = getDecoder(record.getKey(), record.getValue());
+        emit(
+                new TiKVMetadataConverter.TiKVRowValue(record, decoder.getTableInfo().getName()),
+                decoder.decode(record.getValue(), TableKeyRangeUtils.getHandle(record.getKey())),
+                out);
+    }
 
+    @Override
+    public boolean supportsPushDown() {
+        return true;
+    }
+
+    @Override
+    public void deserialize(ByteString key, Object[] fieldValues, Collector<RowData> out)
+            throws Exception {
+        final TiKVRowDecoder decoder = getDecoder(key);
         emit(
-                new TiKVMetadataConverter.TiKVRowValue(record),
-                (RowData) physicalConverter.convert(tikvValues, tableInfo, null),
+                new TiKVMetadataConverter.TiKVRowValue(
+                        (KvPair) null, decoder.getTableInfo().getName()),
+                decoder.decodeFields(fieldValues),
                 out);
     }
 }
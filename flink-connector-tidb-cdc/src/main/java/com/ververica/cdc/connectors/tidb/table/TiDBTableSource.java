@@ -17,25 +17,36 @@
 package com.ververica.cdc.connectors.tidb.table;
 
 import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.table.catalog.Column;
 import org.apache.flink.table.catalog.ResolvedSchema;
 import org.apache.flink.table.connector.ChangelogMode;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.ScanTableSource;
 import org.apache.flink.table.connector.source.SourceFunctionProvider;
+import org.apache.flink.table.connector.source.SourceProvider;
+import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
+import org.apache.flink.table.connector.source.abilities.SupportsProjectionPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsReadingMetadata;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.expressions.ResolvedExpression;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.types.RowKind;
 
 import com.ververica.cdc.connectors.tidb.TDBSourceOptions;
 import com.ververica.cdc.connectors.tidb.TiDBSource;
+import com.ververica.cdc.connectors.tidb.source.TiKVSnapshotPushDown;
+import com.ververica.cdc.connectors.tidb.source.TiKVSource;
+import com.ververica.cdc.connectors.tidb.table.utils.TiKVExpressionUtils;
 import org.tikv.common.TiConfiguration;
+import org.tikv.common.expression.Expression;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -44,20 +55,38 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
 /**
  * A {@link DynamicTableSource} that describes how to create a TiDB change event stream from a
  * logical description.
+ *
+ * <p>The projection and the filters are pushed down to the TiKV coprocessor when the snapshot is
+ * read by the parallel source, the filters only skip the snapshot rows and are still evaluated by
+ * Flink as the change events are not filtered.
  */
-public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata {
+public class TiDBTableSource
+        implements ScanTableSource,
+                SupportsReadingMetadata,
+                SupportsProjectionPushDown,
+                SupportsFilterPushDown {
 
-    private final ResolvedSchema physicalSchema;
     private final String database;
     private final String tableName;
     private final String pdAddresses;
     private final StartupOptions startupOptions;
+    private final boolean enableParallelRead;
+    private final long changeEventBufferSize;
     private final Map<String, String> options;
 
     // --------------------------------------------------------------------------------------------
     // Mutable attributes
     // --------------------------------------------------------------------------------------------
 
+    /** The physical columns which are read from the tables, projected by the query. */
+    private ResolvedSchema physicalSchema;
+
+    /** Whether the query projects part of the physical columns. */
+    private boolean projectionPushedDown;
+
+    /** The filters pushed down to the TiKV coprocessor of the snapshot scan. */
+    private List<Expression> snapshotFilters;
+
     /** Data type that describes the final output of the source. */
     protected DataType producedDataType;
 
@@ -70,15 +99,20 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
             String tableName,
             String pdAddresses,
             StartupOptions startupOptions,
+            boolean enableParallelRead,
+            long changeEventBufferSize,
             Map<String, String> options) {
         this.physicalSchema = physicalSchema;
         this.database = checkNotNull(database);
         this.tableName = checkNotNull(tableName);
         this.pdAddresses = checkNotNull(pdAddresses);
         this.startupOptions = startupOptions;
+        this.enableParallelRead = enableParallelRead;
+        this.changeEventBufferSize = changeEventBufferSize;
         this.producedDataType = physicalSchema.toPhysicalRowDataType();
         this.options = options;
         this.metadataKeys = Collections.emptyList();
+        this.snapshotFilters = Collections.emptyList();
     }
 
     @Override
@@ -116,27 +150,60 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
                         metadataConverters,
                         physicalDataType);
 
-        TiDBSource.Builder<RowData> builder =
-                TiDBSource.<RowData>builder()
-                        .database(database)
-                        .tableName(tableName)
-                        .startupOptions(startupOptions)
-                        .tiConf(tiConf)
-                        .snapshotEventDeserializer(snapshotEventDeserializationSchema)
-                        .changeEventDeserializer(changeEventDeserializationSchema);
-        return SourceFunctionProvider.of(builder.build(), false);
+        if (enableParallelRead) {
+            TiKVSource<RowData> parallelSource =
+                    TiKVSource.<RowData>builder()
+                            .database(database)
+                            .tableName(tableName)
+                            .startupOptions(startupOptions)
+                            .tiConf(tiConf)
+                            .snapshotEventDeserializer(snapshotEventDeserializationSchema)
+                            .changeEventDeserializer(changeEventDeserializationSchema)
+                            .changeEventBufferSize(changeEventBufferSize)
+                            .snapshotPushDown(getSnapshotPushDown(physicalDataType))
+                            .build();
+            return SourceProvider.of(parallelSource);
+        } else {
+            TiDBSource.Builder<RowData> builder =
+                    TiDBSource.<RowData>builder()
+                            .database(database)
+                            .tableName(tableName)
+                            .startupOptions(startupOptions)
+                            .tiConf(tiConf)
+                            .snapshotEventDeserializer(snapshotEventDeserializationSchema)
+                            .changeEventDeserializer(changeEventDeserializationSchema)
+                            .changeEventBufferSize(changeEventBufferSize);
+            return SourceFunctionProvider.of(builder.build(), false);
+        }
     }
 
     @Override
     public DynamicTableSource copy() {
         TiDBTableSource source =
                 new TiDBTableSource(
-                        physicalSchema, database, tableName, pdAddresses, startupOptions, options);
+                        physicalSchema,
+                        database,
+                        tableName,
+                        pdAddresses,
+                        startupOptions,
+                        enableParallelRead,
+                        changeEventBufferSize,
+                        options);
         source.producedDataType = producedDataType;
         source.metadataKeys = metadataKeys;
+        source.projectionPushedDown = projectionPushedDown;
+        source.snapshotFilters = snapshotFilters;
         return source;
     }
 
+    /** Returns null if neither the projection nor any filter is pushed down. */
+    private TiKVSnapshotPushDown getSnapshotPushDown(RowType physicalDataType) {
+        if (!projectionPushedDown && snapshotFilters.isEmpty()) {
+            return null;
+        }
+        return new TiKVSnapshotPushDown(physicalDataType.getFieldNames(), snapshotFilters);
+    }
+
     private TiKVMetadataConverter[] getMetadataConverters() {
         if (metadataKeys.isEmpty()) {
             return new TiKVMetadataConverter[0];
@@ -147,7 +214,7 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
                         key ->
                                 Stream.of(
                                                 TiKVReadableMetadata.createTiKVReadableMetadata(
-                                                        database, tableName))
+                                                        database))
                                         .filter(m -> m.getKey().equals(key))
                                         .findFirst()
                                         .orElseThrow(IllegalStateException::new))
@@ -169,9 +236,13 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
                 && Objects.equals(tableName, that.tableName)
                 && Objects.equals(pdAddresses, that.pdAddresses)
                 && Objects.equals(startupOptions, that.startupOptions)
+                && enableParallelRead == that.enableParallelRead
+                && changeEventBufferSize == that.changeEventBufferSize
                 && Objects.equals(options, that.options)
                 && Objects.equals(producedDataType, that.producedDataType)
-                && Objects.equals(metadataKeys, that.metadataKeys);
+                && Objects.equals(metadataKeys, that.metadataKeys)
+                && projectionPushedDown == that.projectionPushedDown
+                && Objects.equals(snapshotFilters, that.snapshotFilters);
     }
 
     @Override
@@ -182,9 +253,13 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
                 tableName,
                 pdAddresses,
                 startupOptions,
+                enableParallelRead,
+                changeEventBufferSize,
                 options,
                 producedDataType,
-                metadataKeys);
+                metadataKeys,
+                projectionPushedDown,
+                snapshotFilters);
     }
 
     @Override
@@ -194,7 +269,7 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
 
     @Override
     public Map<String, DataType> listReadableMetadata() {
-        return Stream.of(TiKVReadableMetadata.createTiKVReadableMetadata(database, tableName))
+        return Stream.of(TiKVReadableMetadata.createTiKVReadableMetadata(database))
                 .collect(
                         Collectors.toMap(
                                 TiKVReadableMetadata::getKey, TiKVReadableMetadata::getDataType));
@@ -205,4 +280,36 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
         this.metadataKeys = metadataKeys;
         this.producedDataType = producedDataType;
     }
+
+    @Override
+    public boolean supportsNestedProjection() {
+        return false;
+    }
+
+    @Override
+    public void applyProjection(int[][] projectedFields) {
+        final List<Column> columns = new ArrayList<>();
+        for (int[] projectedField : projectedFields) {
+            columns.add(physicalSchema.getColumns().get(projectedField[0]));
+        }
+        this.projectionPushedDown |= columns.size() < physicalSchema.getColumnCount();
+        this.physicalSchema = ResolvedSchema.of(columns);
+        this.producedDataType = physicalSchema.toPhysicalRowDataType();
+    }
+
+    @Override
+    public Result applyFilters(List<ResolvedExpression> filters) {
+        final List<ResolvedExpression> acceptedFilters = new ArrayList<>();
+        final List<Expression> snapshotFilters = new ArrayList<>(this.snapshotFilters);
+        for (ResolvedExpression filter : filters) {
+            final Optional<Expression> expression = TiKVExpressionUtils.toTiKVExpression(filter);
+            if (expression.isPresent()) {
+                acceptedFilters.add(filter);
+                snapshotFilters.add(expression.get());
+            }
+        }
+        this.snapshotFilters = snapshotFilters;
+        // the change events are not filtered by the source, so all the filters remain
+        return Result.of(acceptedFilters, filters);
+    }
 }
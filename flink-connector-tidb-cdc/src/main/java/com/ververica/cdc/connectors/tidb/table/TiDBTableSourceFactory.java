@@ -31,6 +31,8 @@ import java.util.Set;
 
 import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.DATABASE_NAME;
 import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.PD_ADDRESSES;
+import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.SCAN_CHANGE_EVENT_BUFFER_SIZE;
+import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_ENABLED;
 import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.SCAN_STARTUP_MODE;
 import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.TABLE_NAME;
 import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.TIKV_BATCH_GET_CONCURRENCY;
@@ -54,6 +56,8 @@ public class TiDBTableSourceFactory implements DynamicTableSourceFactory {
         String tableName = config.get(TABLE_NAME);
         String pdAddresses = config.get(PD_ADDRESSES);
         StartupOptions startupOptions = getStartupOptions(config);
+        boolean enableParallelRead = config.get(SCAN_INCREMENTAL_SNAPSHOT_ENABLED);
+        long changeEventBufferSize = config.get(SCAN_CHANGE_EVENT_BUFFER_SIZE).getBytes();
         ResolvedSchema physicalSchema =
                 getPhysicalSchema(context.getCatalogTable().getResolvedSchema());
 
@@ -63,6 +67,8 @@ public class TiDBTableSourceFactory implements DynamicTableSourceFactory {
                 tableName,
                 pdAddresses,
                 startupOptions,
+                enableParallelRead,
+                changeEventBufferSize,
                 TiKVOptions.getTiKVOptions(context.getCatalogTable().getOptions()));
     }
 
@@ -84,6 +90,8 @@ public class TiDBTableSourceFactory implements DynamicTableSourceFactory {
     public Set<ConfigOption<?>> optionalOptions() {
         Set<ConfigOption<?>> options = new HashSet<>();
         options.add(SCAN_STARTUP_MODE);
+        options.add(SCAN_INCREMENTAL_SNAPSHOT_ENABLED);
+        options.add(SCAN_CHANGE_EVENT_BUFFER_SIZE);
         options.add(TIKV_GRPC_TIMEOUT);
         options.add(TIKV_GRPC_SCAN_TIMEOUT);
         options.add(TIKV_BATCH_GET_CONCURRENCY);
@@ -35,15 +35,19 @@ public interface TiKVMetadataConverter extends Serializable {
         public boolean isSnapshotRecord;
         public Kvrpcpb.KvPair kvPair;
         public Cdcpb.Event.Row row;
+        /** Name of the table that contains the row. */
+        public String tableName;
 
-        public TiKVRowValue(Kvrpcpb.KvPair kvPair) {
+        public TiKVRowValue(Kvrpcpb.KvPair kvPair, String tableName) {
             this.isSnapshotRecord = true;
             this.kvPair = kvPair;
+            this.tableName = tableName;
         }
 
-        public TiKVRowValue(Cdcpb.Event.Row row) {
+        public TiKVRowValue(Cdcpb.Event.Row row, String tableName) {
             this.isSnapshotRecord = false;
             this.row = row;
+            this.tableName = tableName;
         }
     }
 }
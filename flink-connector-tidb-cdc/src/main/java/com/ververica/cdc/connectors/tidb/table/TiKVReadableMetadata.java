@@ -52,7 +52,7 @@ public class TiKVReadableMetadata {
     }
 
     /** Name of the table that contain the row. */
-    public static TiKVReadableMetadata createTableNameMetadata(String tableName) {
+    public static TiKVReadableMetadata createTableNameMetadata() {
         return new TiKVReadableMetadata(
                 "table_name",
                 DataTypes.STRING().notNull(),
@@ -61,7 +61,7 @@ public class TiKVReadableMetadata {
 
                     @Override
                     public Object read(TiKVRowValue row) {
-                        return StringData.fromString(tableName);
+                        return StringData.fromString(row.tableName);
                     }
                 });
     }
@@ -104,11 +104,10 @@ public class TiKVReadableMetadata {
                 });
     }
 
-    public static TiKVReadableMetadata[] createTiKVReadableMetadata(
-            String database, String tableName) {
+    public static TiKVReadableMetadata[] createTiKVReadableMetadata(String database) {
         List<TiKVReadableMetadata> list = new ArrayList<>();
         list.add(createDatabaseNameMetadata(database));
-        list.add(createTableNameMetadata(tableName));
+        list.add(createTableNameMetadata());
         list.add(createOpTsMetadata());
         return list.toArray(new TiKVReadableMetadata[0]);
     }
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.table;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.tikv.common.codec.RowDecoderV2;
+import org.tikv.common.codec.TableCodec;
+import org.tikv.common.meta.TiColumnInfo;
+import org.tikv.common.meta.TiTableInfo;
+import org.tikv.shade.com.google.protobuf.ByteString;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decodes the row values of one TiDB table into the physical {@link GenericRowData}. The decoder
+ * is bound to one version of the table schema, the columns of the physical fields are resolved
+ * once when the decoder is created instead of for every row.
+ *
+ * <p>The values in the row format v2, which TiDB writes by default, are decoded from the {@link
+ * ByteString} directly, only the bytes of the physical fields are copied. The row format v2 also
+ * lists the ids of the columns in the row, so the decoder can tell whether the row is written by a
+ * newer schema with columns unknown to the decoder, see {@link #hasUnknownColumn(ByteString)}.
+ */
+public class TiKVRowDecoder {
+
+    /** The first byte of the values in the row format v2, see {@code RowV2.CODEC_VER}. */
+    private static final int ROW_FORMAT_V2 = 128;
+
+    private static final int LARGE_FLAG = 0x1;
+    private static final int HEADER_LENGTH = 6;
+
+    private final TiTableInfo tableInfo;
+
+    /** The columns of the physical fields, null if the table doesn't have the field. */
+    private final TiColumnInfo[] fieldColumns;
+
+    /** Whether the physical field is the primary key which is stored as the handle. */
+    private final boolean[] handleFields;
+
+    private final TiKVDeserializationRuntimeConverter[] fieldConverters;
+
+    /**
+     * The origin default values of the columns of the physical fields, which are the values of the
+     * rows written before the column is added.
+     */
+    private final Object[] originDefaultValues;
+
+    /** The sorted ids of the columns known to the decoder. */
+    private long[] columnIds;
+
+    public TiKVRowDecoder(
+            TiTableInfo tableInfo,
+            RowType physicalDataType,
+            TiKVDeserializationRuntimeConverter[] fieldConverters) {
+        this.tableInfo = tableInfo;
+        this.fieldConverters = fieldConverters;
+        final List<String> fieldNames = physicalDataType.getFieldNames();
+        this.fieldColumns = new TiColumnInfo[fieldNames.size()];
+        this.handleFields = new boolean[fieldNames.size()];
+        this.originDefaultValues = new Object[fieldNames.size()];
+        for (int i = 0; i < fieldNames.size(); i++) {
+            final TiColumnInfo column = tableInfo.getColumn(fieldNames.get(i));
+            fieldColumns[i] = column;
+            handleFields[i] = column != null && column.isPrimaryKey() && tableInfo.isPkHandle();
+            if (column != null) {
+                originDefaultValues[i] =
+                        column.getType()
+                                .getOriginDefaultValue(
+                                        column.getOriginDefaultValue(), column.getVersion());
+            }
+        }
+        this.columnIds =
+                tableInfo.getColumns().stream().mapToLong(TiColumnInfo::getId).sorted().toArray();
+    }
+
+    public TiTableInfo getTableInfo() {
+        return tableInfo;
+    }
+
+    /** The version of the table schema, it changes when the table is altered by a DDL. */
+    public long getSchemaVersion() {
+        return tableInfo.getUpdateTimestamp();
+    }
+
+    /** Decodes the value of the row with the given handle into the physical fields. */
+    public GenericRowData decode(ByteString value, long handle) throws Exception {
+        final GenericRowData row = new GenericRowData(fieldColumns.length);
+        if (isRowFormatV2(value)) {
+            decodeV2(value, handle, row);
+        } else {
+            final Object[] values =
+                    TableCodec.decodeObjects(value.toByteArray(), handle, tableInfo);
+            for (int i = 0; i < fieldColumns.length; i++) {
+                if (fieldColumns[i] != null) {
+                    row.setField(i, convertField(i, values[fieldColumns[i].getOffset()]));
+                }
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Converts the column values decoded by the TiKV coprocessor into the physical fields, the
+     * values are in the order of the physical fields.
+     */
+    public GenericRowData decodeFields(Object[] fieldValues) throws Exception {
+        final GenericRowData row = new GenericRowData(fieldColumns.length);
+        for (int i = 0; i < fieldColumns.length; i++) {
+            if (fieldColumns[i] != null) {
+                row.setField(i, convertField(i, fieldValues[i]));
+            }
+        }
+        return row;
+    }
+
+    private void decodeV2(ByteString value, long handle, GenericRowData row) throws Exception {
+        final boolean large = (value.byteAt(1) & LARGE_FLAG) != 0;
+        final int idSize = large ? 4 : 1;
+        final int offsetSize = large ? 4 : 2;
+        final int notNullNum = readUnsigned(value, 2, 2);
+        final int nullNum = readUnsigned(value, 4, 2);
+        final int offsetsStart = HEADER_LENGTH + (notNullNum + nullNum) * idSize;
+        final int dataStart = offsetsStart + notNullNum * offsetSize;
+
+        for (int i = 0; i < fieldColumns.length; i++) {
+            final TiColumnInfo column = fieldColumns[i];
+            if (column == null) {
+                continue;
+            }
+            if (handleFields[i]) {
+                row.setField(i, convertField(i, handle));
+                continue;
+            }
+            final int idx = searchColumnId(value, 0, notNullNum, idSize, column.getId());
+            if (idx < 0) {
+                // the column is added after the row is written if it is not null either, the
+                // instant ADD COLUMN doesn't rewrite the existing rows
+                if (originDefaultValues[i] != null
+                        && searchColumnId(
+                                        value,
+                                        notNullNum,
+                                        notNullNum + nullNum,
+                                        idSize,
+                                        column.getId())
+                                < 0) {
+                    row.setField(i, convertField(i, originDefaultValues[i]));
+                }
+                continue;
+            }
+            final int endOffset = offsetsStart + idx * offsetSize;
+            final int start =
+                    idx == 0 ? 0 : readUnsigned(value, endOffset - offsetSize, offsetSize);
+            final int end = readUnsigned(value, endOffset, offsetSize);
+            final byte[] columnValue =
+                    value.substring(dataStart + start, dataStart + end).toByteArray();
+            row.setField(i, convertField(i, RowDecoderV2.decodeCol(columnValue, column.getType())));
+        }
+    }
+
+    /**
+     * Returns whether the row contains a column which is unknown to the decoder, which means the
+     * row is written after a DDL changed the table and the decoder needs to be refreshed. Always
+     * returns false for the values in the row format v1.
+     */
+    public boolean hasUnknownColumn(ByteString value) {
+        if (value.isEmpty() || !isRowFormatV2(value)) {
+            return false;
+        }
+        final int idSize = (value.byteAt(1) & LARGE_FLAG) != 0 ? 4 : 1;
+        final int columnNum = readUnsigned(value, 2, 2) + readUnsigned(value, 4, 2);
+        for (int i = 0; i < columnNum; i++) {
+            final long columnId = readUnsigned(value, HEADER_LENGTH + i * idSize, idSize);
+            if (Arrays.binarySearch(columnIds, columnId) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Accepts the unknown columns of the row as known ones, the columns of the rows written in the
+     * middle of a DDL may not be visible in the schema yet, the decoder ignores them instead of
+     * refreshing the schema for every row.
+     */
+    public void acceptUnknownColumns(ByteString value) {
+        final int idSize = (value.byteAt(1) & LARGE_FLAG) != 0 ? 4 : 1;
+        final int columnNum = readUnsigned(value, 2, 2) + readUnsigned(value, 4, 2);
+        final long[] rowColumnIds = new long[columnNum];
+        for (int i = 0; i < columnNum; i++) {
+            rowColumnIds[i] = readUnsigned(value, HEADER_LENGTH + i * idSize, idSize);
+        }
+        final long[] merged = Arrays.copyOf(columnIds, columnIds.length + columnNum);
+        System.arraycopy(rowColumnIds, 0, merged, columnIds.length, columnNum);
+        columnIds = Arrays.stream(merged).sorted().distinct().toArray();
+    }
+
+    private Object convertField(int index, Object fieldValue) throws Exception {
+        return RowDataTiKVEventDeserializationSchemaBase.convertField(
+                fieldConverters[index], tableInfo, fieldColumns[index].getType(), fieldValue);
+    }
+
+    private static boolean isRowFormatV2(ByteString value) {
+        return (value.byteAt(0) & 0xFF) == ROW_FORMAT_V2;
+    }
+
+    /** Binary searches the sorted column ids in [from, to) of the row, returns -1 if not found. */
+    private static int searchColumnId(
+            ByteString value, int from, int to, int idSize, long columnId) {
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final long midId = readUnsigned(value, HEADER_LENGTH + mid * idSize, idSize);
+            if (midId < columnId) {
+                low = mid + 1;
+            } else if (midId > columnId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /** Reads the little endian unsigned integer of the given size. */
+    private static int readUnsigned(ByteString value, int offset, int size) {
+        int result = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            result = (result << 8) | (value.byteAt(offset + i) & 0xFF);
+        }
+        return result;
+    }
+}
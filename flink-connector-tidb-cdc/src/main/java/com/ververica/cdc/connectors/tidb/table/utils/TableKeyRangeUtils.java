@@ -20,15 +20,34 @@ import org.apache.flink.util.Preconditions;
 
 import org.apache.flink.shaded.guava30.com.google.common.collect.ImmutableList;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tikv.common.TiConfiguration;
+import org.tikv.common.TiSession;
+import org.tikv.common.key.Key;
 import org.tikv.common.key.RowKey;
+import org.tikv.common.meta.TiTableInfo;
+import org.tikv.common.region.RegionManager;
+import org.tikv.common.region.TiRegion;
 import org.tikv.common.util.KeyRangeUtils;
 import org.tikv.kvproto.Coprocessor.KeyRange;
+import org.tikv.shade.com.google.protobuf.ByteString;
+import org.tikv.shade.com.google.protobuf.UnsafeByteOperations;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /** Utils to obtain the keyRange of table. */
 public class TableKeyRangeUtils {
+    private static final Logger LOG = LoggerFactory.getLogger(TableKeyRangeUtils.class);
+    private static final byte TABLE_PREFIX = 't';
+    private static final int TABLE_PREFIX_LENGTH = 9;
+    private static final int RECORD_PREFIX_LENGTH = 11;
+    private static final int RECORD_KEY_LENGTH = RECORD_PREFIX_LENGTH + Long.BYTES;
+
     public static KeyRange getTableKeyRange(final long tableId) {
         return KeyRangeUtils.makeCoprocRange(
                 RowKey.createMin(tableId).toByteString(),
@@ -68,7 +87,274 @@ public class TableKeyRangeUtils {
         return getTableKeyRanges(tableId, num).get(idx);
     }
 
+    /**
+     * Returns the key ranges of the table which are aligned to the given region boundaries, every
+     * range covers a contiguous group of regions and the regions are distributed evenly to the
+     * ranges. TiKV splits the regions by the approximate size, so the number of regions is a proxy
+     * of the data volume. Falls back to {@link #getTableKeyRanges(long, int)} if there are fewer
+     * regions than ranges.
+     *
+     * @param regionBoundaries the sorted region boundaries inside the table key range, see {@link
+     *     #getTableRegionBoundaries(RegionManager, long)}
+     */
+    public static List<KeyRange> getTableKeyRanges(
+            final long tableId, final List<byte[]> regionBoundaries, final int num) {
+        Preconditions.checkArgument(num > 0, "Illegal value of num");
+
+        final int regionNum = regionBoundaries.size() + 1;
+        if (regionNum < num) {
+            return getTableKeyRanges(tableId, num);
+        }
+
+        return groupKeyRanges(
+                RowKey.createMin(tableId).toByteString(),
+                RowKey.createBeyondMax(tableId).toByteString(),
+                regionBoundaries,
+                num);
+    }
+
+    public static KeyRange getTableKeyRange(
+            final long tableId,
+            final List<byte[]> regionBoundaries,
+            final int num,
+            final int idx) {
+        Preconditions.checkArgument(idx >= 0 && idx < num, "Illegal value of idx");
+        return getTableKeyRanges(tableId, regionBoundaries, num).get(idx);
+    }
+
+    /** Returns the key range which covers the records of all the given sorted tables. */
+    public static KeyRange getKeyRange(final List<Long> tableIds) {
+        Preconditions.checkArgument(!tableIds.isEmpty(), "Illegal value of tableIds");
+        return KeyRangeUtils.makeCoprocRange(
+                RowKey.createMin(tableIds.get(0)).toByteString(),
+                RowKey.createBeyondMax(tableIds.get(tableIds.size() - 1)).toByteString());
+    }
+
+    /**
+     * Returns the key ranges which cover the records of all the given sorted tables, the ranges are
+     * aligned to the given region boundaries and the beginnings of the tables, which are
+     * distributed evenly to the ranges. A range may span several tables, the change events of the
+     * range are only read from the record ranges of its captured tables, see {@link
+     * #getRecordKeyRanges(KeyRange, List)}. Returns fewer ranges than {@code num} if there are
+     * fewer regions and tables.
+     *
+     * @param regionBoundaries the sorted region boundaries inside the captured tables, see {@link
+     *     #getRegionBoundaries(RegionManager, List)}, may be empty to split by tables only
+     */
+    public static List<KeyRange> getKeyRanges(
+            final List<Long> tableIds, final List<byte[]> regionBoundaries, final int num) {
+        Preconditions.checkArgument(num > 0, "Illegal value of num");
+        if (tableIds.size() == 1) {
+            return getTableKeyRanges(tableIds.get(0), regionBoundaries, num);
+        }
+        final List<Key> boundaryKeys = new ArrayList<>();
+        for (byte[] boundary : regionBoundaries) {
+            boundaryKeys.add(Key.toRawKey(boundary));
+        }
+        for (int i = 1; i < tableIds.size(); i++) {
+            boundaryKeys.add(RowKey.createMin(tableIds.get(i)));
+        }
+        final List<byte[]> boundaries =
+                boundaryKeys.stream()
+                        .sorted()
+                        .distinct()
+                        .map(Key::getBytes)
+                        .collect(Collectors.toList());
+        final KeyRange keyRange = getKeyRange(tableIds);
+        return groupKeyRanges(
+                keyRange.getStart(),
+                keyRange.getEnd(),
+                boundaries,
+                Math.min(num, boundaries.size() + 1));
+    }
+
+    /**
+     * Returns the record ranges of the given sorted tables inside the key range, the ranges which
+     * adjoin each other are merged. The change events of a key range spanning several tables are
+     * only read from these ranges, so the index keys of the tables and the other tables in the key
+     * range are never pulled from TiKV.
+     */
+    public static List<KeyRange> getRecordKeyRanges(
+            final KeyRange keyRange, final List<Long> tableIds) {
+        final Key start = Key.toRawKey(keyRange.getStart());
+        final Key end = Key.toRawKey(keyRange.getEnd());
+        final List<KeyRange> ranges = new ArrayList<>();
+        Key rangeStart = null;
+        Key rangeEnd = null;
+        for (long tableId : tableIds) {
+            final Key tableStart = max(RowKey.createMin(tableId), start);
+            final Key tableEnd = min(RowKey.createBeyondMax(tableId), end);
+            if (tableStart.compareTo(tableEnd) >= 0) {
+                continue;
+            }
+            if (rangeEnd != null && rangeEnd.compareTo(tableStart) >= 0) {
+                rangeEnd = max(rangeEnd, tableEnd);
+                continue;
+            }
+            if (rangeEnd != null) {
+                ranges.add(
+                        KeyRangeUtils.makeCoprocRange(
+                                rangeStart.toByteString(), rangeEnd.toByteString()));
+            }
+            rangeStart = tableStart;
+            rangeEnd = tableEnd;
+        }
+        if (rangeEnd != null) {
+            ranges.add(
+                    KeyRangeUtils.makeCoprocRange(
+                            rangeStart.toByteString(), rangeEnd.toByteString()));
+        }
+        return ranges;
+    }
+
+    private static Key min(final Key a, final Key b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static Key max(final Key a, final Key b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private static List<KeyRange> groupKeyRanges(
+            final ByteString start,
+            final ByteString end,
+            final List<byte[]> regionBoundaries,
+            final int num) {
+        final int regionNum = regionBoundaries.size() + 1;
+        final ImmutableList.Builder<KeyRange> builder = ImmutableList.builder();
+        ByteString startKey = start;
+        for (int i = 0; i < num; i++) {
+            final ByteString endKey =
+                    (i == num - 1)
+                            ? end
+                            : ByteString.copyFrom(
+                                    regionBoundaries.get(
+                                            (int) ((long) regionNum * (i + 1) / num) - 1));
+            builder.add(KeyRangeUtils.makeCoprocRange(startKey, endKey));
+            startKey = endKey;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the sorted start keys of the regions which lie inside the key range of the table, the
+     * first region containing the beginning of the table is excluded.
+     */
+    public static List<byte[]> getTableRegionBoundaries(
+            final RegionManager regionManager, final long tableId) {
+        return getRegionBoundaries(regionManager, Collections.singletonList(tableId));
+    }
+
+    /**
+     * Returns the sorted start keys of the regions which lie inside the key ranges of the given
+     * sorted tables. Only the regions of the captured tables are walked through, so that the
+     * regions of the tables in between neither weigh in the key range split nor get looked up.
+     */
+    public static List<byte[]> getRegionBoundaries(
+            final RegionManager regionManager, final List<Long> tableIds) {
+        final List<byte[]> boundaries = new ArrayList<>();
+        for (long tableId : tableIds) {
+            final KeyRange keyRange = getTableKeyRange(tableId);
+            final Key end = Key.toRawKey(keyRange.getEnd());
+            ByteString key = keyRange.getStart();
+            while (true) {
+                final TiRegion region = regionManager.getRegionByKey(key);
+                final ByteString endKey = region.getEndKey();
+                if (endKey.isEmpty() || Key.toRawKey(endKey).compareTo(end) >= 0) {
+                    break;
+                }
+                boundaries.add(endKey.toByteArray());
+                key = endKey;
+            }
+        }
+        return boundaries;
+    }
+
+    /** Returns the sorted ids of the tables whose records intersect the given key range. */
+    public static List<Long> getTableIds(final List<Long> tableIds, final KeyRange keyRange) {
+        final Key start = Key.toRawKey(keyRange.getStart());
+        final Key end = Key.toRawKey(keyRange.getEnd());
+        final List<Long> intersected = new ArrayList<>();
+        for (long tableId : tableIds) {
+            if (RowKey.createMin(tableId).compareTo(end) < 0
+                    && RowKey.createBeyondMax(tableId).compareTo(start) > 0) {
+                intersected.add(tableId);
+            }
+        }
+        return intersected;
+    }
+
+    /**
+     * Looks up the region boundaries of the given table, returns an empty list if the regions
+     * can't be obtained, which makes the table fall back to the split by handle range.
+     */
+    public static List<byte[]> getTableRegionBoundaries(
+            final TiConfiguration tiConf, final String database, final String tableName) {
+        try (TiSession session = TiSession.create(tiConf)) {
+            final TiTableInfo tableInfo = session.getCatalog().getTable(database, tableName);
+            if (tableInfo == null) {
+                return Collections.emptyList();
+            }
+            final List<byte[]> boundaries =
+                    getTableRegionBoundaries(session.getRegionManager(), tableInfo.getId());
+            LOG.info(
+                    "Found {} regions for table {}.{}.",
+                    boundaries.size() + 1,
+                    database,
+                    tableName);
+            return boundaries;
+        } catch (Exception e) {
+            LOG.warn(
+                    "Failed to obtain the regions of table {}.{}, "
+                            + "fall back to split by handle range.",
+                    database,
+                    tableName,
+                    e);
+            return Collections.emptyList();
+        }
+    }
+
     public static boolean isRecordKey(final byte[] key) {
         return key[9] == '_' && key[10] == 'r';
     }
+
+    /** Checks whether the key is a record key without copying the bytes of the key. */
+    public static boolean isRecordKey(final ByteString key) {
+        return key.byteAt(9) == '_' && key.byteAt(10) == 'r';
+    }
+
+    /**
+     * Returns the id of the table which the key belongs to, the key is encoded as {@code 't'} and
+     * the memory comparable table id. Returns -1 if the key is not a table key.
+     */
+    public static long getTableId(final byte[] key) {
+        return getTableId(UnsafeByteOperations.unsafeWrap(key));
+    }
+
+    /** Returns the id of the table which the key belongs to without copying the key. */
+    public static long getTableId(final ByteString key) {
+        if (key.size() < TABLE_PREFIX_LENGTH || key.byteAt(0) != TABLE_PREFIX) {
+            return -1L;
+        }
+        return decodeComparableLong(key, 1);
+    }
+
+    /**
+     * Returns the int handle of the record key without copying the bytes of the key, the record key
+     * is encoded as {@code 't'}, the table id, {@code "_r"} and the memory comparable handle.
+     */
+    public static long getHandle(final ByteString recordKey) {
+        if (recordKey.size() != RECORD_KEY_LENGTH) {
+            return RowKey.decode(recordKey.toByteArray()).getHandle();
+        }
+        return decodeComparableLong(recordKey, RECORD_PREFIX_LENGTH);
+    }
+
+    private static long decodeComparableLong(final ByteString bytes, final int offset) {
+        long encoded = 0L;
+        for (int i = offset; i < offset + Long.BYTES; i++) {
+            encoded = (encoded << 8) | (bytes.byteAt(i) & 0xFF);
+        }
+        return encoded ^ Long.MIN_VALUE;
+    }
 }
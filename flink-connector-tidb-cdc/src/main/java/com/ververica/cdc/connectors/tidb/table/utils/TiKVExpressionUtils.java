@@ -0,0 +1,192 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.table.utils;
+
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
+
+import org.tikv.common.expression.ColumnRef;
+import org.tikv.common.expression.ComparisonBinaryExpression;
+import org.tikv.common.expression.Constant;
+import org.tikv.common.expression.Expression;
+import org.tikv.common.expression.IsNull;
+import org.tikv.common.expression.LogicalBinaryExpression;
+import org.tikv.common.expression.Not;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Utils to convert the Flink filters into the TiKV expressions which are pushed down to the
+ * coprocessor requests of the snapshot scan.
+ *
+ * <p>The converted expression must not filter out any row which matches the Flink filter, as the
+ * filters are still evaluated by Flink. Only comparisons between a column and a numeric literal,
+ * equality to a string literal and null checks are converted, the string comparisons except the
+ * equality depend on the collation of the column which may differ from the one of Flink.
+ */
+public class TiKVExpressionUtils {
+
+    private TiKVExpressionUtils() {}
+
+    /** Converts the Flink filter, returns empty if the filter can't be pushed down. */
+    public static Optional<Expression> toTiKVExpression(ResolvedExpression filter) {
+        if (!(filter instanceof CallExpression)) {
+            return Optional.empty();
+        }
+        final CallExpression call = (CallExpression) filter;
+        final FunctionDefinition function = call.getFunctionDefinition();
+        final List<ResolvedExpression> args = call.getResolvedChildren();
+
+        if (function == BuiltInFunctionDefinitions.AND) {
+            final Optional<Expression> left = toTiKVExpression(args.get(0));
+            final Optional<Expression> right = toTiKVExpression(args.get(1));
+            if (left.isPresent() && right.isPresent()) {
+                return Optional.of(LogicalBinaryExpression.and(left.get(), right.get()));
+            }
+            // either side of the conjunction is a weaker filter
+            return left.isPresent() ? left : right;
+        }
+        if (function == BuiltInFunctionDefinitions.OR) {
+            final Optional<Expression> left = toTiKVExpression(args.get(0));
+            final Optional<Expression> right = toTiKVExpression(args.get(1));
+            if (left.isPresent() && right.isPresent()) {
+                return Optional.of(LogicalBinaryExpression.or(left.get(), right.get()));
+            }
+            return Optional.empty();
+        }
+        if (function == BuiltInFunctionDefinitions.IS_NULL
+                || function == BuiltInFunctionDefinitions.IS_NOT_NULL) {
+            if (!(args.get(0) instanceof FieldReferenceExpression)) {
+                return Optional.empty();
+            }
+            final String name = ((FieldReferenceExpression) args.get(0)).getName();
+            final Expression isNull = new IsNull(ColumnRef.create(name));
+            return Optional.of(
+                    function == BuiltInFunctionDefinitions.IS_NULL ? isNull : Not.not(isNull));
+        }
+        if (args.size() == 2) {
+            if (args.get(0) instanceof FieldReferenceExpression
+                    && args.get(1) instanceof ValueLiteralExpression) {
+                return toComparison(
+                        function,
+                        (FieldReferenceExpression) args.get(0),
+                        (ValueLiteralExpression) args.get(1));
+            }
+            if (args.get(0) instanceof ValueLiteralExpression
+                    && args.get(1) instanceof FieldReferenceExpression) {
+                return toComparison(
+                        reverse(function),
+                        (FieldReferenceExpression) args.get(1),
+                        (ValueLiteralExpression) args.get(0));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Collects the names of the columns referenced by the expression. */
+    public static void collectColumnNames(Expression expression, Set<String> columnNames) {
+        if (expression instanceof ColumnRef) {
+            columnNames.add(((ColumnRef) expression).getName());
+        }
+        for (Expression child : expression.getChildren()) {
+            collectColumnNames(child, columnNames);
+        }
+    }
+
+    private static Optional<Expression> toComparison(
+            FunctionDefinition function,
+            FieldReferenceExpression field,
+            ValueLiteralExpression literal) {
+        if (function == null || literal.isNull()) {
+            return Optional.empty();
+        }
+        final Optional<Object> value = toTiKVValue(literal);
+        if (!value.isPresent()) {
+            return Optional.empty();
+        }
+        if (value.get() instanceof String && function != BuiltInFunctionDefinitions.EQUALS) {
+            return Optional.empty();
+        }
+
+        final ColumnRef column = ColumnRef.create(field.getName());
+        final Constant constant = Constant.create(value.get());
+        if (function == BuiltInFunctionDefinitions.EQUALS) {
+            return Optional.of(ComparisonBinaryExpression.equal(column, constant));
+        } else if (function == BuiltInFunctionDefinitions.NOT_EQUALS) {
+            return Optional.of(ComparisonBinaryExpression.notEqual(column, constant));
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN) {
+            return Optional.of(ComparisonBinaryExpression.greaterThan(column, constant));
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL) {
+            return Optional.of(ComparisonBinaryExpression.greaterEqual(column, constant));
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN) {
+            return Optional.of(ComparisonBinaryExpression.lessThan(column, constant));
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL) {
+            return Optional.of(ComparisonBinaryExpression.lessEqual(column, constant));
+        }
+        return Optional.empty();
+    }
+
+    /** Returns the comparison with swapped operands, or null if it's not a comparison. */
+    private static FunctionDefinition reverse(FunctionDefinition function) {
+        if (function == BuiltInFunctionDefinitions.EQUALS
+                || function == BuiltInFunctionDefinitions.NOT_EQUALS) {
+            return function;
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN) {
+            return BuiltInFunctionDefinitions.LESS_THAN;
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL) {
+            return BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL;
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN) {
+            return BuiltInFunctionDefinitions.GREATER_THAN;
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL) {
+            return BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL;
+        }
+        return null;
+    }
+
+    private static Optional<Object> toTiKVValue(ValueLiteralExpression literal) {
+        final LogicalTypeRoot typeRoot = literal.getOutputDataType().getLogicalType().getTypeRoot();
+        switch (typeRoot) {
+            case TINYINT:
+                return literal.getValueAs(Byte.class).map(Byte::longValue);
+            case SMALLINT:
+                return literal.getValueAs(Short.class).map(Short::longValue);
+            case INTEGER:
+                return literal.getValueAs(Integer.class).map(Integer::longValue);
+            case BIGINT:
+                return literal.getValueAs(Long.class).map(Long::longValue);
+            case FLOAT:
+                return literal.getValueAs(Float.class).map(Float::doubleValue);
+            case DOUBLE:
+                return literal.getValueAs(Double.class).map(Double::doubleValue);
+            case DECIMAL:
+                return literal.getValueAs(BigDecimal.class).map(v -> v);
+            case CHAR:
+            case VARCHAR:
+                return literal.getValueAs(String.class).map(v -> v);
+            default:
+                return Optional.empty();
+        }
+    }
+}
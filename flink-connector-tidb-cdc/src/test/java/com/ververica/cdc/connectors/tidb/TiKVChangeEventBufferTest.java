@@ -0,0 +1,180 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.tikv.common.key.RowKey;
+import org.tikv.kvproto.Cdcpb;
+import org.tikv.kvproto.Cdcpb.Event.LogType;
+import org.tikv.shade.com.google.protobuf.ByteString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link TiKVChangeEventBuffer}. */
+public class TiKVChangeEventBufferTest {
+
+    private static final long TABLE_ID = 100L;
+
+    @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testFlushInCommitOrder() throws Exception {
+        try (TiKVChangeEventBuffer buffer = createBuffer(Long.MAX_VALUE)) {
+            buffer.add(row(LogType.PREWRITE, 1L, 1L, 0L, "a"));
+            buffer.add(row(LogType.PREWRITE, 2L, 3L, 0L, "b"));
+            buffer.add(row(LogType.PREWRITE, 2L, 4L, 0L, "c"));
+            buffer.add(row(LogType.COMMIT, 2L, 3L, 20L, ""));
+            buffer.add(row(LogType.COMMIT, 2L, 4L, 20L, ""));
+            buffer.add(row(LogType.COMMIT, 1L, 1L, 30L, ""));
+            buffer.add(row(LogType.COMMITTED, 5L, 5L, 10L, "d"));
+
+            assertEquals(Collections.singletonList("d"), flush(buffer, 15L));
+            assertEquals(Arrays.asList("b", "c"), flush(buffer, 25L));
+            assertTrue(buffer.hasCommits());
+            assertEquals(Collections.singletonList("a"), flush(buffer, 30L));
+            assertFalse(buffer.hasCommits());
+            assertEquals(0L, buffer.getBufferedBytes());
+        }
+    }
+
+    @Test
+    public void testRollback() throws Exception {
+        try (TiKVChangeEventBuffer buffer = createBuffer(Long.MAX_VALUE)) {
+            buffer.add(row(LogType.PREWRITE, 1L, 1L, 0L, "a"));
+            buffer.add(row(LogType.PREWRITE, 2L, 1L, 0L, "b"));
+            buffer.add(row(LogType.ROLLBACK, 1L, 1L, 0L, ""));
+            buffer.add(row(LogType.COMMIT, 2L, 1L, 20L, ""));
+
+            assertEquals(Collections.singletonList("b"), flush(buffer, 20L));
+            assertEquals(0L, buffer.getBufferedBytes());
+        }
+    }
+
+    @Test
+    public void testSpillLargeTransaction() throws Exception {
+        try (TiKVChangeEventBuffer buffer = createBuffer(256L)) {
+            final List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                buffer.add(row(LogType.PREWRITE, 1L, i, 0L, "large-" + i));
+                expected.add("large-" + i);
+            }
+            assertTrue(buffer.getBufferedBytes() <= 256L);
+            // the spilled rows are written to the spill directories
+            assertTrue(temporaryFolder.getRoot().list().length > 0);
+
+            // a small transaction stays in memory
+            buffer.add(row(LogType.PREWRITE, 2L, 1000L, 0L, "small"));
+            // overwritten and rolled back rows of the spilled transaction
+            buffer.add(row(LogType.PREWRITE, 1L, 0L, 0L, "large-0-updated"));
+            expected.set(0, "large-0-updated");
+            buffer.add(row(LogType.ROLLBACK, 1L, 99L, 0L, ""));
+            expected.remove(99);
+
+            for (int i = 0; i < 99; i++) {
+                buffer.add(row(LogType.COMMIT, 1L, i, 10L, ""));
+            }
+            buffer.add(row(LogType.COMMIT, 2L, 1000L, 20L, ""));
+
+            assertEquals(expected, flush(buffer, 10L));
+            assertEquals(Collections.singletonList("small"), flush(buffer, 20L));
+            assertEquals(0L, buffer.getBufferedBytes());
+            assertEquals(0, temporaryFolder.getRoot().list().length);
+        }
+    }
+
+    @Test
+    public void testCommittedKeysOfSpilledTransactionInBudget() throws Exception {
+        try (TiKVChangeEventBuffer buffer = createBuffer(1024L)) {
+            final List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                buffer.add(row(LogType.PREWRITE, 1L, i, 0L, "row-" + i));
+                expected.add("row-" + i);
+                assertTrue(buffer.getBufferedBytes() <= 1024L);
+            }
+            // the commit rows of the spilled transaction are not kept key by key
+            for (int i = 0; i < 10_000; i++) {
+                buffer.add(row(LogType.COMMIT, 1L, i, 10L, ""));
+                assertTrue(buffer.getBufferedBytes() <= 1024L);
+            }
+            // released in key order once the resolved ts passes the commit ts
+            assertTrue(flush(buffer, 9L).isEmpty());
+            assertEquals(expected, flush(buffer, 10L));
+            assertFalse(buffer.hasCommits());
+            assertEquals(0L, buffer.getBufferedBytes());
+        }
+    }
+
+    @Test
+    public void testRemoveRolledBackSpilledTransaction() throws Exception {
+        try (TiKVChangeEventBuffer buffer = createBuffer(256L)) {
+            for (int i = 0; i < 100; i++) {
+                buffer.add(row(LogType.PREWRITE, 1L, i, 0L, "large-" + i));
+            }
+            for (int i = 0; i < 100; i++) {
+                buffer.add(row(LogType.ROLLBACK, 1L, i, 0L, ""));
+            }
+            buffer.add(row(LogType.COMMITTED, 5L, 1000L, 10L, "other"));
+            assertEquals(Collections.singletonList("other"), flush(buffer, 10L));
+            assertEquals(0L, buffer.getBufferedBytes());
+
+            // a late commit row of the removed transaction is ignored
+            buffer.add(row(LogType.COMMIT, 1L, 0L, 20L, ""));
+            assertTrue(flush(buffer, 20L).isEmpty());
+        }
+    }
+
+    @Test
+    public void testCompareKeys() {
+        final ByteString low = ByteString.copyFrom(new byte[] {0x01});
+        final ByteString high = ByteString.copyFrom(new byte[] {(byte) 0x80});
+        assertTrue(TiKVChangeEventBuffer.compareKeys(low, high) < 0);
+        assertTrue(TiKVChangeEventBuffer.compareKeys(low, low.concat(low)) < 0);
+        assertEquals(0, TiKVChangeEventBuffer.compareKeys(high, high));
+    }
+
+    private static List<String> flush(TiKVChangeEventBuffer buffer, long resolvedTs)
+            throws Exception {
+        final List<String> values = new ArrayList<>();
+        buffer.flush(resolvedTs, row -> values.add(row.getValue().toStringUtf8()));
+        return values;
+    }
+
+    private TiKVChangeEventBuffer createBuffer(long maxBufferBytes) {
+        return new TiKVChangeEventBuffer(
+                maxBufferBytes, new String[] {temporaryFolder.getRoot().getAbsolutePath()});
+    }
+
+    private static Cdcpb.Event.Row row(
+            LogType type, long startTs, long handle, long commitTs, String value) {
+        return Cdcpb.Event.Row.newBuilder()
+                .setType(type)
+                .setStartTs(startTs)
+                .setCommitTs(commitTs)
+                .setKey(RowKey.toRowKey(TABLE_ID, handle).toByteString())
+                .setValue(ByteString.copyFromUtf8(value))
+                .build();
+    }
+}
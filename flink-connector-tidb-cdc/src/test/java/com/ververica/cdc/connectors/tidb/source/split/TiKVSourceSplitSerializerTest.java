@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.split;
+
+import com.ververica.cdc.connectors.tidb.source.enumerator.TiKVSourceEnumState;
+import com.ververica.cdc.connectors.tidb.source.enumerator.TiKVSourceEnumStateSerializer;
+import com.ververica.cdc.connectors.tidb.table.utils.TableKeyRangeUtils;
+import org.junit.Test;
+import org.tikv.common.key.RowKey;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/** Tests for {@link TiKVSourceSplitSerializer}. */
+public class TiKVSourceSplitSerializerTest {
+
+    @Test
+    public void testSnapshotSplit() throws Exception {
+        final TiKVSourceSplit split =
+                TiKVSourceSplit.snapshotSplit(
+                        "100:0",
+                        TableKeyRangeUtils.getTableKeyRange(100L, 2, 0),
+                        Collections.singletonList(100L),
+                        400L);
+        assertEquals(split, serializeAndDeserializeSplit(split));
+    }
+
+    @Test
+    public void testResumedSnapshotSplit() throws Exception {
+        final TiKVSourceSplit split =
+                new TiKVSourceSplit(
+                        "100:1",
+                        TableKeyRangeUtils.getTableKeyRange(100L, 2, 1),
+                        Collections.singletonList(100L),
+                        400L,
+                        RowKey.toRowKey(100L, 42L).toByteString(),
+                        false,
+                        400L);
+        assertEquals(split, serializeAndDeserializeSplit(split));
+    }
+
+    @Test
+    public void testStreamSplit() throws Exception {
+        final TiKVSourceSplit split =
+                new TiKVSourceSplit(
+                        "100:0",
+                        TableKeyRangeUtils.getTableKeyRange(100L),
+                        Collections.singletonList(100L),
+                        400L,
+                        RowKey.toRowKey(100L, 42L).toByteString(),
+                        true,
+                        500L);
+        assertEquals(split, serializeAndDeserializeSplit(split));
+    }
+
+    @Test
+    public void testMultiTableSplit() throws Exception {
+        final TiKVSourceSplit split =
+                TiKVSourceSplit.streamSplit(
+                        "0",
+                        TableKeyRangeUtils.getKeyRange(Arrays.asList(100L, 102L, 105L)),
+                        Arrays.asList(100L, 102L, 105L),
+                        400L);
+        assertEquals(split, serializeAndDeserializeSplit(split));
+    }
+
+    @Test
+    public void testEnumState() throws Exception {
+        final TiKVSourceEnumStateSerializer serializer = new TiKVSourceEnumStateSerializer();
+        final TiKVSourceEnumState state =
+                new TiKVSourceEnumState(
+                        Arrays.asList(
+                                TiKVSourceSplit.snapshotSplit(
+                                        "100:0",
+                                        TableKeyRangeUtils.getTableKeyRange(100L, 2, 0),
+                                        Collections.singletonList(100L),
+                                        400L),
+                                TiKVSourceSplit.streamSplit(
+                                        "100:1",
+                                        TableKeyRangeUtils.getTableKeyRange(100L, 2, 1),
+                                        Collections.singletonList(100L),
+                                        400L)));
+        assertEquals(
+                state,
+                serializer.deserialize(serializer.getVersion(), serializer.serialize(state)));
+
+        final TiKVSourceEnumState emptyState = new TiKVSourceEnumState(Collections.emptyList());
+        assertEquals(
+                emptyState,
+                serializer.deserialize(serializer.getVersion(), serializer.serialize(emptyState)));
+    }
+
+    private TiKVSourceSplit serializeAndDeserializeSplit(TiKVSourceSplit split) throws Exception {
+        final TiKVSourceSplitSerializer serializer = new TiKVSourceSplitSerializer();
+        byte[] serialized = serializer.serialize(split);
+        return serializer.deserialize(serializer.getVersion(), serialized);
+    }
+}
@@ -36,6 +36,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.SCAN_CHANGE_EVENT_BUFFER_SIZE;
 import static org.junit.Assert.assertEquals;
 
 /** Unit tests for TiDB table source factory. */
@@ -85,6 +86,8 @@ public class TiDBTableSourceFactoryTest {
                         MY_TABLE,
                         PD_ADDRESS,
                         StartupOptions.latest(),
+                        true,
+                        SCAN_CHANGE_EVENT_BUFFER_SIZE.defaultValue().getBytes(),
                         OPTIONS);
         assertEquals(expectedSource, actualSource);
     }
@@ -115,10 +118,52 @@ public class TiDBTableSourceFactoryTest {
                         MY_TABLE,
                         PD_ADDRESS,
                         StartupOptions.latest(),
+                        true,
+                        SCAN_CHANGE_EVENT_BUFFER_SIZE.defaultValue().getBytes(),
                         options);
         assertEquals(expectedSource, actualSource);
     }
 
+    @Test
+    public void testDisableParallelRead() {
+        Map<String, String> properties = getAllOptions();
+        properties.put("scan.incremental.snapshot.enabled", "false");
+
+        // validation for source
+        DynamicTableSource actualSource = createTableSource(properties);
+        TiDBTableSource expectedSource =
+                new TiDBTableSource(
+                        SCHEMA,
+                        MY_DATABASE,
+                        MY_TABLE,
+                        PD_ADDRESS,
+                        StartupOptions.latest(),
+                        false,
+                        SCAN_CHANGE_EVENT_BUFFER_SIZE.defaultValue().getBytes(),
+                        OPTIONS);
+        assertEquals(expectedSource, actualSource);
+    }
+
+    @Test
+    public void testChangeEventBufferSize() {
+        Map<String, String> properties = getAllOptions();
+        properties.put("scan.change-event.buffer.size", "16mb");
+
+        // validation for source
+        DynamicTableSource actualSource = createTableSource(properties);
+        TiDBTableSource expectedSource =
+                new TiDBTableSource(
+                        SCHEMA,
+                        MY_DATABASE,
+                        MY_TABLE,
+                        PD_ADDRESS,
+                        StartupOptions.latest(),
+                        true,
+                        16 * 1024 * 1024L,
+                        OPTIONS);
+        assertEquals(expectedSource, actualSource);
+    }
+
     private Map<String, String> getAllOptions() {
         Map<String, String> options = new HashMap<>();
         options.put("connector", "tidb-cdc");
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.table;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.junit.Test;
+import org.tikv.common.codec.TableCodec;
+import org.tikv.common.meta.CIStr;
+import org.tikv.common.meta.TiColumnInfo;
+import org.tikv.common.meta.TiTableInfo;
+import org.tikv.common.types.IntegerType;
+import org.tikv.common.types.StringType;
+import org.tikv.shade.com.google.protobuf.ByteString;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link TiKVRowDecoder}. */
+public class TiKVRowDecoderTest {
+
+    private static final RowType PHYSICAL_TYPE =
+            (RowType)
+                    DataTypes.ROW(
+                                    DataTypes.FIELD("id", DataTypes.BIGINT()),
+                                    DataTypes.FIELD("age", DataTypes.INT()),
+                                    DataTypes.FIELD("name", DataTypes.STRING()),
+                                    DataTypes.FIELD("missing", DataTypes.STRING()))
+                            .getLogicalType();
+
+    private static final TiColumnInfo ID = new TiColumnInfo(1, "id", 0, IntegerType.BIGINT, true);
+    private static final TiColumnInfo NAME =
+            new TiColumnInfo(2, "name", 1, StringType.VARCHAR, false);
+    private static final TiColumnInfo AGE = new TiColumnInfo(3, "age", 2, IntegerType.INT, false);
+    private static final TiColumnInfo ADDRESS =
+            new TiColumnInfo(4, "address", 3, StringType.VARCHAR, false);
+
+    @Test
+    public void testDecodeRowFormatV2() throws Exception {
+        final TiKVRowDecoder decoder = createDecoder(table(1L, ID, NAME, AGE));
+        final ByteString value = encode(true, Arrays.asList(ID, NAME, AGE), 42L, "Alice", 18L);
+
+        assertFalse(decoder.hasUnknownColumn(value));
+        assertEquals(
+                GenericRowData.of(42L, 18, StringData.fromString("Alice"), null),
+                decoder.decode(value, 42L));
+
+        final ByteString nullValue = encode(true, Arrays.asList(ID, NAME, AGE), 43L, null, 20L);
+        assertEquals(GenericRowData.of(43L, 20, null, null), decoder.decode(nullValue, 43L));
+    }
+
+    @Test
+    public void testDecodeOriginDefaultValue() throws Exception {
+        // the column age with the default value 30 is added after the row is written
+        final TiColumnInfo ageWithDefault =
+                new TiColumnInfo(3, "age", 2, IntegerType.INT, false) {
+                    @Override
+                    public String getOriginDefaultValue() {
+                        return "30";
+                    }
+                };
+        final TiKVRowDecoder decoder = createDecoder(table(2L, ID, NAME, ageWithDefault));
+        final ByteString oldValue = encode(true, Arrays.asList(ID, NAME), 42L, "Alice");
+        assertEquals(
+                GenericRowData.of(42L, 30, StringData.fromString("Alice"), null),
+                decoder.decode(oldValue, 42L));
+
+        // the null value written after the column is added is kept
+        final ByteString nullValue =
+                encode(true, Arrays.asList(ID, NAME, ageWithDefault), 43L, "Bob", null);
+        assertEquals(
+                GenericRowData.of(43L, null, StringData.fromString("Bob"), null),
+                decoder.decode(nullValue, 43L));
+    }
+
+    @Test
+    public void testDecodeRowFormatV1() throws Exception {
+        final TiKVRowDecoder decoder = createDecoder(table(1L, ID, NAME, AGE));
+        final ByteString value = encode(false, Arrays.asList(ID, NAME, AGE), 42L, "Alice", 18L);
+
+        assertFalse(decoder.hasUnknownColumn(value));
+        assertEquals(
+                GenericRowData.of(42L, 18, StringData.fromString("Alice"), null),
+                decoder.decode(value, 42L));
+    }
+
+    @Test
+    public void testUnknownColumn() throws Exception {
+        final TiKVRowDecoder decoder = createDecoder(table(1L, ID, NAME, AGE));
+        // the row is written after the column address is added
+        final ByteString value =
+                encode(true, Arrays.asList(ID, NAME, AGE, ADDRESS), 42L, "Alice", 18L, "Earth");
+        assertTrue(decoder.hasUnknownColumn(value));
+        assertEquals(
+                GenericRowData.of(42L, 18, StringData.fromString("Alice"), null),
+                decoder.decode(value, 42L));
+
+        final TiKVRowDecoder refreshed = createDecoder(table(2L, ID, NAME, AGE, ADDRESS));
+        assertFalse(refreshed.hasUnknownColumn(value));
+        assertEquals(2L, refreshed.getSchemaVersion());
+
+        decoder.acceptUnknownColumns(value);
+        assertFalse(decoder.hasUnknownColumn(value));
+    }
+
+    @Test
+    public void testDecodeFields() throws Exception {
+        final TiKVRowDecoder decoder = createDecoder(table(1L, ID, NAME, AGE));
+        // the values decoded by the coprocessor, in the order of the physical fields
+        assertEquals(
+                GenericRowData.of(42L, 18, StringData.fromString("Alice"), null),
+                decoder.decodeFields(new Object[] {42L, 18L, "Alice", null}));
+        assertEquals(
+                GenericRowData.of(43L, null, null, null),
+                decoder.decodeFields(new Object[] {43L, null, null, null}));
+    }
+
+    private static TiKVRowDecoder createDecoder(TiTableInfo tableInfo) {
+        return new TiKVRowDecoder(
+                tableInfo,
+                PHYSICAL_TYPE,
+                PHYSICAL_TYPE.getFields().stream()
+                        .map(RowType.RowField::getType)
+                        .map(RowDataTiKVEventDeserializationSchemaBase::createConverter)
+                        .toArray(TiKVDeserializationRuntimeConverter[]::new));
+    }
+
+    private static ByteString encode(
+            boolean rowFormatV2, List<TiColumnInfo> columns, Object... values) throws Exception {
+        return ByteString.copyFrom(TableCodec.encodeRow(columns, values, true, rowFormatV2));
+    }
+
+    private static TiTableInfo table(long schemaVersion, TiColumnInfo... columns) {
+        return new TiTableInfo(
+                100L,
+                CIStr.newCIStr("users"),
+                "utf8mb4",
+                "utf8mb4_bin",
+                true,
+                Arrays.asList(columns),
+                Collections.emptyList(),
+                "",
+                0L,
+                columns.length,
+                0L,
+                0L,
+                null,
+                null,
+                null,
+                0L,
+                schemaVersion,
+                0L,
+                null);
+    }
+}
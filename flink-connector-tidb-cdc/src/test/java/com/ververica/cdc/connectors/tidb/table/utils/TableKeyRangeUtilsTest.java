@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.table.utils;
+
+import org.junit.Test;
+import org.tikv.common.key.RowKey;
+import org.tikv.common.util.KeyRangeUtils;
+import org.tikv.kvproto.Coprocessor.KeyRange;
+import org.tikv.shade.com.google.protobuf.ByteString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/** Tests for {@link TableKeyRangeUtils}. */
+public class TableKeyRangeUtilsTest {
+
+    private static final long TABLE_ID = 100L;
+
+    @Test
+    public void testRegionAlignedKeyRanges() {
+        // 10 regions split at handle 100, 200, ..., 900
+        final List<byte[]> boundaries = new ArrayList<>();
+        for (int i = 1; i < 10; i++) {
+            boundaries.add(RowKey.toRowKey(TABLE_ID, i * 100L).getBytes());
+        }
+
+        final List<KeyRange> ranges = TableKeyRangeUtils.getTableKeyRanges(TABLE_ID, boundaries, 3);
+        assertEquals(3, ranges.size());
+        assertEquals(RowKey.createMin(TABLE_ID).toByteString(), ranges.get(0).getStart());
+        assertEquals(RowKey.toRowKey(TABLE_ID, 300L).toByteString(), ranges.get(0).getEnd());
+        assertEquals(RowKey.toRowKey(TABLE_ID, 300L).toByteString(), ranges.get(1).getStart());
+        assertEquals(RowKey.toRowKey(TABLE_ID, 600L).toByteString(), ranges.get(1).getEnd());
+        assertEquals(RowKey.toRowKey(TABLE_ID, 600L).toByteString(), ranges.get(2).getStart());
+        assertEquals(RowKey.createBeyondMax(TABLE_ID).toByteString(), ranges.get(2).getEnd());
+
+        assertEquals(
+                ranges.get(1), TableKeyRangeUtils.getTableKeyRange(TABLE_ID, boundaries, 3, 1));
+    }
+
+    @Test
+    public void testSingleRange() {
+        final List<byte[]> boundaries =
+                Collections.singletonList(RowKey.toRowKey(TABLE_ID, 100L).getBytes());
+        assertEquals(
+                Collections.singletonList(TableKeyRangeUtils.getTableKeyRange(TABLE_ID)),
+                TableKeyRangeUtils.getTableKeyRanges(TABLE_ID, boundaries, 1));
+    }
+
+    @Test
+    public void testFallbackToHandleRangeWithFewRegions() {
+        final List<byte[]> boundaries =
+                Collections.singletonList(RowKey.toRowKey(TABLE_ID, 100L).getBytes());
+        assertEquals(
+                TableKeyRangeUtils.getTableKeyRanges(TABLE_ID, 4),
+                TableKeyRangeUtils.getTableKeyRanges(TABLE_ID, boundaries, 4));
+        assertEquals(
+                TableKeyRangeUtils.getTableKeyRanges(TABLE_ID, 4),
+                TableKeyRangeUtils.getTableKeyRanges(TABLE_ID, Collections.emptyList(), 4));
+    }
+
+    @Test
+    public void testMultiTableKeyRanges() {
+        final List<Long> tableIds = Arrays.asList(100L, 102L, 105L);
+        // 5 regions split at table 100 handle 100, table 102 handle 100 and 200, table 105
+        final List<byte[]> boundaries =
+                Arrays.asList(
+                        RowKey.toRowKey(100L, 100L).getBytes(),
+                        RowKey.toRowKey(102L, 100L).getBytes(),
+                        RowKey.toRowKey(102L, 200L).getBytes(),
+                        RowKey.createMin(105L).getBytes());
+
+        final List<KeyRange> ranges = TableKeyRangeUtils.getKeyRanges(tableIds, boundaries, 2);
+        assertEquals(2, ranges.size());
+        assertEquals(RowKey.createMin(100L).toByteString(), ranges.get(0).getStart());
+        assertEquals(RowKey.toRowKey(102L, 100L).toByteString(), ranges.get(0).getEnd());
+        assertEquals(RowKey.toRowKey(102L, 100L).toByteString(), ranges.get(1).getStart());
+        assertEquals(RowKey.createBeyondMax(105L).toByteString(), ranges.get(1).getEnd());
+        assertEquals(
+                TableKeyRangeUtils.getKeyRange(tableIds),
+                KeyRangeUtils.makeCoprocRange(ranges.get(0).getStart(), ranges.get(1).getEnd()));
+
+        assertEquals(
+                Arrays.asList(100L, 102L), TableKeyRangeUtils.getTableIds(tableIds, ranges.get(0)));
+        assertEquals(
+                Arrays.asList(102L, 105L), TableKeyRangeUtils.getTableIds(tableIds, ranges.get(1)));
+
+        // no more ranges than regions, the beginning of a table splits the regions as well
+        assertEquals(6, TableKeyRangeUtils.getKeyRanges(tableIds, boundaries, 8).size());
+
+        // the tables are distributed to the ranges without region boundaries
+        final List<KeyRange> tableRanges =
+                TableKeyRangeUtils.getKeyRanges(tableIds, Collections.emptyList(), 8);
+        assertEquals(3, tableRanges.size());
+        assertEquals(RowKey.createMin(102L).toByteString(), tableRanges.get(0).getEnd());
+        assertEquals(RowKey.createMin(105L).toByteString(), tableRanges.get(1).getEnd());
+    }
+
+    @Test
+    public void testRecordKeyRanges() {
+        final List<Long> tableIds = Arrays.asList(100L, 102L, 105L);
+        final KeyRange keyRange =
+                KeyRangeUtils.makeCoprocRange(
+                        RowKey.toRowKey(100L, 100L).toByteString(),
+                        RowKey.toRowKey(105L, 200L).toByteString());
+
+        // the index keys and the tables between the captured tables are excluded
+        assertEquals(
+                Arrays.asList(
+                        KeyRangeUtils.makeCoprocRange(
+                                RowKey.toRowKey(100L, 100L).toByteString(),
+                                RowKey.createBeyondMax(100L).toByteString()),
+                        TableKeyRangeUtils.getTableKeyRange(102L),
+                        KeyRangeUtils.makeCoprocRange(
+                                RowKey.createMin(105L).toByteString(),
+                                RowKey.toRowKey(105L, 200L).toByteString())),
+                TableKeyRangeUtils.getRecordKeyRanges(keyRange, tableIds));
+
+        // the tables outside of the key range are skipped
+        assertEquals(
+                Collections.singletonList(TableKeyRangeUtils.getTableKeyRange(102L)),
+                TableKeyRangeUtils.getRecordKeyRanges(
+                        TableKeyRangeUtils.getTableKeyRange(102L), tableIds));
+    }
+
+    @Test
+    public void testGetTableId() {
+        assertEquals(
+                TABLE_ID, TableKeyRangeUtils.getTableId(RowKey.createMin(TABLE_ID).getBytes()));
+        assertEquals(
+                TABLE_ID, TableKeyRangeUtils.getTableId(RowKey.toRowKey(TABLE_ID, -1L).getBytes()));
+        assertEquals(
+                TABLE_ID,
+                TableKeyRangeUtils.getTableId(RowKey.createBeyondMax(TABLE_ID).getBytes()));
+        assertEquals(-1L, TableKeyRangeUtils.getTableId(new byte[] {'m', 1, 2}));
+    }
+
+    @Test
+    public void testGetHandle() {
+        for (long handle : new long[] {Long.MIN_VALUE, -1L, 0L, 42L, Long.MAX_VALUE}) {
+            final ByteString key = RowKey.toRowKey(TABLE_ID, handle).toByteString();
+            assertEquals(TABLE_ID, TableKeyRangeUtils.getTableId(key));
+            assertEquals(handle, TableKeyRangeUtils.getHandle(key));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 Ververica Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.table.utils;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+
+import org.junit.Test;
+import org.tikv.common.expression.ColumnRef;
+import org.tikv.common.expression.ComparisonBinaryExpression;
+import org.tikv.common.expression.Constant;
+import org.tikv.common.expression.Expression;
+import org.tikv.common.expression.IsNull;
+import org.tikv.common.expression.LogicalBinaryExpression;
+import org.tikv.common.expression.Not;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/** Tests for {@link TiKVExpressionUtils}. */
+public class TiKVExpressionUtilsTest {
+
+    private static final FieldReferenceExpression AGE =
+            new FieldReferenceExpression("age", DataTypes.INT(), 0, 0);
+    private static final FieldReferenceExpression NAME =
+            new FieldReferenceExpression("name", DataTypes.STRING(), 0, 1);
+
+    @Test
+    public void testComparison() {
+        assertEquals(
+                Optional.of(
+                        ComparisonBinaryExpression.greaterThan(
+                                ColumnRef.create("age"), Constant.create(18L))),
+                convert(call(BuiltInFunctionDefinitions.GREATER_THAN, AGE, literal(18))));
+        // the literal on the left side
+        assertEquals(
+                Optional.of(
+                        ComparisonBinaryExpression.lessEqual(
+                                ColumnRef.create("age"), Constant.create(18L))),
+                convert(call(BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL, literal(18), AGE)));
+        assertEquals(
+                Optional.of(
+                        ComparisonBinaryExpression.equal(
+                                ColumnRef.create("name"), Constant.create("Alice"))),
+                convert(call(BuiltInFunctionDefinitions.EQUALS, NAME, literal("Alice"))));
+    }
+
+    @Test
+    public void testNullCheck() {
+        assertEquals(
+                Optional.of(new IsNull(ColumnRef.create("name"))),
+                convert(call(BuiltInFunctionDefinitions.IS_NULL, NAME)));
+        assertEquals(
+                Optional.of(Not.not(new IsNull(ColumnRef.create("name")))),
+                convert(call(BuiltInFunctionDefinitions.IS_NOT_NULL, NAME)));
+    }
+
+    @Test
+    public void testLogicalExpression() {
+        final Expression ageFilter =
+                ComparisonBinaryExpression.lessThan(ColumnRef.create("age"), Constant.create(60L));
+        final ResolvedExpression ageCall =
+                call(BuiltInFunctionDefinitions.LESS_THAN, AGE, literal(60));
+        final ResolvedExpression unsupported =
+                call(BuiltInFunctionDefinitions.LIKE, NAME, literal("A%"));
+
+        // the convertible side of a conjunction is still pushed down
+        assertEquals(
+                Optional.of(ageFilter),
+                convert(call(BuiltInFunctionDefinitions.AND, ageCall, unsupported)));
+        assertFalse(convert(call(BuiltInFunctionDefinitions.OR, ageCall, unsupported)).isPresent());
+        assertEquals(
+                Optional.of(LogicalBinaryExpression.or(ageFilter, ageFilter)),
+                convert(call(BuiltInFunctionDefinitions.OR, ageCall, ageCall)));
+
+        final Set<String> columnNames = new LinkedHashSet<>();
+        TiKVExpressionUtils.collectColumnNames(
+                LogicalBinaryExpression.and(ageFilter, new IsNull(ColumnRef.create("name"))),
+                columnNames);
+        assertEquals(new LinkedHashSet<>(Arrays.asList("age", "name")), columnNames);
+    }
+
+    @Test
+    public void testUnsupportedFilter() {
+        // the string order depends on the collation of the column
+        assertFalse(
+                convert(call(BuiltInFunctionDefinitions.GREATER_THAN, NAME, literal("A")))
+                        .isPresent());
+        assertFalse(convert(call(BuiltInFunctionDefinitions.EQUALS, AGE, AGE)).isPresent());
+        assertFalse(
+                convert(call(BuiltInFunctionDefinitions.EQUALS, literal(true), literal(true)))
+                        .isPresent());
+    }
+
+    private static Optional<Expression> convert(ResolvedExpression filter) {
+        return TiKVExpressionUtils.toTiKVExpression(filter);
+    }
+
+    private static CallExpression call(FunctionDefinition function, ResolvedExpression... args) {
+        return new CallExpression(function, Arrays.asList(args), DataTypes.BOOLEAN());
+    }
+
+    private static ValueLiteralExpression literal(Object value) {
+        return new ValueLiteralExpression(value);
+    }
+}